@@ -1,98 +1,602 @@
 package com.library.app.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
 import java.util.Properties;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Bounded JDBC connection pool shared by all DAO implementations.
+ * <p>
+ * The number of physical connections never exceeds {@code db.pool.max-size}. A borrower that cannot obtain
+ * a connection within {@code db.pool.borrow-timeout-ms} fails with an {@link SQLException} instead of opening
+ * an extra connection. Connections held longer than {@code db.pool.leak-detection-threshold-ms} are reported
+ * together with the stack trace of the code that borrowed them.
+ * <p>
+ * Borrowing from a healthy pool costs no database round trip: idle connections are validated by a background
+ * housekeeping task every {@code db.pool.validation-interval-ms}, which also retires connections older than
+ * {@code db.pool.max-lifetime-ms} and tops the pool back up to {@code db.pool.min-idle}.
+ * <p>
+ * Each connection keeps up to {@code db.pool.statement-cache-size} prepared statements, so the DAOs' constant
+ * queries are parsed once per physical connection rather than once per call.
+ * <p>
+ * Unless {@code db.query.metrics-enabled} is {@code false}, every statement executed on a pooled connection is
+ * timed and counted per SQL fingerprint in {@link #getQueryMetrics()}, and executions slower than
+ * {@code db.query.slow-threshold-ms} go to the slow query log.
+ * <p>
+ * While a {@link TransactionManager} unit of work is running, {@link #getConnection()} returns the connection
+ * bound to the current thread and closing it has no effect, so every DAO call of the unit of work shares one
+ * connection and one transaction.
+ */
 public class ConnectionPool {
-    private static final int POOL_SIZE = 10;
     private static final String APPLICATION_PROPERTIES = "application.properties";
+    private static final String DB_PROPERTY_PREFIX = "db.";
     private static final String DB_URL = "db.url";
     private static final String DB_USERNAME = "db.username";
     private static final String DB_PASSWORD = "db.password";
     private static final String DB_DRIVER_CLASS_NAME = "db.driver-class-name";
+    private static final String POOL_MAX_SIZE = "db.pool.max-size";
+    private static final String POOL_MIN_IDLE = "db.pool.min-idle";
+    private static final String POOL_MAX_LIFETIME_MS = "db.pool.max-lifetime-ms";
+    private static final String POOL_BORROW_TIMEOUT_MS = "db.pool.borrow-timeout-ms";
+    private static final String POOL_LEAK_DETECTION_THRESHOLD_MS = "db.pool.leak-detection-threshold-ms";
+    private static final String POOL_HOUSEKEEPING_INTERVAL_MS = "db.pool.housekeeping-interval-ms";
+    private static final String POOL_VALIDATION_INTERVAL_MS = "db.pool.validation-interval-ms";
+    private static final String POOL_STATEMENT_CACHE_SIZE = "db.pool.statement-cache-size";
+    private static final String QUERY_METRICS_ENABLED = "db.query.metrics-enabled";
+    private static final String QUERY_SLOW_THRESHOLD_MS = "db.query.slow-threshold-ms";
+    private static final String QUERY_MAX_FINGERPRINTS = "db.query.max-fingerprints";
+    private static final int DEFAULT_MAX_SIZE = 10;
+    private static final int DEFAULT_MIN_IDLE = 2;
+    private static final long DEFAULT_MAX_LIFETIME_MS = 1_800_000;
+    private static final long DEFAULT_BORROW_TIMEOUT_MS = 5_000;
+    private static final long DEFAULT_LEAK_DETECTION_THRESHOLD_MS = 60_000;
+    private static final long DEFAULT_HOUSEKEEPING_INTERVAL_MS = 30_000;
+    private static final long DEFAULT_VALIDATION_INTERVAL_MS = 30_000;
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+    private static final long DEFAULT_SLOW_THRESHOLD_MS = 500;
+    private static final int DEFAULT_MAX_FINGERPRINTS = 200;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final String HOUSEKEEPER_THREAD_NAME = "connection-pool-housekeeper";
     private static final String CONNECTION_POOL_INITIALIZATION_FAILED = "Connection pool initialization failed";
     private static final String INTERRUPTED_WHILE_WAITING_FOR_DB_CONNECTION = "Interrupted while waiting for DB connection";
+    private static final String CONNECTION_POOL_IS_SHUT_DOWN = "Connection pool is shut down";
+    private static final String CONNECTION_POOL_EXHAUSTED =
+            "Connection pool exhausted: no connection available within %d ms (active=%d, idle=%d, pending=%d)";
+    private static final String INVALID_POOL_CONFIGURATION =
+            "Invalid pool configuration: max-size=%d, min-idle=%d";
+    private static final String POOL_STARTED = "Connection pool started: maxSize={}, minIdle={}, borrowTimeout={}ms";
+    private static final String MIN_IDLE_FILL_FAILED =
+            "Could not open connections up to min-idle, they will be opened on demand";
+    private static final String FAILED_TO_CLOSE_CONNECTION = "Failed to close pooled connection";
+    private static final String FAILED_TO_RETURN_CONNECTION = "Failed to return connection to the pool";
+    private static final String DISCARDING_BROKEN_CONNECTION = "Discarding broken pooled connection";
+    private static final String ROLLING_BACK_UNFINISHED_TRANSACTION =
+            "Connection returned with an unfinished transaction, rolling back";
+    private static final String CLOSE = "close";
+    private static final String CONNECTION_LEAK_DETECTED =
+            "Connection leak detected: connection held for {} ms by thread '{}', borrowed at:";
 
-    private static ConnectionPool instance;
-    private static BlockingQueue<Connection> pool;
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+    private static volatile ConnectionPool instance;
 
     private final String url;
     private final String username;
     private final String password;
+    private final int maxSize;
+    private final int minIdle;
+    private final long maxLifetimeNanos;
+    private final long borrowTimeoutMillis;
+    private final long leakDetectionThresholdNanos;
+    private final long validationIntervalNanos;
+    private final int statementCacheSize;
+    private final boolean queryMetricsEnabled;
+    private final QueryMetrics queryMetrics;
 
-    private ConnectionPool() {
-        try {
-            pool = new ArrayBlockingQueue<>(POOL_SIZE);
-            Properties props = new Properties();
-            props.load(getClass().getClassLoader().getResourceAsStream(APPLICATION_PROPERTIES));
+    private final Semaphore permits;
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowWaitNanos = new LongAdder();
+    private final AtomicLong maxBorrowWaitNanos = new AtomicLong();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder closedCount = new LongAdder();
+    private final LongAdder validationCount = new LongAdder();
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final ThreadLocal<Connection> boundConnection = new ThreadLocal<>();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean shutdown;
 
+    /**
+     * Creates a pool configured from the given properties.
+     *
+     * @param props database and pool settings
+     */
+    ConnectionPool(Properties props) {
+        try {
             url = props.getProperty(DB_URL);
             username = props.getProperty(DB_USERNAME);
             password = props.getProperty(DB_PASSWORD);
+            maxSize = intProperty(props, POOL_MAX_SIZE, DEFAULT_MAX_SIZE);
+            minIdle = intProperty(props, POOL_MIN_IDLE, DEFAULT_MIN_IDLE);
+            maxLifetimeNanos = TimeUnit.MILLISECONDS.toNanos(
+                    longProperty(props, POOL_MAX_LIFETIME_MS, DEFAULT_MAX_LIFETIME_MS));
+            borrowTimeoutMillis = longProperty(props, POOL_BORROW_TIMEOUT_MS, DEFAULT_BORROW_TIMEOUT_MS);
+            leakDetectionThresholdNanos = TimeUnit.MILLISECONDS.toNanos(
+                    longProperty(props, POOL_LEAK_DETECTION_THRESHOLD_MS, DEFAULT_LEAK_DETECTION_THRESHOLD_MS));
+            validationIntervalNanos = TimeUnit.MILLISECONDS.toNanos(
+                    longProperty(props, POOL_VALIDATION_INTERVAL_MS, DEFAULT_VALIDATION_INTERVAL_MS));
+            statementCacheSize = intProperty(props, POOL_STATEMENT_CACHE_SIZE, DEFAULT_STATEMENT_CACHE_SIZE);
+            queryMetricsEnabled = !Boolean.FALSE.toString().equalsIgnoreCase(
+                    props.getProperty(QUERY_METRICS_ENABLED, Boolean.TRUE.toString()).trim());
+            queryMetrics = new QueryMetrics(longProperty(props, QUERY_SLOW_THRESHOLD_MS, DEFAULT_SLOW_THRESHOLD_MS),
+                    intProperty(props, QUERY_MAX_FINGERPRINTS, DEFAULT_MAX_FINGERPRINTS));
+            long housekeepingIntervalMillis =
+                    longProperty(props, POOL_HOUSEKEEPING_INTERVAL_MS, DEFAULT_HOUSEKEEPING_INTERVAL_MS);
+
+            if (maxSize < 1 || minIdle < 0 || minIdle > maxSize) {
+                throw new IllegalArgumentException(String.format(INVALID_POOL_CONFIGURATION, maxSize, minIdle));
+            }
 
             Class.forName(props.getProperty(DB_DRIVER_CLASS_NAME));
+            permits = new Semaphore(maxSize, true);
+            fillToMinIdle();
 
-            for (int i = 0; i < POOL_SIZE; i++) {
-                pool.offer(createConnection());
-            }
+            housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, HOUSEKEEPER_THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            });
+            housekeeper.scheduleWithFixedDelay(this::runHousekeeping,
+                    housekeepingIntervalMillis, housekeepingIntervalMillis, TimeUnit.MILLISECONDS);
 
-            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+            logger.info(POOL_STARTED, maxSize, minIdle, borrowTimeoutMillis);
         } catch (Exception e) {
             throw new RuntimeException(CONNECTION_POOL_INITIALIZATION_FAILED, e);
         }
     }
 
+    /**
+     * Returns the application-wide pool, creating it from {@code application.properties} on first use.
+     * Any {@code db.*} JVM system property overrides the value from the file.
+     *
+     * @return the shared connection pool
+     */
     public static ConnectionPool getInstance() {
-        if (instance == null) {
-            instance = new ConnectionPool();
+        ConnectionPool result = instance;
+
+        if (result == null) {
+            synchronized (ConnectionPool.class) {
+                result = instance;
+                if (result == null) {
+                    result = new ConnectionPool(loadApplicationProperties());
+                    Runtime.getRuntime().addShutdownHook(new Thread(result::shutdown));
+                    instance = result;
+                }
+            }
         }
-        return instance;
+
+        return result;
     }
 
+    /**
+     * Borrows a connection, waiting at most {@code db.pool.borrow-timeout-ms} for one to become free.
+     * The returned connection goes back to the pool on {@link Connection#close()} or
+     * {@link #closeConnection(Connection)}. Inside a unit of work the connection bound to the current
+     * thread is returned instead.
+     *
+     * @return a pooled connection
+     * @throws SQLException if the pool is exhausted, shut down, or a new connection cannot be opened
+     */
     public Connection getConnection() throws SQLException {
+        Connection bound = boundConnection.get();
+
+        if (bound != null) {
+            return bound;
+        }
+
+        return borrow();
+    }
+
+    /**
+     * Tells whether a unit of work is running on the current thread.
+     *
+     * @return {@code true} if a connection is bound to the current thread
+     */
+    boolean isBound() {
+        return boundConnection.get() != null;
+    }
+
+    /**
+     * Binds a borrowed connection to the current thread. Until {@link #unbind()} is called,
+     * {@link #getConnection()} on this thread returns a view of it whose {@code close()} does nothing.
+     *
+     * @param connection a connection obtained from {@link #borrow()}
+     */
+    void bind(Connection connection) {
+        boundConnection.set((Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if (CLOSE.equals(method.getName())) {
+                        return null;
+                    }
+
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }));
+    }
+
+    /**
+     * Removes the connection bound to the current thread.
+     */
+    void unbind() {
+        boundConnection.remove();
+    }
+
+    /**
+     * Borrows a connection from the pool, ignoring any connection bound to the current thread.
+     *
+     * @return a pooled connection
+     * @throws SQLException if the pool is exhausted, shut down, or a new connection cannot be opened
+     */
+    Connection borrow() throws SQLException {
+        if (shutdown) {
+            throw new SQLException(CONNECTION_POOL_IS_SHUT_DOWN);
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+
         try {
-            Connection connection = pool.poll(5, TimeUnit.SECONDS);
-            if (connection == null || connection.isClosed() || !connection.isValid(2)) {
-                return createConnection();
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw exhausted(start);
             }
-
-            return connection;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new SQLException(INTERRUPTED_WHILE_WAITING_FOR_DB_CONNECTION, e);
         }
+
+        try {
+            PooledConnection pooled = takeIdleOrCreate(start, deadline);
+            long waited = recordBorrow(start);
+            borrowed.add(pooled);
+
+            return pooled.lease(leakDetectionThresholdNanos > 0, waited);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
     }
 
+    /**
+     * Returns a connection obtained from {@link #getConnection()} to the pool.
+     * Returning the same connection more than once has no effect.
+     *
+     * @param connection the connection to return, may be {@code null}
+     */
     public void closeConnection(Connection connection) {
         if (connection != null) {
             try {
-                if (!connection.isClosed()) {
-                    pool.offer(connection);
-                }
+                connection.close();
             } catch (SQLException e) {
-                e.printStackTrace();
+                logger.error(FAILED_TO_RETURN_CONNECTION, e);
             }
         }
     }
 
-    private Connection createConnection() throws SQLException {
-        return DriverManager.getConnection(url, username, password);
+    /**
+     * Returns a point-in-time snapshot of pool usage counters.
+     *
+     * @return pool statistics
+     */
+    public ConnectionPoolStats getStats() {
+        long borrows = borrowCount.sum();
+
+        return new ConnectionPoolStats(
+                maxSize,
+                totalConnections.get(),
+                borrowed.size(),
+                idle.size(),
+                permits.getQueueLength(),
+                borrows,
+                borrows == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(borrowWaitNanos.sum() / borrows),
+                TimeUnit.NANOSECONDS.toMicros(maxBorrowWaitNanos.get()),
+                timeoutCount.sum(),
+                leakCount.sum(),
+                createdCount.sum(),
+                closedCount.sum(),
+                validationCount.sum(),
+                statementCacheHits.sum(),
+                statementCacheMisses.sum());
+    }
+
+    /**
+     * Returns the per-fingerprint statistics of the statements executed on pooled connections. The registry stays
+     * empty when {@code db.query.metrics-enabled} is {@code false}.
+     *
+     * @return the query metrics of this pool
+     */
+    public QueryMetrics getQueryMetrics() {
+        return queryMetrics;
     }
 
+    /**
+     * Closes all idle connections and stops background housekeeping.
+     * Connections still borrowed are closed as soon as they are returned.
+     */
     public void shutdown() {
-        for (Connection connection : pool) {
-            try {
-                if (connection != null && !connection.isClosed()) {
-                    connection.close();
+        shutdown = true;
+        housekeeper.shutdownNow();
+
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    /**
+     * Takes a connection back from a borrower. Called once per lease by {@link PooledConnection}.
+     *
+     * @param pooled the connection being returned
+     */
+    void release(PooledConnection pooled) {
+        if (!borrowed.remove(pooled)) {
+            return;
+        }
+
+        try {
+            Connection physical = pooled.getPhysical();
+
+            if (shutdown || pooled.isExpired(maxLifetimeNanos) || physical.isClosed()) {
+                discard(pooled);
+            } else {
+                if (!physical.getAutoCommit()) {
+                    logger.warn(ROLLING_BACK_UNFINISHED_TRANSACTION);
+                    physical.rollback();
+                    physical.setAutoCommit(true);
                 }
-            } catch (SQLException e) {
-                e.printStackTrace();
+                idle.offerFirst(pooled);
+            }
+        } catch (SQLException e) {
+            logger.warn(DISCARDING_BROKEN_CONNECTION, e);
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Runs one housekeeping pass: reports leaked connections, retires expired or broken idle connections
+     * and opens new ones until {@code db.pool.min-idle} connections are idle.
+     */
+    void runHousekeeping() {
+        reportLeaks();
+        maintainIdleConnections();
+        fillToMinIdle();
+    }
+
+    void recordStatementCacheHit() {
+        statementCacheHits.increment();
+    }
+
+    void recordStatementCacheMiss() {
+        statementCacheMisses.increment();
+    }
+
+    private void reportLeaks() {
+        if (leakDetectionThresholdNanos <= 0) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        for (PooledConnection pooled : borrowed) {
+            long heldNanos = now - pooled.getBorrowedAt();
+
+            if (heldNanos > leakDetectionThresholdNanos && pooled.markLeakReported()) {
+                leakCount.increment();
+                logger.warn(CONNECTION_LEAK_DETECTED, TimeUnit.NANOSECONDS.toMillis(heldNanos),
+                        pooled.getBorrowerThreadName(), pooled.getBorrowStack());
             }
         }
     }
+
+    private void maintainIdleConnections() {
+        for (PooledConnection pooled : new ArrayList<>(idle)) {
+            if (!idle.removeFirstOccurrence(pooled)) {
+                continue;
+            }
+
+            if (shutdown || pooled.isExpired(maxLifetimeNanos) || !isAlive(pooled)) {
+                discard(pooled);
+            } else {
+                idle.offerLast(pooled);
+            }
+        }
+    }
+
+    private boolean isAlive(PooledConnection pooled) {
+        if (!pooled.needsValidation(validationIntervalNanos)) {
+            return true;
+        }
+
+        try {
+            validationCount.increment();
+            if (pooled.getPhysical().isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                pooled.markValidated();
+                return true;
+            }
+        } catch (SQLException e) {
+            logger.warn(DISCARDING_BROKEN_CONNECTION, e);
+        }
+
+        return false;
+    }
+
+    private PooledConnection takeIdleOrCreate(long start, long deadline) throws SQLException {
+        while (true) {
+            PooledConnection pooled = idle.pollFirst();
+
+            if (pooled == null) {
+                if (reserveSlot()) {
+                    return createPooledConnection();
+                }
+
+                pooled = pollIdleUntil(deadline);
+                if (pooled == null) {
+                    throw exhausted(start);
+                }
+            }
+
+            if (isUsable(pooled)) {
+                return pooled;
+            }
+            discard(pooled);
+        }
+    }
+
+    private PooledConnection pollIdleUntil(long deadline) throws SQLException {
+        long remaining = deadline - System.nanoTime();
+
+        if (remaining <= 0) {
+            return null;
+        }
+
+        try {
+            return idle.pollFirst(remaining, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(INTERRUPTED_WHILE_WAITING_FOR_DB_CONNECTION, e);
+        }
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        if (pooled.isExpired(maxLifetimeNanos)) {
+            return false;
+        }
+
+        try {
+            return !pooled.getPhysical().isClosed();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void fillToMinIdle() {
+        try {
+            while (!shutdown && idle.size() < minIdle && reserveSlot()) {
+                idle.offerLast(createPooledConnection());
+            }
+        } catch (SQLException e) {
+            logger.warn(MIN_IDLE_FILL_FAILED, e);
+        }
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = totalConnections.get();
+
+            if (current >= maxSize) {
+                return false;
+            }
+            if (totalConnections.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private PooledConnection createPooledConnection() throws SQLException {
+        try {
+            Connection physical = DriverManager.getConnection(url, username, password);
+            createdCount.increment();
+
+            return new PooledConnection(this, physical, statementCacheSize,
+                    queryMetricsEnabled ? queryMetrics : null);
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        closedCount.increment();
+        pooled.closeCachedStatements();
+
+        try {
+            pooled.getPhysical().close();
+        } catch (SQLException e) {
+            logger.warn(FAILED_TO_CLOSE_CONNECTION, e);
+        }
+    }
+
+    private long recordBorrow(long start) {
+        long waited = System.nanoTime() - start;
+        borrowCount.increment();
+        borrowWaitNanos.add(waited);
+        maxBorrowWaitNanos.accumulateAndGet(waited, Math::max);
+
+        return waited;
+    }
+
+    private SQLException exhausted(long start) {
+        timeoutCount.increment();
+        maxBorrowWaitNanos.accumulateAndGet(System.nanoTime() - start, Math::max);
+
+        return new SQLTransientConnectionException(String.format(CONNECTION_POOL_EXHAUSTED,
+                borrowTimeoutMillis, borrowed.size(), idle.size(), permits.getQueueLength()));
+    }
+
+    private static Properties loadApplicationProperties() {
+        Properties props = new Properties();
+
+        try (InputStream input = ConnectionPool.class.getClassLoader().getResourceAsStream(APPLICATION_PROPERTIES)) {
+            props.load(input);
+        } catch (IOException | NullPointerException e) {
+            throw new RuntimeException(CONNECTION_POOL_INITIALIZATION_FAILED, e);
+        }
+
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith(DB_PROPERTY_PREFIX)) {
+                props.setProperty(key, System.getProperty(key));
+            }
+        }
+
+        return props;
+    }
+
+    private static int intProperty(Properties props, String key, int defaultValue) {
+        String value = props.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private static long longProperty(Properties props, String key, long defaultValue) {
+        String value = props.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Long.parseLong(value.trim());
+    }
 }
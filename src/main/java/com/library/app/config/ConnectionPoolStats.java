@@ -0,0 +1,178 @@
+package com.library.app.config;
+
+/**
+ * Immutable snapshot of {@link ConnectionPool} usage counters.
+ */
+public class ConnectionPoolStats {
+    /**
+     * The configured upper bound on physical connections.
+     */
+    private final int maxSize;
+    /**
+     * The number of physical connections currently open.
+     */
+    private final int total;
+    /**
+     * The number of connections currently borrowed.
+     */
+    private final int active;
+    /**
+     * The number of open connections waiting in the pool.
+     */
+    private final int idle;
+    /**
+     * The number of threads currently waiting for a connection.
+     */
+    private final int pending;
+    /**
+     * The number of successful borrows since startup.
+     */
+    private final long borrowCount;
+    /**
+     * The average time a successful borrow waited, in microseconds.
+     */
+    private final long averageBorrowWaitMicros;
+    /**
+     * The longest time any borrow waited, in microseconds.
+     */
+    private final long maxBorrowWaitMicros;
+    /**
+     * The number of borrows that failed because the pool was exhausted.
+     */
+    private final long timeoutCount;
+    /**
+     * The number of leaked connections reported.
+     */
+    private final long leakCount;
+    /**
+     * The number of physical connections opened since startup.
+     */
+    private final long createdCount;
+    /**
+     * The number of physical connections closed since startup.
+     */
+    private final long closedCount;
+    /**
+     * The number of validation round trips made by background housekeeping.
+     */
+    private final long validationCount;
+    /**
+     * The number of prepared statements served from a connection's statement cache.
+     */
+    private final long statementCacheHits;
+    /**
+     * The number of prepared statements that had to be prepared on the physical connection.
+     */
+    private final long statementCacheMisses;
+
+    /**
+     * Constructs a snapshot with the given counter values.
+     *
+     * @param maxSize                 the configured upper bound on physical connections
+     * @param total                   physical connections currently open
+     * @param active                  connections currently borrowed
+     * @param idle                    open connections waiting in the pool
+     * @param pending                 threads waiting for a connection
+     * @param borrowCount             successful borrows since startup
+     * @param averageBorrowWaitMicros average borrow wait in microseconds
+     * @param maxBorrowWaitMicros     longest borrow wait in microseconds
+     * @param timeoutCount            borrows that failed because the pool was exhausted
+     * @param leakCount               leaked connections reported
+     * @param createdCount            physical connections opened since startup
+     * @param closedCount             physical connections closed since startup
+     * @param validationCount         validation round trips made by background housekeeping
+     * @param statementCacheHits      prepared statements served from a statement cache
+     * @param statementCacheMisses    prepared statements prepared on the physical connection
+     */
+    public ConnectionPoolStats(int maxSize, int total, int active, int idle, int pending, long borrowCount,
+                               long averageBorrowWaitMicros, long maxBorrowWaitMicros, long timeoutCount,
+                               long leakCount, long createdCount, long closedCount, long validationCount,
+                               long statementCacheHits, long statementCacheMisses) {
+        this.maxSize = maxSize;
+        this.total = total;
+        this.active = active;
+        this.idle = idle;
+        this.pending = pending;
+        this.borrowCount = borrowCount;
+        this.averageBorrowWaitMicros = averageBorrowWaitMicros;
+        this.maxBorrowWaitMicros = maxBorrowWaitMicros;
+        this.timeoutCount = timeoutCount;
+        this.leakCount = leakCount;
+        this.createdCount = createdCount;
+        this.closedCount = closedCount;
+        this.validationCount = validationCount;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getPending() {
+        return pending;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    public long getAverageBorrowWaitMicros() {
+        return averageBorrowWaitMicros;
+    }
+
+    public long getMaxBorrowWaitMicros() {
+        return maxBorrowWaitMicros;
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    public long getLeakCount() {
+        return leakCount;
+    }
+
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    public long getClosedCount() {
+        return closedCount;
+    }
+
+    public long getValidationCount() {
+        return validationCount;
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits;
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolStats{maxSize=" + maxSize + ", total=" + total + ", active=" + active
+                + ", idle=" + idle + ", pending=" + pending + ", borrowCount=" + borrowCount
+                + ", averageBorrowWaitMicros=" + averageBorrowWaitMicros
+                + ", maxBorrowWaitMicros=" + maxBorrowWaitMicros + ", timeoutCount=" + timeoutCount
+                + ", leakCount=" + leakCount + ", createdCount=" + createdCount
+                + ", closedCount=" + closedCount + ", validationCount=" + validationCount
+                + ", statementCacheHits=" + statementCacheHits + ", statementCacheMisses=" + statementCacheMisses + '}';
+    }
+}
@@ -0,0 +1,202 @@
+package com.library.app.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.function.LongSupplier;
+
+/**
+ * Statement proxy that times every execution and reports it to {@link QueryMetrics}.
+ * <p>
+ * Result sets returned by the statement are wrapped as well, so the rows a caller actually reads are counted
+ * under the statement's fingerprint. Bound parameter values are never looked at; only the highest parameter
+ * index bound so far is remembered for the slow query log.
+ */
+final class InstrumentedStatement implements InvocationHandler {
+    private static final String EXECUTE = "execute";
+    private static final String ADD_BATCH = "addBatch";
+    private static final String CLEAR_BATCH = "clearBatch";
+    private static final String CLEAR_PARAMETERS = "clearParameters";
+    private static final String GET_RESULT_SET = "getResultSet";
+    private static final String GET_CONNECTION = "getConnection";
+    private static final String SET = "set";
+    private static final String NEXT = "next";
+    private static final String CLOSE = "close";
+    private static final String GET_STATEMENT = "getStatement";
+    private static final String EQUALS = "equals";
+    private static final String HASH_CODE = "hashCode";
+
+    private final QueryMetrics metrics;
+    private final Statement statement;
+    private final Connection lease;
+    private final LongSupplier connectionWait;
+    private final String sql;
+    private String batchSql;
+    private QueryMetrics.Entry lastEntry;
+    private int parameterCount;
+
+    private InstrumentedStatement(QueryMetrics metrics, Statement statement, Connection lease,
+                                  LongSupplier connectionWait, String sql) {
+        this.metrics = metrics;
+        this.statement = statement;
+        this.lease = lease;
+        this.connectionWait = connectionWait;
+        this.sql = sql;
+    }
+
+    /**
+     * Wraps a statement created on a leased connection.
+     *
+     * @param metrics        the registry executions are reported to
+     * @param type           the statement interface to expose
+     * @param statement      the statement to wrap
+     * @param lease          the connection proxy returned by {@link Statement#getConnection()}
+     * @param connectionWait supplies the pool wait of the lease the first time it is asked, {@code 0} afterwards
+     * @param sql            the SQL the statement was prepared with, or {@code null} for a plain statement
+     * @return the instrumented statement
+     */
+    static Statement wrap(QueryMetrics metrics, Class<?> type, Statement statement, Connection lease,
+                          LongSupplier connectionWait, String sql) {
+        return (Statement) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new InstrumentedStatement(metrics, statement, lease, connectionWait, sql));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+
+        if (name.startsWith(EXECUTE)) {
+            return execute(proxy, method, args);
+        }
+
+        switch (name) {
+            case GET_CONNECTION:
+                return lease;
+            case EQUALS:
+                return proxy == args[0];
+            case HASH_CODE:
+                return System.identityHashCode(proxy);
+            case GET_RESULT_SET:
+                ResultSet resultSet = (ResultSet) invokeTarget(method, args);
+                return resultSet == null || lastEntry == null ? resultSet : countRows(resultSet, proxy, lastEntry);
+            case ADD_BATCH:
+                if (batchSql == null && args != null && args.length == 1) {
+                    batchSql = (String) args[0];
+                }
+                break;
+            case CLEAR_BATCH:
+                batchSql = null;
+                break;
+            case CLEAR_PARAMETERS:
+                parameterCount = 0;
+                break;
+            default:
+                if (name.startsWith(SET) && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameterCount = Math.max(parameterCount, index);
+                }
+                break;
+        }
+
+        return invokeTarget(method, args);
+    }
+
+    private Object execute(Object proxy, Method method, Object[] args) throws Throwable {
+        String executed = args != null && args.length > 0 && args[0] instanceof String text ? text
+                : sql != null ? sql : batchSql;
+
+        if (executed == null) {
+            return invokeTarget(method, args);
+        }
+
+        QueryMetrics.Entry entry = metrics.entry(executed);
+        long waitNanos = connectionWait.getAsLong();
+        long start = System.nanoTime();
+        Object result;
+
+        try {
+            result = method.invoke(statement, args);
+        } catch (InvocationTargetException e) {
+            metrics.record(entry, System.nanoTime() - start, waitNanos, true, parameterCount);
+            throw e.getCause();
+        }
+
+        metrics.record(entry, System.nanoTime() - start, waitNanos, false, parameterCount);
+        lastEntry = entry;
+
+        return switch (result) {
+            case ResultSet resultSet -> countRows(resultSet, proxy, entry);
+            case Integer updated -> {
+                entry.addRows(updated);
+                yield result;
+            }
+            case Long updated -> {
+                entry.addRows(updated);
+                yield result;
+            }
+            case int[] updated -> {
+                for (int count : updated) {
+                    entry.addRows(count);
+                }
+                yield result;
+            }
+            case long[] updated -> {
+                for (long count : updated) {
+                    entry.addRows(count);
+                }
+                yield result;
+            }
+            case null, default -> result;
+        };
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(statement, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Wraps a result set so the rows read from it are added to the entry once it is exhausted or closed.
+     */
+    private static ResultSet countRows(ResultSet resultSet, Object statement, QueryMetrics.Entry entry) {
+        long[] pending = {0};
+
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case GET_STATEMENT:
+                            return statement;
+                        case CLOSE:
+                            entry.addRows(pending[0]);
+                            pending[0] = 0;
+                            break;
+                        default:
+                            break;
+                    }
+
+                    Object result;
+                    try {
+                        result = method.invoke(resultSet, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+
+                    if (NEXT.equals(method.getName())) {
+                        if ((Boolean) result) {
+                            pending[0]++;
+                        } else {
+                            entry.addRows(pending[0]);
+                            pending[0] = 0;
+                        }
+                    }
+
+                    return result;
+                });
+    }
+}
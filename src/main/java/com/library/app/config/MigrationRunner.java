@@ -0,0 +1,313 @@
+package com.library.app.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Brings the database schema up to date by applying the numbered SQL scripts found under
+ * {@code db/migration} on the classpath.
+ * <p>
+ * A script named {@code V<version>__<description>.sql} is applied once, in version order, and recorded in the
+ * {@code schema_version} table in the same transaction, so a failed script leaves neither its changes nor its
+ * record behind. A PostgreSQL advisory lock keeps several application instances from migrating at once.
+ * <p>
+ * Runs when the application context starts, unless {@code db.migration.enabled} is {@code false}, and
+ * fails the startup if a script cannot be applied. {@link #main(String[])} runs the same migrations from the
+ * command line.
+ */
+@Component
+public class MigrationRunner implements InitializingBean {
+    static final String DEFAULT_LOCATION = "classpath*:db/migration/V*__*.sql";
+    private static final Pattern MIGRATION_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final long LOCK_KEY = 4_207_331_016L;
+    private static final String UNDERSCORE = "_";
+    private static final String SPACE = " ";
+    private static final String LOCK = "SELECT pg_advisory_lock(?)";
+    private static final String UNLOCK = "SELECT pg_advisory_unlock(?)";
+    private static final String CREATE_SCHEMA_VERSION_TABLE = """
+            CREATE TABLE IF NOT EXISTS schema_version (
+                version INTEGER PRIMARY KEY,
+                description VARCHAR(200) NOT NULL,
+                checksum BIGINT NOT NULL,
+                execution_ms BIGINT NOT NULL,
+                installed_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+            )""";
+    private static final String SELECT_APPLIED_VERSIONS = "SELECT version, checksum FROM schema_version";
+    private static final String INSERT_VERSION =
+            "INSERT INTO schema_version (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)";
+    private static final String VERSION = "version";
+    private static final String CHECKSUM = "checksum";
+    private static final String FAILED_TO_LOAD_MIGRATIONS = "Failed to load migrations from %s";
+    private static final String INVALID_MIGRATION_NAME = "Invalid migration name: %s";
+    private static final String DUPLICATE_MIGRATION_VERSION = "Duplicate migration version %d: %s and %s";
+    private static final String FAILED_TO_APPLY_MIGRATION = "Failed to apply migration V%d (%s)";
+    private static final String DATABASE_ERROR_WHILE_MIGRATING = "Database error while migrating the schema";
+    private static final String FAILED_TO_ROLL_BACK_MIGRATION = "Failed to roll back migration";
+    private static final String FAILED_TO_RESTORE_AUTO_COMMIT = "Failed to restore auto-commit";
+    private static final String FAILED_TO_RELEASE_MIGRATION_LOCK = "Failed to release migration lock";
+    private static final String MIGRATIONS_DISABLED = "Schema migrations are disabled";
+    private static final String MIGRATION_APPLIED = "Applied migration V{} ({}) in {} ms";
+    private static final String MIGRATION_CHANGED =
+            "Migration V{} ({}) has changed since it was applied; edit the schema with a new migration instead";
+    private static final String SCHEMA_UP_TO_DATE = "Schema is up to date at version {}";
+    private static final Logger logger = LoggerFactory.getLogger(MigrationRunner.class);
+
+    private final ConnectionPool connectionPool;
+    private final String location;
+    private final boolean enabled;
+
+    /**
+     * Constructs a {@code MigrationRunner} applying the bundled migrations through the application-wide
+     * connection pool.
+     *
+     * @param enabled whether the migrations run when the application context starts
+     */
+    @Autowired
+    public MigrationRunner(@Value("${db.migration.enabled:true}") boolean enabled) {
+        this(ConnectionPool.getInstance(), DEFAULT_LOCATION, enabled);
+    }
+
+    MigrationRunner(ConnectionPool connectionPool, String location, boolean enabled) {
+        this.connectionPool = connectionPool;
+        this.location = location;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Applies the migrations from the command line using the database settings of
+     * {@code application.properties}, which {@code -Ddb.*} system properties override.
+     *
+     * @param args ignored
+     */
+    public static void main(String[] args) {
+        ConnectionPool pool = ConnectionPool.getInstance();
+
+        try {
+            new MigrationRunner(pool, DEFAULT_LOCATION, true).migrate();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (enabled) {
+            migrate();
+        } else {
+            logger.warn(MIGRATIONS_DISABLED);
+        }
+    }
+
+    /**
+     * Applies every migration that has not been applied yet, in version order.
+     *
+     * @return the versions applied by this run, in the order they were applied
+     * @throws RuntimeException if the migrations cannot be loaded or one of them fails
+     */
+    public List<Integer> migrate() {
+        List<Migration> migrations = loadMigrations();
+        List<Integer> applied = new ArrayList<>();
+        Connection connection = null;
+
+        try {
+            connection = connectionPool.getConnection();
+            lock(connection);
+
+            try {
+                try (PreparedStatement statement = connection.prepareStatement(CREATE_SCHEMA_VERSION_TABLE)) {
+                    statement.execute();
+                }
+
+                Map<Integer, Long> checksums = findAppliedVersions(connection);
+
+                for (Migration migration : migrations) {
+                    Long checksum = checksums.get(migration.version);
+
+                    if (checksum == null) {
+                        apply(connection, migration);
+                        applied.add(migration.version);
+                    } else if (checksum != migration.checksum) {
+                        logger.warn(MIGRATION_CHANGED, migration.version, migration.description);
+                    }
+                }
+            } finally {
+                unlock(connection);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(DATABASE_ERROR_WHILE_MIGRATING, e);
+        } finally {
+            connectionPool.closeConnection(connection);
+        }
+
+        logger.info(SCHEMA_UP_TO_DATE, migrations.isEmpty() ? 0 : migrations.getLast().version);
+
+        return applied;
+    }
+
+    /**
+     * Reads the migration scripts at the configured location and sorts them by version.
+     *
+     * @return the migrations, lowest version first
+     */
+    List<Migration> loadMigrations() {
+        Map<Integer, Migration> byVersion = new HashMap<>();
+
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(location)) {
+                Migration migration = Migration.of(resource.getFilename(), read(resource));
+                Migration duplicate = byVersion.put(migration.version, migration);
+
+                if (duplicate != null) {
+                    throw new RuntimeException(String.format(DUPLICATE_MIGRATION_VERSION,
+                            migration.version, duplicate.description, migration.description));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(String.format(FAILED_TO_LOAD_MIGRATIONS, location), e);
+        }
+
+        List<Migration> migrations = new ArrayList<>(byVersion.values());
+        migrations.sort(Comparator.comparingInt(migration -> migration.version));
+
+        return migrations;
+    }
+
+    private void apply(Connection connection, Migration migration) {
+        long start = System.currentTimeMillis();
+
+        try {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement script = connection.prepareStatement(migration.script)) {
+                script.execute();
+            }
+
+            long elapsed = System.currentTimeMillis() - start;
+
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_VERSION)) {
+                statement.setInt(1, migration.version);
+                statement.setString(2, migration.description);
+                statement.setLong(3, migration.checksum);
+                statement.setLong(4, elapsed);
+                statement.executeUpdate();
+            }
+
+            connection.commit();
+            logger.info(MIGRATION_APPLIED, migration.version, migration.description, elapsed);
+        } catch (SQLException e) {
+            rollback(connection);
+            throw new RuntimeException(String.format(FAILED_TO_APPLY_MIGRATION,
+                    migration.version, migration.description), e);
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                logger.error(FAILED_TO_RESTORE_AUTO_COMMIT, e);
+            }
+        }
+    }
+
+    private Map<Integer, Long> findAppliedVersions(Connection connection) throws SQLException {
+        Map<Integer, Long> checksums = new HashMap<>();
+
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_APPLIED_VERSIONS);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                checksums.put(resultSet.getInt(VERSION), resultSet.getLong(CHECKSUM));
+            }
+        }
+
+        return checksums;
+    }
+
+    private void lock(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(LOCK)) {
+            statement.setLong(1, LOCK_KEY);
+            statement.execute();
+        }
+    }
+
+    private void unlock(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement(UNLOCK)) {
+            statement.setLong(1, LOCK_KEY);
+            statement.execute();
+        } catch (SQLException e) {
+            logger.error(FAILED_TO_RELEASE_MIGRATION_LOCK, e);
+        }
+    }
+
+    private void rollback(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            logger.error(FAILED_TO_ROLL_BACK_MIGRATION, e);
+        }
+    }
+
+    private static String read(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * One migration script with the version and description taken from its file name.
+     */
+    static final class Migration {
+        private final int version;
+        private final String description;
+        private final String script;
+        private final long checksum;
+
+        private Migration(int version, String description, String script) {
+            this.version = version;
+            this.description = description;
+            this.script = script;
+
+            CRC32 crc = new CRC32();
+            crc.update(script.getBytes(StandardCharsets.UTF_8));
+            this.checksum = crc.getValue();
+        }
+
+        static Migration of(String fileName, String script) {
+            Matcher matcher = MIGRATION_NAME.matcher(fileName == null ? "" : fileName);
+
+            if (!matcher.matches()) {
+                throw new RuntimeException(String.format(INVALID_MIGRATION_NAME, fileName));
+            }
+
+            return new Migration(Integer.parseInt(matcher.group(1)),
+                    matcher.group(2).replace(UNDERSCORE, SPACE), script);
+        }
+
+        int getVersion() {
+            return version;
+        }
+
+        String getDescription() {
+            return description;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.library.app.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A physical connection owned by {@link ConnectionPool}, together with the bookkeeping the pool needs
+ * for lifetime and leak tracking.
+ * <p>
+ * Borrowers never see the physical connection. Each borrow hands out a fresh proxy ({@link Lease})
+ * whose {@code close()} returns the connection to the pool; a lease that has been returned rejects
+ * further calls, so a stale reference cannot interfere with the next borrower.
+ * <p>
+ * Statements prepared with {@link Connection#prepareStatement(String)} are kept in a per-connection LRU cache
+ * keyed by SQL text. Closing such a statement clears its parameters and puts it back into the cache instead of
+ * closing it, so the next borrower preparing the same SQL reuses the already parsed statement. Statements
+ * evicted from the cache, or still cached when the connection is closed, are closed for real.
+ * <p>
+ * When the pool collects {@link QueryMetrics}, every statement a lease creates is wrapped in an
+ * {@link InstrumentedStatement}. The time the borrower waited for the connection is attributed to the first
+ * statement executed on the lease.
+ */
+final class PooledConnection {
+    private static final String CONNECTION_ALREADY_RETURNED = "Connection has already been returned to the pool";
+    private static final String BORROWED_HERE = "Connection borrowed here";
+    private static final String CLOSE = "close";
+    private static final String IS_CLOSED = "isClosed";
+    private static final String EQUALS = "equals";
+    private static final String HASH_CODE = "hashCode";
+    private static final String TO_STRING = "toString";
+    private static final String PREPARE_STATEMENT = "prepareStatement";
+    private static final String GET_CONNECTION = "getConnection";
+    private static final String STATEMENT_IS_CLOSED = "Statement is closed";
+
+    private final ConnectionPool pool;
+    private final Connection physical;
+    private final long createdAt;
+    private final AtomicBoolean leakReported = new AtomicBoolean();
+    private final int statementCacheSize;
+    private final Map<String, PreparedStatement> statementCache;
+    private final QueryMetrics queryMetrics;
+    private volatile long lastValidatedAt;
+    private volatile long borrowedAt;
+    private volatile String borrowerThreadName;
+    private volatile Throwable borrowStack;
+
+    PooledConnection(ConnectionPool pool, Connection physical, int statementCacheSize, QueryMetrics queryMetrics) {
+        this.pool = pool;
+        this.physical = physical;
+        this.queryMetrics = queryMetrics;
+        this.createdAt = System.nanoTime();
+        this.lastValidatedAt = createdAt;
+        this.statementCacheSize = statementCacheSize;
+        this.statementCache = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Hands the connection out to a new borrower.
+     *
+     * @param captureStack whether to remember the borrower's stack trace for leak reports
+     * @param waitNanos    how long the borrower waited for the connection
+     * @return a proxy that returns this connection to the pool when closed
+     */
+    Connection lease(boolean captureStack, long waitNanos) {
+        borrowedAt = System.nanoTime();
+        borrowerThreadName = Thread.currentThread().getName();
+        borrowStack = captureStack ? new Throwable(BORROWED_HERE) : null;
+        leakReported.set(false);
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, new Lease(waitNanos));
+    }
+
+    Connection getPhysical() {
+        return physical;
+    }
+
+    boolean isExpired(long maxLifetimeNanos) {
+        return maxLifetimeNanos > 0 && System.nanoTime() - createdAt > maxLifetimeNanos;
+    }
+
+    /**
+     * Tells whether the connection has gone unchecked for longer than the validation interval.
+     *
+     * @param validationIntervalNanos how long a successful validation stays trusted
+     * @return {@code true} if the connection should be validated before it is trusted again
+     */
+    boolean needsValidation(long validationIntervalNanos) {
+        return System.nanoTime() - lastValidatedAt >= validationIntervalNanos;
+    }
+
+    void markValidated() {
+        lastValidatedAt = System.nanoTime();
+    }
+
+    /**
+     * Closes every statement held in the statement cache. Called before the physical connection is closed.
+     */
+    void closeCachedStatements() {
+        List<PreparedStatement> statements;
+
+        synchronized (statementCache) {
+            statements = new ArrayList<>(statementCache.values());
+            statementCache.clear();
+        }
+
+        statements.forEach(PooledConnection::closeQuietly);
+    }
+
+    int getCachedStatementCount() {
+        synchronized (statementCache) {
+            return statementCache.size();
+        }
+    }
+
+    long getBorrowedAt() {
+        return borrowedAt;
+    }
+
+    String getBorrowerThreadName() {
+        return borrowerThreadName;
+    }
+
+    Throwable getBorrowStack() {
+        return borrowStack;
+    }
+
+    /**
+     * Marks the current lease as reported leaked.
+     *
+     * @return {@code true} if it had not been reported yet
+     */
+    boolean markLeakReported() {
+        return leakReported.compareAndSet(false, true);
+    }
+
+    private PreparedStatement prepareCached(Lease owner, Connection lease, String sql) throws SQLException {
+        PreparedStatement statement;
+
+        synchronized (statementCache) {
+            statement = statementCache.remove(sql);
+        }
+
+        if (statement != null && !statement.isClosed()) {
+            pool.recordStatementCacheHit();
+        } else {
+            pool.recordStatementCacheMiss();
+            statement = physical.prepareStatement(sql);
+        }
+
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, new CachedStatement(owner, lease, sql, statement));
+    }
+
+    private void checkIn(String sql, PreparedStatement statement) {
+        List<PreparedStatement> toClose = new ArrayList<>();
+
+        synchronized (statementCache) {
+            PreparedStatement previous = statementCache.put(sql, statement);
+            if (previous != null) {
+                toClose.add(previous);
+            }
+
+            Iterator<PreparedStatement> eldest = statementCache.values().iterator();
+            while (statementCache.size() > statementCacheSize) {
+                toClose.add(eldest.next());
+                eldest.remove();
+            }
+        }
+
+        toClose.forEach(PooledConnection::closeQuietly);
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // the statement is being dropped either way
+        }
+    }
+
+    /**
+     * Connection proxy handed to a single borrower.
+     */
+    private final class Lease implements InvocationHandler {
+        private final AtomicBoolean returned = new AtomicBoolean();
+        private long waitNanos;
+
+        private Lease(long waitNanos) {
+            this.waitNanos = waitNanos;
+        }
+
+        boolean isReturned() {
+            return returned.get();
+        }
+
+        /**
+         * Returns the time the borrower waited for the connection the first time it is called, {@code 0} after.
+         */
+        private long takeWaitNanos() {
+            long waited = waitNanos;
+            waitNanos = 0;
+
+            return waited;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case CLOSE:
+                    if (returned.compareAndSet(false, true)) {
+                        pool.release(PooledConnection.this);
+                    }
+                    return null;
+                case IS_CLOSED:
+                    if (returned.get()) {
+                        return true;
+                    }
+                    break;
+                case EQUALS:
+                    return proxy == args[0];
+                case HASH_CODE:
+                    return System.identityHashCode(proxy);
+                case TO_STRING:
+                    return "Pooled[" + physical + "]";
+                default:
+                    break;
+            }
+
+            if (returned.get()) {
+                throw new SQLException(CONNECTION_ALREADY_RETURNED);
+            }
+
+            Object result;
+
+            if (statementCacheSize > 0 && PREPARE_STATEMENT.equals(method.getName()) && args.length == 1) {
+                result = prepareCached(this, (Connection) proxy, (String) args[0]);
+            } else {
+                try {
+                    result = method.invoke(physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+
+            if (queryMetrics != null && result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return InstrumentedStatement.wrap(queryMetrics, method.getReturnType(), statement,
+                        (Connection) proxy, this::takeWaitNanos, sql);
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Statement proxy whose {@code close()} hands the statement back to the cache.
+     */
+    private final class CachedStatement implements InvocationHandler {
+        private final Lease owner;
+        private final Connection lease;
+        private final String sql;
+        private final PreparedStatement statement;
+        private boolean closed;
+
+        private CachedStatement(Lease owner, Connection lease, String sql, PreparedStatement statement) {
+            this.owner = owner;
+            this.lease = lease;
+            this.sql = sql;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case CLOSE:
+                    if (!closed) {
+                        closed = true;
+                        recycle();
+                    }
+                    return null;
+                case IS_CLOSED:
+                    return closed || statement.isClosed();
+                case GET_CONNECTION:
+                    return lease;
+                case EQUALS:
+                    return proxy == args[0];
+                case HASH_CODE:
+                    return System.identityHashCode(proxy);
+                case TO_STRING:
+                    return "Cached[" + statement + "]";
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException(STATEMENT_IS_CLOSED);
+            }
+            if (owner.isReturned()) {
+                throw new SQLException(CONNECTION_ALREADY_RETURNED);
+            }
+
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void recycle() {
+            try {
+                if (statement.isClosed()) {
+                    return;
+                }
+                statement.clearParameters();
+                statement.clearBatch();
+                checkIn(sql, statement);
+            } catch (SQLException e) {
+                closeQuietly(statement);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.library.app.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the query budget {@link QueryBudgetInterceptor} checks for a handler method, or for every handler of
+ * a controller. A negative value keeps the application-wide default of that limit.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    /**
+     * The number of statements a request may execute.
+     *
+     * @return the statement limit, or a negative value for the default
+     */
+    int maxStatements() default -1;
+
+    /**
+     * The number of times a request may repeat any single SQL fingerprint after its first execution.
+     *
+     * @return the repeat limit, or a negative value for the default
+     */
+    int maxRepeats() default -1;
+}
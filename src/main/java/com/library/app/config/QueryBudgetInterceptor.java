@@ -0,0 +1,183 @@
+package com.library.app.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the statements each controller handler executes and checks them against a query budget.
+ * <p>
+ * A {@link QueryTracker} is bound to the request thread from {@code preHandle} until the request completes. The
+ * statement count, the database time and the number of repeated fingerprints are sent back in the
+ * {@value #QUERY_COUNT_HEADER}, {@value #QUERY_TIME_HEADER} and {@value #QUERY_REPEATS_HEADER} response headers,
+ * as long as the response has not been committed yet. When a handler executes more than
+ * {@code db.query.budget.max-statements} statements, or runs one fingerprint more than
+ * {@code db.query.budget.max-repeats} times after its first execution, a warning names the handler and the
+ * repeated SQL. {@link QueryBudget} overrides the limits per handler.
+ * <p>
+ * Statements a handler runs on other threads are counted only if their tasks are wrapped with
+ * {@link QueryTracker#propagate(java.util.concurrent.Callable)} while the request thread waits for them, as the
+ * report snapshot does. Statements of asynchronous handlers executed after the request thread is released are not
+ * counted.
+ */
+@Component
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+    static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    static final String QUERY_TIME_HEADER = "X-Query-Time-Ms";
+    static final String QUERY_REPEATS_HEADER = "X-Query-Repeats";
+    private static final String TRACKER_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".tracker";
+    private static final String QUERY_TIME_FORMAT = "%.1f";
+    private static final int REPEATED_QUERIES_LOGGED = 3;
+    private static final String QUERY_BUDGET_EXCEEDED =
+            "Query budget exceeded by {} {} {}: {} statements (limit {}), a query repeated {} times (limit {}), "
+                    + "{} ms in the database; repeated queries: {}";
+    private static final String HANDLER_METHOD = "%s#%s";
+    private static final String REPEATED_QUERY = "%dx %s";
+    private static final String SEPARATOR = "; ";
+    private static final String NONE = "none";
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+    private final int maxStatements;
+    private final int maxRepeats;
+
+    /**
+     * Constructs an interceptor with the application-wide query budget.
+     *
+     * @param maxStatements the number of statements a request may execute
+     * @param maxRepeats    the number of times a request may repeat any single fingerprint
+     */
+    @Autowired
+    public QueryBudgetInterceptor(@Value("${db.query.budget.max-statements:25}") int maxStatements,
+                                  @Value("${db.query.budget.max-repeats:3}") int maxRepeats) {
+        this.maxStatements = maxStatements;
+        this.maxRepeats = maxRepeats;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && request.getAttribute(TRACKER_ATTRIBUTE) == null) {
+            request.setAttribute(TRACKER_ATTRIBUTE, QueryTracker.start());
+        }
+
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        QueryTracker tracker = tracker(request);
+
+        if (tracker != null) {
+            writeHeaders(tracker, response);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        QueryTracker tracker = tracker(request);
+
+        if (tracker == null) {
+            return;
+        }
+
+        tracker.close();
+        request.removeAttribute(TRACKER_ATTRIBUTE);
+        writeHeaders(tracker, response);
+
+        if (handler instanceof HandlerMethod handlerMethod && isOverBudget(tracker, handlerMethod)) {
+            logger.warn(QUERY_BUDGET_EXCEEDED,
+                    String.format(HANDLER_METHOD, handlerMethod.getBeanType().getSimpleName(),
+                            handlerMethod.getMethod().getName()),
+                    request.getMethod(), request.getRequestURI(),
+                    tracker.getStatementCount(), statementLimit(handlerMethod), tracker.getMaxRepeats(),
+                    repeatLimit(handlerMethod), formatMillis(tracker.getTotalNanos()), repeatedQueries(tracker));
+        }
+    }
+
+    /**
+     * Unbinds the tracker when the handler hands the response to another thread; the rest of the request is not
+     * counted.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        QueryTracker tracker = tracker(request);
+
+        if (tracker != null) {
+            tracker.close();
+            request.removeAttribute(TRACKER_ATTRIBUTE);
+        }
+    }
+
+    /**
+     * Tells whether the statements counted by a tracker exceed the query budget of a handler.
+     *
+     * @param tracker       the statements executed by the handler
+     * @param handlerMethod the handler
+     * @return {@code true} if the statement count or the repeats of any fingerprint are over the limit
+     */
+    boolean isOverBudget(QueryTracker tracker, HandlerMethod handlerMethod) {
+        return tracker.getStatementCount() > statementLimit(handlerMethod)
+                || tracker.getMaxRepeats() > repeatLimit(handlerMethod);
+    }
+
+    private int statementLimit(HandlerMethod handlerMethod) {
+        QueryBudget budget = budget(handlerMethod);
+
+        return budget != null && budget.maxStatements() >= 0 ? budget.maxStatements() : maxStatements;
+    }
+
+    private int repeatLimit(HandlerMethod handlerMethod) {
+        QueryBudget budget = budget(handlerMethod);
+
+        return budget != null && budget.maxRepeats() >= 0 ? budget.maxRepeats() : maxRepeats;
+    }
+
+    private static QueryBudget budget(HandlerMethod handlerMethod) {
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), QueryBudget.class);
+
+        return budget != null ? budget
+                : AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), QueryBudget.class);
+    }
+
+    private static String repeatedQueries(QueryTracker tracker) {
+        StringJoiner joiner = new StringJoiner(SEPARATOR);
+
+        tracker.getRepeatedFingerprints().entrySet().stream()
+                .limit(REPEATED_QUERIES_LOGGED)
+                .forEach(entry -> joiner.add(String.format(REPEATED_QUERY, entry.getValue(), entry.getKey())));
+
+        return joiner.length() == 0 ? NONE : joiner.toString();
+    }
+
+    private static void writeHeaders(QueryTracker tracker, HttpServletResponse response) {
+        if (response.isCommitted()) {
+            return;
+        }
+
+        response.setHeader(QUERY_COUNT_HEADER, String.valueOf(tracker.getStatementCount()));
+        response.setHeader(QUERY_TIME_HEADER, formatMillis(tracker.getTotalNanos()));
+        response.setHeader(QUERY_REPEATS_HEADER, String.valueOf(tracker.getRepeatCount()));
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, QUERY_TIME_FORMAT, nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static QueryTracker tracker(HttpServletRequest request) {
+        return (QueryTracker) request.getAttribute(TRACKER_ATTRIBUTE);
+    }
+}
@@ -0,0 +1,198 @@
+package com.library.app.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-fingerprint execution statistics of the statements run on {@link ConnectionPool} connections.
+ * <p>
+ * Every execution is counted under the {@link SqlFingerprint} of its SQL: the execution time goes into a
+ * fixed latency histogram, and the rows read from its result set or reported updated, as well as the time
+ * its connection waited in the pool, are added up. At most {@code db.query.max-fingerprints} fingerprints are
+ * tracked; executions of further ones are counted under {@value #OTHER}.
+ * <p>
+ * Executions slower than {@code db.query.slow-threshold-ms} are written to the dedicated slow query log
+ * ({@code com.library.app.config.QueryMetrics.slow}). The entry names the fingerprint and the number of bound
+ * parameters, never their values.
+ */
+public class QueryMetrics {
+    static final String OTHER = "<other>";
+    private static final long[] BUCKET_BOUNDS_MILLIS = {1, 5, 10, 50, 100, 500, 1000};
+    private static final int SQL_TEXTS_PER_FINGERPRINT = 4;
+    private static final String SLOW_QUERY_LOGGER = QueryMetrics.class.getName() + ".slow";
+    private static final String SLOW_QUERY =
+            "Slow query: {} ms ({} ms connection wait), {} bound parameter(s) redacted{}: {}";
+    private static final String FAILED = ", failed";
+
+    private static final Logger slowQueryLogger = LoggerFactory.getLogger(SLOW_QUERY_LOGGER);
+
+    private final long slowThresholdNanos;
+    private final int maxFingerprints;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entriesBySql = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty registry.
+     *
+     * @param slowThresholdMillis executions taking at least this long are logged as slow; {@code 0} disables
+     *                            the slow query log
+     * @param maxFingerprints     the number of fingerprints tracked separately
+     */
+    QueryMetrics(long slowThresholdMillis, int maxFingerprints) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    /**
+     * Returns the upper bounds, in milliseconds, of the histogram buckets of {@link QueryStats#getHistogram()}.
+     *
+     * @return the bucket bounds in ascending order
+     */
+    public static long[] getBucketBoundsMillis() {
+        return BUCKET_BOUNDS_MILLIS.clone();
+    }
+
+    /**
+     * Returns a point-in-time snapshot of every tracked fingerprint, the one with the highest total execution
+     * time first.
+     *
+     * @return the statistics per fingerprint
+     */
+    public List<QueryStats> snapshot() {
+        List<QueryStats> stats = new ArrayList<>(entries.size());
+
+        for (Entry entry : entries.values()) {
+            stats.add(entry.toStats());
+        }
+        stats.sort(Comparator.comparingLong(QueryStats::getTotalMicros).reversed());
+
+        return stats;
+    }
+
+    /**
+     * Returns the entry executions of the given SQL are counted under. The fingerprint of each distinct SQL text
+     * is computed once.
+     *
+     * @param sql the SQL text as sent to the driver
+     * @return the entry of the SQL's fingerprint
+     */
+    Entry entry(String sql) {
+        Entry entry = entriesBySql.get(sql);
+
+        if (entry == null) {
+            String fingerprint = SqlFingerprint.of(sql);
+            entry = entries.get(fingerprint);
+
+            if (entry == null) {
+                entry = entries.computeIfAbsent(entries.size() < maxFingerprints ? fingerprint : OTHER, Entry::new);
+            }
+            if (entriesBySql.size() < maxFingerprints * SQL_TEXTS_PER_FINGERPRINT) {
+                entriesBySql.putIfAbsent(sql, entry);
+            }
+        }
+
+        return entry;
+    }
+
+    /**
+     * Records one execution, counts it for the {@link QueryTracker} of the current thread and writes it to the slow
+     * query log if it took longer than the threshold.
+     *
+     * @param entry          the entry of the executed SQL
+     * @param elapsedNanos   how long the execution took
+     * @param waitNanos      how long the connection it ran on waited in the pool, or {@code 0}
+     * @param failed         whether the execution threw
+     * @param parameterCount the number of parameters bound to the statement
+     */
+    void record(Entry entry, long elapsedNanos, long waitNanos, boolean failed, int parameterCount) {
+        entry.record(elapsedNanos, waitNanos, failed);
+        QueryTracker.record(entry.fingerprint, elapsedNanos);
+
+        if (slowThresholdNanos > 0 && elapsedNanos >= slowThresholdNanos) {
+            slowQueryLogger.warn(SLOW_QUERY, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    TimeUnit.NANOSECONDS.toMillis(waitNanos), parameterCount, failed ? FAILED : "",
+                    entry.fingerprint);
+        }
+    }
+
+    /**
+     * Counters of one fingerprint.
+     */
+    static final class Entry {
+        private final String fingerprint;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errorCount = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder[] histogram = new LongAdder[BUCKET_BOUNDS_MILLIS.length + 1];
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        String getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * Adds rows read from a result set of this fingerprint or reported updated by it.
+         *
+         * @param count the number of rows
+         */
+        void addRows(long count) {
+            if (count > 0) {
+                rows.add(count);
+            }
+        }
+
+        private void record(long elapsedNanos, long wait, boolean failed) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            waitNanos.add(wait);
+            histogram[bucket(elapsedNanos)].increment();
+
+            if (failed) {
+                errorCount.increment();
+            }
+        }
+
+        private QueryStats toStats() {
+            long[] buckets = new long[histogram.length];
+
+            for (int i = 0; i < histogram.length; i++) {
+                buckets[i] = histogram[i].sum();
+            }
+
+            return new QueryStats(fingerprint, count.sum(), errorCount.sum(),
+                    TimeUnit.NANOSECONDS.toMicros(totalNanos.sum()), TimeUnit.NANOSECONDS.toMicros(maxNanos.get()),
+                    rows.sum(), TimeUnit.NANOSECONDS.toMicros(waitNanos.sum()), buckets);
+        }
+
+        private static int bucket(long elapsedNanos) {
+            long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            int bucket = 0;
+
+            while (bucket < BUCKET_BOUNDS_MILLIS.length && millis >= BUCKET_BOUNDS_MILLIS[bucket]) {
+                bucket++;
+            }
+
+            return bucket;
+        }
+    }
+}
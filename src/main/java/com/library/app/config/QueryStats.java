@@ -0,0 +1,114 @@
+package com.library.app.config;
+
+import java.util.Arrays;
+
+/**
+ * Immutable snapshot of the timings recorded by {@link QueryMetrics} for one SQL fingerprint.
+ */
+public class QueryStats {
+    /**
+     * The normalized SQL the executions were counted under.
+     */
+    private final String fingerprint;
+    /**
+     * The number of executions.
+     */
+    private final long count;
+    /**
+     * The number of executions that failed.
+     */
+    private final long errorCount;
+    /**
+     * The total execution time, in microseconds.
+     */
+    private final long totalMicros;
+    /**
+     * The longest execution time, in microseconds.
+     */
+    private final long maxMicros;
+    /**
+     * The number of rows read from result sets plus the number of rows reported updated.
+     */
+    private final long rows;
+    /**
+     * The total time spent waiting for the connection the executions ran on, in microseconds.
+     */
+    private final long connectionWaitMicros;
+    /**
+     * The number of executions in each bucket of {@link QueryMetrics#getBucketBoundsMillis()}, with one more
+     * bucket at the end for executions slower than the last bound.
+     */
+    private final long[] histogram;
+
+    /**
+     * Constructs a snapshot with the given values.
+     *
+     * @param fingerprint          the normalized SQL
+     * @param count                executions
+     * @param errorCount           failed executions
+     * @param totalMicros          total execution time in microseconds
+     * @param maxMicros            longest execution time in microseconds
+     * @param rows                 rows read or updated
+     * @param connectionWaitMicros total connection wait in microseconds
+     * @param histogram            executions per latency bucket
+     */
+    public QueryStats(String fingerprint, long count, long errorCount, long totalMicros, long maxMicros, long rows,
+                      long connectionWaitMicros, long[] histogram) {
+        this.fingerprint = fingerprint;
+        this.count = count;
+        this.errorCount = errorCount;
+        this.totalMicros = totalMicros;
+        this.maxMicros = maxMicros;
+        this.rows = rows;
+        this.connectionWaitMicros = connectionWaitMicros;
+        this.histogram = histogram.clone();
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public long getTotalMicros() {
+        return totalMicros;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    public long getAverageMicros() {
+        return count == 0 ? 0 : totalMicros / count;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getConnectionWaitMicros() {
+        return connectionWaitMicros;
+    }
+
+    public long getAverageConnectionWaitMicros() {
+        return count == 0 ? 0 : connectionWaitMicros / count;
+    }
+
+    public long[] getHistogram() {
+        return histogram.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "QueryStats{fingerprint='" + fingerprint + "', count=" + count + ", errorCount=" + errorCount
+                + ", totalMicros=" + totalMicros + ", maxMicros=" + maxMicros + ", rows=" + rows
+                + ", connectionWaitMicros=" + connectionWaitMicros + ", histogram=" + Arrays.toString(histogram)
+                + '}';
+    }
+}
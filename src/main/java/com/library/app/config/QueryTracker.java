@@ -0,0 +1,191 @@
+package com.library.app.config;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Counts the statements executed on the current thread while it is bound, e.g. for the duration of one HTTP
+ * request.
+ * <p>
+ * {@link #start()} binds a new tracker to the current thread and {@link #close()} restores the one bound before,
+ * so trackers nest. Every statement {@link QueryMetrics} records on the thread meanwhile is counted by the
+ * innermost tracker together with its execution time and its {@link SqlFingerprint}; executing the same
+ * fingerprint again counts as a repeat, which is how N+1 query patterns show up. Statements run on other threads,
+ * or while {@code db.query.metrics-enabled} is {@code false}, are not counted, unless the task that runs them was
+ * wrapped with {@link #propagate(Callable)}.
+ * <p>
+ * Tests can assert the query budget of a piece of code directly:
+ * <pre>{@code
+ * try (QueryTracker tracker = QueryTracker.start()) {
+ *     bookService.getDetails(id, username);
+ *     assertTrue(tracker.getStatementCount() <= 2);
+ *     assertEquals(0, tracker.getMaxRepeats());
+ * }
+ * }</pre>
+ * A tracker is bound to the thread that started it and to the tasks it was propagated to; it counts their
+ * statements under its own lock.
+ */
+public final class QueryTracker implements AutoCloseable {
+    private static final ThreadLocal<QueryTracker> current = new ThreadLocal<>();
+
+    private final QueryTracker previous;
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statementCount;
+    private long totalNanos;
+    private boolean closed;
+
+    private QueryTracker(QueryTracker previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Binds a new tracker to the current thread.
+     *
+     * @return the tracker, to be closed on the same thread
+     */
+    public static QueryTracker start() {
+        QueryTracker tracker = new QueryTracker(current.get());
+        current.set(tracker);
+
+        return tracker;
+    }
+
+    /**
+     * Returns the tracker bound to the current thread.
+     *
+     * @return the innermost tracker, or {@code null} if none is bound
+     */
+    public static QueryTracker current() {
+        return current.get();
+    }
+
+    /**
+     * Wraps a task so that the statements it executes on another thread, e.g. a virtual thread of an executor, are
+     * counted by the tracker bound to the current thread. The tracker is bound to the running thread for the
+     * duration of the task and the thread's previous binding is restored afterwards.
+     *
+     * @param task the task to wrap
+     * @param <T>  the result type of the task
+     * @return the wrapped task, or {@code task} itself if no tracker is bound to the current thread
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        QueryTracker tracker = current.get();
+
+        if (tracker == null) {
+            return task;
+        }
+
+        return () -> {
+            QueryTracker bound = current.get();
+            current.set(tracker);
+
+            try {
+                return task.call();
+            } finally {
+                if (bound == null) {
+                    current.remove();
+                } else {
+                    current.set(bound);
+                }
+            }
+        };
+    }
+
+    /**
+     * Counts an execution for the tracker bound to the current thread, if any.
+     *
+     * @param fingerprint  the fingerprint of the executed SQL
+     * @param elapsedNanos how long the execution took
+     */
+    static void record(String fingerprint, long elapsedNanos) {
+        QueryTracker tracker = current.get();
+
+        if (tracker != null) {
+            synchronized (tracker) {
+                tracker.statementCount++;
+                tracker.totalNanos += elapsedNanos;
+                tracker.executions.merge(fingerprint, 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of statements executed.
+     *
+     * @return the statement count
+     */
+    public synchronized int getStatementCount() {
+        return statementCount;
+    }
+
+    /**
+     * Returns the total execution time of the statements.
+     *
+     * @return the database time in nanoseconds
+     */
+    public synchronized long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Returns how many executions repeated a fingerprint already executed, summed over all fingerprints.
+     *
+     * @return the number of repeated executions
+     */
+    public synchronized int getRepeatCount() {
+        return statementCount - executions.size();
+    }
+
+    /**
+     * Returns the highest number of times any single fingerprint was repeated after its first execution.
+     *
+     * @return the repeats of the most repeated fingerprint, {@code 0} if no fingerprint ran twice
+     */
+    public synchronized int getMaxRepeats() {
+        int max = 0;
+
+        for (int count : executions.values()) {
+            max = Math.max(max, count - 1);
+        }
+
+        return max;
+    }
+
+    /**
+     * Returns the fingerprints executed more than once with their execution counts, the most executed first.
+     *
+     * @return the repeated fingerprints
+     */
+    public synchronized Map<String, Integer> getRepeatedFingerprints() {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+
+        executions.entrySet().stream()
+                .filter(entry -> entry.getValue() > 1)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+
+        return repeated;
+    }
+
+    /**
+     * Unbinds this tracker from the current thread and binds the one it replaced. Closing it again has no
+     * effect.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        if (current.get() == this) {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+}
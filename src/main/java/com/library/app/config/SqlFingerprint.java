@@ -0,0 +1,198 @@
+package com.library.app.config;
+
+/**
+ * Normalizes SQL text to a fingerprint under which executions of the same statement are counted together.
+ * <p>
+ * Comments are dropped, runs of whitespace collapse to one space, string and numeric literals become
+ * {@code ?} and a parenthesized list of placeholders after {@code IN} collapses to {@code (?)}. The fingerprint
+ * therefore never contains a literal value, so it can be logged without leaking data.
+ */
+public final class SqlFingerprint {
+    private static final String PLACEHOLDER_LIST = "(?)";
+    private static final String IN = "IN";
+
+    private SqlFingerprint() {
+    }
+
+    /**
+     * Returns the fingerprint of the given SQL text.
+     *
+     * @param sql the SQL text as sent to the driver
+     * @return the normalized SQL, never {@code null}
+     */
+    public static String of(String sql) {
+        if (sql == null) {
+            return "";
+        }
+
+        StringBuilder fingerprint = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = sql.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                i = skipWhitespace(sql, i);
+                appendSpace(fingerprint);
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                i = skipLineComment(sql, i);
+                appendSpace(fingerprint);
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                i = skipBlockComment(sql, i);
+                appendSpace(fingerprint);
+            } else if (c == '\'') {
+                i = skipStringLiteral(sql, i);
+                fingerprint.append('?');
+            } else if (c == '"') {
+                int end = skipQuotedIdentifier(sql, i);
+                fingerprint.append(sql, i, end);
+                i = end;
+            } else if (Character.isDigit(c) && !isIdentifierPart(fingerprint)) {
+                i = skipNumber(sql, i);
+                fingerprint.append('?');
+            } else if (c == '(' && endsWithIn(fingerprint)) {
+                int end = skipPlaceholderList(sql, i);
+                if (end > i) {
+                    fingerprint.append(PLACEHOLDER_LIST);
+                    i = end;
+                } else {
+                    fingerprint.append(c);
+                    i++;
+                }
+            } else {
+                fingerprint.append(c);
+                i++;
+            }
+        }
+
+        int end = fingerprint.length();
+        while (end > 0 && fingerprint.charAt(end - 1) == ' ') {
+            end--;
+        }
+        fingerprint.setLength(end);
+
+        return fingerprint.toString();
+    }
+
+    private static void appendSpace(StringBuilder fingerprint) {
+        int last = fingerprint.length() - 1;
+
+        if (last >= 0 && fingerprint.charAt(last) != ' ') {
+            fingerprint.append(' ');
+        }
+    }
+
+    private static boolean isIdentifierPart(StringBuilder fingerprint) {
+        int last = fingerprint.length() - 1;
+
+        if (last < 0) {
+            return false;
+        }
+
+        char c = fingerprint.charAt(last);
+
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '.';
+    }
+
+    private static boolean endsWithIn(StringBuilder fingerprint) {
+        int end = fingerprint.length();
+        if (end > 0 && fingerprint.charAt(end - 1) == ' ') {
+            end--;
+        }
+
+        int start = end - IN.length();
+        if (start < 0 || !fingerprint.substring(start, end).equalsIgnoreCase(IN)) {
+            return false;
+        }
+
+        return start == 0 || !Character.isLetterOrDigit(fingerprint.charAt(start - 1))
+                && fingerprint.charAt(start - 1) != '_';
+    }
+
+    /**
+     * Returns the index after a {@code (?, ?, ...)} list starting at {@code start}, or {@code start} if the
+     * parenthesis does not open a list made only of placeholders and literals.
+     */
+    private static int skipPlaceholderList(String sql, int start) {
+        int i = start + 1;
+        boolean expectValue = true;
+
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (expectValue && c == '?') {
+                expectValue = false;
+                i++;
+            } else if (expectValue && c == '\'') {
+                expectValue = false;
+                i = skipStringLiteral(sql, i);
+            } else if (expectValue && (Character.isDigit(c) || c == '-')) {
+                expectValue = false;
+                i = skipNumber(sql, c == '-' ? i + 1 : i);
+            } else if (!expectValue && c == ',') {
+                expectValue = true;
+                i++;
+            } else if (!expectValue && c == ')') {
+                return i + 1;
+            } else {
+                return start;
+            }
+        }
+
+        return start;
+    }
+
+    private static int skipWhitespace(String sql, int i) {
+        while (i < sql.length() && Character.isWhitespace(sql.charAt(i))) {
+            i++;
+        }
+
+        return i;
+    }
+
+    private static int skipLineComment(String sql, int i) {
+        int end = sql.indexOf('\n', i);
+
+        return end < 0 ? sql.length() : end + 1;
+    }
+
+    private static int skipBlockComment(String sql, int i) {
+        int end = sql.indexOf("*/", i + 2);
+
+        return end < 0 ? sql.length() : end + 2;
+    }
+
+    private static int skipStringLiteral(String sql, int i) {
+        i++;
+
+        while (i < sql.length()) {
+            if (sql.charAt(i) == '\'') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+
+        return i;
+    }
+
+    private static int skipQuotedIdentifier(String sql, int i) {
+        int end = sql.indexOf('"', i + 1);
+
+        return end < 0 ? sql.length() : end + 1;
+    }
+
+    private static int skipNumber(String sql, int i) {
+        while (i < sql.length() && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+            i++;
+        }
+
+        return i;
+    }
+}
@@ -0,0 +1,162 @@
+package com.library.app.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work on a single pooled connection inside one database transaction.
+ * <p>
+ * For the duration of the unit of work the connection is bound to the current thread, so every DAO call made
+ * through {@link ConnectionPool#getConnection()} transparently shares it. The transaction is committed when
+ * the work completes and rolled back when it throws. A unit of work started while another one is running on
+ * the same thread joins the outer transaction. Actions registered with {@link #afterCommit(Runnable)} run once
+ * the outermost transaction has committed and are discarded when it rolls back.
+ */
+@Component
+public class TransactionManager {
+    private static final String FAILED_TO_BEGIN_TRANSACTION = "Failed to begin transaction";
+    private static final String DATABASE_ERROR_WHILE_BEGINNING_TRANSACTION = "Database error while beginning transaction";
+    private static final String FAILED_TO_COMMIT_TRANSACTION = "Failed to commit transaction";
+    private static final String DATABASE_ERROR_WHILE_COMMITTING_TRANSACTION = "Database error while committing transaction";
+    private static final String FAILED_TO_ROLL_BACK_TRANSACTION = "Failed to roll back transaction";
+    private static final String FAILED_TO_RESTORE_AUTO_COMMIT = "Failed to restore auto-commit";
+    private static final String AFTER_COMMIT_ACTION_FAILED = "After-commit action failed";
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionManager.class);
+    private final ConnectionPool connectionPool;
+    private final ThreadLocal<List<Runnable>> afterCommitActions = new ThreadLocal<>();
+
+    /**
+     * Constructs a {@code TransactionManager} working on the application-wide connection pool.
+     */
+    public TransactionManager() {
+        this(ConnectionPool.getInstance());
+    }
+
+    TransactionManager(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    /**
+     * Runs the given work in a transaction.
+     *
+     * @param work the work to run
+     * @throws RuntimeException if the work throws or the transaction cannot be committed
+     */
+    public void runInTransaction(Runnable work) {
+        callInTransaction(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the given work in a transaction and returns its result.
+     *
+     * @param work the work to run
+     * @param <T>  the result type
+     * @return the result of the work
+     * @throws RuntimeException if the work throws or the transaction cannot be committed
+     */
+    public <T> T callInTransaction(Supplier<T> work) {
+        if (connectionPool.isBound()) {
+            return work.get();
+        }
+
+        Connection connection = begin();
+        List<Runnable> actions = new ArrayList<>();
+        T result;
+
+        try {
+            connectionPool.bind(connection);
+            afterCommitActions.set(actions);
+            result = work.get();
+            commit(connection);
+        } catch (RuntimeException | Error e) {
+            rollback(connection);
+            throw e;
+        } finally {
+            afterCommitActions.remove();
+            connectionPool.unbind();
+            restoreAutoCommit(connection);
+            connectionPool.closeConnection(connection);
+        }
+
+        runAfterCommit(actions);
+
+        return result;
+    }
+
+    /**
+     * Runs the given action once the transaction of the current thread has committed, or right away when no
+     * transaction is running. The action is dropped if the transaction rolls back.
+     *
+     * @param action the action to run after commit
+     */
+    public void afterCommit(Runnable action) {
+        List<Runnable> actions = afterCommitActions.get();
+
+        if (actions == null) {
+            action.run();
+        } else {
+            actions.add(action);
+        }
+    }
+
+    private void runAfterCommit(List<Runnable> actions) {
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                logger.error(AFTER_COMMIT_ACTION_FAILED, e);
+            }
+        }
+    }
+
+    private Connection begin() {
+        Connection connection = null;
+
+        try {
+            connection = connectionPool.borrow();
+            connection.setAutoCommit(false);
+
+            return connection;
+        } catch (SQLException e) {
+            logger.error(FAILED_TO_BEGIN_TRANSACTION, e);
+            connectionPool.closeConnection(connection);
+            throw new RuntimeException(DATABASE_ERROR_WHILE_BEGINNING_TRANSACTION, e);
+        }
+    }
+
+    private void commit(Connection connection) {
+        try {
+            connection.commit();
+        } catch (SQLException e) {
+            logger.error(FAILED_TO_COMMIT_TRANSACTION, e);
+            throw new RuntimeException(DATABASE_ERROR_WHILE_COMMITTING_TRANSACTION, e);
+        }
+    }
+
+    private void rollback(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            logger.error(FAILED_TO_ROLL_BACK_TRANSACTION, e);
+        }
+    }
+
+    private void restoreAutoCommit(Connection connection) {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            logger.error(FAILED_TO_RESTORE_AUTO_COMMIT, e);
+        }
+    }
+}
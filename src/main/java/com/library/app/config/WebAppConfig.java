@@ -5,7 +5,12 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
 import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.config.annotation.*;
 import org.springframework.web.servlet.i18n.LocaleChangeInterceptor;
@@ -21,6 +26,8 @@ import java.util.Locale;
 
 @Configuration
 @EnableWebMvc
+@EnableScheduling
+@PropertySource("classpath:application.properties")
 @ComponentScan(basePackages = "com.library.app")
 public class WebAppConfig implements WebMvcConfigurer {
     private static final String UTF_8 = "UTF-8";
@@ -28,12 +35,18 @@ public class WebAppConfig implements WebMvcConfigurer {
     private static final String CLASSPATH_TEMPLATES_PATH = "classpath:/templates/";
     private static final String LANG = "lang";
     private static final String I_18_N_MESSAGES_PATH = "i18n/messages";
+    private static final String STREAMING_THREAD_PREFIX = "streaming-";
+    private static final int STREAMING_THREADS = 4;
+    private static final int STREAMING_QUEUE_CAPACITY = 50;
+    private static final long STREAMING_TIMEOUT_MS = 30 * 60 * 1000L;
 
     private final ApplicationContext applicationContext;
+    private final QueryBudgetInterceptor queryBudgetInterceptor;
 
     @Autowired
-    public WebAppConfig(ApplicationContext applicationContext) {
+    public WebAppConfig(ApplicationContext applicationContext, QueryBudgetInterceptor queryBudgetInterceptor) {
         this.applicationContext = applicationContext;
+        this.queryBudgetInterceptor = queryBudgetInterceptor;
     }
 
     @Bean
@@ -90,6 +103,34 @@ public class WebAppConfig implements WebMvcConfigurer {
         return resolver;
     }
 
+    @Bean
+    public MultipartResolver multipartResolver() {
+        return new StandardServletMultipartResolver();
+    }
+
+    /**
+     * Runs streamed responses such as CSV exports. Each one holds a database connection while it runs, so only
+     * a few run at once and the rest wait in the queue.
+     *
+     * @return the executor of streamed responses
+     */
+    @Bean
+    public ThreadPoolTaskExecutor streamingTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(STREAMING_THREADS);
+        executor.setMaxPoolSize(STREAMING_THREADS);
+        executor.setQueueCapacity(STREAMING_QUEUE_CAPACITY);
+        executor.setThreadNamePrefix(STREAMING_THREAD_PREFIX);
+
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingTaskExecutor());
+        configurer.setDefaultTimeout(STREAMING_TIMEOUT_MS);
+    }
+
     @Bean
     public LocaleChangeInterceptor localeChangeInterceptor() {
         LocaleChangeInterceptor interceptor = new LocaleChangeInterceptor();
@@ -101,5 +142,6 @@ public class WebAppConfig implements WebMvcConfigurer {
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(localeChangeInterceptor());
+        registry.addInterceptor(queryBudgetInterceptor);
     }
 }
@@ -1,6 +1,7 @@
 package com.library.app.config;
 
 import jakarta.servlet.FilterRegistration;
+import jakarta.servlet.MultipartConfigElement;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRegistration;
@@ -16,11 +17,15 @@ public class WebAppInitializer implements WebApplicationInitializer {
     private static final String SPRING_SECURITY_FILTER_CHAIN = "springSecurityFilterChain";
     private static final String PATH_ALL = "/*";
     private static final String PATH = "/";
+    private static final String UPLOAD_LOCATION = "";
+    private static final long MAX_UPLOAD_SIZE = 100L * 1024 * 1024;
+    private static final int UPLOAD_SIZE_THRESHOLD = 1024 * 1024;
 
     @Override
     public void onStartup(ServletContext servletContext) throws ServletException {
         FilterRegistration.Dynamic hidden = servletContext.addFilter(
                 HIDDEN_HTTP_METHOD_FILTER, new HiddenHttpMethodFilter());
+        hidden.setAsyncSupported(true);
         hidden.addMappingForUrlPatterns(null, true, PATH_ALL);
 
         AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
@@ -30,10 +35,14 @@ public class WebAppInitializer implements WebApplicationInitializer {
 
         ServletRegistration.Dynamic registration = servletContext.addServlet(DISPATCHER, dispatcherServlet);
         registration.setLoadOnStartup(1);
+        registration.setAsyncSupported(true);
         registration.addMapping(PATH);
+        registration.setMultipartConfig(new MultipartConfigElement(
+                UPLOAD_LOCATION, MAX_UPLOAD_SIZE, MAX_UPLOAD_SIZE, UPLOAD_SIZE_THRESHOLD));
 
         FilterRegistration.Dynamic securityFilter =
                 servletContext.addFilter(SPRING_SECURITY_FILTER_CHAIN, DelegatingFilterProxy.class);
+        securityFilter.setAsyncSupported(true);
         securityFilter.addMappingForUrlPatterns(null, false, PATH_ALL);
     }
 }
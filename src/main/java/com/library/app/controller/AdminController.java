@@ -1,13 +1,17 @@
 package com.library.app.controller;
 
+import com.library.app.config.QueryMetrics;
 import com.library.app.dto.*;
 import com.library.app.mapper.BookCopyMapper;
 import com.library.app.mapper.BookMapper;
 import com.library.app.model.*;
 import com.library.app.service.BookCopyService;
 import com.library.app.service.BookService;
+import com.library.app.service.CatalogImportService;
 import com.library.app.service.OrderService;
+import com.library.app.service.ReportService;
 import com.library.app.service.UserService;
+import com.library.app.util.Page;
 import com.library.app.util.PaginationUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,8 +21,14 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.sql.SQLException;
 import java.util.List;
@@ -35,6 +45,7 @@ import java.util.Optional;
 public class AdminController {
     private static final int PAGE_SIZE = 10;
     private static final int BOOK_LIMIT = 5;
+    private static final int MAX_BULK_COPIES = 500;
     private static final String PAGE = "page";
     private static final String PAGINATION_DEFAULT_VALUE = "1";
     private static final String USERS = "users";
@@ -57,6 +68,12 @@ public class AdminController {
     private static final String COPY = "copy";
     private static final String ERROR = "error";
     private static final String COPY_ID = "copyId";
+    private static final String COUNT = "count";
+    private static final String FILE = "file";
+    private static final String REPORT = "report";
+    private static final String IMPORT_NO_FILE = "import.error.noFile";
+    private static final String IMPORT_FAILED = "import.error.failed";
+    private static final String CATALOG_IMPORT_FAILED = "Catalog import of '{}' failed";
     private static final String TOTAL_BOOKS = "totalBooks";
     private static final String TOTAL_COPIES = "totalCopies";
     private static final String ISSUED_COPIES = "issuedCopies";
@@ -65,6 +82,8 @@ public class AdminController {
     private static final String TOP_BOOKS = "topBooks";
     private static final String TOP_USERS = "topUsers";
     private static final String PAGE_SIZE_ATTR = "pageSize";
+    private static final String QUERY_STATS = "queryStats";
+    private static final String BUCKET_BOUNDS = "bucketBounds";
     private static final String BOOK_NOT_FOUND_ID = "Book not found: id={}";
     private static final String SQL_STATE_23505 = "23505";
     private static final String DUPLICATE_INVENTORY_NUMBER = "Duplicate inventory number: {}";
@@ -77,6 +96,9 @@ public class AdminController {
     private static final String COPY_DELETE_BOOK_REFERENCE_MISSING = "copy.delete.book.reference.missing";
     private static final String COPY_ADD_SUCCESS = "copy.add.success";
     private static final String COPY_ADD_DUPLICATE = "copy.add.duplicate";
+    private static final String COPY_BULK_SUCCESS = "copy.bulk.success";
+    private static final String COPY_BULK_DUPLICATES = "copy.bulk.duplicates";
+    private static final String COPY_BULK_INVALID_COUNT = "copy.bulk.invalidCount";
     private static final String ERROR_UNEXPECTED = "error.unexpected";
     private static final String BOOK_ADD_SUCCESS = "book.add.success";
     private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
@@ -87,6 +109,8 @@ public class AdminController {
     private final BookService bookService;
     private final BookCopyService bookCopyService;
     private final OrderService orderService;
+    private final ReportService reportService;
+    private final CatalogImportService catalogImportService;
     private final MessageSource messageSource;
 
     /**
@@ -96,15 +120,20 @@ public class AdminController {
      * @param bookService     the service for managing books
      * @param bookCopyService the service for managing individual book copies
      * @param orderService    the service for managing book orders
-     * @param messageSource   The source of the message, such as a user input or system-generated event.
+     * @param reportService        the service for building the report dashboard
+     * @param catalogImportService the service for bulk catalog imports
+     * @param messageSource        The source of the message, such as a user input or system-generated event.
      */
     @Autowired
     public AdminController(UserService userService, BookService bookService,
-                           BookCopyService bookCopyService, OrderService orderService, MessageSource messageSource) {
+                           BookCopyService bookCopyService, OrderService orderService, ReportService reportService,
+                           CatalogImportService catalogImportService, MessageSource messageSource) {
         this.userService = userService;
         this.bookService = bookService;
         this.bookCopyService = bookCopyService;
         this.orderService = orderService;
+        this.reportService = reportService;
+        this.catalogImportService = catalogImportService;
         this.messageSource = messageSource;
     }
 
@@ -220,15 +249,12 @@ public class AdminController {
                                @RequestParam(name = GENRE, required = false) String genre,
                                @RequestParam(name = PAGE, defaultValue = PAGINATION_DEFAULT_VALUE) int page,
                                Model model) {
-        List<BookDto> bookList = bookService.search(title, author, genre);
-        int pageSize = PAGE_SIZE;
-        List<BookDto> pagedBooks = PaginationUtil.paginate(bookList, page, pageSize);
-        int totalPages = PaginationUtil.getTotalPages(bookList.size(), pageSize);
+        Page<BookDto> books = bookService.searchPage(title, author, genre, page, PAGE_SIZE);
 
-        model.addAttribute(PAGE_SIZE_ATTR, pageSize);
-        model.addAttribute(BOOKS, pagedBooks);
-        model.addAttribute(CURRENT_PAGE, page);
-        model.addAttribute(TOTAL_PAGES, totalPages);
+        model.addAttribute(PAGE_SIZE_ATTR, PAGE_SIZE);
+        model.addAttribute(BOOKS, books.getContent());
+        model.addAttribute(CURRENT_PAGE, books.getPage());
+        model.addAttribute(TOTAL_PAGES, books.getTotalPages());
         model.addAttribute(TITLE, title);
         model.addAttribute(AUTHOR, author);
         model.addAttribute(GENRE, genre);
@@ -267,6 +293,42 @@ public class AdminController {
         return "redirect:/admin/books";
     }
 
+    /**
+     * Displays the form for importing books and copies from a CSV or TSV file.
+     *
+     * @return the view name for the catalog import page
+     */
+    @GetMapping("/books/import")
+    public String showImportForm() {
+        return "admin/book-import";
+    }
+
+    /**
+     * Imports books and copies from an uploaded CSV or TSV file and shows the import report.
+     *
+     * @param file   the uploaded file, UTF-8 encoded
+     * @param model  the model to store the report or error in
+     * @param locale the locale of the messages
+     * @return the view name for the catalog import page
+     */
+    @PostMapping("/books/import")
+    public String importCatalog(@RequestParam(FILE) MultipartFile file, Model model, Locale locale) {
+        if (file.isEmpty()) {
+            model.addAttribute(ERROR, messageSource.getMessage(IMPORT_NO_FILE, null, locale));
+
+            return "admin/book-import";
+        }
+
+        try (Reader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            model.addAttribute(REPORT, catalogImportService.importCatalog(reader));
+        } catch (IOException | RuntimeException e) {
+            logger.error(CATALOG_IMPORT_FAILED, file.getOriginalFilename(), e);
+            model.addAttribute(ERROR, messageSource.getMessage(IMPORT_FAILED, null, locale));
+        }
+
+        return "admin/book-import";
+    }
+
     /**
      * Displays the details of a specific book along with its available copies.
      *
@@ -360,7 +422,7 @@ public class AdminController {
             BookDto book = optionalBook.get();
 
             if (!model.containsAttribute(COPY)) {
-                String nextInventoryNumber = bookCopyService.generateNextInventoryNumber(id);
+                String nextInventoryNumber = bookCopyService.generateNextInventoryNumber();
                 BookCopyDto copyDto = new BookCopyDto();
                 copyDto.setInventoryNumber(nextInventoryNumber);
                 copyDto.setBookId(book.getId());
@@ -427,6 +489,57 @@ public class AdminController {
         }
     }
 
+    /**
+     * Adds several available copies of a book at once, with inventory numbers allocated by the system, and
+     * redirects to the book details page.
+     *
+     * @param id                 the unique identifier of the book receiving the copies
+     * @param count              the number of copies to add
+     * @param redirectAttributes attributes used to pass messages upon redirection
+     * @param locale             the locale of the messages
+     * @return the redirection string to the book details page or book list if not found
+     */
+    @PostMapping("/books/{id}/copies/bulk")
+    public String addCopies(@PathVariable(ID) Long id, @RequestParam(COUNT) int count,
+                            RedirectAttributes redirectAttributes, Locale locale) {
+        Optional<BookDto> optionalBookDto = bookService.getById(id);
+
+        if (optionalBookDto.isEmpty()) {
+            logger.warn(BOOK_NOT_FOUND_ID, id);
+            String error = messageSource.getMessage(BOOK_NOT_FOUND_LOCALE, null, locale);
+            redirectAttributes.addFlashAttribute(ERROR, error);
+
+            return "redirect:/admin/books";
+        }
+
+        if (count < 1 || count > MAX_BULK_COPIES) {
+            String error = messageSource.getMessage(COPY_BULK_INVALID_COUNT, new Object[]{MAX_BULK_COPIES}, locale);
+            redirectAttributes.addFlashAttribute(ERROR, error);
+
+            return String.format("redirect:/admin/books/%s", id);
+        }
+
+        try {
+            List<String> duplicates = bookCopyService.addCopies(BookMapper.toEntity(optionalBookDto.get()), count);
+            String successMessage = messageSource.getMessage(COPY_BULK_SUCCESS,
+                    new Object[]{count - duplicates.size()}, locale);
+            redirectAttributes.addFlashAttribute(MESSAGE, successMessage);
+
+            if (!duplicates.isEmpty()) {
+                logger.warn(DUPLICATE_INVENTORY_NUMBER, duplicates);
+                String duplicateMessage = messageSource.getMessage(COPY_BULK_DUPLICATES,
+                        new Object[]{String.join(", ", duplicates)}, locale);
+                redirectAttributes.addFlashAttribute(ERROR, duplicateMessage);
+            }
+        } catch (RuntimeException e) {
+            logger.error(UNEXPECTED_ERROR, e);
+            String unexpectedError = messageSource.getMessage(ERROR_UNEXPECTED, null, locale);
+            redirectAttributes.addFlashAttribute(ERROR, unexpectedError);
+        }
+
+        return String.format("redirect:/admin/books/%s", id);
+    }
+
     /**
      * Displays the form for editing an existing book copy.
      *
@@ -567,22 +680,30 @@ public class AdminController {
      */
     @GetMapping("/reports")
     public String showReportDashboard(Model model) {
-        long totalBooks = bookService.countBooks();
-        long totalCopies = bookCopyService.countAll();
-        long issuedCopies = bookCopyService.countByStatus(CopyStatus.ISSUED);
-        long completedOrders = orderService.getCountByStatuses(List.of(OrderStatus.RETURNED));
-        long activeUsers = userService.countByStatus(ACTIVE);
-        List<BookStatsDto> topBooks = orderService.getTopRequestedBooks(BOOK_LIMIT);
-        List<UserStatsDto> topUsers = orderService.getTopActiveUsers(PAGE_SIZE);
-
-        model.addAttribute(TOTAL_BOOKS, totalBooks);
-        model.addAttribute(TOTAL_COPIES, totalCopies);
-        model.addAttribute(ISSUED_COPIES, issuedCopies);
-        model.addAttribute(COMPLETED_ORDERS, completedOrders);
-        model.addAttribute(ACTIVE_USERS, activeUsers);
-        model.addAttribute(TOP_BOOKS, topBooks);
-        model.addAttribute(TOP_USERS, topUsers);
+        ReportSnapshotDto report = reportService.getSnapshot(BOOK_LIMIT, PAGE_SIZE);
+
+        model.addAttribute(TOTAL_BOOKS, report.getTotalBooks());
+        model.addAttribute(TOTAL_COPIES, report.getTotalCopies());
+        model.addAttribute(ISSUED_COPIES, report.getIssuedCopies());
+        model.addAttribute(COMPLETED_ORDERS, report.getCompletedOrders());
+        model.addAttribute(ACTIVE_USERS, report.getActiveUsers());
+        model.addAttribute(TOP_BOOKS, report.getTopBooks());
+        model.addAttribute(TOP_USERS, report.getTopUsers());
 
         return "admin/report-dashboard";
     }
+
+    /**
+     * Displays the execution statistics of every SQL fingerprint, with their latency histograms.
+     *
+     * @param model the model to store attributes for rendering the query statistics
+     * @return the view name for displaying the query statistics
+     */
+    @GetMapping("/reports/queries")
+    public String showQueryStats(Model model) {
+        model.addAttribute(QUERY_STATS, reportService.getQueryStats());
+        model.addAttribute(BUCKET_BOUNDS, QueryMetrics.getBucketBoundsMillis());
+
+        return "admin/query-stats";
+    }
 }
@@ -1,12 +1,9 @@
 package com.library.app.controller;
 
+import com.library.app.dto.BookDetailsDto;
 import com.library.app.dto.BookDto;
-import com.library.app.dto.UserDto;
-import com.library.app.service.BookCopyService;
 import com.library.app.service.BookService;
-import com.library.app.service.OrderService;
-import com.library.app.service.UserService;
-import com.library.app.util.PaginationUtil;
+import com.library.app.util.Page;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -16,7 +13,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.security.Principal;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -44,25 +40,15 @@ public class BookController {
     private static final String HAS_ACTIVE_ORDER = "hasActiveOrder";
 
     private final BookService bookService;
-    private final BookCopyService bookCopyService;
-    private final UserService userService;
-    private final OrderService orderService;
 
     /**
      * Constructs an instance of {@code BookController} and initializes its dependencies
      *
-     * @param bookService     the service for managing books
-     * @param bookCopyService the service for managing individual book copies
-     * @param userService     the service for managing user interactions
-     * @param orderService    the service for processing book orders
+     * @param bookService the service for managing books
      */
     @Autowired
-    public BookController(BookService bookService, BookCopyService bookCopyService, UserService userService,
-                          OrderService orderService) {
+    public BookController(BookService bookService) {
         this.bookService = bookService;
-        this.bookCopyService = bookCopyService;
-        this.userService = userService;
-        this.orderService = orderService;
     }
 
     /**
@@ -91,14 +77,11 @@ public class BookController {
             genre = query;
         }
 
-        List<BookDto> filteredBooks = bookService.search(title, author, genre);
-        int pageSize = PAGE_SIZE;
-        List<BookDto> books = PaginationUtil.paginate(filteredBooks, page, pageSize);
-        int totalPages = PaginationUtil.getTotalPages(filteredBooks.size(), pageSize);
+        Page<BookDto> books = bookService.searchPage(title, author, genre, page, PAGE_SIZE);
 
-        model.addAttribute(BOOKS, books);
-        model.addAttribute(CURRENT_PAGE, page);
-        model.addAttribute(TOTAL_PAGES, totalPages);
+        model.addAttribute(BOOKS, books.getContent());
+        model.addAttribute(CURRENT_PAGE, books.getPage());
+        model.addAttribute(TOTAL_PAGES, books.getTotalPages());
         model.addAttribute(FIELD, field);
         model.addAttribute(QUERY, query);
 
@@ -115,24 +98,16 @@ public class BookController {
      */
     @GetMapping("/book/{id}")
     public String getBookDetails(@PathVariable(ID) Long id, Model model, Principal principal) {
-        Optional<BookDto> optionalBook = bookService.getById(id);
+        Optional<BookDetailsDto> details = bookService.getDetails(id, principal != null ? principal.getName() : null);
 
-        if (optionalBook.isPresent()) {
-            BookDto book = optionalBook.get();
-            model.addAttribute(BOOK, book);
-            int availableCount = bookCopyService.getAvailableCopiesCount(id);
-            model.addAttribute(AVAILABLE_COUNT, availableCount);
-            boolean hasActiveOrder = false;
+        if (details.isPresent()) {
+            model.addAttribute(BOOK, details.get().getBook());
+            model.addAttribute(AVAILABLE_COUNT, details.get().getAvailableCount());
+            model.addAttribute(HAS_ACTIVE_ORDER, details.get().isHasActiveOrder());
 
-            if (principal != null) {
-                Optional<UserDto> userDto = userService.getDtoByUsername(principal.getName());
-
-                if (userDto.isPresent()) {
-                    hasActiveOrder = orderService.getActiveOrderForBook(book.getId(), userDto.get().getId());
-                    model.addAttribute(USER_STATUS, userDto.get().getStatus());
-                }
+            if (details.get().getUserStatus() != null) {
+                model.addAttribute(USER_STATUS, details.get().getUserStatus());
             }
-            model.addAttribute(HAS_ACTIVE_ORDER, hasActiveOrder);
 
             return "book-detail";
         }
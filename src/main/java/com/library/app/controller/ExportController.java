@@ -0,0 +1,102 @@
+package com.library.app.controller;
+
+import com.library.app.model.CopyStatus;
+import com.library.app.model.OrderStatus;
+import com.library.app.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Controller for downloading orders, books and copies as CSV files.
+ * Accessible only to users with role ADMIN.
+ * <p>
+ * The file is written straight to the response on an MVC async thread while the rows are read, so the request
+ * thread is released and the download never sits in memory.
+ */
+@Controller
+@RequestMapping("/admin/export")
+@PreAuthorize("hasRole('ADMIN')")
+public class ExportController {
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final String FROM = "from";
+    private static final String TO = "to";
+    private static final String STATUS = "status";
+    private static final String ORDERS = "orders";
+    private static final String BOOKS = "books";
+    private static final String COPIES = "copies";
+    private static final String FILE_NAME = "%s-%s.csv";
+
+    private final ExportService exportService;
+
+    /**
+     * Constructs an {@code ExportController}.
+     *
+     * @param exportService the service writing the CSV files
+     */
+    @Autowired
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Downloads the orders issued within the given dates, with their user, book and copy details.
+     *
+     * @param from   the first issue date exported, optional
+     * @param to     the last issue date exported, optional
+     * @param status the order status exported, optional
+     * @return the CSV file
+     */
+    @GetMapping("/orders")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(value = FROM, required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = TO, required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = STATUS, required = false) OrderStatus status) {
+        return csv(ORDERS, out -> exportService.exportOrders(from, to, status, out));
+    }
+
+    /**
+     * Downloads all books.
+     *
+     * @return the CSV file
+     */
+    @GetMapping("/books")
+    public ResponseEntity<StreamingResponseBody> exportBooks() {
+        return csv(BOOKS, exportService::exportBooks);
+    }
+
+    /**
+     * Downloads the book copies with their book details.
+     *
+     * @param status the copy status exported, optional
+     * @return the CSV file
+     */
+    @GetMapping("/copies")
+    public ResponseEntity<StreamingResponseBody> exportCopies(
+            @RequestParam(value = STATUS, required = false) CopyStatus status) {
+        return csv(COPIES, out -> exportService.exportCopies(status, out));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> csv(String name, StreamingResponseBody body) {
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename(String.format(FILE_NAME, name, LocalDate.now()))
+                .build();
+
+        return ResponseEntity.ok()
+                .contentType(TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+}
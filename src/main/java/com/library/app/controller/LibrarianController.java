@@ -2,16 +2,19 @@ package com.library.app.controller;
 
 import com.library.app.dto.BookCopyDto;
 import com.library.app.dto.BookDto;
+import com.library.app.dto.CopyHolderDto;
 import com.library.app.dto.OrderDto;
 import com.library.app.dto.UserDto;
 import com.library.app.mapper.BookCopyMapper;
 import com.library.app.mapper.OrderMapper;
-import com.library.app.mapper.UserMapper;
+import com.library.app.model.BookCopy;
 import com.library.app.service.BookCopyService;
 import com.library.app.service.BookService;
 import com.library.app.service.OrderService;
 import com.library.app.service.UserService;
-import com.library.app.util.PaginationUtil;
+import com.library.app.util.CursorPage;
+import com.library.app.util.KeysetCursor;
+import com.library.app.util.Page;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -21,7 +24,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Controller for librarian operations such as managing book orders and viewing copies.
@@ -50,7 +52,12 @@ public class LibrarianController {
     private static final String COPIES = "copies";
     private static final String ISSUED_USERS = "issuedUsers";
     private static final String READER_ORDERS = "readerOrders";
+    private static final String USERNAME = "username";
     private static final String PAGE_SIZE_ATTR = "pageSize";
+    private static final String AFTER = "after";
+    private static final String BEFORE = "before";
+    private static final String NEXT_CURSOR = "nextCursor";
+    private static final String PREVIOUS_CURSOR = "previousCursor";
 
     private final OrderService orderService;
     private final BookCopyService bookCopyService;
@@ -75,25 +82,26 @@ public class LibrarianController {
     }
 
     /**
-     * Displays a paginated list of all book orders.
+     * Displays one page of all book orders, newest first. Pages are addressed by cursor:
+     * {@code after} continues with older orders, {@code before} goes back to newer ones.
      *
-     * @param page  the current page number
-     * @param model the model to provide attributes to the view
+     * @param after  cursor of the last order on the previous page, for the next page
+     * @param before cursor of the first order on the next page, for the previous page
+     * @param model  the model to provide attributes to the view
      * @return the order list page
      */
     @GetMapping("/orders")
-    public String viewAllOrders(@RequestParam(name = PAGE, defaultValue = PAGINATION_DEFAULT_VALUE) int page,
+    public String viewAllOrders(@RequestParam(name = AFTER, required = false) String after,
+                                @RequestParam(name = BEFORE, required = false) String before,
                                 Model model) {
-        List<OrderDto> allOrders = orderService.getAllOrders().stream()
-                .map(OrderMapper::toDto)
-                .toList();
-        int pageSize = PAGE_SIZE;
-        List<OrderDto> pagedOrders = PaginationUtil.paginate(allOrders, page, pageSize);
-        int totalPages = PaginationUtil.getTotalPages(allOrders.size(), pageSize);
+        KeysetCursor cursor = KeysetCursor.parse(before, KeysetCursor.Direction.BEFORE)
+                .or(() -> KeysetCursor.parse(after, KeysetCursor.Direction.AFTER))
+                .orElse(null);
+        CursorPage<OrderDto> orders = orderService.getAllOrders(cursor, PAGE_SIZE).map(OrderMapper::toDto);
 
-        model.addAttribute(ORDERS, pagedOrders);
-        model.addAttribute(CURRENT_PAGE, page);
-        model.addAttribute(TOTAL_PAGES, totalPages);
+        model.addAttribute(ORDERS, orders.getContent());
+        model.addAttribute(NEXT_CURSOR, orders.getNextToken());
+        model.addAttribute(PREVIOUS_CURSOR, orders.getPreviousToken());
 
         return "librarian/order-list";
     }
@@ -154,23 +162,23 @@ public class LibrarianController {
             genre = query;
         }
 
-        List<BookDto> filteredBooks = bookService.search(title, author, genre);
-        int pageSize = PAGE_SIZE;
-        List<BookDto> paginatedBooks = PaginationUtil.paginate(filteredBooks, page, pageSize);
-        int totalPages = PaginationUtil.getTotalPages(filteredBooks.size(), pageSize);
+        Page<BookDto> books = bookService.searchPage(title, author, genre, page, PAGE_SIZE);
+
+        Map<Long, List<BookCopy>> copiesByBookId = bookCopyService.getAllByBookIds(
+                books.getContent().stream().map(BookDto::getId).toList());
 
         Map<BookDto, List<BookCopyDto>> grouped = new LinkedHashMap<>();
-        for (BookDto book : paginatedBooks) {
-            List<BookCopyDto> copyDto = bookCopyService.getAllByBookId(book.getId()).stream()
+        for (BookDto book : books.getContent()) {
+            List<BookCopyDto> copyDto = copiesByBookId.getOrDefault(book.getId(), List.of()).stream()
                     .map(BookCopyMapper::toDto)
                     .toList();
             grouped.put(book, copyDto);
         }
 
-        model.addAttribute(PAGE_SIZE_ATTR, pageSize);
+        model.addAttribute(PAGE_SIZE_ATTR, PAGE_SIZE);
         model.addAttribute(GROUPED_BOOKS, grouped.entrySet());
-        model.addAttribute(CURRENT_PAGE, page);
-        model.addAttribute(TOTAL_PAGES, totalPages);
+        model.addAttribute(CURRENT_PAGE, books.getPage());
+        model.addAttribute(TOTAL_PAGES, books.getTotalPages());
         model.addAttribute(FIELD, field);
         model.addAttribute(QUERY, query);
 
@@ -190,15 +198,11 @@ public class LibrarianController {
 
 
         if (book.isPresent()) {
-            Map<Long, String> issuedUsers = new HashMap<>();
             List<BookCopyDto> copies = bookCopyService.getAllByBookId(id).stream()
                     .map(BookCopyMapper::toDto)
                     .toList();
-
-            for (BookCopyDto copy : copies) {
-                orderService.getIssuedOrReserved(copy.getId())
-                        .ifPresent(username -> issuedUsers.put(copy.getId(), username));
-            }
+            Map<Long, CopyHolderDto> issuedUsers = orderService.getHoldersByCopyIds(
+                    copies.stream().map(BookCopyDto::getId).toList());
 
             model.addAttribute(BOOK, book.get());
             model.addAttribute(COPIES, copies);
@@ -211,21 +215,30 @@ public class LibrarianController {
     }
 
     /**
-     * Displays readers and their currently active orders.
+     * Displays a page of readers with their currently active orders, optionally filtered by username.
      *
-     * @param model the Spring model
+     * @param username part of the username to search for, optional
+     * @param page     the page number, starting from 1
+     * @param model    the Spring model
      * @return reader list view
      */
     @GetMapping("/readers")
-    public String showReadersOrders(Model model) {
-        Map<UserDto, List<OrderDto>> readerOrders = userService.getReadersWithActiveOrders()
-                .entrySet()
-                .stream()
-                .collect(Collectors.toMap(
-                        entry -> UserMapper.toDto(entry.getKey()),
-                        entry -> entry.getValue().stream().map(OrderMapper::toDto).toList()
-                ));
-        model.addAttribute(READER_ORDERS, readerOrders);
+    public String showReadersOrders(@RequestParam(name = USERNAME, required = false) String username,
+                                    @RequestParam(name = PAGE, defaultValue = PAGINATION_DEFAULT_VALUE) int page,
+                                    Model model) {
+        Page<UserDto> readers = userService.getReadersWithActiveOrders(username, page, PAGE_SIZE);
+        Map<Long, List<OrderDto>> ordersByUserId = orderService.getActiveOrdersByUserIds(
+                readers.getContent().stream().map(UserDto::getId).toList());
+        Map<UserDto, List<OrderDto>> readerOrders = new LinkedHashMap<>();
+
+        for (UserDto reader : readers.getContent()) {
+            readerOrders.put(reader, ordersByUserId.getOrDefault(reader.getId(), List.of()));
+        }
+
+        model.addAttribute(READER_ORDERS, readerOrders.entrySet());
+        model.addAttribute(CURRENT_PAGE, readers.getPage());
+        model.addAttribute(TOTAL_PAGES, readers.getTotalPages());
+        model.addAttribute(USERNAME, username);
 
         return "librarian/reader-list";
     }
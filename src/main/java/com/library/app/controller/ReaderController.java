@@ -3,10 +3,12 @@ package com.library.app.controller;
 import com.library.app.dto.BookDto;
 import com.library.app.dto.OrderDto;
 import com.library.app.mapper.OrderMapper;
+import com.library.app.model.OrderStatusFilter;
 import com.library.app.model.OrderType;
 import com.library.app.service.BookService;
 import com.library.app.service.OrderService;
-import com.library.app.util.PaginationUtil;
+import com.library.app.util.CursorPage;
+import com.library.app.util.KeysetCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,7 +19,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.security.Principal;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -28,13 +29,17 @@ import java.util.Optional;
 @RequestMapping("/orders")
 @PreAuthorize("hasRole('READER')")
 public class ReaderController {
-    private static final String PAGE = "page";
     private static final String SIZE = "size";
-    private static final String PAGINATION_DEFAULT_VALUE = "1";
+    private static final String AFTER = "after";
+    private static final String BEFORE = "before";
+    private static final String STATUS = "status";
     private static final String PAGINATION_PAGE_SIZE = "10";
     private static final String ORDERS = "orders";
-    private static final String CURRENT_PAGE = "currentPage";
-    private static final String TOTAL_PAGES = "totalPages";
+    private static final String NEXT_CURSOR = "nextCursor";
+    private static final String PREVIOUS_CURSOR = "previousCursor";
+    private static final String PAGE_SIZE_ATTR = "pageSize";
+    private static final String STATUS_FILTERS = "statusFilters";
+    private static final String SELECTED_STATUS = "selectedStatus";
     private static final String BOOK_ID = "bookId";
     private static final String BOOK = "book";
     private static final String ORDER_TYPES = "orderTypes";
@@ -62,27 +67,37 @@ public class ReaderController {
     }
 
     /**
-     * Displays a paginated list of the current user's orders.
+     * Displays one page of the current user's orders, newest first. Pages are addressed by cursor:
+     * {@code after} continues with older orders, {@code before} goes back to newer ones.
+     * The page size is capped by the service, so a large {@code size} cannot load the whole history; the links
+     * on the page carry the capped size.
      *
-     * @param page      the page number to display
-     * @param size      the number of orders per page
+     * @param after     cursor of the last order on the previous page, for the next page
+     * @param before    cursor of the first order on the next page, for the previous page
+     * @param size      the requested number of orders per page
+     * @param status    the status group to show, or {@code null} for all orders
      * @param model     the model to pass attributes to the view
      * @param principal the currently logged-in user
      * @return the reader's order list view
      */
     @GetMapping
-    public String viewOrders(@RequestParam(name = PAGE, defaultValue = PAGINATION_DEFAULT_VALUE) int page,
+    public String viewOrders(@RequestParam(name = AFTER, required = false) String after,
+                             @RequestParam(name = BEFORE, required = false) String before,
                              @RequestParam(name = SIZE, defaultValue = PAGINATION_PAGE_SIZE) int size,
+                             @RequestParam(name = STATUS, required = false) OrderStatusFilter status,
                              Model model, Principal principal) {
-        List<OrderDto> orderList = orderService.getOrdersByUsername(principal.getName()).stream()
-                .map(OrderMapper::toDto)
-                .toList();
-        List<OrderDto> pagedOrders = PaginationUtil.paginate(orderList, page, size);
-        int totalPages = PaginationUtil.getTotalPages(orderList.size(), size);
-
-        model.addAttribute(ORDERS, pagedOrders);
-        model.addAttribute(CURRENT_PAGE, page);
-        model.addAttribute(TOTAL_PAGES, totalPages);
+        KeysetCursor cursor = KeysetCursor.parse(before, KeysetCursor.Direction.BEFORE)
+                .or(() -> KeysetCursor.parse(after, KeysetCursor.Direction.AFTER))
+                .orElse(null);
+        CursorPage<OrderDto> orders = orderService.getOrdersByUsername(principal.getName(), cursor, size, status)
+                .map(OrderMapper::toDto);
+
+        model.addAttribute(ORDERS, orders.getContent());
+        model.addAttribute(NEXT_CURSOR, orders.getNextToken());
+        model.addAttribute(PREVIOUS_CURSOR, orders.getPreviousToken());
+        model.addAttribute(PAGE_SIZE_ATTR, orders.getSize());
+        model.addAttribute(STATUS_FILTERS, OrderStatusFilter.values());
+        model.addAttribute(SELECTED_STATUS, status);
 
         return "reader/order-list";
     }
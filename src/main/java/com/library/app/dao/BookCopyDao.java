@@ -3,7 +3,9 @@ package com.library.app.dao;
 import com.library.app.model.BookCopy;
 import com.library.app.model.CopyStatus;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -17,6 +19,14 @@ public interface BookCopyDao {
      */
     void save(BookCopy copy);
 
+    /**
+     * Saves several new book copies in one batch, skipping those whose inventory number already exists.
+     *
+     * @param copies the book copies to save
+     * @return the inventory numbers of the copies skipped as duplicates
+     */
+    List<String> saveAll(List<BookCopy> copies);
+
     /**
      * Updates an existing book copy in the database.
      *
@@ -55,20 +65,21 @@ public interface BookCopyDao {
     long countBookCopyStatus(CopyStatus status);
 
     /**
-     * Finds an available copy of a book.
+     * Atomically claims one available copy of a book by switching it to {@code RESERVED}.
+     * Concurrent callers never receive the same copy.
      *
      * @param bookId the book ID
-     * @return optional containing available copy if found
+     * @return optional containing the claimed copy, empty if no copy is available
      */
-    Optional<BookCopy> findAvailableCopy(Long bookId);
+    Optional<BookCopy> claimAvailableCopy(Long bookId);
 
     /**
-     * Retrieves the last used inventory number for a book.
+     * Allocates inventory numbers from the library-wide sequence in one round trip.
      *
-     * @param bookId the book ID
-     * @return optional containing the last inventory number
+     * @param count how many numbers to allocate
+     * @return the allocated numbers, in ascending order
      */
-    Optional<String> findLastInventoryNumber(Long bookId);
+    List<Long> allocateInventoryNumbers(int count);
 
     /**
      * Retrieves a book copy by its ID.
@@ -85,4 +96,13 @@ public interface BookCopyDao {
      * @return list of book copies
      */
     List<BookCopy> findAllByBookId(Long bookId);
+
+    /**
+     * Retrieves all copies of the given books in one query.
+     *
+     * @param bookIds the book IDs
+     * @return copies grouped by book ID, in the iteration order of {@code bookIds};
+     * books without copies map to an empty list
+     */
+    Map<Long, List<BookCopy>> findAllByBookIds(Collection<Long> bookIds);
 }
@@ -1,6 +1,8 @@
 package com.library.app.dao;
 
 import com.library.app.model.Book;
+import com.library.app.model.BookDetails;
+import com.library.app.util.Page;
 
 import java.util.List;
 import java.util.Optional;
@@ -45,6 +47,16 @@ public interface BookDao {
      */
     Optional<Book> findById(Long id);
 
+    /**
+     * Loads a book with its available copy count and, when a username is given, that user's status and
+     * whether they have an active order for the book, in a single query.
+     *
+     * @param id       the book ID
+     * @param username the current user's username, or {@code null} for anonymous visitors
+     * @return optional containing the book details
+     */
+    Optional<BookDetails> findDetails(Long id, String username);
+
     /**
      * Searches for books based on specified fields.
      *
@@ -54,4 +66,17 @@ public interface BookDao {
      * @return list of matching books
      */
     List<Book> search(String title, String author, String genre);
-}
\ No newline at end of file
+
+    /**
+     * Searches for books based on specified fields and returns a single page of results.
+     * Paging is applied by the database; the books on the page are loaded without their description.
+     *
+     * @param title  the title to search for (nullable)
+     * @param author the author to search for (nullable)
+     * @param genre  the genre to search for (nullable)
+     * @param page   the page number (1-based index)
+     * @param size   the number of books per page
+     * @return the requested page and the total number of matching books
+     */
+    Page<Book> searchPage(String title, String author, String genre, int page, int size);
+}
@@ -0,0 +1,39 @@
+package com.library.app.dao;
+
+import com.library.app.dto.CatalogRowDto;
+
+import java.util.Iterator;
+
+/**
+ * DAO interface for bulk loading the catalog through a staging table. All methods must run in one transaction,
+ * as the staging table lives only until it commits.
+ */
+public interface CatalogImportDao {
+    /**
+     * Creates the empty staging table for the current transaction.
+     */
+    void createStagingTable();
+
+    /**
+     * Streams rows into the staging table.
+     *
+     * @param rows the rows to load, consumed as they are sent
+     * @return the number of rows loaded
+     */
+    long copyToStaging(Iterator<CatalogRowDto> rows);
+
+    /**
+     * Adds a book for every staged row.
+     *
+     * @return the number of books added
+     */
+    long insertBooksFromStaging();
+
+    /**
+     * Adds the requested number of available copies for every staged book, with inventory numbers taken from
+     * the inventory number sequence.
+     *
+     * @return the number of copies added
+     */
+    long insertCopiesFromStaging();
+}
@@ -0,0 +1,41 @@
+package com.library.app.dao;
+
+import com.library.app.model.CopyStatus;
+import com.library.app.model.OrderStatus;
+import com.library.app.util.CsvWriter;
+
+import java.time.LocalDate;
+
+/**
+ * DAO interface for exporting whole tables as CSV. Rows are written as they are fetched, so an export of any size
+ * is read with bounded memory. Each export starts with a header record of column names.
+ */
+public interface ExportDao {
+    /**
+     * Writes orders with their user, book and copy details, in order ID order.
+     *
+     * @param from   the first issue date exported, or {@code null} for no lower bound
+     * @param to     the last issue date exported, or {@code null} for no upper bound
+     * @param status the order status exported, or {@code null} for all statuses
+     * @param writer the destination of the records
+     * @return the number of orders written
+     */
+    long exportOrders(LocalDate from, LocalDate to, OrderStatus status, CsvWriter writer);
+
+    /**
+     * Writes all books in ID order.
+     *
+     * @param writer the destination of the records
+     * @return the number of books written
+     */
+    long exportBooks(CsvWriter writer);
+
+    /**
+     * Writes book copies with their book details, in copy ID order.
+     *
+     * @param status the copy status exported, or {@code null} for all statuses
+     * @param writer the destination of the records
+     * @return the number of copies written
+     */
+    long exportCopies(CopyStatus status, CsvWriter writer);
+}
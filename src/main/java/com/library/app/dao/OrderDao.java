@@ -2,8 +2,16 @@ package com.library.app.dao;
 
 import com.library.app.model.Order;
 import com.library.app.model.OrderStatus;
+import com.library.app.model.OrderStatusFilter;
+import com.library.app.model.OrderTransition;
+import com.library.app.model.OrderTransitionResult;
+import com.library.app.util.CursorPage;
+import com.library.app.util.KeysetCursor;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -18,11 +26,20 @@ public interface OrderDao {
     void save(Order order);
 
     /**
-     * Updates an existing order.
+     * Moves an order and its copy to the statuses of the given transition, provided the order is still in the
+     * status the transition starts from. The check and both updates run as one statement, so of two concurrent
+     * transitions of the same order only one succeeds.
      *
-     * @param order the order to update
+     * @param orderId    the order ID
+     * @param transition the status change to apply
+     * @param date       the new due date for {@link OrderTransition#ISSUE}, the return date for
+     *                   {@link OrderTransition#RETURN}; ignored for {@link OrderTransition#CANCEL}, which clears
+     *                   the due date
+     * @param username   the user the order must belong to, or {@code null} to apply it to any user's order
+     * @return the updated order with its details, the status the order was found in, or not found if no such
+     * order belongs to the user
      */
-    void update(Order order);
+    OrderTransitionResult transition(Long orderId, OrderTransition transition, LocalDate date, String username);
 
     /**
      * Counts the number of orders with the specified statuses.
@@ -41,14 +58,6 @@ public interface OrderDao {
      */
     boolean hasActiveOrderForBook(Long bookId, Long userId);
 
-    /**
-     * Finds an order by its ID.
-     *
-     * @param id the order ID
-     * @return optional containing the order
-     */
-    Optional<Order> findById(Long id);
-
     /**
      * Checks if a book copy is issued or reserved.
      *
@@ -58,19 +67,47 @@ public interface OrderDao {
     Optional<String> findIssuedOrReserved(Long copyId);
 
     /**
-     * Finds all orders for a specific username.
+     * Finds the pending or issued order on each of the given copies in one query.
+     * The returned orders carry the user's ID and username, their type, status and dates, and the copy's
+     * inventory number with its book's title and author.
+     *
+     * @param copyIds the copy IDs
+     * @return map of copy ID to its active order; copies that are not held are absent
+     */
+    Map<Long, Order> findHoldersByCopyIds(Collection<Long> copyIds);
+
+    /**
+     * Finds the pending and issued orders of each of the given users in one query, newest first.
+     * The returned orders carry the user's ID and username, their type, status and dates, and the copy's
+     * inventory number with its book's title and author; orders of one user share a single {@code User}.
+     *
+     * @param userIds the user IDs
+     * @return map of user ID to its active orders, in the iteration order of {@code userIds};
+     * users without active orders map to an empty list
+     */
+    Map<Long, List<Order>> findActiveByUserIds(Collection<Long> userIds);
+
+    /**
+     * Finds one page of the orders of a specific username, newest first, using keyset pagination on
+     * {@code (issue_date DESC, id DESC)}.
      *
      * @param username the username
-     * @return list of orders
+     * @param cursor   the position to continue from, or {@code null} for the first page
+     * @param limit    the maximum number of orders on the page
+     * @param filter   the status group to restrict the orders to, or {@code null} for all orders
+     * @return the page of orders with the cursors of its neighbouring pages
      */
-    List<Order> findByUsername(String username);
+    CursorPage<Order> findByUsername(String username, KeysetCursor cursor, int limit, OrderStatusFilter filter);
 
     /**
-     * Retrieves all orders in the system.
+     * Retrieves one page of all orders, newest first, using keyset pagination on
+     * {@code (issue_date DESC, id DESC)}. The cost of a page does not depend on how many orders exist.
      *
-     * @return list of all orders
+     * @param cursor the position to continue from, or {@code null} for the first page
+     * @param limit  the maximum number of orders on the page
+     * @return the page of orders with the cursors of its neighbouring pages
      */
-    List<Order> findAllOrders();
+    CursorPage<Order> findAllOrders(KeysetCursor cursor, int limit);
 
     /**
      * Returns a list of top requested books by number of orders.
@@ -87,4 +124,20 @@ public interface OrderDao {
      * @return list of object arrays [User, orderCount]
      */
     List<Object[]> findTopActiveUsers(int limit);
+
+    /**
+     * Counts the ISSUED or RETURNED orders of every book per issue day, for rebuilding the leaderboards.
+     *
+     * @param since the first issue day counted separately; earlier orders are counted in one undated row
+     * @return list of object arrays [bookId, title, authorFirstName, authorLastName, requestDay, requestCount]
+     */
+    List<Object[]> countRequestsByBookAndDay(LocalDate since);
+
+    /**
+     * Counts the ISSUED or RETURNED orders of every user per issue day, for rebuilding the leaderboards.
+     *
+     * @param since the first issue day counted separately; earlier orders are counted in one undated row
+     * @return list of object arrays [userId, username, userStatus, requestDay, orderCount]
+     */
+    List<Object[]> countRequestsByUserAndDay(LocalDate since);
 }
@@ -0,0 +1,23 @@
+package com.library.app.dao;
+
+import com.library.app.model.LibraryCounts;
+import com.library.app.model.LibraryTotals;
+
+/**
+ * DAO interface for read-only reporting queries spanning several tables.
+ */
+public interface ReportDao {
+    /**
+     * Counts books, copies, issued copies, returned orders and active users in a single query.
+     *
+     * @return the library-wide totals
+     */
+    LibraryTotals countLibraryTotals();
+
+    /**
+     * Counts books, and copies, orders and users per status, in a single query.
+     *
+     * @return the per-status row counts
+     */
+    LibraryCounts countByStatus();
+}
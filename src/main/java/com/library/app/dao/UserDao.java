@@ -1,10 +1,9 @@
 package com.library.app.dao;
 
-import com.library.app.model.Order;
 import com.library.app.model.User;
+import com.library.app.util.Page;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -64,9 +63,12 @@ public interface UserDao {
     List<User> findAll();
 
     /**
-     * Finds all readers with their active orders.
+     * Finds one page of readers with active orders, ordered by username.
      *
-     * @return map of users to their active orders
+     * @param username part of the username to match, case-insensitively, or {@code null} for all readers
+     * @param page     the page number (1-based index)
+     * @param size     the number of readers per page
+     * @return the requested page of readers
      */
-    Map<User, List<Order>> findReadersWithActiveOrders();
+    Page<User> findReadersWithActiveOrders(String username, int page, int size);
 }
@@ -2,13 +2,12 @@ package com.library.app.dao.impl;
 
 import com.library.app.config.ConnectionPool;
 import com.library.app.dao.BookCopyDao;
-import com.library.app.dao.BookDao;
-import com.library.app.model.Book;
+import com.library.app.dao.mapper.BookCopyRowMapper;
+import com.library.app.dao.mapper.RowMapper;
 import com.library.app.model.BookCopy;
 import com.library.app.model.CopyStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Connection;
@@ -16,7 +15,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -25,17 +27,14 @@ import java.util.Optional;
  */
 @Repository
 public class BookCopyDaoImpl implements BookCopyDao {
-    private static final String ID = "id";
-    private static final String BOOK_ID = "book_id";
-    private static final String BOOK_NOT_FOUND_WITH_ID = "Book not found with ID: %s";
-    private static final String STATUS = "status";
-    private static final String INVENTORY_NUMBER = "inventory_number";
-    private static final String BOOK_NOT_FOUND_WHILE_MAPPING = "Book not found while mapping BookCopy. bookId={}";
     private static final String FAILED_TO_LOAD_BOOK_COPIES_FOR_BOOK_ID = "Failed to load book copies for bookId={}";
     private static final String ERROR_FETCHING_BOOK_COPY_WITH_ID = "Error fetching BookCopy with id {}";
-    private static final String ERROR_WHILE_FINDING_AVAILABLE_COPY_FOR_BOOK_ID =
-            "Error while finding available copy for bookId={}";
-    private static final String SELECT_BOOK_COPY_BY_ID = "SELECT * FROM book_copies WHERE id = ?";
+    private static final String SELECT_BOOK_COPY_BY_ID = """
+                SELECT bc.*, b.title, b.author_first_name, b.author_last_name, b.genre, b.description, b.cover_url
+                FROM book_copies bc
+                JOIN books b ON bc.book_id = b.id
+                WHERE bc.id = ?
+            """;
     private static final String COUNT_ALL_BOOK_COPIES = "SELECT COUNT(*) FROM book_copies";
     private static final String FAILED_TO_COUNT_ALL_BOOK_COPIES = "Failed to count all book copies";
     private static final String SELECT_TOTAL_BOOK_COPIES_BY_STATUS = "SELECT COUNT(*) FROM book_copies WHERE status = ?";
@@ -53,64 +52,81 @@ public class BookCopyDaoImpl implements BookCopyDao {
             "Error while counting available copies for bookId={}";
     private static final String INSERT_NEW_BOOK_COPY =
             "INSERT INTO book_copies (book_id, inventory_number, status) VALUES (?, ?, ?)";
-    private static final String ERROR_FIND_LAST_INV_NUMBER_BOOK_ID =
-            "Error while finding last inventory number for bookId={}";
-    private static final String SELECT_ONE_AVAILABLE_BOOK_COPY =
-            "SELECT * FROM book_copies WHERE book_id = ? AND status = 'AVAILABLE' LIMIT 1";
+    private static final String INSERT_NEW_BOOK_COPY_UNLESS_DUPLICATE =
+            INSERT_NEW_BOOK_COPY + " ON CONFLICT (inventory_number) DO NOTHING";
+    private static final String FAILED_TO_SAVE_BOOK_COPIES = "Failed to save {} book copies";
+    private static final String DATABASE_ERROR_WHILE_SAVING_BOOK_COPIES = "Database error while saving book copies";
+    private static final String ERROR_WHILE_ALLOCATING_INVENTORY_NUMBERS =
+            "Error while allocating {} inventory numbers";
+    private static final String DATABASE_ERROR_WHILE_ALLOCATING_INVENTORY_NUMBERS =
+            "Database error while allocating inventory numbers";
+    private static final String ERROR_WHILE_CLAIMING_AVAILABLE_COPY_FOR_BOOK_ID =
+            "Error while claiming available copy for bookId={}";
+    private static final String DATABASE_ERROR_WHILE_CLAIMING_BOOK_COPY = "Database error while claiming book copy";
+    private static final String CLAIM_ONE_AVAILABLE_BOOK_COPY = """
+                WITH claimed AS (
+                  UPDATE book_copies SET status = 'RESERVED'
+                  WHERE status = 'AVAILABLE'
+                    AND id = (
+                      SELECT id FROM book_copies
+                      WHERE book_id = ? AND status = 'AVAILABLE'
+                      LIMIT 1
+                      FOR UPDATE SKIP LOCKED
+                    )
+                  RETURNING *
+                )
+                SELECT bc.*, b.title, b.author_first_name, b.author_last_name, b.genre, b.description, b.cover_url
+                FROM claimed bc
+                JOIN books b ON bc.book_id = b.id
+            """;
     private static final String SELECT_BOOK_COPIES_ORDERED_BY_INV_NUMBER = """
-                SELECT * FROM book_copies
-                WHERE book_id = ?
-                ORDER BY
-                CASE
-                WHEN inventory_number ~ '^INV-\\d+$'
-                THEN CAST(SUBSTRING(inventory_number FROM 5) AS INTEGER)
-                ELSE NULL
-                END NULLS LAST
+                SELECT bc.*, b.title, b.author_first_name, b.author_last_name, b.genre, b.description, b.cover_url
+                FROM book_copies bc
+                JOIN books b ON bc.book_id = b.id
+                WHERE bc.book_id = ?
+                ORDER BY bc.inventory_seq NULLS LAST, bc.inventory_number
             """;
-    private static final String SELECT_LAST_BOOK_COPY_BY_INV_NUMBER = """
-                SELECT inventory_number FROM book_copies
-                WHERE book_id = ?
-                ORDER BY CAST(SUBSTRING(inventory_number FROM 5) AS INTEGER) DESC
-                LIMIT 1
+    private static final String SELECT_BOOK_COPIES_BY_BOOK_IDS = """
+                SELECT bc.*, b.title, b.author_first_name, b.author_last_name, b.genre, b.description, b.cover_url
+                FROM book_copies bc
+                JOIN books b ON bc.book_id = b.id
+                WHERE bc.book_id = ANY(?)
+                ORDER BY bc.book_id, bc.inventory_seq NULLS LAST, bc.inventory_number
             """;
+    private static final String SQL_BIGINT = "bigint";
+    private static final String FAILED_TO_LOAD_BOOK_COPIES_FOR_BOOK_IDS = "Failed to load book copies for bookIds={}";
+    private static final String ALLOCATE_INVENTORY_NUMBERS =
+            "SELECT nextval('inventory_number_seq') FROM generate_series(1, ?)";
     private static final Logger logger = LoggerFactory.getLogger(BookCopyDaoImpl.class);
     private final ConnectionPool connectionPool = ConnectionPool.getInstance();
-    private final BookDao bookDao;
 
     /**
-     * Constructs a new {@code BookCopyDaoImpl} with the specified {@link BookDao}.
-     *
-     * @param bookDao DAO used to fetch book information
-     */
-    @Autowired
-    public BookCopyDaoImpl(BookDao bookDao) {
-        this.bookDao = bookDao;
-    }
-
-    /**
-     * Finds one available copy of the specified book, if any exists.
+     * Claims one available copy of the specified book in a single statement. The copy row is locked with
+     * {@code FOR UPDATE SKIP LOCKED}, so concurrent claimers skip copies that are being claimed by someone
+     * else instead of waiting for them or reserving the same copy twice.
      *
      * @param bookId the book ID
-     * @return an {@link Optional} containing the available copy, or empty if none found
+     * @return an {@link Optional} containing the claimed copy, now {@code RESERVED}, or empty if none is available
      */
     @Override
-    public Optional<BookCopy> findAvailableCopy(Long bookId) {
+    public Optional<BookCopy> claimAvailableCopy(Long bookId) {
         Connection connection = null;
 
         try {
             connection = connectionPool.getConnection();
 
-            try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT_ONE_AVAILABLE_BOOK_COPY)) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(CLAIM_ONE_AVAILABLE_BOOK_COPY)) {
                 preparedStatement.setLong(1, bookId);
 
                 try (ResultSet resultSet = preparedStatement.executeQuery()) {
                     if (resultSet.next()) {
-                        return Optional.of(mapRowToBookCopy(resultSet));
+                        return Optional.of(new BookCopyRowMapper(resultSet).mapRow(resultSet));
                     }
                 }
             }
         } catch (SQLException e) {
-            logger.error(ERROR_WHILE_FINDING_AVAILABLE_COPY_FOR_BOOK_ID, bookId, e);
+            logger.error(ERROR_WHILE_CLAIMING_AVAILABLE_COPY_FOR_BOOK_ID, bookId, e);
+            throw new RuntimeException(DATABASE_ERROR_WHILE_CLAIMING_BOOK_COPY, e);
         } finally {
             connectionPool.closeConnection(connection);
         }
@@ -137,8 +153,10 @@ public class BookCopyDaoImpl implements BookCopyDao {
                 preparedStatement.setLong(1, bookId);
 
                 try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    RowMapper<BookCopy> rowMapper = new BookCopyRowMapper(resultSet);
+
                     while (resultSet.next()) {
-                        copies.add(mapRowToBookCopy(resultSet));
+                        copies.add(rowMapper.mapRow(resultSet));
                     }
                 }
             }
@@ -151,6 +169,48 @@ public class BookCopyDaoImpl implements BookCopyDao {
         return copies;
     }
 
+    /**
+     * Retrieves all copies of the given books with one {@code = ANY(?)} query, so the cost does not grow
+     * with the number of books or copies.
+     *
+     * @param bookIds the book IDs
+     * @return copies grouped by book ID, in the iteration order of {@code bookIds}
+     */
+    @Override
+    public Map<Long, List<BookCopy>> findAllByBookIds(Collection<Long> bookIds) {
+        Map<Long, List<BookCopy>> copiesByBookId = new LinkedHashMap<>();
+        bookIds.forEach(bookId -> copiesByBookId.put(bookId, new ArrayList<>()));
+
+        if (copiesByBookId.isEmpty()) {
+            return copiesByBookId;
+        }
+
+        Connection connection = null;
+
+        try {
+            connection = connectionPool.getConnection();
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT_BOOK_COPIES_BY_BOOK_IDS)) {
+                preparedStatement.setArray(1, connection.createArrayOf(SQL_BIGINT, copiesByBookId.keySet().toArray()));
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    RowMapper<BookCopy> rowMapper = new BookCopyRowMapper(resultSet);
+
+                    while (resultSet.next()) {
+                        BookCopy copy = rowMapper.mapRow(resultSet);
+                        copiesByBookId.get(copy.getBook().getId()).add(copy);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error(FAILED_TO_LOAD_BOOK_COPIES_FOR_BOOK_IDS, bookIds, e);
+        } finally {
+            connectionPool.closeConnection(connection);
+        }
+
+        return copiesByBookId;
+    }
+
     /**
      * @param id the ID of the copy
      * @return an {@link Optional} with the book copy if found, otherwise empty
@@ -165,7 +225,7 @@ public class BookCopyDaoImpl implements BookCopyDao {
                 preparedStatement.setLong(1, id);
                 try (ResultSet resultSet = preparedStatement.executeQuery()) {
                     if (resultSet.next()) {
-                        return Optional.of(mapRowToBookCopy(resultSet));
+                        return Optional.of(new BookCopyRowMapper(resultSet).mapRow(resultSet));
                     }
                 }
             }
@@ -179,34 +239,39 @@ public class BookCopyDaoImpl implements BookCopyDao {
     }
 
     /**
-     * Retrieves the last used inventory number for a given book.
+     * Takes the next numbers from the inventory number sequence in one round trip. The numbers are unique but
+     * not necessarily consecutive, and a number is used up even if no copy is ever saved with it.
      *
-     * @param bookId the book ID
-     * @return an {@link Optional} containing the last inventory number, if available
+     * @param count how many numbers to allocate
+     * @return the allocated numbers, in ascending order
      */
     @Override
-    public Optional<String> findLastInventoryNumber(Long bookId) {
+    public List<Long> allocateInventoryNumbers(int count) {
         Connection connection = null;
+        List<Long> numbers = new ArrayList<>(count);
 
         try {
             connection = connectionPool.getConnection();
 
-            try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT_LAST_BOOK_COPY_BY_INV_NUMBER)) {
-                preparedStatement.setLong(1, bookId);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(ALLOCATE_INVENTORY_NUMBERS)) {
+                preparedStatement.setInt(1, count);
 
                 try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                    if (resultSet.next()) {
-                        return Optional.ofNullable(resultSet.getString(INVENTORY_NUMBER));
+                    while (resultSet.next()) {
+                        numbers.add(resultSet.getLong(1));
                     }
                 }
             }
         } catch (SQLException e) {
-            logger.error(ERROR_FIND_LAST_INV_NUMBER_BOOK_ID, bookId, e);
+            logger.error(ERROR_WHILE_ALLOCATING_INVENTORY_NUMBERS, count, e);
+            throw new RuntimeException(DATABASE_ERROR_WHILE_ALLOCATING_INVENTORY_NUMBERS, e);
         } finally {
             connectionPool.closeConnection(connection);
         }
 
-        return Optional.empty();
+        numbers.sort(null);
+
+        return numbers;
     }
 
     /**
@@ -357,6 +422,52 @@ public class BookCopyDaoImpl implements BookCopyDao {
         }
     }
 
+    /**
+     * Inserts the book copies with one JDBC batch. A copy whose inventory number is already taken is skipped
+     * rather than failing the batch. Run inside a transaction to insert all the other copies or none of them.
+     *
+     * @param copies the book copies to save
+     * @return the inventory numbers of the skipped copies, in the order given
+     */
+    @Override
+    public List<String> saveAll(List<BookCopy> copies) {
+        Connection connection = null;
+        List<String> duplicates = new ArrayList<>();
+
+        if (copies.isEmpty()) {
+            return duplicates;
+        }
+
+        try {
+            connection = connectionPool.getConnection();
+
+            try (PreparedStatement preparedStatement =
+                         connection.prepareStatement(INSERT_NEW_BOOK_COPY_UNLESS_DUPLICATE)) {
+                for (BookCopy copy : copies) {
+                    preparedStatement.setLong(1, copy.getBook().getId());
+                    preparedStatement.setString(2, copy.getInventoryNumber());
+                    preparedStatement.setString(3, copy.getStatus().name());
+                    preparedStatement.addBatch();
+                }
+
+                int[] updateCounts = preparedStatement.executeBatch();
+
+                for (int i = 0; i < updateCounts.length; i++) {
+                    if (updateCounts[i] == 0) {
+                        duplicates.add(copies.get(i).getInventoryNumber());
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error(FAILED_TO_SAVE_BOOK_COPIES, copies.size(), e);
+            throw new RuntimeException(DATABASE_ERROR_WHILE_SAVING_BOOK_COPIES, e);
+        } finally {
+            connectionPool.closeConnection(connection);
+        }
+
+        return duplicates;
+    }
+
     /**
      * Deletes a book copy by its ID.
      *
@@ -378,27 +489,4 @@ public class BookCopyDaoImpl implements BookCopyDao {
             connectionPool.closeConnection(connection);
         }
     }
-
-    /**
-     * Maps a {@link ResultSet} row to a {@link BookCopy} object.
-     *
-     * @param resultSet the JDBC result set
-     * @return a mapped {@link BookCopy} object
-     * @throws SQLException if reading from the result set fails
-     */
-    private BookCopy mapRowToBookCopy(ResultSet resultSet) throws SQLException {
-        BookCopy copy = new BookCopy();
-        copy.setId(resultSet.getLong(ID));
-        copy.setInventoryNumber(resultSet.getString(INVENTORY_NUMBER));
-        Long bookId = resultSet.getLong(BOOK_ID);
-        Book book = bookDao.findById(bookId)
-                .orElseThrow(() -> {
-                    logger.error(BOOK_NOT_FOUND_WHILE_MAPPING, bookId);
-                    return new SQLException(String.format(BOOK_NOT_FOUND_WITH_ID, bookId));
-                });
-        copy.setBook(book);
-        copy.setStatus(CopyStatus.valueOf(resultSet.getString(STATUS)));
-
-        return copy;
-    }
 }
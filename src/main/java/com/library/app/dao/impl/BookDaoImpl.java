@@ -2,7 +2,11 @@ package com.library.app.dao.impl;
 
 import com.library.app.config.ConnectionPool;
 import com.library.app.dao.BookDao;
+import com.library.app.dao.mapper.BookRowMapper;
+import com.library.app.dao.mapper.RowMapper;
 import com.library.app.model.Book;
+import com.library.app.model.BookDetails;
+import com.library.app.util.Page;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
@@ -22,14 +26,31 @@ import java.util.Optional;
  */
 @Repository
 public class BookDaoImpl implements BookDao {
-    private static final String ID_COLUMN = "id";
-    private static final String TITLE_COLUMN = "title";
-    private static final String AUTHOR_FIRST_NAME_COLUMN = "author_first_name";
-    private static final String AUTHOR_LAST_NAME_COLUMN = "author_last_name";
-    private static final String GENRE_COLUMN = "genre";
-    private static final String DESCRIPTION_COLUMN = "description";
-    private static final String COVER_URL_COLUMN = "cover_url";
+    private static final String AVAILABLE_COUNT_COLUMN = "available_count";
+    private static final String USER_STATUS_COLUMN = "user_status";
+    private static final String HAS_ACTIVE_ORDER_COLUMN = "has_active_order";
     private static final String ERROR_WHILE_FINDING_BOOK_BY_ID = "Error while finding book by id={}";
+    private static final String ERROR_WHILE_FINDING_BOOK_DETAILS = "Error while finding details of book id={} for user={}";
+    private static final String SELECT_BOOK_DETAILS = """
+                SELECT b.*,
+                       (SELECT COUNT(*) FROM book_copies bc
+                        WHERE bc.book_id = b.id AND bc.status = 'AVAILABLE') AS available_count
+                FROM books b
+                WHERE b.id = ?
+            """;
+    private static final String SELECT_BOOK_DETAILS_FOR_USER = """
+                SELECT b.*,
+                       (SELECT COUNT(*) FROM book_copies bc
+                        WHERE bc.book_id = b.id AND bc.status = 'AVAILABLE') AS available_count,
+                       u.status AS user_status,
+                       EXISTS (SELECT 1 FROM orders o
+                               JOIN book_copies bc ON o.copy_id = bc.id
+                               WHERE o.user_id = u.id AND bc.book_id = b.id
+                               AND o.order_status IN ('PENDING', 'ISSUED')) AS has_active_order
+                FROM books b
+                LEFT JOIN users u ON u.username = ?
+                WHERE b.id = ?
+            """;
     private static final String ERROR_SAVING_BOOK = "Error saving book";
     private static final String ERROR_SEARCH_TITLE_AUTHOR_GENRE =
             "Error while searching books - title: {}, author: {}, genre: {}";
@@ -41,6 +62,12 @@ public class BookDaoImpl implements BookDao {
     private static final String FILTER_BY_GENRE = " AND LOWER(genre) LIKE ?";
     private static final String SQL_WILDCARD = "%";
     private static final String SELECT_ALL_BOOKS_WITH_OPTIONAL_FILTERS = "SELECT * FROM books WHERE 1=1";
+    private static final String SELECT_BOOK_SUMMARIES_WITH_OPTIONAL_FILTERS =
+            "SELECT id, title, author_first_name, author_last_name, genre, cover_url FROM books WHERE 1=1";
+    private static final String COUNT_BOOKS_WITH_OPTIONAL_FILTERS = "SELECT COUNT(*) FROM books WHERE 1=1";
+    private static final String LIMIT_OFFSET = " LIMIT ? OFFSET ?";
+    private static final String ERROR_SEARCH_PAGE_TITLE_AUTHOR_GENRE =
+            "Error while searching book page {} - title: {}, author: {}, genre: {}";
     private static final String SELECT_BOOK_BY_ID = "SELECT * FROM books WHERE id = ?";
     private static final String DELETE_BOOK_BY_ID = "DELETE FROM books WHERE id = ?";
     private static final String COUNT_ALL_BOOKS = "SELECT COUNT(*) FROM books";
@@ -75,38 +102,17 @@ public class BookDaoImpl implements BookDao {
 
         try {
             connection = ConnectionPool.getInstance().getConnection();
-
-            if (title != null && !title.isBlank()) {
-                querySearch.append(FILTER_BY_TITLE);
-                params.add(SQL_WILDCARD + title.toLowerCase() + SQL_WILDCARD);
-            }
-            if (author != null && !author.isBlank()) {
-                querySearch.append(FILTER_BY_AUTHOR);
-                params.add(SQL_WILDCARD + author.toLowerCase() + SQL_WILDCARD);
-                params.add(SQL_WILDCARD + author.toLowerCase() + SQL_WILDCARD);
-            }
-            if (genre != null && !genre.isBlank()) {
-                querySearch.append(FILTER_BY_GENRE);
-                params.add(SQL_WILDCARD + genre.toLowerCase() + SQL_WILDCARD);
-            }
-            querySearch.append(ORDER_BY_ID);
+            String filters = buildFilters(title, author, genre, params);
+            querySearch.append(filters).append(ORDER_BY_ID);
 
             try (PreparedStatement preparedStatement = connection.prepareStatement(querySearch.toString())) {
-                for (int i = 0; i < params.size(); i++) {
-                    preparedStatement.setObject(i + 1, params.get(i));
-                }
+                setParameters(preparedStatement, params);
 
                 try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    RowMapper<Book> rowMapper = new BookRowMapper(resultSet);
+
                     while (resultSet.next()) {
-                        books.add(new Book(
-                                resultSet.getLong(ID_COLUMN),
-                                resultSet.getString(TITLE_COLUMN),
-                                resultSet.getString(AUTHOR_FIRST_NAME_COLUMN),
-                                resultSet.getString(AUTHOR_LAST_NAME_COLUMN),
-                                resultSet.getString(GENRE_COLUMN),
-                                resultSet.getString(DESCRIPTION_COLUMN),
-                                resultSet.getString(COVER_URL_COLUMN)
-                        ));
+                        books.add(rowMapper.mapRow(resultSet));
                     }
                 }
             }
@@ -120,6 +126,67 @@ public class BookDaoImpl implements BookDao {
         return books;
     }
 
+    /**
+     * Searches for books by optional filters and returns one page of results. The total is counted and
+     * the page is fetched with {@code LIMIT}/{@code OFFSET} on the same connection, so only the rows
+     * shown on the page are read and mapped. The {@code description} column is not loaded.
+     *
+     * @param title  the title to search for (case-insensitive)
+     * @param author the author to search for (case-insensitive)
+     * @param genre  the genre to search for (case-insensitive)
+     * @param page   the page number (1-based index)
+     * @param size   the number of books per page
+     * @return the requested page and the total number of matching books
+     */
+    @Override
+    public Page<Book> searchPage(String title, String author, String genre, int page, int size) {
+        Connection connection = null;
+        List<Book> books = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        String filters = buildFilters(title, author, genre, params);
+        long offset = Page.offset(page, size);
+        long total = 0;
+
+        try {
+            connection = connectionPool.getConnection();
+
+            try (PreparedStatement preparedStatement =
+                         connection.prepareStatement(COUNT_BOOKS_WITH_OPTIONAL_FILTERS + filters)) {
+                setParameters(preparedStatement, params);
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (resultSet.next()) {
+                        total = resultSet.getLong(1);
+                    }
+                }
+            }
+
+            if (offset < total) {
+                String query = SELECT_BOOK_SUMMARIES_WITH_OPTIONAL_FILTERS + filters + ORDER_BY_ID + LIMIT_OFFSET;
+
+                try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                    setParameters(preparedStatement, params);
+                    preparedStatement.setInt(params.size() + 1, size);
+                    preparedStatement.setLong(params.size() + 2, offset);
+
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        RowMapper<Book> rowMapper = new BookRowMapper(resultSet);
+
+                        while (resultSet.next()) {
+                            books.add(rowMapper.mapRow(resultSet));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error(ERROR_SEARCH_PAGE_TITLE_AUTHOR_GENRE, page, title, author, genre, e);
+        } finally {
+            connectionPool.closeConnection(connection);
+        }
+
+        return new Page<>(books, Math.max(page, 1), size, total);
+    }
+
     /**
      * Retrieves a book by its unique identifier.
      *
@@ -138,17 +205,7 @@ public class BookDaoImpl implements BookDao {
 
                 try (ResultSet resultSet = preparedStatement.executeQuery();) {
                     if (resultSet.next()) {
-                        Book book = new Book(
-                                resultSet.getLong(ID_COLUMN),
-                                resultSet.getString(TITLE_COLUMN),
-                                resultSet.getString(AUTHOR_FIRST_NAME_COLUMN),
-                                resultSet.getString(AUTHOR_LAST_NAME_COLUMN),
-                                resultSet.getString(GENRE_COLUMN),
-                                resultSet.getString(DESCRIPTION_COLUMN),
-                                resultSet.getString(COVER_URL_COLUMN)
-                        );
-
-                        return Optional.of(book);
+                        return Optional.of(new BookRowMapper(resultSet).mapRow(resultSet));
                     }
                 }
             }
@@ -161,6 +218,53 @@ public class BookDaoImpl implements BookDao {
         return Optional.empty();
     }
 
+    /**
+     * Loads everything the book detail page needs in one round trip. The available copy count is a scalar
+     * subquery; for a logged-in user the user row is left-joined by username and the active-order check is
+     * an {@code EXISTS} subquery, so an unknown username still yields the book with a {@code null} status.
+     *
+     * @param id       the book ID
+     * @param username the current user's username, or {@code null} for anonymous visitors
+     * @return an {@link Optional} containing the book details, or empty if the book does not exist
+     */
+    @Override
+    public Optional<BookDetails> findDetails(Long id, String username) {
+        Connection connection = null;
+        boolean anonymous = username == null;
+
+        try {
+            connection = connectionPool.getConnection();
+
+            try (PreparedStatement preparedStatement =
+                         connection.prepareStatement(anonymous ? SELECT_BOOK_DETAILS : SELECT_BOOK_DETAILS_FOR_USER)) {
+                int index = 1;
+                if (!anonymous) {
+                    preparedStatement.setString(index++, username);
+                }
+                preparedStatement.setLong(index, id);
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (resultSet.next()) {
+                        Book book = new BookRowMapper(resultSet).mapRow(resultSet);
+
+                        return Optional.of(new BookDetails(
+                                book,
+                                resultSet.getInt(AVAILABLE_COUNT_COLUMN),
+                                anonymous ? null : resultSet.getString(USER_STATUS_COLUMN),
+                                !anonymous && resultSet.getBoolean(HAS_ACTIVE_ORDER_COLUMN)
+                        ));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error(ERROR_WHILE_FINDING_BOOK_DETAILS, id, username, e);
+        } finally {
+            connectionPool.closeConnection(connection);
+        }
+
+        return Optional.empty();
+    }
+
     /**
      * Persists a new book in the database.
      *
@@ -271,4 +375,39 @@ public class BookDaoImpl implements BookDao {
 
         return 0;
     }
+
+    /**
+     * Builds the {@code WHERE} conditions for the optional search filters and collects their parameters.
+     *
+     * @param title  the title to search for (nullable)
+     * @param author the author to search for (nullable)
+     * @param genre  the genre to search for (nullable)
+     * @param params the list receiving the parameter values in placeholder order
+     * @return the SQL conditions to append after {@code WHERE 1=1}
+     */
+    private String buildFilters(String title, String author, String genre, List<Object> params) {
+        StringBuilder filters = new StringBuilder();
+
+        if (title != null && !title.isBlank()) {
+            filters.append(FILTER_BY_TITLE);
+            params.add(SQL_WILDCARD + title.toLowerCase() + SQL_WILDCARD);
+        }
+        if (author != null && !author.isBlank()) {
+            filters.append(FILTER_BY_AUTHOR);
+            params.add(SQL_WILDCARD + author.toLowerCase() + SQL_WILDCARD);
+            params.add(SQL_WILDCARD + author.toLowerCase() + SQL_WILDCARD);
+        }
+        if (genre != null && !genre.isBlank()) {
+            filters.append(FILTER_BY_GENRE);
+            params.add(SQL_WILDCARD + genre.toLowerCase() + SQL_WILDCARD);
+        }
+
+        return filters.toString();
+    }
+
+    private void setParameters(PreparedStatement preparedStatement, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            preparedStatement.setObject(i + 1, params.get(i));
+        }
+    }
 }
@@ -0,0 +1,210 @@
+package com.library.app.dao.impl;
+
+import com.library.app.config.ConnectionPool;
+import com.library.app.dao.CatalogImportDao;
+import com.library.app.dto.CatalogRowDto;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+
+/**
+ * Implementation of {@link CatalogImportDao} that loads rows with the PostgreSQL {@code COPY} protocol into a
+ * temporary table and moves them into {@code books} and {@code book_copies} with set-based statements.
+ * Uses JDBC and a singleton {@link ConnectionPool} to manage database connections.
+ */
+@Repository
+public class CatalogImportDaoImpl implements CatalogImportDao {
+    private static final int FLUSH_THRESHOLD = 65_536;
+    private static final char QUOTE = '"';
+    private static final char COMMA = ',';
+    private static final char NEW_LINE = '\n';
+    private static final String DOUBLE_QUOTE = "\"\"";
+    private static final String QUOTE_STRING = "\"";
+    private static final String CREATE_STAGING_TABLE = """
+                CREATE TEMP TABLE catalog_import (
+                    line BIGINT NOT NULL,
+                    title VARCHAR(255) NOT NULL,
+                    author_first_name VARCHAR(100),
+                    author_last_name VARCHAR(100),
+                    genre VARCHAR(100),
+                    description TEXT,
+                    cover_url VARCHAR(500),
+                    copies INTEGER NOT NULL,
+                    book_id INTEGER
+                ) ON COMMIT DROP
+            """;
+    private static final String COPY_TO_STAGING = """
+                COPY catalog_import (line, title, author_first_name, author_last_name, genre, description, cover_url,
+                                     copies)
+                FROM STDIN WITH (FORMAT csv)
+            """;
+    private static final String ASSIGN_BOOK_IDS =
+            "UPDATE catalog_import SET book_id = nextval(pg_get_serial_sequence('books', 'id'))";
+    private static final String INSERT_BOOKS_FROM_STAGING = """
+                INSERT INTO books (id, title, author_first_name, author_last_name, genre, description, cover_url)
+                SELECT book_id, title, author_first_name, author_last_name, genre, description, cover_url
+                FROM catalog_import
+                ORDER BY line
+            """;
+    private static final String INSERT_COPIES_FROM_STAGING = """
+                INSERT INTO book_copies (book_id, inventory_number, status)
+                SELECT book_id, 'INV-' || CASE WHEN n < 10000 THEN lpad(n::text, 4, '0') ELSE n::text END, 'AVAILABLE'
+                FROM (
+                    SELECT s.book_id, nextval('inventory_number_seq') AS n
+                    FROM catalog_import s
+                    CROSS JOIN LATERAL generate_series(1, s.copies)
+                    ORDER BY s.line
+                ) numbered
+                ON CONFLICT (inventory_number) DO NOTHING
+            """;
+    private static final String FAILED_TO_CREATE_STAGING_TABLE = "Failed to create catalog staging table";
+    private static final String FAILED_TO_COPY_ROWS_TO_STAGING = "Failed to copy catalog rows to staging";
+    private static final String FAILED_TO_INSERT_BOOKS_FROM_STAGING = "Failed to insert books from staging";
+    private static final String FAILED_TO_INSERT_COPIES_FROM_STAGING = "Failed to insert book copies from staging";
+    private static final String FAILED_TO_CANCEL_COPY = "Failed to cancel COPY";
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImportDaoImpl.class);
+    private final ConnectionPool connectionPool = ConnectionPool.getInstance();
+
+    /**
+     * Creates the temporary staging table, dropped when the current transaction commits.
+     *
+     * @throws RuntimeException if a database access error occurs
+     */
+    @Override
+    public void createStagingTable() {
+        executeUpdate(CREATE_STAGING_TABLE, FAILED_TO_CREATE_STAGING_TABLE);
+    }
+
+    /**
+     * Streams the rows to the staging table with {@code COPY ... FROM STDIN}, sending them in chunks as they
+     * are read, so only one chunk is held in memory.
+     *
+     * @param rows the rows to load
+     * @return the number of rows loaded
+     * @throws RuntimeException if a database access error occurs
+     */
+    @Override
+    public long copyToStaging(Iterator<CatalogRowDto> rows) {
+        Connection connection = null;
+        CopyIn copyIn = null;
+
+        try {
+            connection = connectionPool.getConnection();
+            copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_TO_STAGING);
+            StringBuilder chunk = new StringBuilder(FLUSH_THRESHOLD + 1_024);
+
+            while (rows.hasNext()) {
+                appendRow(chunk, rows.next());
+
+                if (chunk.length() >= FLUSH_THRESHOLD) {
+                    write(copyIn, chunk);
+                }
+            }
+
+            write(copyIn, chunk);
+
+            return copyIn.endCopy();
+        } catch (SQLException e) {
+            cancel(copyIn);
+            logger.error(FAILED_TO_COPY_ROWS_TO_STAGING, e);
+            throw new RuntimeException(FAILED_TO_COPY_ROWS_TO_STAGING, e);
+        } catch (RuntimeException e) {
+            cancel(copyIn);
+            throw e;
+        } finally {
+            connectionPool.closeConnection(connection);
+        }
+    }
+
+    /**
+     * Reserves a book ID for every staged row from the {@code books} sequence and inserts the books with those
+     * IDs, so the copies can be matched to their books afterwards.
+     *
+     * @return the number of books added
+     * @throws RuntimeException if a database access error occurs
+     */
+    @Override
+    public long insertBooksFromStaging() {
+        executeUpdate(ASSIGN_BOOK_IDS, FAILED_TO_INSERT_BOOKS_FROM_STAGING);
+
+        return executeUpdate(INSERT_BOOKS_FROM_STAGING, FAILED_TO_INSERT_BOOKS_FROM_STAGING);
+    }
+
+    /**
+     * Inserts the copies of the staged books in file order. A generated inventory number that is already taken
+     * is skipped.
+     *
+     * @return the number of copies added
+     * @throws RuntimeException if a database access error occurs
+     */
+    @Override
+    public long insertCopiesFromStaging() {
+        return executeUpdate(INSERT_COPIES_FROM_STAGING, FAILED_TO_INSERT_COPIES_FROM_STAGING);
+    }
+
+    private long executeUpdate(String sql, String errorMessage) {
+        Connection connection = null;
+
+        try {
+            connection = connectionPool.getConnection();
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                return preparedStatement.executeLargeUpdate();
+            }
+        } catch (SQLException e) {
+            logger.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        } finally {
+            connectionPool.closeConnection(connection);
+        }
+    }
+
+    private static void appendRow(StringBuilder chunk, CatalogRowDto row) {
+        chunk.append(row.getLine()).append(COMMA);
+        appendField(chunk, row.getTitle());
+        appendField(chunk, row.getAuthorFirstName());
+        appendField(chunk, row.getAuthorLastName());
+        appendField(chunk, row.getGenre());
+        appendField(chunk, row.getDescription());
+        appendField(chunk, row.getCoverUrl());
+        chunk.append(row.getCopies()).append(NEW_LINE);
+    }
+
+    /**
+     * Appends a CSV field: {@code null} as an unquoted empty field, which {@code COPY} reads as NULL, and any
+     * other value quoted.
+     */
+    private static void appendField(StringBuilder chunk, String value) {
+        if (value != null) {
+            chunk.append(QUOTE).append(value.replace(QUOTE_STRING, DOUBLE_QUOTE)).append(QUOTE);
+        }
+
+        chunk.append(COMMA);
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder chunk) throws SQLException {
+        if (!chunk.isEmpty()) {
+            byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            chunk.setLength(0);
+        }
+    }
+
+    private static void cancel(CopyIn copyIn) {
+        if (copyIn != null && copyIn.isActive()) {
+            try {
+                copyIn.cancelCopy();
+            } catch (SQLException e) {
+                logger.error(FAILED_TO_CANCEL_COPY, e);
+            }
+        }
+    }
+}
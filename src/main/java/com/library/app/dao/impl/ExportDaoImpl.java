@@ -0,0 +1,196 @@
+package com.library.app.dao.impl;
+
+import com.library.app.config.ConnectionPool;
+import com.library.app.dao.ExportDao;
+import com.library.app.model.CopyStatus;
+import com.library.app.model.OrderStatus;
+import com.library.app.util.CsvWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of {@link ExportDao} that reads rows through a server-side cursor and writes each one as it
+ * arrives. Uses JDBC and a singleton {@link ConnectionPool} to manage database connections.
+ * <p>
+ * The PostgreSQL driver fetches a result in batches of {@code fetchSize} rows only while auto-commit is off, so
+ * every export runs in its own read-only transaction unless a unit of work is already running.
+ */
+@Repository
+public class ExportDaoImpl implements ExportDao {
+    private static final int FETCH_SIZE = 1_000;
+    private static final String SELECT_ORDERS_FOR_EXPORT = """
+                SELECT o.id AS order_id, o.order_type, o.order_status, o.issue_date, o.due_date, o.return_date,
+                    u.id AS user_id, u.username, u.email,
+                    b.id AS book_id, b.title, b.author_first_name, b.author_last_name, b.genre,
+                    bc.id AS copy_id, bc.inventory_number, bc.status AS copy_status
+                FROM orders o
+                JOIN users u ON o.user_id = u.id
+                JOIN book_copies bc ON o.copy_id = bc.id
+                JOIN books b ON bc.book_id = b.id
+                WHERE TRUE
+            """;
+    private static final String ISSUED_FROM = " AND o.issue_date >= ?";
+    private static final String ISSUED_TO = " AND o.issue_date <= ?";
+    private static final String ORDER_STATUS_IS = " AND o.order_status = ?";
+    private static final String ORDER_BY_ORDER_ID = " ORDER BY o.id";
+    private static final String SELECT_BOOKS_FOR_EXPORT = """
+                SELECT b.id AS book_id, b.title, b.author_first_name, b.author_last_name, b.genre, b.description,
+                    b.cover_url
+                FROM books b
+                ORDER BY b.id
+            """;
+    private static final String SELECT_COPIES_FOR_EXPORT = """
+                SELECT bc.id AS copy_id, bc.inventory_number, bc.status AS copy_status,
+                    b.id AS book_id, b.title, b.author_first_name, b.author_last_name
+                FROM book_copies bc
+                JOIN books b ON bc.book_id = b.id
+                WHERE TRUE
+            """;
+    private static final String COPY_STATUS_IS = " AND bc.status = ?";
+    private static final String ORDER_BY_COPY_ID = " ORDER BY bc.id";
+    private static final String FAILED_TO_EXPORT_ORDERS = "Failed to export orders";
+    private static final String FAILED_TO_EXPORT_BOOKS = "Failed to export books";
+    private static final String FAILED_TO_EXPORT_COPIES = "Failed to export book copies";
+    private static final String FAILED_TO_END_EXPORT_TRANSACTION = "Failed to end export transaction";
+    private static final Logger logger = LoggerFactory.getLogger(ExportDaoImpl.class);
+    private final ConnectionPool connectionPool = ConnectionPool.getInstance();
+
+    /**
+     * Writes the orders matching the filters. The filters are added to the query only when given, so the
+     * database applies them while scanning.
+     *
+     * @throws RuntimeException if a database access error occurs or the records cannot be written
+     */
+    @Override
+    public long exportOrders(LocalDate from, LocalDate to, OrderStatus status, CsvWriter writer) {
+        StringBuilder query = new StringBuilder(SELECT_ORDERS_FOR_EXPORT);
+        List<Object> parameters = new ArrayList<>();
+
+        if (from != null) {
+            query.append(ISSUED_FROM);
+            parameters.add(Date.valueOf(from));
+        }
+
+        if (to != null) {
+            query.append(ISSUED_TO);
+            parameters.add(Date.valueOf(to));
+        }
+
+        if (status != null) {
+            query.append(ORDER_STATUS_IS);
+            parameters.add(status.name());
+        }
+
+        query.append(ORDER_BY_ORDER_ID);
+
+        return export(query.toString(), parameters, writer, FAILED_TO_EXPORT_ORDERS);
+    }
+
+    /**
+     * Writes all books.
+     *
+     * @throws RuntimeException if a database access error occurs or the records cannot be written
+     */
+    @Override
+    public long exportBooks(CsvWriter writer) {
+        return export(SELECT_BOOKS_FOR_EXPORT, List.of(), writer, FAILED_TO_EXPORT_BOOKS);
+    }
+
+    /**
+     * Writes the copies with the given status, or all copies.
+     *
+     * @throws RuntimeException if a database access error occurs or the records cannot be written
+     */
+    @Override
+    public long exportCopies(CopyStatus status, CsvWriter writer) {
+        String query = SELECT_COPIES_FOR_EXPORT;
+        List<Object> parameters = new ArrayList<>();
+
+        if (status != null) {
+            query += COPY_STATUS_IS;
+            parameters.add(status.name());
+        }
+
+        return export(query + ORDER_BY_COPY_ID, parameters, writer, FAILED_TO_EXPORT_COPIES);
+    }
+
+    /**
+     * Runs the query with a cursor and writes its column labels followed by every row.
+     */
+    private long export(String query, List<Object> parameters, CsvWriter writer, String errorMessage) {
+        Connection connection = null;
+        boolean ownTransaction = false;
+
+        try {
+            connection = connectionPool.getConnection();
+            ownTransaction = connection.getAutoCommit();
+
+            if (ownTransaction) {
+                connection.setAutoCommit(false);
+                connection.setReadOnly(true);
+            }
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                preparedStatement.setFetchSize(FETCH_SIZE);
+
+                for (int i = 0; i < parameters.size(); i++) {
+                    preparedStatement.setObject(i + 1, parameters.get(i));
+                }
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    ResultSetMetaData metaData = resultSet.getMetaData();
+                    int columnCount = metaData.getColumnCount();
+                    long rows = 0;
+
+                    for (int column = 1; column <= columnCount; column++) {
+                        writer.field(metaData.getColumnLabel(column));
+                    }
+                    writer.endRecord();
+
+                    while (resultSet.next()) {
+                        for (int column = 1; column <= columnCount; column++) {
+                            writer.field(resultSet.getString(column));
+                        }
+                        writer.endRecord();
+                        rows++;
+                    }
+
+                    return rows;
+                }
+            }
+        } catch (SQLException e) {
+            logger.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        } finally {
+            if (ownTransaction) {
+                endTransaction(connection);
+            }
+            connectionPool.closeConnection(connection);
+        }
+    }
+
+    /**
+     * Ends the read-only transaction of an export; nothing was changed, so it is rolled back and the connection
+     * is made writable again before it goes back to the pool.
+     */
+    private void endTransaction(Connection connection) {
+        try {
+            connection.rollback();
+            connection.setReadOnly(false);
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            logger.error(FAILED_TO_END_EXPORT_TRANSACTION, e);
+        }
+    }
+}
@@ -2,14 +2,24 @@ package com.library.app.dao.impl;
 
 import com.library.app.config.ConnectionPool;
 import com.library.app.dao.OrderDao;
+import com.library.app.dao.mapper.OrderRowMapper;
+import com.library.app.dao.mapper.RowMapper;
 import com.library.app.model.*;
+import com.library.app.util.CursorPage;
+import com.library.app.util.KeysetCursor;
+import com.library.app.util.LongLongHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -22,36 +32,25 @@ import java.util.stream.Collectors;
 @Repository
 public class OrderDaoImpl implements OrderDao {
     private static final String ID_COLUMN = "id";
-    private static final String USER_ID_COLUMN = "user_id";
     private static final String USERNAME_COLUMN = "username";
-    private static final String BOOK_ID_COLUMN = "book_id";
     private static final String TITLE_COLUMN = "title";
     private static final String RETURN_DATE_COLUMN = "return_date";
     private static final String ORDER_COUNT_COLUMN = "order_count";
-    private static final String COPY_ID_COLUMN = "copy_id";
-    private static final String ORDER_TYPE_COLUMN = "order_type";
-    private static final String ORDER_ID_COLUMN = "order_id";
     private static final String ORDER_STATUS_COLUMN = "order_status";
-    private static final String ISSUE_DATE_COLUMN = "issue_date";
     private static final String DUE_DATE_COLUMN = "due_date";
     private static final String AUTHOR_FIRST_NAME_COLUMN = "author_first_name";
     private static final String AUTHOR_LAST_NAME_COLUMN = "author_last_name";
-    private static final String INVENTORY_NUMBER_COLUMN = "inventory_number";
     private static final String GENRE_COLUMN = "genre";
     private static final String REQUEST_COUNT_COLUMN = "request_count";
+    private static final String REQUEST_DAY_COLUMN = "request_day";
+    private static final String STATUS_COLUMN = "status";
     private static final String SQL_CLAUSE_CLOSE_PARENTHESIS = ")";
     private static final String SQL_PLACEHOLDER = "?";
     private static final String SQL_COMMA_SEPARATOR = ", ";
     private static final String FAILED_TO_SAVE_ORDER_FOR_USER_ID_COPY_ID =
             "Failed to save order for user_id={}, copy_id={}";
     private static final String DATABASE_ERROR_WHILE_SAVING_ORDER = "Database error while saving order";
-    private static final String FAILED_TO_UPDATE_ORDER_WITH_ID = "Failed to update order with id={}";
-    private static final String DATABASE_ERROR_WHILE_UPDATING_ORDER = "Database error while updating order";
-    private static final String ERROR_RETRIEVING_ORDERS_FOR_USERNAME = "Error retrieving orders for username={}";
     private static final String DATABASE_ERROR_WHILE_FINDING_USERNAME = "Database error while finding username";
-    private static final String ERROR_RETRIEVING_ORDER_BY_ID = "Error retrieving order by id={}";
-    private static final String DATABASE_ERROR_WHILE_FINDING_ORDER_BY_ID = "Database error while finding order by id";
-    private static final String FAILED_TO_LOAD_ALL_ORDERS_FOR_LIBRARIAN = "Failed to load all orders for librarian";
     private static final String DATABASE_ERROR_WHILE_FINDING_ALL_ORDERS = "Database error while finding all orders";
     private static final String ERROR_CHECKING_ACTIVE_ORDER_FOR_BOOK_ID_AND_USER_ID =
             "Error checking active order for bookId={} and userId={}";
@@ -59,45 +58,88 @@ public class OrderDaoImpl implements OrderDao {
     private static final String FAILED_TO_FIND_ISSUED_USER_FOR_COPY_ID = "Failed to find issued user for copyId={}";
     private static final String DATABASE_ERROR_WHILE_FINDING_USER_WITH_STATUS =
             "Database error while finding user with status";
+    private static final String SELECT_ACTIVE_ORDERS_BY_COPY_IDS = """
+                SELECT DISTINCT ON (o.copy_id)
+                       o.*, u.username,
+                       b.id AS book_id, b.title, b.author_first_name, b.author_last_name, bc.inventory_number
+                FROM orders o
+                JOIN users u ON o.user_id = u.id
+                JOIN book_copies bc ON o.copy_id = bc.id
+                JOIN books b ON bc.book_id = b.id
+                WHERE o.copy_id = ANY(?) AND o.order_status IN ('PENDING', 'ISSUED')
+                ORDER BY o.copy_id, o.id DESC
+            """;
+    private static final String SELECT_ACTIVE_ORDERS_BY_USER_IDS = """
+                SELECT o.id, o.user_id, u.username, o.order_type, o.order_status,
+                       o.issue_date, o.due_date, o.return_date, o.copy_id, bc.inventory_number,
+                       b.id AS book_id, b.title, b.author_first_name, b.author_last_name
+                FROM orders o
+                JOIN users u ON o.user_id = u.id
+                JOIN book_copies bc ON o.copy_id = bc.id
+                JOIN books b ON bc.book_id = b.id
+                WHERE o.user_id = ANY(?) AND o.order_status IN ('PENDING', 'ISSUED')
+                ORDER BY o.user_id, o.issue_date DESC, o.id DESC
+            """;
+    private static final String SQL_BIGINT = "bigint";
+    private static final String FAILED_TO_FIND_HOLDERS_FOR_COPY_IDS = "Failed to find holders for copyIds={}";
+    private static final String DATABASE_ERROR_WHILE_FINDING_COPY_HOLDERS = "Database error while finding copy holders";
+    private static final String FAILED_TO_FIND_ACTIVE_ORDERS_FOR_USER_IDS = "Failed to find active orders for userIds={}";
+    private static final String DATABASE_ERROR_WHILE_FINDING_ACTIVE_ORDERS =
+            "Database error while finding active orders";
     private static final String FAILED_TO_COUNT_ORDERS_BY_STATUSES = "Failed to count orders by statuses";
     private static final String DATABASE_ERROR_WHILE_COUNTING_ORDER_STATUS = "Database error while counting order status";
     private static final String FAILED_TO_LOAD_TOP_REQUESTED_BOOKS = "Failed to load top requested books";
     private static final String DATABASE_ERROR_WHILE_FINDING_TOP_REQUESTED_BOOKS =
             "Database error while finding top requested books";
+    private static final String FAILED_TO_COUNT_REQUESTS_BY_BOOK_AND_DAY = "Failed to count requests by book and day";
+    private static final String DATABASE_ERROR_WHILE_COUNTING_REQUESTS_BY_BOOK_AND_DAY =
+            "Database error while counting requests by book and day";
+    private static final String FAILED_TO_COUNT_REQUESTS_BY_USER_AND_DAY = "Failed to count requests by user and day";
+    private static final String DATABASE_ERROR_WHILE_COUNTING_REQUESTS_BY_USER_AND_DAY =
+            "Database error while counting requests by user and day";
     private static final String FAILED_TO_LOAD_TOP_ACTIVE_USERS = "Failed to load top active users";
     private static final String DATABASE_ERROR_WHILE_FINDING_TOP_ACTIVE_USERS =
             "Database error while finding top active users";
-    private static final String UPDATE_ORDER_BY_ID =
-            "UPDATE orders SET order_status = ?, due_date = ?, return_date = ? WHERE id = ?";
+    private static final String CURRENT_STATUS_COLUMN = "current_status";
+    private static final String TRANSITION_ORDER_BY_ID_TEMPLATE = """
+                WITH requested AS (
+                    SELECT o.id, o.order_status
+                    FROM orders o
+                    WHERE o.id = ?
+                      AND (CAST(? AS VARCHAR) IS NULL OR o.user_id = (SELECT id FROM users WHERE username = ?))
+                ), transitioned AS (
+                    UPDATE orders SET order_status = ?, %s = ?
+                    WHERE id = (SELECT id FROM requested) AND order_status = ?
+                    RETURNING *
+                ), released_copy AS (
+                    UPDATE book_copies SET status = ?
+                    WHERE id = (SELECT copy_id FROM transitioned)
+                )
+                SELECT r.order_status AS current_status,
+                       t.id AS order_id, t.order_type, t.order_status, t.issue_date, t.due_date, t.return_date,
+                       t.user_id, u.username,
+                       b.id AS book_id, b.title, b.author_first_name, b.author_last_name,
+                       t.copy_id, bc.inventory_number
+                FROM requested r
+                LEFT JOIN transitioned t ON t.id = r.id
+                LEFT JOIN users u ON t.user_id = u.id
+                LEFT JOIN book_copies bc ON t.copy_id = bc.id
+                LEFT JOIN books b ON bc.book_id = b.id
+            """;
+    private static final String TRANSITION_ORDER_SETTING_DUE_DATE =
+            TRANSITION_ORDER_BY_ID_TEMPLATE.formatted(DUE_DATE_COLUMN);
+    private static final String TRANSITION_ORDER_SETTING_RETURN_DATE =
+            TRANSITION_ORDER_BY_ID_TEMPLATE.formatted(RETURN_DATE_COLUMN);
+    private static final String SELECT_ORDER_STATUS_BY_ID = "SELECT order_status FROM orders WHERE id = ?";
+    private static final String FAILED_TO_TRANSITION_ORDER_WITH_ID = "Failed to apply transition {} to order with id={}";
+    private static final String DATABASE_ERROR_WHILE_TRANSITIONING_ORDER =
+            "Database error while changing order status";
     private static final String COUNT_ORDERS_BY_STATUSES_PREFIX = "SELECT COUNT(*) FROM orders WHERE order_status IN (";
     private static final String INSERT_NEW_ORDER = """
             INSERT INTO orders (user_id, copy_id, order_type, order_status, issue_date, due_date)
             VALUES (?, ?, ?, ?, ?, ?)
             """;
-    private static final String SELECT_USER_ORDER_HISTORY_WITH_DETAILS = """
-                SELECT o.id as order_id, o.order_type, o.order_status, o.issue_date, o.due_date, o.return_date,
-                       u.id as user_id, u.username,
-                       b.id as book_id, b.title, b.author_first_name, b.author_last_name,
-                       bc.id as copy_id, bc.inventory_number
-                FROM orders o
-                JOIN users u ON o.user_id = u.id
-                JOIN book_copies bc ON o.copy_id = bc.id
-                JOIN books b ON bc.book_id = b.id
-                WHERE LOWER(u.username) = LOWER(?)
-                ORDER BY o.issue_date DESC, o.id DESC
-            """;
-    private static final String SELECT_ORDER_WITH_DETAILS_BY_ID = """
-                SELECT o.*,
-                       u.id as user_id, u.username,
-                       b.id as book_id, b.title, b.author_first_name, b.author_last_name,
-                       bc.id as copy_id, bc.inventory_number
-                FROM orders o
-                JOIN users u ON o.user_id = u.id
-                JOIN book_copies bc ON o.copy_id = bc.id
-                JOIN books b ON bc.book_id = b.id
-                WHERE o.id = ?
-            """;
-    private static final String SELECT_ALL_ORDERS_WITH_DETAILS = """
+    private static final String SELECT_ORDERS_WITH_DETAILS_PAGE = """
                 SELECT o.*,
                     u.id AS user_id, u.username,
                     b.id AS book_id, b.title, b.author_first_name, b.author_last_name,
@@ -106,8 +148,17 @@ public class OrderDaoImpl implements OrderDao {
                 JOIN users u ON o.user_id = u.id
                 JOIN book_copies bc ON o.copy_id = bc.id
                 JOIN books b ON bc.book_id = b.id
-                ORDER BY o.issue_date DESC, o.id DESC
             """;
+    private static final String KEYSET_AFTER = " WHERE (o.issue_date, o.id) < (?, ?)";
+    private static final String KEYSET_BEFORE = " WHERE (o.issue_date, o.id) > (?, ?)";
+    private static final String ORDER_BY_ISSUE_DATE_DESC_LIMIT = " ORDER BY o.issue_date DESC, o.id DESC LIMIT ?";
+    private static final String ORDER_BY_ISSUE_DATE_ASC_LIMIT = " ORDER BY o.issue_date ASC, o.id ASC LIMIT ?";
+    private static final String WHERE_USERNAME = " WHERE LOWER(u.username) = LOWER(?)";
+    private static final String AND_KEYSET_AFTER = " AND (o.issue_date, o.id) < (?, ?)";
+    private static final String AND_KEYSET_BEFORE = " AND (o.issue_date, o.id) > (?, ?)";
+    private static final String AND_ORDER_STATUS_IN = " AND o.order_status IN (";
+    private static final String ERROR_RETRIEVING_ORDER_PAGE_FOR_USERNAME = "Error retrieving order page for username={}";
+    private static final String FAILED_TO_LOAD_ORDER_PAGE_FOR_LIBRARIAN = "Failed to load order page for librarian";
     private static final String CHECK_EXISTS_ACTIVE_ORDER_FOR_USER_AND_BOOK = """
                 SELECT 1 FROM orders o
                 JOIN book_copies bc ON o.copy_id = bc.id
@@ -143,6 +194,25 @@ public class OrderDaoImpl implements OrderDao {
             ORDER BY order_count DESC
             LIMIT ?
             """;
+    private static final String SELECT_REQUEST_COUNTS_BY_BOOK_AND_DAY = """
+                SELECT b.id, b.title, b.author_first_name, b.author_last_name,
+                       CASE WHEN o.issue_date >= ? THEN o.issue_date END AS request_day,
+                       COUNT(*) AS request_count
+                FROM orders o
+                JOIN book_copies bc ON o.copy_id = bc.id
+                JOIN books b ON bc.book_id = b.id
+                WHERE o.order_status IN ('ISSUED', 'RETURNED')
+                GROUP BY b.id, request_day
+            """;
+    private static final String SELECT_REQUEST_COUNTS_BY_USER_AND_DAY = """
+                SELECT u.id, u.username, u.status,
+                       CASE WHEN o.issue_date >= ? THEN o.issue_date END AS request_day,
+                       COUNT(*) AS order_count
+                FROM orders o
+                JOIN users u ON o.user_id = u.id
+                WHERE o.order_status IN ('ISSUED', 'RETURNED')
+                GROUP BY u.id, request_day
+            """;
     private static final Logger logger = LoggerFactory.getLogger(OrderDaoImpl.class);
     private final ConnectionPool connectionPool = ConnectionPool.getInstance();
 
@@ -177,225 +247,199 @@ public class OrderDaoImpl implements OrderDao {
     }
 
     /**
-     * Updates an existing order's status, due date, and return date.
+     * Applies a status transition with one compare-and-set statement: the order is updated only while it is
+     * still in the transition's starting status, and its copy is updated from the {@code RETURNING} row of that
+     * update. The same statement reads back the updated order with its user, copy and book, or the status the
+     * order was found in when the update did not match. That status is read from the statement's snapshot; when
+     * it still shows the starting status, a concurrent transition won the race and the status it committed is
+     * read with a second query.
      *
-     * @param order the {@link Order} entity with updated data
+     * @param orderId    the order ID
+     * @param transition the status change to apply
+     * @param date       the due date or return date written with the transition; ignored for cancellation
+     * @param username   the user the order must belong to, or {@code null} for any user
+     * @return the outcome of the transition
      */
     @Override
-    public void update(Order order) {
+    public OrderTransitionResult transition(Long orderId, OrderTransition transition, LocalDate date,
+                                            String username) {
         Connection connection = null;
+        String sql = transition == OrderTransition.RETURN
+                ? TRANSITION_ORDER_SETTING_RETURN_DATE
+                : TRANSITION_ORDER_SETTING_DUE_DATE;
 
         try {
             connection = connectionPool.getConnection();
 
-            try (PreparedStatement preparedStatement = connection.prepareStatement(UPDATE_ORDER_BY_ID)) {
-                preparedStatement.setString(1, order.getStatus().name());
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                preparedStatement.setLong(1, orderId);
+                preparedStatement.setString(2, username);
+                preparedStatement.setString(3, username);
+                preparedStatement.setString(4, transition.getTo().name());
 
-                if (order.getDueDate() != null) {
-                    preparedStatement.setDate(2, Date.valueOf(order.getDueDate()));
+                if (transition != OrderTransition.CANCEL && date != null) {
+                    preparedStatement.setDate(5, Date.valueOf(date));
                 } else {
-                    preparedStatement.setNull(2, Types.DATE);
+                    preparedStatement.setNull(5, Types.DATE);
                 }
 
-                if (order.getReturnDate() != null) {
-                    preparedStatement.setDate(3, Date.valueOf(order.getReturnDate()));
-                } else {
-                    preparedStatement.setNull(3, Types.DATE);
-                }
+                preparedStatement.setString(6, transition.getFrom().name());
+                preparedStatement.setString(7, transition.getCopyTo().name());
 
-                preparedStatement.setLong(4, order.getId());
-                preparedStatement.executeUpdate();
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        return OrderTransitionResult.notFound();
+                    }
+
+                    if (resultSet.getString(ORDER_STATUS_COLUMN) == null) {
+                        OrderStatus currentStatus = OrderStatus.valueOf(resultSet.getString(CURRENT_STATUS_COLUMN));
+
+                        return currentStatus == transition.getFrom()
+                                ? findStatusAfterLostRace(connection, orderId)
+                                : OrderTransitionResult.wrongState(currentStatus);
+                    }
+
+                    return OrderTransitionResult.success(new OrderRowMapper(resultSet).mapRow(resultSet));
+                }
             }
         } catch (SQLException e) {
-            logger.error(FAILED_TO_UPDATE_ORDER_WITH_ID, order.getId(), e);
-            throw new RuntimeException(DATABASE_ERROR_WHILE_UPDATING_ORDER, e);
+            logger.error(FAILED_TO_TRANSITION_ORDER_WITH_ID, transition, orderId, e);
+            throw new RuntimeException(DATABASE_ERROR_WHILE_TRANSITIONING_ORDER, e);
         } finally {
             connectionPool.closeConnection(connection);
         }
     }
 
     /**
-     * Retrieves all orders placed by a specific user, identified by username.
-     *
-     * @param username the username
-     * @return list of {@link Order} associated with the user
+     * Reads the status committed by the concurrent transition that made a conditional update miss.
      */
-    @Override
-    public List<Order> findByUsername(String username) {
-        Connection connection = null;
-        List<Order> orders = new ArrayList<>();
-
-        try {
-            connection = connectionPool.getConnection();
-
-            try (PreparedStatement preparedStatement =
-                         connection.prepareStatement(SELECT_USER_ORDER_HISTORY_WITH_DETAILS)) {
-                preparedStatement.setString(1, username);
-
-                try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                    while (resultSet.next()) {
-                        User user = new User();
-                        user.setId(resultSet.getLong(USER_ID_COLUMN));
-                        user.setUsername(resultSet.getString(USERNAME_COLUMN));
-
-                        Book book = new Book(
-                                resultSet.getLong(BOOK_ID_COLUMN),
-                                resultSet.getString(TITLE_COLUMN),
-                                resultSet.getString(AUTHOR_FIRST_NAME_COLUMN),
-                                resultSet.getString(AUTHOR_LAST_NAME_COLUMN),
-                                null, null, null
-                        );
-                        BookCopy copy = new BookCopy(
-                                resultSet.getLong(COPY_ID_COLUMN),
-                                resultSet.getString(INVENTORY_NUMBER_COLUMN),
-                                book,
-                                null
-                        );
-                        Order order = new Order(
-                                resultSet.getLong(ORDER_ID_COLUMN), user, copy,
-                                OrderType.valueOf(resultSet.getString(ORDER_TYPE_COLUMN)),
-                                OrderStatus.valueOf(resultSet.getString(ORDER_STATUS_COLUMN)),
-                                resultSet.getDate(ISSUE_DATE_COLUMN) != null
-                                        ? resultSet.getDate(ISSUE_DATE_COLUMN).toLocalDate() : null,
-                                resultSet.getDate(DUE_DATE_COLUMN) != null
-                                        ? resultSet.getDate(DUE_DATE_COLUMN).toLocalDate() : null,
-                                resultSet.getDate(RETURN_DATE_COLUMN) != null
-                                        ? resultSet.getDate(RETURN_DATE_COLUMN).toLocalDate() : null
-                        );
-
-                        orders.add(order);
-                    }
-                }
+    private OrderTransitionResult findStatusAfterLostRace(Connection connection, Long orderId) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT_ORDER_STATUS_BY_ID)) {
+            preparedStatement.setLong(1, orderId);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next()
+                        ? OrderTransitionResult.wrongState(OrderStatus.valueOf(resultSet.getString(ORDER_STATUS_COLUMN)))
+                        : OrderTransitionResult.notFound();
             }
-        } catch (SQLException e) {
-            logger.error(ERROR_RETRIEVING_ORDERS_FOR_USERNAME, username, e);
-            throw new RuntimeException(DATABASE_ERROR_WHILE_FINDING_USERNAME, e);
-        } finally {
-            connectionPool.closeConnection(connection);
         }
-
-        return orders;
     }
 
     /**
-     * Finds an order by its unique identifier.
+     * Retrieves one page of the orders placed by a specific user, newest first. The status filter is
+     * applied in the query and the page is located by comparing {@code (issue_date, id)} with the cursor row,
+     * so only the requested rows are read and transferred.
      *
-     * @param id the order ID
-     * @return an {@link Optional} containing the found order or empty if not found
+     * @param username the username
+     * @param cursor   the position to continue from, or {@code null} for the first page
+     * @param limit    the maximum number of orders on the page
+     * @param filter   the status group to restrict the orders to, or {@code null} for all orders
+     * @return the page of orders with the cursors of its neighbouring pages
      */
     @Override
-    public Optional<Order> findById(Long id) {
+    public CursorPage<Order> findByUsername(String username, KeysetCursor cursor, int limit,
+                                            OrderStatusFilter filter) {
         Connection connection = null;
+        List<Order> orders = new ArrayList<>();
+        List<OrderStatus> statuses = filter != null ? filter.getStatuses() : List.of();
+        StringBuilder query = new StringBuilder(SELECT_ORDERS_WITH_DETAILS_PAGE).append(WHERE_USERNAME);
+
+        if (!statuses.isEmpty()) {
+            query.append(AND_ORDER_STATUS_IN)
+                    .append(statuses.stream().map(s -> SQL_PLACEHOLDER).collect(Collectors.joining(SQL_COMMA_SEPARATOR)))
+                    .append(SQL_CLAUSE_CLOSE_PARENTHESIS);
+        }
+        if (cursor == null) {
+            query.append(ORDER_BY_ISSUE_DATE_DESC_LIMIT);
+        } else if (cursor.isBefore()) {
+            query.append(AND_KEYSET_BEFORE).append(ORDER_BY_ISSUE_DATE_ASC_LIMIT);
+        } else {
+            query.append(AND_KEYSET_AFTER).append(ORDER_BY_ISSUE_DATE_DESC_LIMIT);
+        }
 
         try {
             connection = connectionPool.getConnection();
 
-            try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT_ORDER_WITH_DETAILS_BY_ID)) {
-                preparedStatement.setLong(1, id);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(query.toString())) {
+                int index = 1;
+                preparedStatement.setString(index++, username);
+                for (OrderStatus status : statuses) {
+                    preparedStatement.setString(index++, status.name());
+                }
+                if (cursor != null) {
+                    preparedStatement.setDate(index++, Date.valueOf(cursor.getDate()));
+                    preparedStatement.setLong(index++, cursor.getId());
+                }
+                preparedStatement.setInt(index, limit + 1);
 
                 try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                    if (resultSet.next()) {
-                        Book book = new Book(
-                                resultSet.getLong(BOOK_ID_COLUMN),
-                                resultSet.getString(TITLE_COLUMN),
-                                resultSet.getString(AUTHOR_FIRST_NAME_COLUMN),
-                                resultSet.getString(AUTHOR_LAST_NAME_COLUMN),
-                                null, null, null
-                        );
-                        BookCopy copy = new BookCopy(
-                                resultSet.getLong(COPY_ID_COLUMN),
-                                resultSet.getString(INVENTORY_NUMBER_COLUMN),
-                                book,
-                                null
-                        );
-                        User user = new User();
-                        user.setId(resultSet.getLong(USER_ID_COLUMN));
-                        user.setUsername(resultSet.getString(USERNAME_COLUMN));
-                        Order order = new Order(
-                                resultSet.getLong(ID_COLUMN),
-                                user,
-                                copy,
-                                OrderType.valueOf(resultSet.getString(ORDER_TYPE_COLUMN)),
-                                OrderStatus.valueOf(resultSet.getString(ORDER_STATUS_COLUMN)),
-                                resultSet.getDate(ISSUE_DATE_COLUMN) != null
-                                        ? resultSet.getDate(ISSUE_DATE_COLUMN).toLocalDate() : null,
-                                resultSet.getDate(DUE_DATE_COLUMN) != null
-                                        ? resultSet.getDate(DUE_DATE_COLUMN).toLocalDate() : null,
-                                resultSet.getDate(RETURN_DATE_COLUMN) != null
-                                        ? resultSet.getDate(RETURN_DATE_COLUMN).toLocalDate() : null
-                        );
-                        return Optional.of(order);
+                    RowMapper<Order> rowMapper = new OrderRowMapper(resultSet);
+
+                    while (resultSet.next()) {
+                        orders.add(rowMapper.mapRow(resultSet));
                     }
                 }
             }
         } catch (SQLException e) {
-            logger.error(ERROR_RETRIEVING_ORDER_BY_ID, id, e);
-            throw new RuntimeException(DATABASE_ERROR_WHILE_FINDING_ORDER_BY_ID, e);
+            logger.error(ERROR_RETRIEVING_ORDER_PAGE_FOR_USERNAME, username, e);
+            throw new RuntimeException(DATABASE_ERROR_WHILE_FINDING_USERNAME, e);
         } finally {
             connectionPool.closeConnection(connection);
         }
 
-        return Optional.empty();
+        return CursorPage.fromRows(orders, limit, cursor, Order::getIssueDate, Order::getId);
     }
 
     /**
-     * Retrieves all orders in the system, including user and book details.
+     * Retrieves one page of all orders, newest first. The page is located by comparing
+     * {@code (issue_date, id)} with the cursor row instead of skipping rows with {@code OFFSET},
+     * so it is read straight from the {@code (issue_date DESC, id DESC)} index.
      *
-     * @return list of all {@link Order} entities
+     * @param cursor the position to continue from, or {@code null} for the first page
+     * @param limit  the maximum number of orders on the page
+     * @return the page of orders with the cursors of its neighbouring pages
      */
     @Override
-    public List<Order> findAllOrders() {
+    public CursorPage<Order> findAllOrders(KeysetCursor cursor, int limit) {
         Connection connection = null;
         List<Order> orders = new ArrayList<>();
+        String query = SELECT_ORDERS_WITH_DETAILS_PAGE;
+
+        if (cursor == null) {
+            query += ORDER_BY_ISSUE_DATE_DESC_LIMIT;
+        } else if (cursor.isBefore()) {
+            query += KEYSET_BEFORE + ORDER_BY_ISSUE_DATE_ASC_LIMIT;
+        } else {
+            query += KEYSET_AFTER + ORDER_BY_ISSUE_DATE_DESC_LIMIT;
+        }
 
         try {
             connection = connectionPool.getConnection();
 
-            try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT_ALL_ORDERS_WITH_DETAILS);
-                 ResultSet resultSet = preparedStatement.executeQuery()) {
-
-                while (resultSet.next()) {
-                    Book book = new Book(
-                            resultSet.getLong(BOOK_ID_COLUMN),
-                            resultSet.getString(TITLE_COLUMN),
-                            resultSet.getString(AUTHOR_FIRST_NAME_COLUMN),
-                            resultSet.getString(AUTHOR_LAST_NAME_COLUMN),
-                            null, null, null
-                    );
-                    BookCopy copy = new BookCopy(
-                            resultSet.getLong(COPY_ID_COLUMN),
-                            resultSet.getString(INVENTORY_NUMBER_COLUMN),
-                            book,
-                            null
-                    );
-                    User user = new User();
-                    user.setId(resultSet.getLong(USER_ID_COLUMN));
-                    user.setUsername(resultSet.getString(USERNAME_COLUMN));
-
-                    Order order = new Order(
-                            resultSet.getLong(ID_COLUMN),
-                            user,
-                            copy,
-                            OrderType.valueOf(resultSet.getString(ORDER_TYPE_COLUMN)),
-                            OrderStatus.valueOf(resultSet.getString(ORDER_STATUS_COLUMN)),
-                            resultSet.getDate(ISSUE_DATE_COLUMN) != null
-                                    ? resultSet.getDate(ISSUE_DATE_COLUMN).toLocalDate() : null,
-                            resultSet.getDate(DUE_DATE_COLUMN) != null
-                                    ? resultSet.getDate(DUE_DATE_COLUMN).toLocalDate() : null,
-                            resultSet.getDate(RETURN_DATE_COLUMN) != null
-                                    ? resultSet.getDate(RETURN_DATE_COLUMN).toLocalDate() : null
-                    );
-                    orders.add(order);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                int index = 1;
+                if (cursor != null) {
+                    preparedStatement.setDate(index++, Date.valueOf(cursor.getDate()));
+                    preparedStatement.setLong(index++, cursor.getId());
+                }
+                preparedStatement.setInt(index, limit + 1);
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    RowMapper<Order> rowMapper = new OrderRowMapper(resultSet);
+
+                    while (resultSet.next()) {
+                        orders.add(rowMapper.mapRow(resultSet));
+                    }
                 }
             }
         } catch (SQLException e) {
-            logger.error(FAILED_TO_LOAD_ALL_ORDERS_FOR_LIBRARIAN, e);
+            logger.error(FAILED_TO_LOAD_ORDER_PAGE_FOR_LIBRARIAN, e);
             throw new RuntimeException(DATABASE_ERROR_WHILE_FINDING_ALL_ORDERS, e);
         } finally {
             connectionPool.closeConnection(connection);
         }
 
-        return orders;
+        return CursorPage.fromRows(orders, limit, cursor, Order::getIssueDate, Order::getId);
     }
 
     /**
@@ -463,6 +507,107 @@ public class OrderDaoImpl implements OrderDao {
         return Optional.empty();
     }
 
+    /**
+     * Finds the pending or issued order on each of the given copies with one {@code = ANY(?)} query,
+     * instead of one {@link #findIssuedOrReserved(Long)} round trip per copy.
+     *
+     * @param copyIds the copy IDs
+     * @return map of copy ID to its active order; copies that are not held are absent
+     */
+    @Override
+    public Map<Long, Order> findHoldersByCopyIds(Collection<Long> copyIds) {
+        Map<Long, Order> holders = new HashMap<>();
+
+        if (copyIds.isEmpty()) {
+            return holders;
+        }
+
+        Connection connection = null;
+
+        try {
+            connection = connectionPool.getConnection();
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT_ACTIVE_ORDERS_BY_COPY_IDS)) {
+                preparedStatement.setArray(1, connection.createArrayOf(SQL_BIGINT, copyIds.toArray()));
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    RowMapper<Order> rowMapper = new OrderRowMapper(resultSet);
+
+                    while (resultSet.next()) {
+                        Order order = rowMapper.mapRow(resultSet);
+                        holders.put(order.getBookCopy().getId(), order);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error(FAILED_TO_FIND_HOLDERS_FOR_COPY_IDS, copyIds, e);
+            throw new RuntimeException(DATABASE_ERROR_WHILE_FINDING_COPY_HOLDERS, e);
+        } finally {
+            connectionPool.closeConnection(connection);
+        }
+
+        return holders;
+    }
+
+    /**
+     * Finds the active orders of the given users with one {@code = ANY(?)} query. The rows arrive ordered by
+     * user, so they are grouped in a single pass, looking up the list by the primitive user ID only when the user
+     * changes.
+     *
+     * @param userIds the user IDs
+     * @return map of user ID to its active orders, newest first
+     */
+    @Override
+    public Map<Long, List<Order>> findActiveByUserIds(Collection<Long> userIds) {
+        Map<Long, List<Order>> ordersByUserId = new LinkedHashMap<>();
+        userIds.forEach(userId -> ordersByUserId.put(userId, new ArrayList<>()));
+
+        if (ordersByUserId.isEmpty()) {
+            return ordersByUserId;
+        }
+
+        List<List<Order>> groups = new ArrayList<>(ordersByUserId.values());
+        LongLongHashMap groupIndexByUserId = new LongLongHashMap();
+        int groupIndex = 0;
+        for (Long userId : ordersByUserId.keySet()) {
+            groupIndexByUserId.put(userId, groupIndex++);
+        }
+
+        Connection connection = null;
+
+        try {
+            connection = connectionPool.getConnection();
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT_ACTIVE_ORDERS_BY_USER_IDS)) {
+                preparedStatement.setArray(1, connection.createArrayOf(SQL_BIGINT, ordersByUserId.keySet().toArray()));
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    RowMapper<Order> rowMapper = new OrderRowMapper(resultSet);
+                    User user = null;
+                    List<Order> orders = null;
+
+                    while (resultSet.next()) {
+                        Order order = rowMapper.mapRow(resultSet);
+
+                        if (order.getUser() != user) {
+                            user = order.getUser();
+                            orders = groups.get((int) groupIndexByUserId.get(user.getId()));
+                        }
+
+                        orders.add(order);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error(FAILED_TO_FIND_ACTIVE_ORDERS_FOR_USER_IDS, userIds, e);
+            throw new RuntimeException(DATABASE_ERROR_WHILE_FINDING_ACTIVE_ORDERS, e);
+        } finally {
+            connectionPool.closeConnection(connection);
+        }
+
+        return ordersByUserId;
+    }
+
     /**
      * Counts how many orders have statuses matching the provided list.
      *
@@ -582,4 +727,91 @@ public class OrderDaoImpl implements OrderDao {
 
         return result;
     }
+
+    /**
+     * Counts the ISSUED or RETURNED orders of every book per issue day. Orders issued before {@code since} are
+     * counted together in one row per book with no day.
+     *
+     * @param since the first issue day counted separately
+     * @return list of object arrays where each row contains:
+     * [bookId, title, authorFirstName, authorLastName, requestDay (LocalDate or null), requestCount]
+     */
+    @Override
+    public List<Object[]> countRequestsByBookAndDay(LocalDate since) {
+        Connection connection = null;
+        List<Object[]> result = new ArrayList<>();
+
+        try {
+            connection = connectionPool.getConnection();
+
+            try (PreparedStatement preparedStatement =
+                         connection.prepareStatement(SELECT_REQUEST_COUNTS_BY_BOOK_AND_DAY)) {
+                preparedStatement.setDate(1, Date.valueOf(since));
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        Date day = resultSet.getDate(REQUEST_DAY_COLUMN);
+                        Object[] row = new Object[6];
+                        row[0] = resultSet.getLong(ID_COLUMN);
+                        row[1] = resultSet.getString(TITLE_COLUMN);
+                        row[2] = resultSet.getString(AUTHOR_FIRST_NAME_COLUMN);
+                        row[3] = resultSet.getString(AUTHOR_LAST_NAME_COLUMN);
+                        row[4] = day != null ? day.toLocalDate() : null;
+                        row[5] = resultSet.getLong(REQUEST_COUNT_COLUMN);
+                        result.add(row);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error(FAILED_TO_COUNT_REQUESTS_BY_BOOK_AND_DAY, e);
+            throw new RuntimeException(DATABASE_ERROR_WHILE_COUNTING_REQUESTS_BY_BOOK_AND_DAY, e);
+        } finally {
+            connectionPool.closeConnection(connection);
+        }
+
+        return result;
+    }
+
+    /**
+     * Counts the ISSUED or RETURNED orders of every user per issue day. Orders issued before {@code since} are
+     * counted together in one row per user with no day.
+     *
+     * @param since the first issue day counted separately
+     * @return list of object arrays where each row contains:
+     * [userId, username, userStatus, requestDay (LocalDate or null), orderCount]
+     */
+    @Override
+    public List<Object[]> countRequestsByUserAndDay(LocalDate since) {
+        Connection connection = null;
+        List<Object[]> result = new ArrayList<>();
+
+        try {
+            connection = connectionPool.getConnection();
+
+            try (PreparedStatement preparedStatement =
+                         connection.prepareStatement(SELECT_REQUEST_COUNTS_BY_USER_AND_DAY)) {
+                preparedStatement.setDate(1, Date.valueOf(since));
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        Date day = resultSet.getDate(REQUEST_DAY_COLUMN);
+                        Object[] row = new Object[5];
+                        row[0] = resultSet.getLong(ID_COLUMN);
+                        row[1] = resultSet.getString(USERNAME_COLUMN);
+                        row[2] = resultSet.getString(STATUS_COLUMN);
+                        row[3] = day != null ? day.toLocalDate() : null;
+                        row[4] = resultSet.getLong(ORDER_COUNT_COLUMN);
+                        result.add(row);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error(FAILED_TO_COUNT_REQUESTS_BY_USER_AND_DAY, e);
+            throw new RuntimeException(DATABASE_ERROR_WHILE_COUNTING_REQUESTS_BY_USER_AND_DAY, e);
+        } finally {
+            connectionPool.closeConnection(connection);
+        }
+
+        return result;
+    }
 }
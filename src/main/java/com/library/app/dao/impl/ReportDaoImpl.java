@@ -0,0 +1,149 @@
+package com.library.app.dao.impl;
+
+import com.library.app.config.ConnectionPool;
+import com.library.app.dao.ReportDao;
+import com.library.app.model.CopyStatus;
+import com.library.app.model.LibraryCounts;
+import com.library.app.model.LibraryTotals;
+import com.library.app.model.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Implementation of {@link ReportDao} that reads the report dashboard counters.
+ * Uses JDBC and a singleton {@link ConnectionPool} to manage database connections.
+ */
+@Repository
+public class ReportDaoImpl implements ReportDao {
+    private static final String TOTAL_BOOKS_COLUMN = "total_books";
+    private static final String TOTAL_COPIES_COLUMN = "total_copies";
+    private static final String ISSUED_COPIES_COLUMN = "issued_copies";
+    private static final String COMPLETED_ORDERS_COLUMN = "completed_orders";
+    private static final String ACTIVE_USERS_COLUMN = "active_users";
+    private static final String FAILED_TO_COUNT_LIBRARY_TOTALS = "Failed to count library totals";
+    private static final String DATABASE_ERROR_WHILE_COUNTING_LIBRARY_TOTALS =
+            "Database error while counting library totals";
+    private static final String SELECT_LIBRARY_TOTALS = """
+                SELECT (SELECT COUNT(*) FROM books) AS total_books,
+                       copies.total_copies,
+                       copies.issued_copies,
+                       (SELECT COUNT(*) FILTER (WHERE order_status = 'RETURNED') FROM orders) AS completed_orders,
+                       (SELECT COUNT(*) FILTER (WHERE status = 'ACTIVE') FROM users) AS active_users
+                FROM (
+                    SELECT COUNT(*) AS total_copies,
+                           COUNT(*) FILTER (WHERE status = 'ISSUED') AS issued_copies
+                    FROM book_copies
+                ) copies
+            """;
+    private static final String ENTITY_COLUMN = "entity";
+    private static final String STATUS_COLUMN = "status";
+    private static final String COUNT_COLUMN = "count";
+    private static final String BOOKS_ENTITY = "books";
+    private static final String COPIES_ENTITY = "copies";
+    private static final String ORDERS_ENTITY = "orders";
+    private static final String USERS_ENTITY = "users";
+    private static final String FAILED_TO_COUNT_ROWS_BY_STATUS = "Failed to count rows by status";
+    private static final String DATABASE_ERROR_WHILE_COUNTING_ROWS_BY_STATUS =
+            "Database error while counting rows by status";
+    private static final String SELECT_COUNTS_BY_STATUS = """
+                SELECT 'books' AS entity, NULL AS status, COUNT(*) AS count FROM books
+                UNION ALL
+                SELECT 'copies', status, COUNT(*) FROM book_copies GROUP BY status
+                UNION ALL
+                SELECT 'orders', order_status, COUNT(*) FROM orders GROUP BY order_status
+                UNION ALL
+                SELECT 'users', status, COUNT(*) FROM users GROUP BY status
+            """;
+    private static final Logger logger = LoggerFactory.getLogger(ReportDaoImpl.class);
+    private final ConnectionPool connectionPool = ConnectionPool.getInstance();
+
+    /**
+     * Counts all dashboard totals in one round trip. Each table is scanned once, and counters over the
+     * same table share that scan through {@code FILTER} clauses.
+     *
+     * @return the library-wide totals
+     * @throws RuntimeException if a database access error occurs
+     */
+    @Override
+    public LibraryTotals countLibraryTotals() {
+        Connection connection = null;
+
+        try {
+            connection = connectionPool.getConnection();
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT_LIBRARY_TOTALS);
+                 ResultSet resultSet = preparedStatement.executeQuery()) {
+
+                if (resultSet.next()) {
+                    return new LibraryTotals(
+                            resultSet.getLong(TOTAL_BOOKS_COLUMN),
+                            resultSet.getLong(TOTAL_COPIES_COLUMN),
+                            resultSet.getLong(ISSUED_COPIES_COLUMN),
+                            resultSet.getLong(COMPLETED_ORDERS_COLUMN),
+                            resultSet.getLong(ACTIVE_USERS_COLUMN)
+                    );
+                }
+
+                return new LibraryTotals(0, 0, 0, 0, 0);
+            }
+        } catch (SQLException e) {
+            logger.error(FAILED_TO_COUNT_LIBRARY_TOTALS, e);
+            throw new RuntimeException(DATABASE_ERROR_WHILE_COUNTING_LIBRARY_TOTALS, e);
+        } finally {
+            connectionPool.closeConnection(connection);
+        }
+    }
+
+    /**
+     * Counts the rows of every dashboard table grouped by status in one round trip.
+     *
+     * @return the per-status row counts
+     * @throws RuntimeException if a database access error occurs
+     */
+    @Override
+    public LibraryCounts countByStatus() {
+        Connection connection = null;
+
+        try {
+            connection = connectionPool.getConnection();
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT_COUNTS_BY_STATUS);
+                 ResultSet resultSet = preparedStatement.executeQuery()) {
+                long books = 0;
+                Map<CopyStatus, Long> copies = new EnumMap<>(CopyStatus.class);
+                Map<OrderStatus, Long> orders = new EnumMap<>(OrderStatus.class);
+                Map<String, Long> users = new HashMap<>();
+
+                while (resultSet.next()) {
+                    String status = resultSet.getString(STATUS_COLUMN);
+                    long count = resultSet.getLong(COUNT_COLUMN);
+
+                    switch (resultSet.getString(ENTITY_COLUMN)) {
+                        case BOOKS_ENTITY -> books = count;
+                        case COPIES_ENTITY -> copies.put(CopyStatus.valueOf(status), count);
+                        case ORDERS_ENTITY -> orders.put(OrderStatus.valueOf(status), count);
+                        case USERS_ENTITY -> users.put(status, count);
+                        default -> {
+                        }
+                    }
+                }
+
+                return new LibraryCounts(books, copies, orders, users);
+            }
+        } catch (SQLException e) {
+            logger.error(FAILED_TO_COUNT_ROWS_BY_STATUS, e);
+            throw new RuntimeException(DATABASE_ERROR_WHILE_COUNTING_ROWS_BY_STATUS, e);
+        } finally {
+            connectionPool.closeConnection(connection);
+        }
+    }
+}
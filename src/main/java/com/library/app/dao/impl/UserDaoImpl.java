@@ -2,7 +2,10 @@ package com.library.app.dao.impl;
 
 import com.library.app.config.ConnectionPool;
 import com.library.app.dao.UserDao;
+import com.library.app.dao.mapper.RowMapper;
+import com.library.app.dao.mapper.UserRowMapper;
 import com.library.app.model.*;
+import com.library.app.util.Page;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
@@ -20,25 +23,10 @@ import java.util.*;
 @Repository
 public class UserDaoImpl implements UserDao {
     private static final String ID_COLUMN = "id";
-    private static final String USERNAME_COLUMN = "username";
-    private static final String EMAIL_COLUMN = "email";
-    private static final String PASSWORD_COLUMN = "password";
-    private static final String STATUS_COLUMN = "status";
-    private static final String ROLE_NAME_COLUMN = "role_name";
-    private static final String USER_ID_COLUMN = "user_id";
-    private static final String ORDER_ID_COLUMN = "order_id";
-    private static final String ORDER_STATUS_COLUMN = "order_status";
-    private static final String ORDER_TYPE_COLUMN = "order_type";
-    private static final String TITLE_COLUMN = "title";
-    private static final String AUTHOR_FIRST_NAME_COLUMN = "author_first_name";
-    private static final String AUTHOR_LAST_NAME_COLUMN = "author_last_name";
-    private static final String INVENTORY_NUMBER_COLUMN = "inventory_number";
     private static final String FAILED_TO_SAVE_USER_WITH_USERNAME_EMAIL = "Failed to save user with username={}, email={}";
     private static final String DATABASE_ERROR_WHILE_SAVING_USER = "Database error while saving user";
     private static final String ERROR_FINDING_USER_BY_USERNAME = "Error finding user by username={}";
     private static final String DATABASE_ERROR_WHILE_FINDING_USER = "Database error while finding user";
-    private static final String FAILED_TO_LOAD_USER_DATA_FOR_USER_ID = "Failed to load user data for userId={}";
-    private static final String ERROR_LOADING_USER_DATA = "Error loading user data";
     private static final String FAILED_TO_LOAD_READERS_WITH_ACTIVE_ORDERS = "Failed to load readers with active orders";
     private static final String DATABASE_ERROR_WHILE_FINDING_ACTIVE_ORDERS = "Database error while finding active orders";
     private static final String FAILED_TO_COUNT_USERS_BY_STATUS = "Failed to count users by status {}";
@@ -68,18 +56,18 @@ public class UserDaoImpl implements UserDao {
             JOIN roles r
             ON u.role_id = r.id
             WHERE u.username = ?""";
-    private static final String SELECT_ACTIVE_USER_ORDERS_WITH_BOOK_DETAILS = """
-                SELECT u.id AS user_id, u.username, u.email,
-                       o.id AS order_id, o.order_status, o.order_type,
-                       b.title, b.author_first_name, b.author_last_name,
-                       bc.inventory_number
-                FROM users u
-                JOIN orders o ON u.id = o.user_id
-                JOIN book_copies bc ON o.copy_id = bc.id
-                JOIN books b ON bc.book_id = b.id
-                WHERE o.order_status IN ('PENDING', 'ISSUED')
-                ORDER BY u.username, o.issue_date DESC
+    private static final String ACTIVE_READERS = """
+                WHERE u.id IN (SELECT o.user_id FROM orders o WHERE o.order_status IN ('PENDING', 'ISSUED'))
             """;
+    private static final String COUNT_ACTIVE_READERS = "SELECT COUNT(*) FROM users u " + ACTIVE_READERS;
+    private static final String SELECT_ACTIVE_READERS = """
+                SELECT u.id, u.username, u.email, u.status, r.name AS role_name
+                FROM users u
+                JOIN roles r ON u.role_id = r.id
+            """ + ACTIVE_READERS;
+    private static final String FILTER_BY_USERNAME = " AND LOWER(u.username) LIKE ?";
+    private static final String ORDER_BY_USERNAME_LIMIT_OFFSET = " ORDER BY u.username, u.id LIMIT ? OFFSET ?";
+    private static final String SQL_WILDCARD = "%";
     private static final String SELECT_ALL_USERS_WITH_ROLE_NAMES = """
             SELECT u.*, r.name AS role_name
             FROM users u
@@ -144,17 +132,9 @@ public class UserDaoImpl implements UserDao {
             try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT_USER_WITH_ROLE_BY_USERNAME)) {
                 preparedStatement.setString(1, username);
 
-                try (ResultSet rs = preparedStatement.executeQuery()) {
-                    if (rs.next()) {
-                        User user = new User();
-                        user.setId(rs.getLong(ID_COLUMN));
-                        user.setUsername(rs.getString(USERNAME_COLUMN));
-                        user.setEmail(rs.getString(EMAIL_COLUMN));
-                        user.setPassword(rs.getString(PASSWORD_COLUMN));
-                        user.setStatus(rs.getString(STATUS_COLUMN));
-                        user.setRole(Role.valueOf(rs.getString(ROLE_NAME_COLUMN)));
-
-                        return Optional.of(user);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (resultSet.next()) {
+                        return Optional.of(new UserRowMapper(resultSet).mapRow(resultSet));
                     }
                 }
             }
@@ -169,59 +149,60 @@ public class UserDaoImpl implements UserDao {
     }
 
     /**
-     * Returns a map of users and their corresponding active orders (PENDING or ISSUED).
+     * Returns one page of readers with active (PENDING or ISSUED) orders, ordered by username. The readers are
+     * counted and paged in SQL; their orders are loaded separately for the page only.
      *
-     * @return a {@link Map} where each key is a {@link User} and the value is a list of {@link Order}
+     * @param username part of the username to match, case-insensitively, or {@code null} for all readers
+     * @param page     the page number (1-based index)
+     * @param size     the number of readers per page
+     * @return the requested page of readers, with ID, username, email, status and role but without the password
      */
     @Override
-    public Map<User, List<Order>> findReadersWithActiveOrders() {
+    public Page<User> findReadersWithActiveOrders(String username, int page, int size) {
         Connection connection = null;
-        Map<User, List<Order>> userOrdersMap = new LinkedHashMap<>();
+        List<User> readers = new ArrayList<>();
+        String filter = "";
+        String pattern = null;
+        long offset = Page.offset(page, size);
+        long total = 0;
+
+        if (username != null && !username.isBlank()) {
+            filter = FILTER_BY_USERNAME;
+            pattern = SQL_WILDCARD + username.trim().toLowerCase() + SQL_WILDCARD;
+        }
 
         try {
             connection = connectionPool.getConnection();
 
-            try (PreparedStatement preparedStatement =
-                         connection.prepareStatement(SELECT_ACTIVE_USER_ORDERS_WITH_BOOK_DETAILS);
-                 ResultSet resultSet = preparedStatement.executeQuery()) {
-                while (resultSet.next()) {
-                    Long userId = resultSet.getLong(USER_ID_COLUMN);
-                    User user = userOrdersMap.keySet().stream()
-                            .filter(u -> u.getId().equals(userId))
-                            .findFirst()
-                            .orElseGet(() -> {
-                                User newUser = new User();
-                                newUser.setId(userId);
-
-                                try {
-                                    newUser.setUsername(resultSet.getString(USERNAME_COLUMN));
-                                    newUser.setEmail(resultSet.getString(EMAIL_COLUMN));
-                                } catch (SQLException e) {
-                                    logger.error(FAILED_TO_LOAD_USER_DATA_FOR_USER_ID, userId, e);
-                                    throw new RuntimeException(ERROR_LOADING_USER_DATA, e);
-                                }
-                                userOrdersMap.put(newUser, new ArrayList<>());
-
-                                return newUser;
-                            });
-
-                    Order order = new Order();
-                    order.setId(resultSet.getLong(ORDER_ID_COLUMN));
-                    order.setStatus(OrderStatus.valueOf(resultSet.getString(ORDER_STATUS_COLUMN)));
-                    order.setType(OrderType.valueOf(resultSet.getString(ORDER_TYPE_COLUMN)));
-
-                    Book book = new Book();
-                    book.setTitle(resultSet.getString(TITLE_COLUMN));
-                    book.setAuthorFirstName(resultSet.getString(AUTHOR_FIRST_NAME_COLUMN));
-                    book.setAuthorLastName(resultSet.getString(AUTHOR_LAST_NAME_COLUMN));
-
-                    BookCopy copy = new BookCopy();
-                    copy.setInventoryNumber(resultSet.getString(INVENTORY_NUMBER_COLUMN));
-                    copy.setBook(book);
-                    order.setBookCopy(copy);
-                    order.setUser(user);
-
-                    userOrdersMap.get(user).add(order);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(COUNT_ACTIVE_READERS + filter)) {
+                if (pattern != null) {
+                    preparedStatement.setString(1, pattern);
+                }
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (resultSet.next()) {
+                        total = resultSet.getLong(1);
+                    }
+                }
+            }
+
+            if (offset < total) {
+                try (PreparedStatement preparedStatement = connection.prepareStatement(
+                        SELECT_ACTIVE_READERS + filter + ORDER_BY_USERNAME_LIMIT_OFFSET)) {
+                    int index = 1;
+                    if (pattern != null) {
+                        preparedStatement.setString(index++, pattern);
+                    }
+                    preparedStatement.setInt(index++, size);
+                    preparedStatement.setLong(index, offset);
+
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        RowMapper<User> rowMapper = new UserRowMapper(resultSet);
+
+                        while (resultSet.next()) {
+                            readers.add(rowMapper.mapRow(resultSet));
+                        }
+                    }
                 }
             }
         } catch (SQLException e) {
@@ -231,7 +212,7 @@ public class UserDaoImpl implements UserDao {
             connectionPool.closeConnection(connection);
         }
 
-        return userOrdersMap;
+        return new Page<>(readers, Math.max(page, 1), size, total);
     }
 
     /**
@@ -282,16 +263,10 @@ public class UserDaoImpl implements UserDao {
 
             try (PreparedStatement preparedStatement = connection.prepareStatement(SELECT_ALL_USERS_WITH_ROLE_NAMES);
                  ResultSet resultSet = preparedStatement.executeQuery()) {
+                RowMapper<User> rowMapper = new UserRowMapper(resultSet);
 
                 while (resultSet.next()) {
-                    User user = new User();
-                    user.setId(resultSet.getLong(ID_COLUMN));
-                    user.setUsername(resultSet.getString(USERNAME_COLUMN));
-                    user.setEmail(resultSet.getString(EMAIL_COLUMN));
-                    user.setPassword(resultSet.getString(PASSWORD_COLUMN));
-                    user.setStatus(resultSet.getString(STATUS_COLUMN));
-                    user.setRole(Role.valueOf(resultSet.getString(ROLE_NAME_COLUMN)));
-                    users.add(user);
+                    users.add(rowMapper.mapRow(resultSet));
                 }
             }
         } catch (SQLException e) {
@@ -376,15 +351,7 @@ public class UserDaoImpl implements UserDao {
 
                 try (ResultSet resultSet = preparedStatement.executeQuery()) {
                     if (resultSet.next()) {
-                        User user = new User();
-                        user.setId(resultSet.getLong(ID_COLUMN));
-                        user.setUsername(resultSet.getString(USERNAME_COLUMN));
-                        user.setEmail(resultSet.getString(EMAIL_COLUMN));
-                        user.setPassword(resultSet.getString(PASSWORD_COLUMN));
-                        user.setStatus(resultSet.getString(STATUS_COLUMN));
-                        user.setRole(Role.valueOf(resultSet.getString(ROLE_NAME_COLUMN)));
-
-                        return Optional.of(user);
+                        return Optional.of(new UserRowMapper(resultSet).mapRow(resultSet));
                     }
                 }
             }
@@ -402,7 +369,7 @@ public class UserDaoImpl implements UserDao {
      * Retrieves the role ID from the `roles` table for the given role enum.
      *
      * @param role       the {@link Role} enum value
-     * @param connection the active database connection
+     * @param connection the active database connection, still owned (and returned to the pool) by the caller
      * @return the ID of the role
      * @throws SQLException if role not found or a database error occurs
      */
@@ -422,8 +389,6 @@ public class UserDaoImpl implements UserDao {
         } catch (SQLException e) {
             logger.error(ERROR_RETRIEVING_ROLE_ID_FOR_ROLE, role, e);
             throw e;
-        } finally {
-            connectionPool.closeConnection(connection);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.library.app.dao.mapper;
+
+import com.library.app.model.Book;
+import com.library.app.model.BookCopy;
+import com.library.app.model.CopyStatus;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps rows of {@code book_copies} joined with {@code books} to {@link BookCopy} objects. Copies of the same
+ * book within one result set share a single {@link Book} instance.
+ */
+public class BookCopyRowMapper implements RowMapper<BookCopy> {
+    private static final String ID_COLUMN = "id";
+    private static final String INVENTORY_NUMBER_COLUMN = "inventory_number";
+    private static final String STATUS_COLUMN = "status";
+    private static final String BOOK_ID_COLUMN = "book_id";
+    private static final String TITLE_COLUMN = "title";
+    private static final String AUTHOR_FIRST_NAME_COLUMN = "author_first_name";
+    private static final String AUTHOR_LAST_NAME_COLUMN = "author_last_name";
+    private static final String GENRE_COLUMN = "genre";
+    private static final String DESCRIPTION_COLUMN = "description";
+    private static final String COVER_URL_COLUMN = "cover_url";
+    private static final EnumLookup<CopyStatus> COPY_STATUSES = EnumLookup.of(CopyStatus.class);
+
+    private final int id;
+    private final int inventoryNumber;
+    private final int status;
+    private final int bookId;
+    private final int title;
+    private final int authorFirstName;
+    private final int authorLastName;
+    private final int genre;
+    private final int description;
+    private final int coverUrl;
+    private final Map<Long, Book> books = new HashMap<>();
+
+    /**
+     * Resolves the copy and book columns of a result set.
+     *
+     * @param resultSet the result set to map
+     * @throws SQLException if a required column is missing or the metadata cannot be read
+     */
+    public BookCopyRowMapper(ResultSet resultSet) throws SQLException {
+        ColumnIndex columns = ColumnIndex.of(resultSet);
+        this.id = columns.get(ID_COLUMN);
+        this.inventoryNumber = columns.get(INVENTORY_NUMBER_COLUMN);
+        this.status = columns.get(STATUS_COLUMN);
+        this.bookId = columns.get(BOOK_ID_COLUMN);
+        this.title = columns.get(TITLE_COLUMN);
+        this.authorFirstName = columns.get(AUTHOR_FIRST_NAME_COLUMN);
+        this.authorLastName = columns.get(AUTHOR_LAST_NAME_COLUMN);
+        this.genre = columns.get(GENRE_COLUMN);
+        this.description = columns.find(DESCRIPTION_COLUMN);
+        this.coverUrl = columns.get(COVER_URL_COLUMN);
+    }
+
+    /**
+     * Maps the current row to a {@link BookCopy}. The book columns are read only for the first copy of each book.
+     *
+     * @throws SQLException if reading from the result set fails
+     */
+    @Override
+    public BookCopy mapRow(ResultSet resultSet) throws SQLException {
+        long currentBookId = resultSet.getLong(bookId);
+        Book book = books.get(currentBookId);
+
+        if (book == null) {
+            book = new Book(
+                    currentBookId,
+                    resultSet.getString(title),
+                    resultSet.getString(authorFirstName),
+                    resultSet.getString(authorLastName),
+                    resultSet.getString(genre),
+                    ColumnIndex.getString(resultSet, description),
+                    resultSet.getString(coverUrl)
+            );
+            books.put(currentBookId, book);
+        }
+
+        return new BookCopy(
+                resultSet.getLong(id),
+                resultSet.getString(inventoryNumber),
+                book,
+                COPY_STATUSES.get(resultSet.getString(status))
+        );
+    }
+}
@@ -0,0 +1,63 @@
+package com.library.app.dao.mapper;
+
+import com.library.app.model.Book;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the {@code books} table to {@link Book} objects. The {@code description} column is optional,
+ * so queries that leave it out to keep pages small map to books without a description.
+ */
+public class BookRowMapper implements RowMapper<Book> {
+    private static final String ID_COLUMN = "id";
+    private static final String TITLE_COLUMN = "title";
+    private static final String AUTHOR_FIRST_NAME_COLUMN = "author_first_name";
+    private static final String AUTHOR_LAST_NAME_COLUMN = "author_last_name";
+    private static final String GENRE_COLUMN = "genre";
+    private static final String DESCRIPTION_COLUMN = "description";
+    private static final String COVER_URL_COLUMN = "cover_url";
+
+    private final int id;
+    private final int title;
+    private final int authorFirstName;
+    private final int authorLastName;
+    private final int genre;
+    private final int description;
+    private final int coverUrl;
+
+    /**
+     * Resolves the book columns of a result set.
+     *
+     * @param resultSet the result set to map
+     * @throws SQLException if a required column is missing or the metadata cannot be read
+     */
+    public BookRowMapper(ResultSet resultSet) throws SQLException {
+        ColumnIndex columns = ColumnIndex.of(resultSet);
+        this.id = columns.get(ID_COLUMN);
+        this.title = columns.get(TITLE_COLUMN);
+        this.authorFirstName = columns.get(AUTHOR_FIRST_NAME_COLUMN);
+        this.authorLastName = columns.get(AUTHOR_LAST_NAME_COLUMN);
+        this.genre = columns.get(GENRE_COLUMN);
+        this.description = columns.find(DESCRIPTION_COLUMN);
+        this.coverUrl = columns.get(COVER_URL_COLUMN);
+    }
+
+    /**
+     * Maps the current row to a {@link Book}.
+     *
+     * @throws SQLException if reading from the result set fails
+     */
+    @Override
+    public Book mapRow(ResultSet resultSet) throws SQLException {
+        return new Book(
+                resultSet.getLong(id),
+                resultSet.getString(title),
+                resultSet.getString(authorFirstName),
+                resultSet.getString(authorLastName),
+                resultSet.getString(genre),
+                ColumnIndex.getString(resultSet, description),
+                resultSet.getString(coverUrl)
+        );
+    }
+}
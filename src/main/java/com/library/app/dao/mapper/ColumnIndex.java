@@ -0,0 +1,96 @@
+package com.library.app.dao.mapper;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Positions of the columns of one result set, looked up by label. Labels are matched case-insensitively and
+ * a repeated label resolves to its first column, the same as the by-name getters of {@link ResultSet}.
+ */
+public final class ColumnIndex {
+    private static final String COLUMN_NOT_FOUND = "Column %s not found in result set";
+
+    private final Map<String, Integer> indexes;
+
+    private ColumnIndex(Map<String, Integer> indexes) {
+        this.indexes = indexes;
+    }
+
+    /**
+     * Reads the column labels of a result set.
+     *
+     * @param resultSet the result set
+     * @return the column positions of the result set
+     * @throws SQLException if the result set metadata cannot be read
+     */
+    public static ColumnIndex of(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        Map<String, Integer> indexes = new HashMap<>(columnCount * 2);
+
+        for (int column = 1; column <= columnCount; column++) {
+            indexes.putIfAbsent(metaData.getColumnLabel(column).toLowerCase(Locale.ROOT), column);
+        }
+
+        return new ColumnIndex(indexes);
+    }
+
+    /**
+     * Returns the position of a column the query always selects.
+     *
+     * @param label the column label
+     * @return the 1-based column position
+     * @throws SQLException if the result set has no such column
+     */
+    public int get(String label) throws SQLException {
+        Integer index = indexes.get(label);
+
+        if (index == null) {
+            throw new SQLException(String.format(COLUMN_NOT_FOUND, label));
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the position of a column that only some queries select.
+     *
+     * @param label the column label
+     * @return the 1-based column position, or {@code 0} if the result set has no such column
+     */
+    public int find(String label) {
+        return indexes.getOrDefault(label, 0);
+    }
+
+    /**
+     * Reads a string from an optional column.
+     *
+     * @param resultSet the result set
+     * @param index     the position returned by {@link #find(String)}
+     * @return the value, or {@code null} if the column is absent or {@code NULL}
+     * @throws SQLException if reading from the result set fails
+     */
+    public static String getString(ResultSet resultSet, int index) throws SQLException {
+        return index == 0 ? null : resultSet.getString(index);
+    }
+
+    /**
+     * Reads a date column as a {@link LocalDate}.
+     *
+     * @param resultSet the result set
+     * @param index     the column position
+     * @return the date, or {@code null} if the value is {@code NULL}
+     * @throws SQLException if reading from the result set fails
+     */
+    public static LocalDate getLocalDate(ResultSet resultSet, int index) throws SQLException {
+        Date date = resultSet.getDate(index);
+
+        return date != null ? date.toLocalDate() : null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.library.app.dao.mapper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Table from the names stored in the database to the constants of an enum, built once per enum type. Mappers
+ * keep one as a constant instead of calling {@code valueOf} for every row.
+ *
+ * @param <E> the enum type
+ */
+public final class EnumLookup<E extends Enum<E>> {
+    private static final String UNKNOWN_CONSTANT = "No %s constant %s";
+
+    private final Class<E> type;
+    private final Map<String, E> constants;
+
+    private EnumLookup(Class<E> type) {
+        E[] values = type.getEnumConstants();
+        this.type = type;
+        this.constants = new HashMap<>(values.length * 2);
+
+        for (E value : values) {
+            constants.put(value.name(), value);
+        }
+    }
+
+    /**
+     * Builds the lookup table of an enum.
+     *
+     * @param type the enum class
+     * @param <E>  the enum type
+     * @return the lookup table
+     */
+    public static <E extends Enum<E>> EnumLookup<E> of(Class<E> type) {
+        return new EnumLookup<>(type);
+    }
+
+    /**
+     * Returns the constant with the given name.
+     *
+     * @param name the constant name
+     * @return the constant
+     * @throws IllegalArgumentException if the enum has no constant with that name
+     */
+    public E get(String name) {
+        E value = name != null ? constants.get(name) : null;
+
+        if (value == null) {
+            throw new IllegalArgumentException(String.format(UNKNOWN_CONSTANT, type.getSimpleName(), name));
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,132 @@
+package com.library.app.dao.mapper;
+
+import com.library.app.model.Book;
+import com.library.app.model.BookCopy;
+import com.library.app.model.Order;
+import com.library.app.model.OrderStatus;
+import com.library.app.model.OrderType;
+import com.library.app.model.User;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps rows of an order query joined with user, copy and book details to {@link Order} objects. The order ID
+ * is read from {@code order_id} when the query aliases it, otherwise from {@code id}. Orders of the same user
+ * or of copies of the same book within one result set share a single {@link User} or {@link Book} instance.
+ */
+public class OrderRowMapper implements RowMapper<Order> {
+    private static final String ID_COLUMN = "id";
+    private static final String ORDER_ID_COLUMN = "order_id";
+    private static final String ORDER_TYPE_COLUMN = "order_type";
+    private static final String ORDER_STATUS_COLUMN = "order_status";
+    private static final String ISSUE_DATE_COLUMN = "issue_date";
+    private static final String DUE_DATE_COLUMN = "due_date";
+    private static final String RETURN_DATE_COLUMN = "return_date";
+    private static final String USER_ID_COLUMN = "user_id";
+    private static final String USERNAME_COLUMN = "username";
+    private static final String BOOK_ID_COLUMN = "book_id";
+    private static final String TITLE_COLUMN = "title";
+    private static final String AUTHOR_FIRST_NAME_COLUMN = "author_first_name";
+    private static final String AUTHOR_LAST_NAME_COLUMN = "author_last_name";
+    private static final String COPY_ID_COLUMN = "copy_id";
+    private static final String INVENTORY_NUMBER_COLUMN = "inventory_number";
+    private static final EnumLookup<OrderType> ORDER_TYPES = EnumLookup.of(OrderType.class);
+    private static final EnumLookup<OrderStatus> ORDER_STATUSES = EnumLookup.of(OrderStatus.class);
+
+    private final int id;
+    private final int orderType;
+    private final int orderStatus;
+    private final int issueDate;
+    private final int dueDate;
+    private final int returnDate;
+    private final int userId;
+    private final int username;
+    private final int bookId;
+    private final int title;
+    private final int authorFirstName;
+    private final int authorLastName;
+    private final int copyId;
+    private final int inventoryNumber;
+    private final Map<Long, User> users = new HashMap<>();
+    private final Map<Long, Book> books = new HashMap<>();
+
+    /**
+     * Resolves the order, user, copy and book columns of a result set.
+     *
+     * @param resultSet the result set to map
+     * @throws SQLException if a required column is missing or the metadata cannot be read
+     */
+    public OrderRowMapper(ResultSet resultSet) throws SQLException {
+        ColumnIndex columns = ColumnIndex.of(resultSet);
+        int orderId = columns.find(ORDER_ID_COLUMN);
+        this.id = orderId != 0 ? orderId : columns.get(ID_COLUMN);
+        this.orderType = columns.get(ORDER_TYPE_COLUMN);
+        this.orderStatus = columns.get(ORDER_STATUS_COLUMN);
+        this.issueDate = columns.get(ISSUE_DATE_COLUMN);
+        this.dueDate = columns.get(DUE_DATE_COLUMN);
+        this.returnDate = columns.get(RETURN_DATE_COLUMN);
+        this.userId = columns.get(USER_ID_COLUMN);
+        this.username = columns.get(USERNAME_COLUMN);
+        this.bookId = columns.get(BOOK_ID_COLUMN);
+        this.title = columns.get(TITLE_COLUMN);
+        this.authorFirstName = columns.get(AUTHOR_FIRST_NAME_COLUMN);
+        this.authorLastName = columns.get(AUTHOR_LAST_NAME_COLUMN);
+        this.copyId = columns.get(COPY_ID_COLUMN);
+        this.inventoryNumber = columns.get(INVENTORY_NUMBER_COLUMN);
+    }
+
+    /**
+     * Maps the current row to an {@link Order}. The user and book columns are read only for the first order
+     * of each user and book.
+     *
+     * @throws SQLException if reading from the result set fails
+     */
+    @Override
+    public Order mapRow(ResultSet resultSet) throws SQLException {
+        return new Order(
+                resultSet.getLong(id),
+                user(resultSet),
+                new BookCopy(resultSet.getLong(copyId), resultSet.getString(inventoryNumber), book(resultSet), null),
+                ORDER_TYPES.get(resultSet.getString(orderType)),
+                ORDER_STATUSES.get(resultSet.getString(orderStatus)),
+                ColumnIndex.getLocalDate(resultSet, issueDate),
+                ColumnIndex.getLocalDate(resultSet, dueDate),
+                ColumnIndex.getLocalDate(resultSet, returnDate)
+        );
+    }
+
+    private User user(ResultSet resultSet) throws SQLException {
+        long currentUserId = resultSet.getLong(userId);
+        User user = users.get(currentUserId);
+
+        if (user == null) {
+            user = new User();
+            user.setId(currentUserId);
+            user.setUsername(resultSet.getString(username));
+            users.put(currentUserId, user);
+        }
+
+        return user;
+    }
+
+    private Book book(ResultSet resultSet) throws SQLException {
+        long currentBookId = resultSet.getLong(bookId);
+        Book book = books.get(currentBookId);
+
+        if (book == null) {
+            book = new Book(
+                    currentBookId,
+                    resultSet.getString(title),
+                    resultSet.getString(authorFirstName),
+                    resultSet.getString(authorLastName),
+                    null, null, null
+            );
+            books.put(currentBookId, book);
+        }
+
+        return book;
+    }
+}
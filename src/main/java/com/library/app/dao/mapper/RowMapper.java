@@ -0,0 +1,22 @@
+package com.library.app.dao.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a result set to an object. An instance is created for one result set, after the
+ * query has run, so it can resolve the column positions once and read every row by index.
+ *
+ * @param <T> the type of the mapped object
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    /**
+     * Maps the row the result set is positioned at.
+     *
+     * @param resultSet the result set the mapper was created for
+     * @return the mapped object
+     * @throws SQLException if reading from the result set fails
+     */
+    T mapRow(ResultSet resultSet) throws SQLException;
+}
@@ -0,0 +1,62 @@
+package com.library.app.dao.mapper;
+
+import com.library.app.model.Role;
+import com.library.app.model.User;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps rows of the {@code users} table joined with the role name to {@link User} objects. The {@code password}
+ * column is optional, so listings that leave the password hash out map to users without one.
+ */
+public class UserRowMapper implements RowMapper<User> {
+    private static final String ID_COLUMN = "id";
+    private static final String USERNAME_COLUMN = "username";
+    private static final String EMAIL_COLUMN = "email";
+    private static final String PASSWORD_COLUMN = "password";
+    private static final String STATUS_COLUMN = "status";
+    private static final String ROLE_NAME_COLUMN = "role_name";
+    private static final EnumLookup<Role> ROLES = EnumLookup.of(Role.class);
+
+    private final int id;
+    private final int username;
+    private final int email;
+    private final int password;
+    private final int status;
+    private final int roleName;
+
+    /**
+     * Resolves the user columns of a result set.
+     *
+     * @param resultSet the result set to map
+     * @throws SQLException if a required column is missing or the metadata cannot be read
+     */
+    public UserRowMapper(ResultSet resultSet) throws SQLException {
+        ColumnIndex columns = ColumnIndex.of(resultSet);
+        this.id = columns.get(ID_COLUMN);
+        this.username = columns.get(USERNAME_COLUMN);
+        this.email = columns.get(EMAIL_COLUMN);
+        this.password = columns.find(PASSWORD_COLUMN);
+        this.status = columns.get(STATUS_COLUMN);
+        this.roleName = columns.get(ROLE_NAME_COLUMN);
+    }
+
+    /**
+     * Maps the current row to a {@link User}.
+     *
+     * @throws SQLException if reading from the result set fails
+     */
+    @Override
+    public User mapRow(ResultSet resultSet) throws SQLException {
+        User user = new User();
+        user.setId(resultSet.getLong(id));
+        user.setUsername(resultSet.getString(username));
+        user.setEmail(resultSet.getString(email));
+        user.setPassword(ColumnIndex.getString(resultSet, password));
+        user.setStatus(resultSet.getString(status));
+        user.setRole(ROLES.get(resultSet.getString(roleName)));
+
+        return user;
+    }
+}
@@ -0,0 +1,73 @@
+package com.library.app.dto;
+
+/**
+ * Contains a book together with its availability and the current user's relation to it.
+ */
+public class BookDetailsDto {
+    /**
+     * The book.
+     */
+    private BookDto book;
+    /**
+     * The number of copies of the book that are currently available.
+     */
+    private int availableCount;
+    /**
+     * The status of the current user, or {@code null} for anonymous visitors.
+     */
+    private String userStatus;
+    /**
+     * Whether the current user already has an active order for the book.
+     */
+    private boolean hasActiveOrder;
+
+    public BookDetailsDto() {
+    }
+
+    /**
+     * Constructs a BookDetailsDto with the specified details.
+     *
+     * @param book           the book
+     * @param availableCount the number of available copies
+     * @param userStatus     the status of the current user, or {@code null}
+     * @param hasActiveOrder whether the current user has an active order for the book
+     */
+    public BookDetailsDto(BookDto book, int availableCount, String userStatus, boolean hasActiveOrder) {
+        this.book = book;
+        this.availableCount = availableCount;
+        this.userStatus = userStatus;
+        this.hasActiveOrder = hasActiveOrder;
+    }
+
+    public BookDto getBook() {
+        return book;
+    }
+
+    public void setBook(BookDto book) {
+        this.book = book;
+    }
+
+    public int getAvailableCount() {
+        return availableCount;
+    }
+
+    public void setAvailableCount(int availableCount) {
+        this.availableCount = availableCount;
+    }
+
+    public String getUserStatus() {
+        return userStatus;
+    }
+
+    public void setUserStatus(String userStatus) {
+        this.userStatus = userStatus;
+    }
+
+    public boolean isHasActiveOrder() {
+        return hasActiveOrder;
+    }
+
+    public void setHasActiveOrder(boolean hasActiveOrder) {
+        this.hasActiveOrder = hasActiveOrder;
+    }
+}
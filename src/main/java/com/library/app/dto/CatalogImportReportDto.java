@@ -0,0 +1,86 @@
+package com.library.app.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a catalog import: what was loaded, which lines were rejected and how fast it ran.
+ */
+public class CatalogImportReportDto {
+    /**
+     * The number of data rows read, valid or not.
+     */
+    private final long rowsRead;
+    /**
+     * The number of books added to the catalog.
+     */
+    private final long booksImported;
+    /**
+     * The number of book copies added to the inventory.
+     */
+    private final long copiesImported;
+    /**
+     * The number of rejected lines.
+     */
+    private final long errorCount;
+    /**
+     * The first rejected lines, at most as many as the import reports.
+     */
+    private final List<ImportLineErrorDto> errors;
+    /**
+     * The duration of the import in milliseconds.
+     */
+    private final long elapsedMillis;
+
+    /**
+     * Constructs an import report.
+     *
+     * @param rowsRead       the number of data rows read
+     * @param booksImported  the number of books added
+     * @param copiesImported the number of book copies added
+     * @param errorCount     the number of rejected lines
+     * @param errors         the first rejected lines
+     * @param elapsedMillis  the duration of the import in milliseconds
+     */
+    public CatalogImportReportDto(long rowsRead, long booksImported, long copiesImported, long errorCount,
+                                  List<ImportLineErrorDto> errors, long elapsedMillis) {
+        this.rowsRead = rowsRead;
+        this.booksImported = booksImported;
+        this.copiesImported = copiesImported;
+        this.errorCount = errorCount;
+        this.errors = List.copyOf(errors);
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getBooksImported() {
+        return booksImported;
+    }
+
+    public long getCopiesImported() {
+        return copiesImported;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public List<ImportLineErrorDto> getErrors() {
+        return errors;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Returns the import throughput.
+     *
+     * @return the data rows read per second
+     */
+    public long getRowsPerSecond() {
+        return elapsedMillis == 0 ? rowsRead * 1000 : rowsRead * 1000 / elapsedMillis;
+    }
+}
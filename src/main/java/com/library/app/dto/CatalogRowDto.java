@@ -0,0 +1,95 @@
+package com.library.app.dto;
+
+/**
+ * One validated line of a catalog import file: a book and the number of copies to add for it.
+ */
+public class CatalogRowDto {
+    /**
+     * The line of the import file the row starts on.
+     */
+    private final long line;
+    /**
+     * The title of the book.
+     */
+    private final String title;
+    /**
+     * The first name of the author, or {@code null}.
+     */
+    private final String authorFirstName;
+    /**
+     * The last name of the author, or {@code null}.
+     */
+    private final String authorLastName;
+    /**
+     * The genre of the book, or {@code null}.
+     */
+    private final String genre;
+    /**
+     * The description of the book, or {@code null}.
+     */
+    private final String description;
+    /**
+     * The cover image URL of the book, or {@code null}.
+     */
+    private final String coverUrl;
+    /**
+     * The number of available copies to add.
+     */
+    private final int copies;
+
+    /**
+     * Constructs a catalog row.
+     *
+     * @param line            the line of the import file the row starts on
+     * @param title           the title of the book
+     * @param authorFirstName the first name of the author, or {@code null}
+     * @param authorLastName  the last name of the author, or {@code null}
+     * @param genre           the genre of the book, or {@code null}
+     * @param description     the description of the book, or {@code null}
+     * @param coverUrl        the cover image URL of the book, or {@code null}
+     * @param copies          the number of available copies to add
+     */
+    public CatalogRowDto(long line, String title, String authorFirstName, String authorLastName, String genre,
+                         String description, String coverUrl, int copies) {
+        this.line = line;
+        this.title = title;
+        this.authorFirstName = authorFirstName;
+        this.authorLastName = authorLastName;
+        this.genre = genre;
+        this.description = description;
+        this.coverUrl = coverUrl;
+        this.copies = copies;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getAuthorFirstName() {
+        return authorFirstName;
+    }
+
+    public String getAuthorLastName() {
+        return authorLastName;
+    }
+
+    public String getGenre() {
+        return genre;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getCoverUrl() {
+        return coverUrl;
+    }
+
+    public int getCopies() {
+        return copies;
+    }
+}
@@ -0,0 +1,63 @@
+package com.library.app.dto;
+
+import com.library.app.model.OrderStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Contains information about the reader currently holding or awaiting a book copy.
+ */
+public class CopyHolderDto {
+    /**
+     * The username of the reader.
+     */
+    private String username;
+    /**
+     * The status of the reader's order for the copy.
+     */
+    private OrderStatus status;
+    /**
+     * The date the copy is due back, or {@code null} if it has not been issued yet.
+     */
+    private LocalDate dueDate;
+
+    public CopyHolderDto() {
+    }
+
+    /**
+     * Constructs a CopyHolderDto with the specified details.
+     *
+     * @param username the username of the reader
+     * @param status   the status of the reader's order for the copy
+     * @param dueDate  the date the copy is due back
+     */
+    public CopyHolderDto(String username, OrderStatus status, LocalDate dueDate) {
+        this.username = username;
+        this.status = status;
+        this.dueDate = dueDate;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+}
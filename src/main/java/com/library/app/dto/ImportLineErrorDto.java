@@ -0,0 +1,34 @@
+package com.library.app.dto;
+
+/**
+ * A line of an import file that was rejected, with the reason.
+ */
+public class ImportLineErrorDto {
+    /**
+     * The line number, starting at 1 for the header.
+     */
+    private final long line;
+    /**
+     * Why the line was rejected.
+     */
+    private final String message;
+
+    /**
+     * Constructs a line error.
+     *
+     * @param line    the line number
+     * @param message why the line was rejected
+     */
+    public ImportLineErrorDto(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,87 @@
+package com.library.app.dto;
+
+import java.util.List;
+
+/**
+ * Immutable snapshot of everything shown on the report dashboard.
+ */
+public class ReportSnapshotDto {
+    /**
+     * The number of books in the catalog.
+     */
+    private final long totalBooks;
+    /**
+     * The number of book copies in the inventory.
+     */
+    private final long totalCopies;
+    /**
+     * The number of book copies currently issued.
+     */
+    private final long issuedCopies;
+    /**
+     * The number of returned orders.
+     */
+    private final long completedOrders;
+    /**
+     * The number of active users.
+     */
+    private final long activeUsers;
+    /**
+     * The most requested books, most requested first.
+     */
+    private final List<BookStatsDto> topBooks;
+    /**
+     * The most active readers, most active first.
+     */
+    private final List<UserStatsDto> topUsers;
+
+    /**
+     * Constructs a snapshot.
+     *
+     * @param totalBooks      the number of books in the catalog
+     * @param totalCopies     the number of book copies in the inventory
+     * @param issuedCopies    the number of book copies currently issued
+     * @param completedOrders the number of returned orders
+     * @param activeUsers     the number of active users
+     * @param topBooks        the most requested books
+     * @param topUsers        the most active readers
+     */
+    public ReportSnapshotDto(long totalBooks, long totalCopies, long issuedCopies, long completedOrders,
+                             long activeUsers, List<BookStatsDto> topBooks, List<UserStatsDto> topUsers) {
+        this.totalBooks = totalBooks;
+        this.totalCopies = totalCopies;
+        this.issuedCopies = issuedCopies;
+        this.completedOrders = completedOrders;
+        this.activeUsers = activeUsers;
+        this.topBooks = List.copyOf(topBooks);
+        this.topUsers = List.copyOf(topUsers);
+    }
+
+    public long getTotalBooks() {
+        return totalBooks;
+    }
+
+    public long getTotalCopies() {
+        return totalCopies;
+    }
+
+    public long getIssuedCopies() {
+        return issuedCopies;
+    }
+
+    public long getCompletedOrders() {
+        return completedOrders;
+    }
+
+    public long getActiveUsers() {
+        return activeUsers;
+    }
+
+    public List<BookStatsDto> getTopBooks() {
+        return topBooks;
+    }
+
+    public List<UserStatsDto> getTopUsers() {
+        return topUsers;
+    }
+}
@@ -1,7 +1,9 @@
 package com.library.app.mapper;
 
+import com.library.app.dto.BookDetailsDto;
 import com.library.app.dto.BookDto;
 import com.library.app.model.Book;
+import com.library.app.model.BookDetails;
 
 /**
  * Utility class for mapping between {@code Book} entities and {@code BookDto} objects.
@@ -26,6 +28,17 @@ public class BookMapper {
         return bookDto;
     }
 
+    /**
+     * Converts {@code BookDetails} into a {@code BookDetailsDto}.
+     *
+     * @param details the book details to convert
+     * @return the corresponding {@code BookDetailsDto} object
+     */
+    public static BookDetailsDto toDto(BookDetails details) {
+        return new BookDetailsDto(toDto(details.getBook()), details.getAvailableCount(), details.getUserStatus(),
+                details.hasActiveOrder());
+    }
+
     /**
      * Converts a {@code BookDto} into a {@code Book} entity.
      *
@@ -0,0 +1,25 @@
+package com.library.app.mapper;
+
+import com.library.app.dto.CopyHolderDto;
+import com.library.app.model.Order;
+
+/**
+ * Utility class for mapping the active order on a book copy to a {@link CopyHolderDto}.
+ */
+public class CopyHolderMapper {
+    /**
+     * Converts an active {@link Order} to a {@link CopyHolderDto}.
+     *
+     * @param order the pending or issued order holding the copy
+     * @return the corresponding copy holder DTO
+     */
+    public static CopyHolderDto toDto(Order order) {
+        return new CopyHolderDto(order.getUser().getUsername(), order.getStatus(), order.getDueDate());
+    }
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private CopyHolderMapper() {
+    }
+}
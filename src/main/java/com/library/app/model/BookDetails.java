@@ -0,0 +1,55 @@
+package com.library.app.model;
+
+/**
+ * Read model for the public book detail page: a book together with its availability and, for a logged-in
+ * reader, what that reader may do with it.
+ */
+public class BookDetails {
+    /**
+     * The book.
+     */
+    private final Book book;
+    /**
+     * The number of copies of the book that are currently available.
+     */
+    private final int availableCount;
+    /**
+     * The status of the current user, or {@code null} for anonymous visitors and unknown users.
+     */
+    private final String userStatus;
+    /**
+     * Whether the current user already has a pending or issued order for the book.
+     */
+    private final boolean hasActiveOrder;
+
+    /**
+     * Constructs the book details.
+     *
+     * @param book           the book
+     * @param availableCount the number of available copies
+     * @param userStatus     the status of the current user, or {@code null}
+     * @param hasActiveOrder whether the current user has an active order for the book
+     */
+    public BookDetails(Book book, int availableCount, String userStatus, boolean hasActiveOrder) {
+        this.book = book;
+        this.availableCount = availableCount;
+        this.userStatus = userStatus;
+        this.hasActiveOrder = hasActiveOrder;
+    }
+
+    public Book getBook() {
+        return book;
+    }
+
+    public int getAvailableCount() {
+        return availableCount;
+    }
+
+    public String getUserStatus() {
+        return userStatus;
+    }
+
+    public boolean hasActiveOrder() {
+        return hasActiveOrder;
+    }
+}
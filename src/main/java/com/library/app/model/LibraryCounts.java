@@ -0,0 +1,57 @@
+package com.library.app.model;
+
+import java.util.Map;
+
+/**
+ * Row counts of every table behind the report dashboard, broken down by status, read together in one query.
+ */
+public class LibraryCounts {
+    /**
+     * The number of books in the catalog.
+     */
+    private final long books;
+    /**
+     * The number of book copies per copy status.
+     */
+    private final Map<CopyStatus, Long> copies;
+    /**
+     * The number of orders per order status.
+     */
+    private final Map<OrderStatus, Long> orders;
+    /**
+     * The number of users per account status.
+     */
+    private final Map<String, Long> users;
+
+    /**
+     * Constructs the counts. Statuses missing from a map have no rows.
+     *
+     * @param books  the number of books in the catalog
+     * @param copies the number of book copies per copy status
+     * @param orders the number of orders per order status
+     * @param users  the number of users per account status
+     */
+    public LibraryCounts(long books, Map<CopyStatus, Long> copies, Map<OrderStatus, Long> orders,
+                         Map<String, Long> users) {
+        this.books = books;
+        this.copies = Map.copyOf(copies);
+        this.orders = Map.copyOf(orders);
+        this.users = Map.copyOf(users);
+    }
+
+    public long getBooks() {
+        return books;
+    }
+
+    public Map<CopyStatus, Long> getCopies() {
+        return copies;
+    }
+
+    public Map<OrderStatus, Long> getOrders() {
+        return orders;
+    }
+
+    public Map<String, Long> getUsers() {
+        return users;
+    }
+}
@@ -0,0 +1,65 @@
+package com.library.app.model;
+
+/**
+ * Library-wide counters shown on the report dashboard, read together in one query.
+ */
+public class LibraryTotals {
+    /**
+     * The number of books in the catalog.
+     */
+    private final long totalBooks;
+    /**
+     * The number of book copies in the inventory.
+     */
+    private final long totalCopies;
+    /**
+     * The number of book copies currently issued to readers.
+     */
+    private final long issuedCopies;
+    /**
+     * The number of orders whose book has been returned.
+     */
+    private final long completedOrders;
+    /**
+     * The number of users with status {@code ACTIVE}.
+     */
+    private final long activeUsers;
+
+    /**
+     * Constructs the totals.
+     *
+     * @param totalBooks      the number of books in the catalog
+     * @param totalCopies     the number of book copies in the inventory
+     * @param issuedCopies    the number of book copies currently issued
+     * @param completedOrders the number of returned orders
+     * @param activeUsers     the number of active users
+     */
+    public LibraryTotals(long totalBooks, long totalCopies, long issuedCopies, long completedOrders,
+                         long activeUsers) {
+        this.totalBooks = totalBooks;
+        this.totalCopies = totalCopies;
+        this.issuedCopies = issuedCopies;
+        this.completedOrders = completedOrders;
+        this.activeUsers = activeUsers;
+    }
+
+    public long getTotalBooks() {
+        return totalBooks;
+    }
+
+    public long getTotalCopies() {
+        return totalCopies;
+    }
+
+    public long getIssuedCopies() {
+        return issuedCopies;
+    }
+
+    public long getCompletedOrders() {
+        return completedOrders;
+    }
+
+    public long getActiveUsers() {
+        return activeUsers;
+    }
+}
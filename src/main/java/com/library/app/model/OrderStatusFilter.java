@@ -0,0 +1,36 @@
+package com.library.app.model;
+
+import java.util.List;
+
+/**
+ * Enum representing the status groups a reader can filter their order history by.
+ */
+public enum OrderStatusFilter {
+    /**
+     * Orders that are still in progress: pending or issued.
+     */
+    ACTIVE(List.of(OrderStatus.PENDING, OrderStatus.ISSUED)),
+    /**
+     * Orders whose book has been returned.
+     */
+    RETURNED(List.of(OrderStatus.RETURNED)),
+    /**
+     * Orders that have been canceled.
+     */
+    CANCELED(List.of(OrderStatus.CANCELED));
+
+    private final List<OrderStatus> statuses;
+
+    OrderStatusFilter(List<OrderStatus> statuses) {
+        this.statuses = statuses;
+    }
+
+    /**
+     * Returns the order statuses included by this filter.
+     *
+     * @return the matching order statuses
+     */
+    public List<OrderStatus> getStatuses() {
+        return statuses;
+    }
+}
@@ -0,0 +1,68 @@
+package com.library.app.model;
+
+/**
+ * Enum representing the status changes an order can go through after it is placed, together with the status
+ * change of the copy the order holds.
+ */
+public enum OrderTransition {
+    /**
+     * A librarian hands out the reserved copy of a pending order.
+     */
+    ISSUE(OrderStatus.PENDING, OrderStatus.ISSUED, CopyStatus.RESERVED, CopyStatus.ISSUED),
+    /**
+     * The reader brings back the copy of an issued order.
+     */
+    RETURN(OrderStatus.ISSUED, OrderStatus.RETURNED, CopyStatus.ISSUED, CopyStatus.AVAILABLE),
+    /**
+     * The reader cancels a pending order and its copy is released.
+     */
+    CANCEL(OrderStatus.PENDING, OrderStatus.CANCELED, CopyStatus.RESERVED, CopyStatus.AVAILABLE);
+
+    private final OrderStatus from;
+    private final OrderStatus to;
+    private final CopyStatus copyFrom;
+    private final CopyStatus copyTo;
+
+    OrderTransition(OrderStatus from, OrderStatus to, CopyStatus copyFrom, CopyStatus copyTo) {
+        this.from = from;
+        this.to = to;
+        this.copyFrom = copyFrom;
+        this.copyTo = copyTo;
+    }
+
+    /**
+     * Returns the status the order must be in for the transition to apply.
+     *
+     * @return the required order status
+     */
+    public OrderStatus getFrom() {
+        return from;
+    }
+
+    /**
+     * Returns the status the order is moved to.
+     *
+     * @return the new order status
+     */
+    public OrderStatus getTo() {
+        return to;
+    }
+
+    /**
+     * Returns the status the order's copy is in before the transition.
+     *
+     * @return the previous copy status
+     */
+    public CopyStatus getCopyFrom() {
+        return copyFrom;
+    }
+
+    /**
+     * Returns the status the order's copy is moved to.
+     *
+     * @return the new copy status
+     */
+    public CopyStatus getCopyTo() {
+        return copyTo;
+    }
+}
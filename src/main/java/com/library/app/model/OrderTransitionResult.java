@@ -0,0 +1,88 @@
+package com.library.app.model;
+
+/**
+ * Outcome of a conditional {@link OrderTransition}: the order was moved, it was in another status, or it does not
+ * exist.
+ */
+public class OrderTransitionResult {
+    /**
+     * The possible outcomes of a transition.
+     */
+    public enum Outcome {
+        /**
+         * The order and its copy were moved to their new statuses.
+         */
+        SUCCESS,
+        /**
+         * The order exists but was not in the status the transition requires; nothing was changed.
+         */
+        WRONG_STATE,
+        /**
+         * No matching order exists; nothing was changed.
+         */
+        NOT_FOUND
+    }
+
+    private static final OrderTransitionResult NOT_FOUND = new OrderTransitionResult(Outcome.NOT_FOUND, null, null);
+
+    /**
+     * The outcome of the transition.
+     */
+    private final Outcome outcome;
+    /**
+     * The order with its new status and details, on success.
+     */
+    private final Order order;
+    /**
+     * The status the order was found in, when it was in the wrong state. If a concurrent transition of the same
+     * order won, this is the status that transition committed.
+     */
+    private final OrderStatus currentStatus;
+
+    private OrderTransitionResult(Outcome outcome, Order order, OrderStatus currentStatus) {
+        this.outcome = outcome;
+        this.order = order;
+        this.currentStatus = currentStatus;
+    }
+
+    /**
+     * Creates the result of a transition that was applied.
+     *
+     * @param order the order with its new status
+     * @return the successful result
+     */
+    public static OrderTransitionResult success(Order order) {
+        return new OrderTransitionResult(Outcome.SUCCESS, order, order.getStatus());
+    }
+
+    /**
+     * Creates the result of a transition rejected because the order was in another status.
+     *
+     * @param currentStatus the status the order was found in
+     * @return the rejected result
+     */
+    public static OrderTransitionResult wrongState(OrderStatus currentStatus) {
+        return new OrderTransitionResult(Outcome.WRONG_STATE, null, currentStatus);
+    }
+
+    /**
+     * Returns the result of a transition of an order that does not exist.
+     *
+     * @return the not found result
+     */
+    public static OrderTransitionResult notFound() {
+        return NOT_FOUND;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public OrderStatus getCurrentStatus() {
+        return currentStatus;
+    }
+}
@@ -3,6 +3,8 @@ package com.library.app.model;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 
+import java.util.Objects;
+
 /**
  * Represents a user in the system.
  * Can be a reader, librarian, or administrator.
@@ -109,4 +111,28 @@ public class User {
     public void setRole(Role role) {
         this.role = role;
     }
+
+    /**
+     * Compares this user to another object for equality based on ID.
+     *
+     * @param o the object to compare
+     * @return {@code true} if the object is a User with the same ID; {@code false} otherwise
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        User user = (User) o;
+        return Objects.equals(id, user.id);
+    }
+
+    /**
+     * Returns the hash code based on the user's ID.
+     *
+     * @return the hash code for this user
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
 }
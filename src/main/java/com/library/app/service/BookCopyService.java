@@ -1,9 +1,12 @@
 package com.library.app.service;
 
+import com.library.app.model.Book;
 import com.library.app.model.BookCopy;
 import com.library.app.model.CopyStatus;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -25,6 +28,15 @@ public interface BookCopyService {
      */
     void saveBook(BookCopy copy);
 
+    /**
+     * Adds several available copies of a book at once, e.g. when a shipment arrives.
+     *
+     * @param book  the book the copies belong to
+     * @param count the number of copies to add
+     * @return the inventory numbers skipped because they were already taken
+     */
+    List<String> addCopies(Book book, int count);
+
     /**
      * Deletes the specified book copy.
      *
@@ -55,12 +67,19 @@ public interface BookCopyService {
     long countByStatus(CopyStatus status);
 
     /**
-     * Generates the next inventory number for a new copy of the specified book.
+     * Allocates the inventory number for a new copy. Inventory numbers are unique across the library.
      *
-     * @param bookId the ID of the book
      * @return the next inventory number as a string
      */
-    String generateNextInventoryNumber(Long bookId);
+    String generateNextInventoryNumber();
+
+    /**
+     * Allocates inventory numbers for several new copies at once, e.g. for bulk intake.
+     *
+     * @param count how many numbers to allocate
+     * @return the inventory numbers, in ascending order
+     */
+    List<String> generateInventoryNumbers(int count);
 
     /**
      * Returns a book copy by its ID.
@@ -77,4 +96,12 @@ public interface BookCopyService {
      * @return list of book copies
      */
     List<BookCopy> getAllByBookId(Long id);
+
+    /**
+     * Returns all copies of the specified books, grouped by book ID.
+     *
+     * @param ids the book IDs
+     * @return map of book ID to its copies, in the iteration order of {@code ids}
+     */
+    Map<Long, List<BookCopy>> getAllByBookIds(Collection<Long> ids);
 }
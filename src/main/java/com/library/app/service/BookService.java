@@ -1,7 +1,8 @@
 package com.library.app.service;
 
+import com.library.app.dto.BookDetailsDto;
 import com.library.app.dto.BookDto;
-import com.library.app.model.Book;
+import com.library.app.util.Page;
 
 import java.util.List;
 import java.util.Optional;
@@ -46,6 +47,16 @@ public interface BookService {
      */
     Optional<BookDto> getById(Long id);
 
+    /**
+     * Returns a book with its available copy count and, for a logged-in user, that user's status and
+     * whether they already have an active order for it.
+     *
+     * @param id       the book ID
+     * @param username the current user's username, or {@code null} for anonymous visitors
+     * @return optional containing the book details or empty if the book is not found
+     */
+    Optional<BookDetailsDto> getDetails(Long id, String username);
+
     /**
      * Searches for books based on optional title, author, and genre.
      *
@@ -55,4 +66,16 @@ public interface BookService {
      * @return list of matching books
      */
     List<BookDto> search(String title, String author, String genre);
+
+    /**
+     * Searches for books based on optional title, author, and genre and returns a single page of results.
+     *
+     * @param title  book title (nullable)
+     * @param author book author (nullable)
+     * @param genre  book genre (nullable)
+     * @param page   the page number (1-based index)
+     * @param size   the number of books per page
+     * @return the requested page of matching books
+     */
+    Page<BookDto> searchPage(String title, String author, String genre, int page, int size);
 }
@@ -0,0 +1,18 @@
+package com.library.app.service;
+
+import com.library.app.dto.CatalogImportReportDto;
+
+import java.io.Reader;
+
+/**
+ * Service interface for importing books and their copies in bulk from a CSV or TSV file.
+ */
+public interface CatalogImportService {
+    /**
+     * Imports every valid line of the file in one transaction and reports the rejected lines.
+     *
+     * @param reader the file contents
+     * @return the import report
+     */
+    CatalogImportReportDto importCatalog(Reader reader);
+}
@@ -0,0 +1,40 @@
+package com.library.app.service;
+
+import com.library.app.model.CopyStatus;
+import com.library.app.model.OrderStatus;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Service interface for exporting orders, books and copies as UTF-8 CSV.
+ */
+public interface ExportService {
+    /**
+     * Writes the orders issued within the given dates, with their user, book and copy details.
+     *
+     * @param from   the first issue date exported, or {@code null} for no lower bound
+     * @param to     the last issue date exported, or {@code null} for no upper bound
+     * @param status the order status exported, or {@code null} for all statuses
+     * @param out    the stream to write to; left open
+     * @return the number of orders written
+     */
+    long exportOrders(LocalDate from, LocalDate to, OrderStatus status, OutputStream out);
+
+    /**
+     * Writes all books.
+     *
+     * @param out the stream to write to; left open
+     * @return the number of books written
+     */
+    long exportBooks(OutputStream out);
+
+    /**
+     * Writes book copies with their book details.
+     *
+     * @param status the copy status exported, or {@code null} for all statuses
+     * @param out    the stream to write to; left open
+     * @return the number of copies written
+     */
+    long exportCopies(CopyStatus status, OutputStream out);
+}
@@ -1,13 +1,20 @@
 package com.library.app.service;
 
 import com.library.app.dto.BookStatsDto;
+import com.library.app.dto.CopyHolderDto;
+import com.library.app.dto.OrderDto;
 import com.library.app.dto.UserStatsDto;
 import com.library.app.model.Order;
 import com.library.app.model.OrderStatus;
+import com.library.app.model.OrderStatusFilter;
 import com.library.app.model.OrderType;
+import com.library.app.util.CursorPage;
+import com.library.app.util.KeysetCursor;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -80,19 +87,41 @@ public interface OrderService {
     Optional<String> getIssuedOrReserved(Long copyId);
 
     /**
-     * Returns all orders placed by the specified user.
+     * Returns the reader holding or awaiting each of the given copies.
+     *
+     * @param copyIds the IDs of the book copies
+     * @return map of copy ID to its holder; copies that are not held are absent
+     */
+    Map<Long, CopyHolderDto> getHoldersByCopyIds(Collection<Long> copyIds);
+
+    /**
+     * Returns the pending and issued orders of each of the given users.
+     *
+     * @param userIds the IDs of the users
+     * @return map of user ID to its active orders, newest first, in the iteration order of {@code userIds}
+     */
+    Map<Long, List<OrderDto>> getActiveOrdersByUserIds(Collection<Long> userIds);
+
+    /**
+     * Returns one page of the orders placed by the specified user, newest first.
+     * The page size is capped at a server-side maximum whatever the caller asks for.
      *
      * @param username the username of the user
-     * @return list of orders
+     * @param cursor   the position to continue from, or {@code null} for the first page
+     * @param limit    the requested number of orders on the page
+     * @param filter   the status group to restrict the orders to, or {@code null} for all orders
+     * @return the page of orders with the cursors of its neighbouring pages
      */
-    List<Order> getOrdersByUsername(String username);
+    CursorPage<Order> getOrdersByUsername(String username, KeysetCursor cursor, int limit, OrderStatusFilter filter);
 
     /**
-     * Returns all orders in the system.
+     * Retrieves one page of all orders, newest first.
      *
-     * @return list of all orders
+     * @param cursor the position to continue from, or {@code null} for the first page
+     * @param limit  the maximum number of orders on the page
+     * @return the page of orders with the cursors of its neighbouring pages
      */
-    List<Order> getAllOrders();
+    CursorPage<Order> getAllOrders(KeysetCursor cursor, int limit);
 
     /**
      * Returns the most requested books, ordered by number of requests.
@@ -0,0 +1,27 @@
+package com.library.app.service;
+
+import com.library.app.config.QueryStats;
+import com.library.app.dto.ReportSnapshotDto;
+
+import java.util.List;
+
+/**
+ * Service interface for building the administrator report dashboard.
+ */
+public interface ReportService {
+    /**
+     * Builds a snapshot of the library-wide counters and the top-N lists.
+     *
+     * @param bookLimit maximum number of most requested books to include
+     * @param userLimit maximum number of most active readers to include
+     * @return the report snapshot
+     */
+    ReportSnapshotDto getSnapshot(int bookLimit, int userLimit);
+
+    /**
+     * Returns the execution statistics of every SQL fingerprint run since startup.
+     *
+     * @return the statistics per fingerprint, the one with the highest total execution time first
+     */
+    List<QueryStats> getQueryStats();
+}
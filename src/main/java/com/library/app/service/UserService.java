@@ -1,11 +1,10 @@
 package com.library.app.service;
 
 import com.library.app.dto.UserDto;
-import com.library.app.model.Order;
 import com.library.app.model.User;
+import com.library.app.util.Page;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -59,11 +58,14 @@ public interface UserService {
     Optional<User> getById(Long id);
 
     /**
-     * Returns a map of readers and their currently active orders.
+     * Returns one page of readers with currently active orders, ordered by username.
      *
-     * @return map with users as keys and list of their active orders as values
+     * @param username part of the username to match, or {@code null} for all readers
+     * @param page     the page number (1-based index)
+     * @param size     the number of readers per page
+     * @return the requested page of readers
      */
-    Map<User, List<Order>> getReadersWithActiveOrders();
+    Page<UserDto> getReadersWithActiveOrders(String username, int page, int size);
 
     /**
      * Retrieves a list of all UserDto objects.
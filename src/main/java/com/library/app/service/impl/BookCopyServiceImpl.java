@@ -1,15 +1,17 @@
 package com.library.app.service.impl;
 
+import com.library.app.config.TransactionManager;
 import com.library.app.dao.BookCopyDao;
+import com.library.app.model.Book;
 import com.library.app.model.BookCopy;
 import com.library.app.model.CopyStatus;
 import com.library.app.service.BookCopyService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -18,21 +20,27 @@ import java.util.Optional;
  */
 @Service
 public class BookCopyServiceImpl implements BookCopyService {
-    private static final Logger logger = LoggerFactory.getLogger(BookCopyServiceImpl.class);
-    private static final String INVALID_INVENTORY_NUMBER_FORMAT = "Invalid inventory number format: {}";
     private static final String INV_04_D = "INV-%04d";
     private static final String BOOK_COPY_MUST_NOT_BE_NULL = "BookCopy must not be null";
+    private static final String BOOK_MUST_NOT_BE_NULL = "Book must not be null";
 
     private final BookCopyDao bookCopyDao;
+    private final TransactionManager transactionManager;
+    private final LibraryCounters libraryCounters;
 
     /**
      * Constructs a {@code BookCopyServiceImpl} with the specified data access object.
      *
-     * @param bookCopyDao the DAO responsible for managing book copies
+     * @param bookCopyDao        the DAO responsible for managing book copies
+     * @param transactionManager runs bulk intake in one transaction
+     * @param libraryCounters    the dashboard counters updated when copies are added, changed or deleted
      */
     @Autowired
-    public BookCopyServiceImpl(BookCopyDao bookCopyDao) {
+    public BookCopyServiceImpl(BookCopyDao bookCopyDao, TransactionManager transactionManager,
+                               LibraryCounters libraryCounters) {
         this.bookCopyDao = bookCopyDao;
+        this.transactionManager = transactionManager;
+        this.libraryCounters = libraryCounters;
     }
 
     /**
@@ -57,6 +65,17 @@ public class BookCopyServiceImpl implements BookCopyService {
         return bookCopyDao.findAllByBookId(id);
     }
 
+    /**
+     * Retrieves all copies of the given books with a single query.
+     *
+     * @param ids the book IDs
+     * @return map of book ID to its copies
+     */
+    @Override
+    public Map<Long, List<BookCopy>> getAllByBookIds(Collection<Long> ids) {
+        return bookCopyDao.findAllByBookIds(ids);
+    }
+
     /**
      * Saves a new book copy.
      *
@@ -66,6 +85,30 @@ public class BookCopyServiceImpl implements BookCopyService {
     public void saveBook(BookCopy copy) {
         Objects.requireNonNull(copy, BOOK_COPY_MUST_NOT_BE_NULL);
         bookCopyDao.save(copy);
+        libraryCounters.copyAdded(copy.getStatus());
+    }
+
+    /**
+     * Adds the given number of available copies of a book, with freshly allocated inventory numbers, in one
+     * transaction and one batch.
+     *
+     * @param book  the book the copies belong to
+     * @param count the number of copies to add
+     * @return the inventory numbers skipped because they were already taken
+     */
+    @Override
+    public List<String> addCopies(Book book, int count) {
+        Objects.requireNonNull(book, BOOK_MUST_NOT_BE_NULL);
+        List<BookCopy> copies = generateInventoryNumbers(count).stream()
+                .map(number -> new BookCopy(null, number, book, CopyStatus.AVAILABLE))
+                .toList();
+        List<String> duplicates = transactionManager.callInTransaction(() -> bookCopyDao.saveAll(copies));
+
+        for (int i = duplicates.size(); i < copies.size(); i++) {
+            libraryCounters.copyAdded(CopyStatus.AVAILABLE);
+        }
+
+        return duplicates;
     }
 
     /**
@@ -75,7 +118,9 @@ public class BookCopyServiceImpl implements BookCopyService {
      */
     @Override
     public void deleteBook(Long copyId) {
+        Optional<CopyStatus> status = bookCopyDao.findById(copyId).map(BookCopy::getStatus);
         bookCopyDao.delete(copyId);
+        status.ifPresent(libraryCounters::copyDeleted);
     }
 
     /**
@@ -86,7 +131,9 @@ public class BookCopyServiceImpl implements BookCopyService {
     @Override
     public void update(BookCopy copy) {
         Objects.requireNonNull(copy, BOOK_COPY_MUST_NOT_BE_NULL);
+        Optional<CopyStatus> status = bookCopyDao.findById(copy.getId()).map(BookCopy::getStatus);
         bookCopyDao.update(copy);
+        status.ifPresent(previous -> libraryCounters.copyStatusChanged(previous, copy.getStatus()));
     }
 
     /**
@@ -101,27 +148,27 @@ public class BookCopyServiceImpl implements BookCopyService {
     }
 
     /**
-     * Generates the next inventory number for a given book.
+     * Allocates the next inventory number from the database sequence, so concurrent callers never receive
+     * the same number.
      *
-     * @param bookId the ID of the book
-     * @return the generated inventory number (e.g., "INV-0002")
+     * @return the allocated inventory number (e.g., "INV-0002")
      */
     @Override
-    public String generateNextInventoryNumber(Long bookId) {
-        Optional<String> last = bookCopyDao.findLastInventoryNumber(bookId);
-
-        int nextNumber = 1;
-        if (last.isPresent()) {
-            String lastInv = last.get();
-            try {
-                String numberPart = lastInv.substring(4);
-                nextNumber = Integer.parseInt(numberPart) + 1;
-            } catch (NumberFormatException e) {
-                logger.warn(INVALID_INVENTORY_NUMBER_FORMAT, lastInv, e);
-            }
-        }
+    public String generateNextInventoryNumber() {
+        return generateInventoryNumbers(1).getFirst();
+    }
 
-        return String.format(INV_04_D, nextNumber);
+    /**
+     * Allocates a block of inventory numbers with a single database round trip.
+     *
+     * @param count how many numbers to allocate
+     * @return the allocated inventory numbers, in ascending order
+     */
+    @Override
+    public List<String> generateInventoryNumbers(int count) {
+        return bookCopyDao.allocateInventoryNumbers(count).stream()
+                .map(number -> String.format(INV_04_D, number))
+                .toList();
     }
 
     /**
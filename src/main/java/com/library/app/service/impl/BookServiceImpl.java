@@ -1,10 +1,12 @@
 package com.library.app.service.impl;
 
 import com.library.app.dao.BookDao;
+import com.library.app.dto.BookDetailsDto;
 import com.library.app.dto.BookDto;
 import com.library.app.mapper.BookMapper;
 import com.library.app.model.Book;
 import com.library.app.service.BookService;
+import com.library.app.util.Page;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -17,15 +19,18 @@ import java.util.Optional;
 @Service
 public class BookServiceImpl implements BookService {
     private final BookDao bookDao;
+    private final LibraryCounters libraryCounters;
 
     /**
      * Constructs a {@code BookServiceImpl} with the specified {@code BookDao}.
      *
-     * @param bookDao the DAO responsible for managing book operations
+     * @param bookDao         the DAO responsible for managing book operations
+     * @param libraryCounters the dashboard counters updated when books are added or deleted
      */
     @Autowired
-    public BookServiceImpl(BookDao bookDao) {
+    public BookServiceImpl(BookDao bookDao, LibraryCounters libraryCounters) {
         this.bookDao = bookDao;
+        this.libraryCounters = libraryCounters;
     }
 
     /**
@@ -43,6 +48,21 @@ public class BookServiceImpl implements BookService {
                 .toList();
     }
 
+    /**
+     * Searches books using optional filters and returns one page of results.
+     *
+     * @param title  the title filter
+     * @param author the author filter
+     * @param genre  the genre filter
+     * @param page   the page number (1-based index)
+     * @param size   the number of books per page
+     * @return the requested page of matching books
+     */
+    @Override
+    public Page<BookDto> searchPage(String title, String author, String genre, int page, int size) {
+        return bookDao.searchPage(title, author, genre, page, size).map(BookMapper::toDto);
+    }
+
     /**
      * Retrieves a book by its ID.
      *
@@ -54,6 +74,18 @@ public class BookServiceImpl implements BookService {
         return bookDao.findById(id).map(BookMapper::toDto);
     }
 
+    /**
+     * Retrieves everything the book detail page needs with a single query.
+     *
+     * @param id       the book ID
+     * @param username the current user's username, or {@code null} for anonymous visitors
+     * @return optional containing the book details if the book is found
+     */
+    @Override
+    public Optional<BookDetailsDto> getDetails(Long id, String username) {
+        return bookDao.findDetails(id, username).map(BookMapper::toDto);
+    }
+
     /**
      * Saves a new book.
      *
@@ -63,6 +95,7 @@ public class BookServiceImpl implements BookService {
     public void saveBook(BookDto bookDto) {
         Book book = BookMapper.toEntity(bookDto);
         bookDao.save(book);
+        libraryCounters.bookAdded();
     }
 
     /**
@@ -84,6 +117,7 @@ public class BookServiceImpl implements BookService {
     @Override
     public void deleteBook(Long id) {
         bookDao.delete(id);
+        libraryCounters.bookDeleted();
     }
 
     /**
@@ -0,0 +1,106 @@
+package com.library.app.service.impl;
+
+import com.library.app.dao.ExportDao;
+import com.library.app.model.CopyStatus;
+import com.library.app.model.OrderStatus;
+import com.library.app.service.ExportService;
+import com.library.app.util.CsvWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Service implementation for CSV exports.
+ * <p>
+ * Records are buffered in a fixed-size buffer and flushed to the stream as it fills, so memory use does not grow
+ * with the number of rows exported.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String ORDERS = "orders";
+    private static final String BOOKS = "books";
+    private static final String COPIES = "copies";
+    private static final String EXPORTED = "Exported {} {} in {} ms";
+    private static final Logger logger = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    private final ExportDao exportDao;
+
+    /**
+     * Constructs an {@code ExportServiceImpl}.
+     *
+     * @param exportDao DAO streaming the exported rows
+     */
+    @Autowired
+    public ExportServiceImpl(ExportDao exportDao) {
+        this.exportDao = exportDao;
+    }
+
+    /**
+     * Writes the orders matching the filters as CSV.
+     *
+     * @param from   the first issue date exported, or {@code null} for no lower bound
+     * @param to     the last issue date exported, or {@code null} for no upper bound
+     * @param status the order status exported, or {@code null} for all statuses
+     * @param out    the stream to write to; left open
+     * @return the number of orders written
+     * @throws RuntimeException if the orders cannot be read or written
+     */
+    @Override
+    public long exportOrders(LocalDate from, LocalDate to, OrderStatus status, OutputStream out) {
+        return export(ORDERS, out, writer -> exportDao.exportOrders(from, to, status, writer));
+    }
+
+    /**
+     * Writes all books as CSV.
+     *
+     * @param out the stream to write to; left open
+     * @return the number of books written
+     * @throws RuntimeException if the books cannot be read or written
+     */
+    @Override
+    public long exportBooks(OutputStream out) {
+        return export(BOOKS, out, exportDao::exportBooks);
+    }
+
+    /**
+     * Writes the copies with the given status, or all copies, as CSV.
+     *
+     * @param status the copy status exported, or {@code null} for all statuses
+     * @param out    the stream to write to; left open
+     * @return the number of copies written
+     * @throws RuntimeException if the copies cannot be read or written
+     */
+    @Override
+    public long exportCopies(CopyStatus status, OutputStream out) {
+        return export(COPIES, out, writer -> exportDao.exportCopies(status, writer));
+    }
+
+    private long export(String name, OutputStream out, ToLongFunction<CsvWriter> export) {
+        long start = System.nanoTime();
+        Writer buffered = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long rows = export.applyAsLong(new CsvWriter(buffered));
+
+        try {
+            buffered.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        logger.info(EXPORTED, rows, name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        return rows;
+    }
+}
@@ -0,0 +1,295 @@
+package com.library.app.service.impl;
+
+import com.library.app.dao.ReportDao;
+import com.library.app.model.CopyStatus;
+import com.library.app.model.LibraryCounts;
+import com.library.app.model.LibraryTotals;
+import com.library.app.model.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory registry of the library row counts shown on the report dashboard, so the dashboard no longer
+ * scans the tables on every load.
+ * <p>
+ * Every counter is a {@link LongAdder}, so concurrent write paths update it without contending on a single
+ * cell. The services adjust the counters after each write commits. {@link #reconcile()} seeds them from the
+ * database at startup and then periodically corrects any drift, e.g. from writes made outside the services
+ * or from paths that do not know a row's previous status.
+ */
+@Component
+public class LibraryCounters {
+    private static final String ACTIVE = "ACTIVE";
+    private static final String BOOKS = "books";
+    private static final String COPIES = "copies.";
+    private static final String ORDERS = "orders.";
+    private static final String USERS = "users.";
+    private static final String LIBRARY_COUNTERS_SEEDED = "Library counters seeded from the database";
+    private static final String COUNTER_DRIFTED = "Counter '{}' drifted by {}, corrected to {}";
+    private static final String RECONCILIATION_CORRECTED_DRIFT = "Counter reconciliation corrected a total drift of {}";
+    private static final String RECONCILIATION_FOUND_NO_DRIFT = "Counter reconciliation found no drift";
+    private static final String FAILED_TO_RECONCILE_COUNTERS = "Failed to reconcile library counters";
+    private static final Logger logger = LoggerFactory.getLogger(LibraryCounters.class);
+
+    private final ReportDao reportDao;
+    private final LongAdder books = new LongAdder();
+    private final Map<CopyStatus, LongAdder> copies = new EnumMap<>(CopyStatus.class);
+    private final Map<OrderStatus, LongAdder> orders = new EnumMap<>(OrderStatus.class);
+    private final Map<String, LongAdder> users = new ConcurrentHashMap<>();
+    private volatile boolean seeded;
+
+    /**
+     * Constructs a {@code LibraryCounters} registry with all counters at zero.
+     *
+     * @param reportDao DAO providing the per-status row counts used for seeding and reconciliation
+     */
+    @Autowired
+    public LibraryCounters(ReportDao reportDao) {
+        this.reportDao = reportDao;
+
+        for (CopyStatus status : CopyStatus.values()) {
+            copies.put(status, new LongAdder());
+        }
+
+        for (OrderStatus status : OrderStatus.values()) {
+            orders.put(status, new LongAdder());
+        }
+    }
+
+    /**
+     * Tells whether the counters have been seeded from the database at least once.
+     *
+     * @return {@code true} if the counters reflect the database
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * Returns the dashboard totals derived from the counters.
+     *
+     * @return the library-wide totals
+     */
+    public LibraryTotals getTotals() {
+        long totalCopies = copies.values().stream().mapToLong(LongAdder::sum).sum();
+        LongAdder activeUsers = users.get(ACTIVE);
+
+        return new LibraryTotals(
+                books.sum(),
+                totalCopies,
+                copies.get(CopyStatus.ISSUED).sum(),
+                orders.get(OrderStatus.RETURNED).sum(),
+                activeUsers == null ? 0 : activeUsers.sum()
+        );
+    }
+
+    /**
+     * Records a book added to the catalog.
+     */
+    public void bookAdded() {
+        books.increment();
+    }
+
+    /**
+     * Records several books added to the catalog at once.
+     *
+     * @param count the number of books added
+     */
+    public void booksAdded(long count) {
+        books.add(count);
+    }
+
+    /**
+     * Records a book removed from the catalog.
+     */
+    public void bookDeleted() {
+        books.decrement();
+    }
+
+    /**
+     * Records a new book copy.
+     *
+     * @param status the status of the new copy
+     */
+    public void copyAdded(CopyStatus status) {
+        if (status != null) {
+            copies.get(status).increment();
+        }
+    }
+
+    /**
+     * Records several new book copies at once.
+     *
+     * @param status the status of the new copies
+     * @param count  the number of copies added
+     */
+    public void copiesAdded(CopyStatus status, long count) {
+        if (status != null) {
+            copies.get(status).add(count);
+        }
+    }
+
+    /**
+     * Records a book copy moving from one status to another.
+     *
+     * @param from the previous status
+     * @param to   the new status
+     */
+    public void copyStatusChanged(CopyStatus from, CopyStatus to) {
+        if (from != to) {
+            copyDeleted(from);
+            copyAdded(to);
+        }
+    }
+
+    /**
+     * Records a deleted book copy.
+     *
+     * @param status the status the copy had
+     */
+    public void copyDeleted(CopyStatus status) {
+        if (status != null) {
+            copies.get(status).decrement();
+        }
+    }
+
+    /**
+     * Records a new order.
+     *
+     * @param status the status of the new order
+     */
+    public void orderAdded(OrderStatus status) {
+        orders.get(status).increment();
+    }
+
+    /**
+     * Records an order moving from one status to another.
+     *
+     * @param from the previous status
+     * @param to   the new status
+     */
+    public void orderStatusChanged(OrderStatus from, OrderStatus to) {
+        if (from != to) {
+            orders.get(from).decrement();
+            orders.get(to).increment();
+        }
+    }
+
+    /**
+     * Records a new user.
+     *
+     * @param status the account status of the new user
+     */
+    public void userAdded(String status) {
+        if (status != null) {
+            user(status).increment();
+        }
+    }
+
+    /**
+     * Records a user account moving from one status to another.
+     *
+     * @param from the previous status
+     * @param to   the new status
+     */
+    public void userStatusChanged(String from, String to) {
+        if (!Objects.equals(from, to)) {
+            userDeleted(from);
+            userAdded(to);
+        }
+    }
+
+    /**
+     * Records a deleted user.
+     *
+     * @param status the account status the user had
+     */
+    public void userDeleted(String status) {
+        if (status != null) {
+            user(status).decrement();
+        }
+    }
+
+    /**
+     * Seeds the counters at startup and then corrects their drift against the database at a fixed delay
+     * ({@code counters.reconcile-interval-ms}, five minutes by default). A failed run is logged and retried on
+     * the next schedule.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            boolean firstRun = !seeded;
+            long drift = reconcile(reportDao.countByStatus());
+
+            if (firstRun) {
+                logger.info(LIBRARY_COUNTERS_SEEDED);
+            } else if (drift > 0) {
+                logger.warn(RECONCILIATION_CORRECTED_DRIFT, drift);
+            } else {
+                logger.debug(RECONCILIATION_FOUND_NO_DRIFT);
+            }
+        } catch (RuntimeException e) {
+            logger.error(FAILED_TO_RECONCILE_COUNTERS, e);
+        }
+    }
+
+    /**
+     * Moves every counter to the given database count. A write that commits while the counts are being read
+     * can be reported as a small drift here and is settled again by the next run.
+     *
+     * @param counts the per-status row counts read from the database
+     * @return the sum of the absolute differences found, i.e. the total drift
+     */
+    long reconcile(LibraryCounts counts) {
+        boolean report = seeded;
+        long drift = correct(BOOKS, books, counts.getBooks(), report);
+
+        for (Map.Entry<CopyStatus, LongAdder> entry : copies.entrySet()) {
+            drift += correct(COPIES + entry.getKey().name(), entry.getValue(),
+                    counts.getCopies().getOrDefault(entry.getKey(), 0L), report);
+        }
+
+        for (Map.Entry<OrderStatus, LongAdder> entry : orders.entrySet()) {
+            drift += correct(ORDERS + entry.getKey().name(), entry.getValue(),
+                    counts.getOrders().getOrDefault(entry.getKey(), 0L), report);
+        }
+
+        counts.getUsers().keySet().forEach(this::user);
+
+        for (Map.Entry<String, LongAdder> entry : users.entrySet()) {
+            drift += correct(USERS + entry.getKey(), entry.getValue(),
+                    counts.getUsers().getOrDefault(entry.getKey(), 0L), report);
+        }
+
+        seeded = true;
+
+        return drift;
+    }
+
+    private static long correct(String name, LongAdder counter, long actual, boolean report) {
+        long difference = actual - counter.sum();
+
+        if (difference != 0) {
+            counter.add(difference);
+
+            if (report) {
+                logger.warn(COUNTER_DRIFTED, name, difference, actual);
+            }
+        }
+
+        return Math.abs(difference);
+    }
+
+    private LongAdder user(String status) {
+        return users.computeIfAbsent(status, key -> new LongAdder());
+    }
+}
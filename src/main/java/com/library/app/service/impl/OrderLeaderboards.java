@@ -0,0 +1,194 @@
+package com.library.app.service.impl;
+
+import com.library.app.dao.OrderDao;
+import com.library.app.dto.BookStatsDto;
+import com.library.app.dto.UserStatsDto;
+import com.library.app.model.Book;
+import com.library.app.model.Order;
+import com.library.app.util.Leaderboard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory leaderboards of the most requested books and the most active readers, so the report dashboard
+ * does not group and sort the whole orders table on every view.
+ * <p>
+ * Like the SQL they replace, the boards count orders that have been issued (ISSUED or RETURNED), and only
+ * readers with status {@code ACTIVE} are ranked. They count over all time, or over the last
+ * {@code leaderboard.window-days} days when that is set. {@link #rebuild()} loads them from the database at
+ * startup and then periodically, which also settles anything the incremental updates missed, such as edited
+ * book titles.
+ */
+@Component
+public class OrderLeaderboards {
+    private static final String ACTIVE = "ACTIVE";
+    private static final String SPACE = " ";
+    private static final String LEADERBOARDS_REBUILT = "Order leaderboards rebuilt from {} book rows and {} user rows";
+    private static final String FAILED_TO_REBUILD_LEADERBOARDS = "Failed to rebuild order leaderboards";
+    private static final Logger logger = LoggerFactory.getLogger(OrderLeaderboards.class);
+
+    private final OrderDao orderDao;
+    private final int windowDays;
+    private final int capacity;
+    private final Clock clock;
+    private volatile Boards boards;
+
+    /**
+     * Constructs the leaderboards, empty until the first {@link #rebuild()}.
+     *
+     * @param orderDao   DAO providing the per-day request counts
+     * @param windowDays the number of days counted, or {@code 0} to count all time
+     * @param capacity   the largest list length served from memory
+     */
+    @Autowired
+    public OrderLeaderboards(OrderDao orderDao,
+                             @Value("${leaderboard.window-days:0}") int windowDays,
+                             @Value("${leaderboard.capacity:50}") int capacity) {
+        this(orderDao, windowDays, capacity, Clock.systemDefaultZone());
+    }
+
+    OrderLeaderboards(OrderDao orderDao, int windowDays, int capacity, Clock clock) {
+        this.orderDao = orderDao;
+        this.windowDays = windowDays;
+        this.capacity = capacity;
+        this.clock = clock;
+    }
+
+    /**
+     * Tells whether lists of the given length can be served from memory.
+     *
+     * @param limit the requested list length
+     * @return {@code true} if the boards are loaded and {@code limit} does not exceed their capacity
+     */
+    public boolean canServe(int limit) {
+        return boards != null && limit <= capacity;
+    }
+
+    /**
+     * Counts an order that has just been issued.
+     *
+     * @param order the issued order, with its user and its copy's book
+     */
+    public void orderIssued(Order order) {
+        Boards current = boards;
+
+        if (current == null) {
+            return;
+        }
+
+        Book book = order.getBookCopy().getBook();
+        current.bookLabels.putIfAbsent(book.getId(), new BookStatsDto(book.getTitle(),
+                book.getAuthorFirstName() + SPACE + book.getAuthorLastName(), null));
+        current.books.record(book.getId(), order.getIssueDate(), 1);
+
+        current.usernames.putIfAbsent(order.getUser().getId(), order.getUser().getUsername());
+        current.users.record(order.getUser().getId(), order.getIssueDate(), 1);
+    }
+
+    /**
+     * Shows or hides a reader on the active-readers board after their account status changed.
+     *
+     * @param userId the ID of the user
+     * @param status the new account status
+     */
+    public void userStatusChanged(Long userId, String status) {
+        Boards current = boards;
+
+        if (current != null) {
+            current.users.setExcluded(userId, !ACTIVE.equals(status));
+        }
+    }
+
+    /**
+     * Returns the most requested books.
+     *
+     * @param limit maximum number of books, at most the configured capacity
+     * @return the books, most requested first
+     */
+    public List<BookStatsDto> getTopRequestedBooks(int limit) {
+        Boards current = boards;
+
+        return current.books.top(limit).stream()
+                .map(entry -> {
+                    BookStatsDto label = current.bookLabels.get(entry.getId());
+                    return new BookStatsDto(label.getTitle(), label.getAuthorFullName(), entry.getCount());
+                })
+                .toList();
+    }
+
+    /**
+     * Returns the most active readers.
+     *
+     * @param limit maximum number of readers, at most the configured capacity
+     * @return the readers, most active first
+     */
+    public List<UserStatsDto> getTopActiveUsers(int limit) {
+        Boards current = boards;
+
+        return current.users.top(limit).stream()
+                .map(entry -> new UserStatsDto(current.usernames.get(entry.getId()), entry.getCount()))
+                .toList();
+    }
+
+    /**
+     * Loads fresh boards from the database at startup and then at a fixed delay
+     * ({@code leaderboard.rebuild-interval-ms}, one hour by default), and swaps them in whole. An order issued
+     * while the counts are being read may be missed or counted twice until the next rebuild. A failed run is
+     * logged and leaves the current boards in place.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${leaderboard.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        try {
+            LocalDate today = LocalDate.now(clock);
+            // An all-time board ignores days, so every row can be counted in the undated group
+            LocalDate since = windowDays > 0 ? today.minusDays(windowDays - 1) : today.plusDays(1);
+            List<Object[]> bookRows = orderDao.countRequestsByBookAndDay(since);
+            List<Object[]> userRows = orderDao.countRequestsByUserAndDay(since);
+            Boards rebuilt = new Boards(new Leaderboard(windowDays, capacity, clock),
+                    new Leaderboard(windowDays, capacity, clock));
+
+            for (Object[] row : bookRows) {
+                long bookId = (Long) row[0];
+                rebuilt.bookLabels.putIfAbsent(bookId, new BookStatsDto((String) row[1], row[2] + SPACE + row[3], null));
+                rebuilt.books.record(bookId, (LocalDate) row[4], (Long) row[5]);
+            }
+
+            for (Object[] row : userRows) {
+                long userId = (Long) row[0];
+                rebuilt.usernames.putIfAbsent(userId, (String) row[1]);
+                rebuilt.users.setExcluded(userId, !ACTIVE.equals(row[2]));
+                rebuilt.users.record(userId, (LocalDate) row[3], (Long) row[4]);
+            }
+
+            boards = rebuilt;
+            logger.info(LEADERBOARDS_REBUILT, bookRows.size(), userRows.size());
+        } catch (RuntimeException e) {
+            logger.error(FAILED_TO_REBUILD_LEADERBOARDS, e);
+        }
+    }
+
+    /**
+     * One generation of boards with the labels of the IDs they rank.
+     */
+    private static class Boards {
+        private final Leaderboard books;
+        private final Leaderboard users;
+        private final Map<Long, BookStatsDto> bookLabels = new ConcurrentHashMap<>();
+        private final Map<Long, String> usernames = new ConcurrentHashMap<>();
+
+        private Boards(Leaderboard books, Leaderboard users) {
+            this.books = books;
+            this.users = users;
+        }
+    }
+}
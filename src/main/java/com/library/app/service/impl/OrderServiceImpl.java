@@ -1,29 +1,43 @@
 package com.library.app.service.impl;
 
+import com.library.app.config.TransactionManager;
 import com.library.app.dao.BookCopyDao;
 import com.library.app.dao.OrderDao;
 import com.library.app.dao.UserDao;
 import com.library.app.dto.BookStatsDto;
+import com.library.app.dto.CopyHolderDto;
+import com.library.app.dto.OrderDto;
 import com.library.app.dto.UserStatsDto;
 import com.library.app.mapper.BookStatsMapper;
+import com.library.app.mapper.CopyHolderMapper;
+import com.library.app.mapper.OrderMapper;
 import com.library.app.mapper.UserStatsMapper;
 import com.library.app.model.*;
 import com.library.app.service.OrderService;
+import com.library.app.util.CursorPage;
+import com.library.app.util.KeysetCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Service implementation for managing book orders.
+ * Each state-changing operation runs as one unit of work: all of its DAO calls share a single connection
+ * and are committed or rolled back together.
  */
 @Service
 public class OrderServiceImpl implements OrderService {
     private static final Logger logger = LoggerFactory.getLogger(OrderServiceImpl.class);
+    private static final int MAX_PAGE_SIZE = 50;
     private static final String UNKNOWN_ORDER_TYPE_LOG = "Unknown order type: %s";
     private static final String USER_NOT_FOUND_WHEN_CREATING_ORDER = "User '{}' not found when creating order";
     private static final String USER_NOT_FOUND = "User not found";
@@ -35,9 +49,6 @@ public class OrderServiceImpl implements OrderService {
     private static final String ONLY_ISSUED_ORDERS_CAN_BE_RETURNED = "Only ISSUED orders can be returned";
     private static final String ORDER_NOT_FOUND_WITH_ID_REQUESTED_BY_USER =
             "Order not found with id={}, requested by user={}";
-    private static final String USER_TRIED_TO_CANCEL_SOMEONE_ELSE_ORDER_ID =
-            "User '{}' tried to cancel someone else's order ID={}";
-    private static final String UNAUTHORIZED_TO_CANCEL_THIS_ORDER = "Unauthorized to cancel this order";
     private static final String USER_TRIED_TO_CANCEL_NON_PENDING_ORDER =
             "User '{}' tried to cancel non-pending order ID={} with status={}";
     private static final String ONLY_PENDING_ORDERS_CAN_BE_CANCELED = "Only pending orders can be canceled";
@@ -50,23 +61,35 @@ public class OrderServiceImpl implements OrderService {
     private final OrderDao orderDao;
     private final UserDao userDao;
     private final BookCopyDao bookCopyDao;
+    private final TransactionManager transactionManager;
+    private final LibraryCounters libraryCounters;
+    private final OrderLeaderboards orderLeaderboards;
 
     /**
      * Constructs an {@code OrderServiceImpl} with necessary DAOs for managing book orders.
      *
-     * @param orderDao    the DAO responsible for order management
-     * @param userDao     the DAO for user-related operations
-     * @param bookCopyDao the DAO for managing book copies
+     * @param orderDao           the DAO responsible for order management
+     * @param userDao            the DAO for user-related operations
+     * @param bookCopyDao        the DAO for managing book copies
+     * @param transactionManager runs each state-changing operation in one transaction
+     * @param libraryCounters    the dashboard counters updated after each committed status change
+     * @param orderLeaderboards  the most requested books and most active readers, updated when orders are issued
      */
     @Autowired
-    public OrderServiceImpl(OrderDao orderDao, UserDao userDao, BookCopyDao bookCopyDao) {
+    public OrderServiceImpl(OrderDao orderDao, UserDao userDao, BookCopyDao bookCopyDao,
+                            TransactionManager transactionManager, LibraryCounters libraryCounters,
+                            OrderLeaderboards orderLeaderboards) {
         this.orderDao = orderDao;
         this.userDao = userDao;
         this.bookCopyDao = bookCopyDao;
+        this.transactionManager = transactionManager;
+        this.libraryCounters = libraryCounters;
+        this.orderLeaderboards = orderLeaderboards;
     }
 
     /**
-     * Creates a new book order for a given user.
+     * Creates a new book order for a given user. The copy is claimed atomically, so concurrent requests
+     * for the same book always reserve different copies.
      *
      * @param bookId   the ID of the book
      * @param username the username of the requester
@@ -76,74 +99,80 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public void createOrder(Long bookId, String username, OrderType type) {
-        User user = userDao.findByUsername(username)
-                .orElseThrow(() -> {
-                    logger.warn(USER_NOT_FOUND_WHEN_CREATING_ORDER, username);
-                    return new RuntimeException(USER_NOT_FOUND);
-                });
-
-        BookCopy copy = bookCopyDao.findAvailableCopy(bookId)
-                .orElseThrow(() -> {
-                    logger.warn(NO_AVAILABLE_COPIES_FOR_BOOK_ID, bookId);
-                    return new RuntimeException(NO_AVAILABLE_COPIES);
-                });
-
-        LocalDate today = LocalDate.now();
-        Order order = buildOrder(user, copy, type, today);
-        orderDao.save(order);
-        copy.setStatus(CopyStatus.RESERVED);
-        bookCopyDao.update(copy);
+        transactionManager.runInTransaction(() -> {
+            User user = userDao.findByUsername(username)
+                    .orElseThrow(() -> {
+                        logger.warn(USER_NOT_FOUND_WHEN_CREATING_ORDER, username);
+                        return new RuntimeException(USER_NOT_FOUND);
+                    });
+
+            BookCopy copy = bookCopyDao.claimAvailableCopy(bookId)
+                    .orElseThrow(() -> {
+                        logger.warn(NO_AVAILABLE_COPIES_FOR_BOOK_ID, bookId);
+                        return new RuntimeException(NO_AVAILABLE_COPIES);
+                    });
+
+            LocalDate today = LocalDate.now();
+            Order order = buildOrder(user, copy, type, today);
+            orderDao.save(order);
+            transactionManager.afterCommit(() -> {
+                libraryCounters.orderAdded(OrderStatus.PENDING);
+                libraryCounters.copyStatusChanged(CopyStatus.AVAILABLE, CopyStatus.RESERVED);
+            });
+        });
     }
 
     /**
-     * Retrieves all orders placed by the given user.
+     * Retrieves one page of the orders placed by the given user, newest first.
      *
      * @param username the username of the user
-     * @return list of orders
+     * @param cursor   the position to continue from, or {@code null} for the first page
+     * @param limit    the requested number of orders on the page, clamped to {@code 1..MAX_PAGE_SIZE}
+     * @param filter   the status group to restrict the orders to, or {@code null} for all orders
+     * @return the page of orders with the cursors of its neighbouring pages
      */
     @Override
-    public List<Order> getOrdersByUsername(String username) {
-        return orderDao.findByUsername(username);
+    public CursorPage<Order> getOrdersByUsername(String username, KeysetCursor cursor, int limit,
+                                                 OrderStatusFilter filter) {
+        return orderDao.findByUsername(username, cursor, Math.clamp(limit, 1, MAX_PAGE_SIZE), filter);
     }
 
     /**
-     * Retrieves all orders in the system.
+     * Retrieves one page of all orders, newest first.
      *
-     * @return list of orders
+     * @param cursor the position to continue from, or {@code null} for the first page
+     * @param limit  the maximum number of orders on the page
+     * @return the page of orders with the cursors of its neighbouring pages
      */
     @Override
-    public List<Order> getAllOrders() {
-        return orderDao.findAllOrders();
+    public CursorPage<Order> getAllOrders(KeysetCursor cursor, int limit) {
+        return orderDao.findAllOrders(cursor, limit);
     }
 
     /**
-     * Marks the order as returned and updates the book copy status.
+     * Marks the order as returned and releases its book copy. The status check and both updates are a single
+     * conditional statement, so an order returned twice concurrently is only returned once.
      *
      * @param orderId the ID of the returned order
      * @throws RuntimeException if the order is not found or is not in ISSUED status
      */
     @Override
     public void markAsReturned(Long orderId) {
-        Order order = orderDao.findById(orderId)
-                .orElseThrow(() -> {
-                    logger.warn(ORDER_NOT_FOUND_WITH_ID, orderId);
-
-                    return new RuntimeException(ORDER_NOT_FOUND);
-                });
-
-        if (order.getStatus() != OrderStatus.ISSUED) {
-            logger.warn(ATTEMPT_TO_RETURN_ORDER,
-                    orderId, order.getStatus());
-            throw new RuntimeException(ONLY_ISSUED_ORDERS_CAN_BE_RETURNED);
-        }
-
-        order.setStatus(OrderStatus.RETURNED);
-        order.setReturnDate(LocalDate.now());
-        orderDao.update(order);
+        transactionManager.runInTransaction(() -> {
+            OrderTransitionResult result =
+                    orderDao.transition(orderId, OrderTransition.RETURN, LocalDate.now(), null);
 
-        BookCopy copy = order.getBookCopy();
-        copy.setStatus(CopyStatus.AVAILABLE);
-        bookCopyDao.update(copy);
+            switch (result.getOutcome()) {
+                case NOT_FOUND:
+                    logger.warn(ORDER_NOT_FOUND_WITH_ID, orderId);
+                    throw new RuntimeException(ORDER_NOT_FOUND);
+                case WRONG_STATE:
+                    logger.warn(ATTEMPT_TO_RETURN_ORDER, orderId, result.getCurrentStatus());
+                    throw new RuntimeException(ONLY_ISSUED_ORDERS_CAN_BE_RETURNED);
+                default:
+                    recordStatusChange(OrderTransition.RETURN);
+            }
+        });
     }
 
     /**
@@ -157,6 +186,36 @@ public class OrderServiceImpl implements OrderService {
         return orderDao.findIssuedOrReserved(copyId);
     }
 
+    /**
+     * Finds the holders of the given copies with a single query.
+     *
+     * @param copyIds the IDs of the book copies
+     * @return map of copy ID to its holder
+     */
+    @Override
+    public Map<Long, CopyHolderDto> getHoldersByCopyIds(Collection<Long> copyIds) {
+        Map<Long, CopyHolderDto> holders = new HashMap<>();
+        orderDao.findHoldersByCopyIds(copyIds)
+                .forEach((copyId, order) -> holders.put(copyId, CopyHolderMapper.toDto(order)));
+
+        return holders;
+    }
+
+    /**
+     * Finds the active orders of the given users with a single query.
+     *
+     * @param userIds the IDs of the users
+     * @return map of user ID to its active orders
+     */
+    @Override
+    public Map<Long, List<OrderDto>> getActiveOrdersByUserIds(Collection<Long> userIds) {
+        Map<Long, List<OrderDto>> ordersByUserId = new LinkedHashMap<>();
+        orderDao.findActiveByUserIds(userIds)
+                .forEach((userId, orders) -> ordersByUserId.put(userId, orders.stream().map(OrderMapper::toDto).toList()));
+
+        return ordersByUserId;
+    }
+
     /**
      * Counts orders by their statuses.
      *
@@ -169,26 +228,34 @@ public class OrderServiceImpl implements OrderService {
     }
 
     /**
-     * Returns top requested books.
+     * Returns top requested books, from the in-memory leaderboard once it is loaded.
      *
      * @param limit maximum number of books to return
      * @return a list of BookStatsDto objects representing the top requested books
      */
     @Override
     public List<BookStatsDto> getTopRequestedBooks(int limit) {
+        if (orderLeaderboards.canServe(limit)) {
+            return orderLeaderboards.getTopRequestedBooks(limit);
+        }
+
         return orderDao.findTopRequestedBooks(limit).stream()
                 .map(BookStatsMapper::toDto)
                 .toList();
     }
 
     /**
-     * Returns top active users based on order count.
+     * Returns top active users based on order count, from the in-memory leaderboard once it is loaded.
      *
      * @param limit maximum number of users to return
      * @return a list of UserStatsDto objects representing the top active users
      */
     @Override
     public List<UserStatsDto> getTopActiveUsers(int limit) {
+        if (orderLeaderboards.canServe(limit)) {
+            return orderLeaderboards.getTopActiveUsers(limit);
+        }
+
         return orderDao.findTopActiveUsers(limit).stream()
                 .map(UserStatsMapper::toDto)
                 .toList();
@@ -207,42 +274,34 @@ public class OrderServiceImpl implements OrderService {
     }
 
     /**
-     * Cancels a pending order for the user.
+     * Cancels a pending order of the user and releases its book copy. Only the user's own orders are matched,
+     * so someone else's order is reported as not found.
      *
      * @param orderId the ID of the order to cancel
      * @param name    the username of the user attempting to cancel
-     * @throws RuntimeException if the order is not found, does not belong to the user, or is not in PENDING status
+     * @throws RuntimeException if the user has no such order, or it is not in PENDING status
      */
     @Override
     public void cancelOrder(Long orderId, String name) {
-        Order order = orderDao.findById(orderId)
-                .orElseThrow(() -> {
-                    logger.warn(ORDER_NOT_FOUND_WITH_ID_REQUESTED_BY_USER, orderId, name);
-                    return new RuntimeException(ORDER_NOT_FOUND);
-                });
-
-        if (!order.getUser().getUsername().equals(name)) {
-            logger.warn(USER_TRIED_TO_CANCEL_SOMEONE_ELSE_ORDER_ID, name, orderId);
-            throw new RuntimeException(UNAUTHORIZED_TO_CANCEL_THIS_ORDER);
-        }
+        transactionManager.runInTransaction(() -> {
+            OrderTransitionResult result = orderDao.transition(orderId, OrderTransition.CANCEL, null, name);
 
-        if (order.getStatus() != OrderStatus.PENDING) {
-            logger.warn(USER_TRIED_TO_CANCEL_NON_PENDING_ORDER,
-                    name, orderId, order.getStatus());
-            throw new RuntimeException(ONLY_PENDING_ORDERS_CAN_BE_CANCELED);
-        }
-
-        order.setStatus(OrderStatus.CANCELED);
-        order.setDueDate(null);
-        orderDao.update(order);
-
-        BookCopy copy = order.getBookCopy();
-        copy.setStatus(CopyStatus.AVAILABLE);
-        bookCopyDao.update(copy);
+            switch (result.getOutcome()) {
+                case NOT_FOUND:
+                    logger.warn(ORDER_NOT_FOUND_WITH_ID_REQUESTED_BY_USER, orderId, name);
+                    throw new RuntimeException(ORDER_NOT_FOUND);
+                case WRONG_STATE:
+                    logger.warn(USER_TRIED_TO_CANCEL_NON_PENDING_ORDER, name, orderId, result.getCurrentStatus());
+                    throw new RuntimeException(ONLY_PENDING_ORDERS_CAN_BE_CANCELED);
+                default:
+                    recordStatusChange(OrderTransition.CANCEL);
+            }
+        });
     }
 
     /**
-     * Confirms order issuance and updates book copy status.
+     * Confirms order issuance and issues its book copy. Of two librarians confirming the same order at once,
+     * only one succeeds; the other gets the order's new status.
      *
      * @param orderId the ID of the order to confirm
      * @param dueDate the date the book is due for return
@@ -250,25 +309,34 @@ public class OrderServiceImpl implements OrderService {
      */
     @Override
     public void confirmOrderIssue(Long orderId, LocalDate dueDate) {
-        Order order = orderDao.findById(orderId)
-                .orElseThrow(() -> {
-                    logger.warn(ORDER_NOT_FOUND_WITH_ID_AND_DUE_DATE, orderId, dueDate);
-                    return new RuntimeException(ORDER_NOT_FOUND);
-                });
-
-        if (order.getStatus() != OrderStatus.PENDING) {
-            logger.warn(LIBRARIAN_TRIED_TO_CONFIRM_ORDER,
-                    orderId, order.getStatus());
-            throw new RuntimeException(ORDER_IS_NOT_IN_PENDING_STATUS);
-        }
+        transactionManager.runInTransaction(() -> {
+            OrderTransitionResult result = orderDao.transition(orderId, OrderTransition.ISSUE, dueDate, null);
 
-        order.setStatus(OrderStatus.ISSUED);
-        order.setDueDate(dueDate);
-        orderDao.update(order);
+            switch (result.getOutcome()) {
+                case NOT_FOUND:
+                    logger.warn(ORDER_NOT_FOUND_WITH_ID_AND_DUE_DATE, orderId, dueDate);
+                    throw new RuntimeException(ORDER_NOT_FOUND);
+                case WRONG_STATE:
+                    logger.warn(LIBRARIAN_TRIED_TO_CONFIRM_ORDER, orderId, result.getCurrentStatus());
+                    throw new RuntimeException(ORDER_IS_NOT_IN_PENDING_STATUS);
+                default:
+                    recordStatusChange(OrderTransition.ISSUE);
+                    transactionManager.afterCommit(() -> orderLeaderboards.orderIssued(result.getOrder()));
+            }
+        });
+    }
 
-        BookCopy copy = order.getBookCopy();
-        copy.setStatus(CopyStatus.ISSUED);
-        bookCopyDao.update(copy);
+    /**
+     * Updates the dashboard counters once the current transaction commits. A pending order always holds a
+     * reserved copy and an issued order an issued copy, so the copy's previous status follows from the order's.
+     *
+     * @param transition the status change applied to an order and its copy
+     */
+    private void recordStatusChange(OrderTransition transition) {
+        transactionManager.afterCommit(() -> {
+            libraryCounters.orderStatusChanged(transition.getFrom(), transition.getTo());
+            libraryCounters.copyStatusChanged(transition.getCopyFrom(), transition.getCopyTo());
+        });
     }
 
     /**
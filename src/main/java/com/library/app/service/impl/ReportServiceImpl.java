@@ -0,0 +1,119 @@
+package com.library.app.service.impl;
+
+import com.library.app.config.ConnectionPool;
+import com.library.app.config.QueryStats;
+import com.library.app.config.QueryTracker;
+import com.library.app.dao.ReportDao;
+import com.library.app.dto.BookStatsDto;
+import com.library.app.dto.ReportSnapshotDto;
+import com.library.app.dto.UserStatsDto;
+import com.library.app.model.LibraryTotals;
+import com.library.app.service.OrderService;
+import com.library.app.service.ReportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service implementation for the report dashboard.
+ * The scalar counters are read from the in-memory {@link LibraryCounters}. Until those are seeded they come
+ * from one aggregate query instead, which runs concurrently with the two top-N queries on virtual threads, so
+ * the page waits for the slowest query rather than for the sum of all of them.
+ */
+@Service
+public class ReportServiceImpl implements ReportService {
+    private static final String REPORT_SNAPSHOT_BUILT_IN_MS = "Report snapshot built in {} ms";
+    private static final String REPORT_INTERRUPTED = "Interrupted while building report snapshot";
+    private static final String FAILED_TO_BUILD_REPORT_SNAPSHOT = "Failed to build report snapshot";
+    private static final Logger logger = LoggerFactory.getLogger(ReportServiceImpl.class);
+
+    private final ReportDao reportDao;
+    private final OrderService orderService;
+    private final LibraryCounters libraryCounters;
+
+    /**
+     * Constructs a new {@code ReportServiceImpl} with the required dependencies.
+     *
+     * @param reportDao       DAO for the aggregate dashboard counters
+     * @param orderService    service providing the top-N lists
+     * @param libraryCounters the incrementally maintained dashboard counters
+     */
+    @Autowired
+    public ReportServiceImpl(ReportDao reportDao, OrderService orderService, LibraryCounters libraryCounters) {
+        this.reportDao = reportDao;
+        this.orderService = orderService;
+        this.libraryCounters = libraryCounters;
+    }
+
+    /**
+     * Builds a report snapshot, running both top-N queries, and the counter query if the counters are not seeded
+     * yet, at the same time. The queries are counted by the {@link QueryTracker} of the calling thread.
+     *
+     * @param bookLimit maximum number of most requested books to include
+     * @param userLimit maximum number of most active readers to include
+     * @return the report snapshot
+     * @throws RuntimeException if any of the queries fails
+     */
+    @Override
+    public ReportSnapshotDto getSnapshot(int bookLimit, int userLimit) {
+        long startedAt = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<LibraryTotals> totals = libraryCounters.isSeeded()
+                    ? CompletableFuture.completedFuture(libraryCounters.getTotals())
+                    : executor.submit(QueryTracker.propagate(reportDao::countLibraryTotals));
+            Future<List<BookStatsDto>> topBooks =
+                    executor.submit(QueryTracker.propagate(() -> orderService.getTopRequestedBooks(bookLimit)));
+            Future<List<UserStatsDto>> topUsers =
+                    executor.submit(QueryTracker.propagate(() -> orderService.getTopActiveUsers(userLimit)));
+
+            LibraryTotals libraryTotals = await(totals);
+            ReportSnapshotDto snapshot = new ReportSnapshotDto(
+                    libraryTotals.getTotalBooks(),
+                    libraryTotals.getTotalCopies(),
+                    libraryTotals.getIssuedCopies(),
+                    libraryTotals.getCompletedOrders(),
+                    libraryTotals.getActiveUsers(),
+                    await(topBooks),
+                    await(topUsers)
+            );
+            logger.debug(REPORT_SNAPSHOT_BUILT_IN_MS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+
+            return snapshot;
+        }
+    }
+
+    /**
+     * Returns the query statistics collected by the application-wide connection pool.
+     *
+     * @return the statistics per fingerprint, the one with the highest total execution time first
+     */
+    @Override
+    public List<QueryStats> getQueryStats() {
+        return ConnectionPool.getInstance().getQueryMetrics().snapshot();
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(REPORT_INTERRUPTED, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            logger.error(FAILED_TO_BUILD_REPORT_SNAPSHOT, e.getCause());
+            throw new RuntimeException(FAILED_TO_BUILD_REPORT_SNAPSHOT, e.getCause());
+        }
+    }
+}
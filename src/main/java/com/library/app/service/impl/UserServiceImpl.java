@@ -3,10 +3,10 @@ package com.library.app.service.impl;
 import com.library.app.dao.UserDao;
 import com.library.app.dto.UserDto;
 import com.library.app.mapper.UserMapper;
-import com.library.app.model.Order;
 import com.library.app.model.Role;
 import com.library.app.model.User;
 import com.library.app.service.UserService;
+import com.library.app.util.Page;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,7 +18,6 @@ import org.springframework.stereotype.Service;
 
 import java.sql.SQLException;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -38,17 +37,24 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 
     private final UserDao userDao;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final LibraryCounters libraryCounters;
+    private final OrderLeaderboards orderLeaderboards;
 
     /**
      * Constructs a {@code UserServiceImpl} with dependencies for user management and authentication.
      *
-     * @param userDao         the DAO responsible for managing user data
-     * @param passwordEncoder the password encoder used for secure authentication
+     * @param userDao           the DAO responsible for managing user data
+     * @param passwordEncoder   the password encoder used for secure authentication
+     * @param libraryCounters   the dashboard counters updated when users are added, changed or deleted
+     * @param orderLeaderboards the active-readers leaderboard, which only ranks active users
      */
     @Autowired
-    public UserServiceImpl(UserDao userDao, BCryptPasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserDao userDao, BCryptPasswordEncoder passwordEncoder, LibraryCounters libraryCounters,
+                           OrderLeaderboards orderLeaderboards) {
         this.userDao = userDao;
         this.passwordEncoder = passwordEncoder;
+        this.libraryCounters = libraryCounters;
+        this.orderLeaderboards = orderLeaderboards;
     }
 
     /**
@@ -86,6 +92,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 
         try {
             userDao.save(user);
+            libraryCounters.userAdded(ACTIVE);
         } catch (RuntimeException e) {
             Throwable cause = e.getCause();
             if (cause instanceof SQLException exception && SQL_STATE.equals(exception.getSQLState())) {
@@ -108,6 +115,7 @@ public class UserServiceImpl implements UserService, UserDetailsService {
 
         if (userOptional.isPresent()) {
             User user = userOptional.get();
+            String previousStatus = user.getStatus();
             user.setEmail(userDto.getEmail());
             user.setRole(userDto.getRole());
             user.setStatus(userDto.getStatus());
@@ -119,6 +127,8 @@ public class UserServiceImpl implements UserService, UserDetailsService {
                 user.setPassword(user.getPassword());
             }
             userDao.update(user);
+            libraryCounters.userStatusChanged(previousStatus, user.getStatus());
+            orderLeaderboards.userStatusChanged(user.getId(), user.getStatus());
         } else {
             logger.warn(ATTEMPTED_TO_UPDATE_NON_EXISTENT_USER_ID, userDto.getId());
             throw new RuntimeException(USER_NOT_FOUND);
@@ -153,13 +163,16 @@ public class UserServiceImpl implements UserService, UserDetailsService {
     }
 
     /**
-     * Retrieves all readers along with their active orders.
+     * Retrieves one page of readers with active orders.
      *
-     * @return map of users to orders
+     * @param username part of the username to match, or {@code null} for all readers
+     * @param page     the page number (1-based index)
+     * @param size     the number of readers per page
+     * @return the requested page of readers
      */
     @Override
-    public Map<User, List<Order>> getReadersWithActiveOrders() {
-        return userDao.findReadersWithActiveOrders();
+    public Page<UserDto> getReadersWithActiveOrders(String username, int page, int size) {
+        return userDao.findReadersWithActiveOrders(username, page, size).map(UserMapper::toDto);
     }
 
     /**
@@ -180,7 +193,9 @@ public class UserServiceImpl implements UserService, UserDetailsService {
      */
     @Override
     public void deleteUser(Long id) {
+        Optional<String> status = userDao.findById(id).map(User::getStatus);
         userDao.delete(id);
+        status.ifPresent(libraryCounters::userDeleted);
     }
 
     /**
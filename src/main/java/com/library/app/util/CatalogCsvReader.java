@@ -0,0 +1,395 @@
+package com.library.app.util;
+
+import com.library.app.dto.CatalogRowDto;
+import com.library.app.dto.ImportLineErrorDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming reader of catalog import files that yields one validated {@link CatalogRowDto} at a time, so a file
+ * of any size is read with bounded memory.
+ * <p>
+ * The first line is a header naming the columns: {@code title} is required, {@code author_first_name},
+ * {@code author_last_name}, {@code genre}, {@code description}, {@code cover_url} and {@code copies} are
+ * optional, unknown columns are ignored. Fields are separated by tabs if the header contains a tab and by
+ * commas otherwise; a field may be quoted with {@code "}, doubling quotes inside, and may then span lines.
+ * The file is read character by character: a record longer than {@code MAX_RECORD_LENGTH} characters, even a
+ * single line without line breaks, is skipped up to its end without being held in memory and reported.
+ * Lines that fail validation are skipped and recorded; only the first {@code maxReportedErrors} are kept.
+ */
+public class CatalogCsvReader implements Iterator<CatalogRowDto> {
+    private static final char QUOTE = '"';
+    private static final char TAB = '\t';
+    private static final char COMMA = ',';
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    private static final char CR = '\r';
+    private static final char LF = '\n';
+    private static final int NONE = -2;
+    private static final int MAX_RECORD_LENGTH = 65_536;
+    private static final int MAX_COPIES = 1_000;
+    private static final String TITLE = "title";
+    private static final String AUTHOR_FIRST_NAME = "author_first_name";
+    private static final String AUTHOR_LAST_NAME = "author_last_name";
+    private static final String GENRE = "genre";
+    private static final String DESCRIPTION = "description";
+    private static final String COVER_URL = "cover_url";
+    private static final String COPIES = "copies";
+    private static final int TITLE_COLUMN = 0;
+    private static final int COPIES_COLUMN = 6;
+    private static final List<String> COLUMNS =
+            List.of(TITLE, AUTHOR_FIRST_NAME, AUTHOR_LAST_NAME, GENRE, DESCRIPTION, COVER_URL, COPIES);
+    private static final Map<String, Integer> MAX_LENGTHS = Map.of(TITLE, 255, AUTHOR_FIRST_NAME, 100,
+            AUTHOR_LAST_NAME, 100, GENRE, 100, COVER_URL, 500);
+    private static final String EMPTY_FILE = "The file is empty";
+    private static final String MISSING_TITLE_COLUMN = "The header has no 'title' column";
+    private static final String WRONG_FIELD_COUNT = "Expected %d fields but found %d";
+    private static final String TITLE_REQUIRED = "Title is required";
+    private static final String FIELD_TOO_LONG = "'%s' is longer than %d characters";
+    private static final String INVALID_COPIES = "'copies' must be a whole number from 0 to %d";
+    private static final String UNTERMINATED_QUOTE = "Quoted field is not closed";
+    private static final String RECORD_TOO_LONG = "Line is longer than %d characters";
+
+    private final BufferedReader reader;
+    private final int maxReportedErrors;
+    private final List<ImportLineErrorDto> errors = new ArrayList<>();
+    private final int[] columnIndexes = new int[COLUMNS.size()];
+    private char delimiter = COMMA;
+    private int headerSize;
+    private long lineNumber = 1;
+    private int pushedBack = NONE;
+    private long recordLine;
+    private long rowsRead;
+    private long errorCount;
+    private boolean exhausted;
+    private CatalogRowDto next;
+
+    /**
+     * Constructs a reader and reads the header line.
+     *
+     * @param reader            the import file contents
+     * @param maxReportedErrors the number of rejected lines to keep for the report
+     */
+    public CatalogCsvReader(Reader reader, int maxReportedErrors) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.maxReportedErrors = maxReportedErrors;
+        readHeader();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && !exhausted) {
+            List<String> fields = readRecord();
+
+            if (fields != null) {
+                next = toRow(fields);
+            }
+        }
+
+        return next != null;
+    }
+
+    @Override
+    public CatalogRowDto next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        CatalogRowDto row = next;
+        next = null;
+
+        return row;
+    }
+
+    /**
+     * Returns the number of data rows read so far, valid or not.
+     *
+     * @return the number of rows read
+     */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * Returns the number of lines rejected so far, including those beyond the reported ones.
+     *
+     * @return the number of rejected lines
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Returns the first rejected lines.
+     *
+     * @return the rejected lines, in file order
+     */
+    public List<ImportLineErrorDto> getErrors() {
+        return errors;
+    }
+
+    private void readHeader() {
+        delimiter = detectDelimiter();
+        int c = read();
+
+        if (c == BYTE_ORDER_MARK) {
+            c = read();
+        }
+
+        if (c < 0) {
+            exhausted = true;
+            reject(1, EMPTY_FILE);
+            return;
+        }
+
+        recordLine = lineNumber;
+        List<String> names = scanRecord(c);
+
+        if (names == null) {
+            exhausted = true;
+            return;
+        }
+
+        headerSize = names.size();
+        Arrays.fill(columnIndexes, -1);
+
+        for (int i = 0; i < names.size(); i++) {
+            int column = COLUMNS.indexOf(names.get(i).trim().toLowerCase(Locale.ROOT).replace(' ', '_'));
+
+            if (column >= 0 && columnIndexes[column] < 0) {
+                columnIndexes[column] = i;
+            }
+        }
+
+        if (columnIndexes[TITLE_COLUMN] < 0) {
+            exhausted = true;
+            reject(1, MISSING_TITLE_COLUMN);
+        }
+    }
+
+    /**
+     * Looks ahead at the first line, at most {@code MAX_RECORD_LENGTH} characters of it, for a tab.
+     */
+    private char detectDelimiter() {
+        try {
+            reader.mark(MAX_RECORD_LENGTH + 1);
+
+            try {
+                for (int i = 0; i <= MAX_RECORD_LENGTH; i++) {
+                    int c = reader.read();
+
+                    if (c < 0 || c == CR || c == LF) {
+                        break;
+                    }
+                    if (c == TAB) {
+                        return TAB;
+                    }
+                }
+            } finally {
+                reader.reset();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return COMMA;
+    }
+
+    /**
+     * Reads the fields of the next non-blank record, or returns {@code null} after a rejected record or at the
+     * end of the file.
+     */
+    private List<String> readRecord() {
+        while (true) {
+            int c = read();
+
+            if (c < 0) {
+                exhausted = true;
+                return null;
+            }
+
+            recordLine = lineNumber;
+            List<String> fields = scanRecord(c);
+
+            if (fields == null || !fields.isEmpty()) {
+                rowsRead++;
+                return fields;
+            }
+        }
+    }
+
+    /**
+     * Splits one record into fields, reading on past line breaks while a quoted field is open. The record is
+     * consumed up to its terminating line break even when it is rejected, so the next record starts on a record
+     * boundary; characters beyond {@code MAX_RECORD_LENGTH} are scanned for quotes and line breaks but not kept.
+     *
+     * @param c the first character of the record
+     * @return the fields, an empty list for a blank line, or {@code null} if the record was rejected
+     */
+    private List<String> scanRecord(int c) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean blank = true;
+        int length = 0;
+        int fieldLength = 0;
+
+        while (c >= 0) {
+            boolean kept = ++length <= MAX_RECORD_LENGTH;
+
+            if (length == MAX_RECORD_LENGTH + 1) {
+                fields = new ArrayList<>();
+                field = new StringBuilder();
+            }
+
+            if (quoted) {
+                if (c == QUOTE) {
+                    c = read();
+
+                    if (c != QUOTE) {
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == CR || c == LF) {
+                    endLine(c);
+                    c = LF;
+                }
+            } else if (c == CR || c == LF) {
+                endLine(c);
+                break;
+            } else if (c == delimiter) {
+                blank = false;
+
+                if (kept) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                }
+                fieldLength = 0;
+                c = read();
+                continue;
+            } else if (c == QUOTE && fieldLength == 0) {
+                blank = false;
+                quoted = true;
+                c = read();
+                continue;
+            } else if (!Character.isWhitespace(c)) {
+                blank = false;
+            }
+
+            if (kept) {
+                field.append((char) c);
+            }
+            fieldLength++;
+            c = read();
+        }
+
+        if (quoted) {
+            exhausted = true;
+            reject(recordLine, UNTERMINATED_QUOTE);
+            return null;
+        }
+
+        if (length > MAX_RECORD_LENGTH) {
+            reject(recordLine, String.format(RECORD_TOO_LONG, MAX_RECORD_LENGTH));
+            return null;
+        }
+
+        if (blank) {
+            return List.of();
+        }
+
+        fields.add(field.toString());
+
+        return fields;
+    }
+
+    private CatalogRowDto toRow(List<String> fields) {
+        if (fields.size() != headerSize) {
+            return reject(recordLine, String.format(WRONG_FIELD_COUNT, headerSize, fields.size()));
+        }
+
+        String[] values = new String[COLUMNS.size()];
+
+        for (int column = 0; column < values.length; column++) {
+            String value = columnIndexes[column] < 0 ? null : fields.get(columnIndexes[column]).trim();
+            String name = COLUMNS.get(column);
+            Integer maxLength = MAX_LENGTHS.get(name);
+
+            if (value != null && maxLength != null && value.length() > maxLength) {
+                return reject(recordLine, String.format(FIELD_TOO_LONG, name, maxLength));
+            }
+
+            values[column] = value == null || value.isEmpty() ? null : value;
+        }
+
+        if (values[TITLE_COLUMN] == null) {
+            return reject(recordLine, TITLE_REQUIRED);
+        }
+
+        int copies = 0;
+
+        if (values[COPIES_COLUMN] != null) {
+            try {
+                copies = Integer.parseInt(values[COPIES_COLUMN]);
+            } catch (NumberFormatException e) {
+                copies = -1;
+            }
+
+            if (copies < 0 || copies > MAX_COPIES) {
+                return reject(recordLine, String.format(INVALID_COPIES, MAX_COPIES));
+            }
+        }
+
+        return new CatalogRowDto(recordLine, values[TITLE_COLUMN], values[1], values[2], values[3], values[4],
+                values[5], copies);
+    }
+
+    private CatalogRowDto reject(long line, String message) {
+        errorCount++;
+
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new ImportLineErrorDto(line, message));
+        }
+
+        return null;
+    }
+
+    /**
+     * Counts a line break; a {@code \r\n} pair counts once.
+     */
+    private void endLine(int c) {
+        lineNumber++;
+
+        if (c == CR) {
+            int following = read();
+
+            if (following != LF) {
+                pushedBack = following;
+            }
+        }
+    }
+
+    private int read() {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+
+            return c;
+        }
+
+        try {
+            return reader.read();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
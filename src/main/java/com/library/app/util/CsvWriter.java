@@ -0,0 +1,113 @@
+package com.library.app.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Writes CSV records field by field to an underlying {@link Writer}, so rows can be written as they are read
+ * without being collected first.
+ * <p>
+ * Fields are separated by commas and records by CRLF. A field containing a comma, quote or line break is quoted,
+ * doubling quotes inside; a {@code null} field is written empty. Write errors, such as a client closing the
+ * connection, are rethrown as {@link UncheckedIOException}.
+ */
+public class CsvWriter {
+    private static final char QUOTE = '"';
+    private static final char COMMA = ',';
+    private static final String RECORD_SEPARATOR = "\r\n";
+
+    private final Writer writer;
+    private boolean firstField = true;
+
+    /**
+     * Constructs a writer. The caller buffers and closes the underlying writer.
+     *
+     * @param writer the destination of the records
+     */
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Appends one field to the current record.
+     *
+     * @param value the field value, may be {@code null}
+     * @return this writer
+     */
+    public CsvWriter field(String value) {
+        try {
+            if (!firstField) {
+                writer.write(COMMA);
+            }
+
+            firstField = false;
+
+            if (value != null) {
+                writeEscaped(value);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return this;
+    }
+
+    /**
+     * Ends the current record.
+     */
+    public void endRecord() {
+        try {
+            writer.write(RECORD_SEPARATOR);
+            firstField = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a whole record.
+     *
+     * @param values the field values, may contain {@code null}s
+     */
+    public void writeRecord(String... values) {
+        for (String value : values) {
+            field(value);
+        }
+
+        endRecord();
+    }
+
+    private void writeEscaped(String value) throws IOException {
+        if (!needsQuotes(value)) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write(QUOTE);
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (c == QUOTE) {
+                writer.write(QUOTE);
+            }
+
+            writer.write(c);
+        }
+
+        writer.write(QUOTE);
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if (c == COMMA || c == QUOTE || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
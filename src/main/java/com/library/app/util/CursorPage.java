@@ -0,0 +1,127 @@
+package com.library.app.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list, together with the cursors of its neighbouring pages.
+ *
+ * @param <T> the type of items on the page
+ */
+public class CursorPage<T> {
+    /**
+     * The items on this page, in display order.
+     */
+    private final List<T> content;
+    /**
+     * The maximum number of items on a page, as applied by the query.
+     */
+    private final int size;
+    /**
+     * The cursor of the following page, or {@code null} if this is the last page.
+     */
+    private final KeysetCursor next;
+    /**
+     * The cursor of the preceding page, or {@code null} if this is the first page.
+     */
+    private final KeysetCursor previous;
+
+    /**
+     * Constructs a page.
+     *
+     * @param content  the items on this page, in display order
+     * @param size     the maximum number of items on a page
+     * @param next     the cursor of the following page, or {@code null}
+     * @param previous the cursor of the preceding page, or {@code null}
+     */
+    public CursorPage(List<T> content, int size, KeysetCursor next, KeysetCursor previous) {
+        this.content = List.copyOf(content);
+        this.size = size;
+        this.next = next;
+        this.previous = previous;
+    }
+
+    /**
+     * Builds a page from rows fetched with a keyset query that asked for {@code limit + 1} rows.
+     * Rows fetched for a {@link KeysetCursor.Direction#BEFORE} cursor are expected in ascending order and
+     * are reversed into display order.
+     *
+     * @param rows   the fetched rows, at most {@code limit + 1}
+     * @param limit  the page size
+     * @param cursor the cursor the rows were fetched for, or {@code null} for the first page
+     * @param dateOf extracts the ordering date of a row
+     * @param idOf   extracts the ID of a row
+     * @param <T>    the type of rows
+     * @return the page with cursors of its neighbouring pages
+     */
+    public static <T> CursorPage<T> fromRows(List<T> rows, int limit, KeysetCursor cursor,
+                                             Function<T, LocalDate> dateOf, Function<T, Long> idOf) {
+        boolean more = rows.size() > limit;
+        List<T> page = new ArrayList<>(rows.subList(0, Math.min(limit, rows.size())));
+        boolean before = cursor != null && cursor.isBefore();
+
+        if (before) {
+            Collections.reverse(page);
+        }
+        if (page.isEmpty()) {
+            return new CursorPage<>(page, limit, null, null);
+        }
+
+        boolean hasOlder = before || more;
+        boolean hasNewer = cursor != null && (!before || more);
+        T first = page.get(0);
+        T last = page.get(page.size() - 1);
+
+        return new CursorPage<>(page, limit,
+                hasOlder ? new KeysetCursor(dateOf.apply(last), idOf.apply(last), KeysetCursor.Direction.AFTER) : null,
+                hasNewer ? new KeysetCursor(dateOf.apply(first), idOf.apply(first), KeysetCursor.Direction.BEFORE) : null);
+    }
+
+    /**
+     * Converts the items on this page, keeping its size and cursors.
+     *
+     * @param mapper the conversion to apply to every item
+     * @param <R>    the type of the converted items
+     * @return a page with converted items
+     */
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(content.stream().<R>map(mapper).toList(), size, next, previous);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    public boolean hasPrevious() {
+        return previous != null;
+    }
+
+    /**
+     * Returns the token to request the following page with.
+     *
+     * @return the next page token, or {@code null} if this is the last page
+     */
+    public String getNextToken() {
+        return next != null ? next.toToken() : null;
+    }
+
+    /**
+     * Returns the token to request the preceding page with.
+     *
+     * @return the previous page token, or {@code null} if this is the first page
+     */
+    public String getPreviousToken() {
+        return previous != null ? previous.toToken() : null;
+    }
+}
@@ -0,0 +1,107 @@
+package com.library.app.util;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * Position in a list ordered by {@code (date DESC, id DESC)}, used for keyset pagination.
+ * <p>
+ * A cursor points either after a row (towards older rows, the next page) or before it (towards newer rows,
+ * the previous page). It travels through URLs as {@code <yyyy-MM-dd>_<id>}.
+ */
+public class KeysetCursor {
+    private static final String SEPARATOR = "_";
+
+    /**
+     * Direction of the page requested relative to the cursor row.
+     */
+    public enum Direction {
+        /**
+         * Rows that come after the cursor row, i.e. older ones.
+         */
+        AFTER,
+        /**
+         * Rows that come before the cursor row, i.e. newer ones.
+         */
+        BEFORE
+    }
+
+    /**
+     * The date of the cursor row.
+     */
+    private final LocalDate date;
+    /**
+     * The ID of the cursor row, breaking ties between rows with the same date.
+     */
+    private final long id;
+    /**
+     * Which side of the cursor row the page lies on.
+     */
+    private final Direction direction;
+
+    /**
+     * Constructs a cursor.
+     *
+     * @param date      the date of the cursor row
+     * @param id        the ID of the cursor row
+     * @param direction which side of the cursor row the page lies on
+     */
+    public KeysetCursor(LocalDate date, long id, Direction direction) {
+        this.date = date;
+        this.id = id;
+        this.direction = direction;
+    }
+
+    /**
+     * Parses a cursor token taken from a request.
+     *
+     * @param token     the token in {@code <yyyy-MM-dd>_<id>} form, may be {@code null}
+     * @param direction which side of the cursor row the page lies on
+     * @return the cursor, or empty if the token is missing or malformed
+     */
+    public static Optional<KeysetCursor> parse(String token, Direction direction) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        int separator = token.lastIndexOf(SEPARATOR);
+        if (separator <= 0) {
+            return Optional.empty();
+        }
+
+        try {
+            LocalDate date = LocalDate.parse(token.substring(0, separator));
+            long id = Long.parseLong(token.substring(separator + 1));
+
+            return Optional.of(new KeysetCursor(date, id, direction));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the token form of this cursor, suitable for a request parameter.
+     *
+     * @return the cursor token
+     */
+    public String toToken() {
+        return date + SEPARATOR + id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public boolean isBefore() {
+        return direction == Direction.BEFORE;
+    }
+}
@@ -0,0 +1,233 @@
+package com.library.app.util;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Incrementally maintained ranking of IDs by count, over all time or over a sliding window of days.
+ * <p>
+ * Counts are kept per ID in {@link LongLongHashMap}s. A windowed leaderboard keeps one bucket per day and
+ * drops the oldest bucket when the window moves on. The top {@code capacity} IDs are kept sorted, so
+ * {@link #top(int)} costs O(K). Recording only ever raises counts, which keeps the top list exact with an
+ * O(K) update; when counts fall, because a day expires or an ID is excluded, the list is rebuilt from the
+ * totals. Ties are ranked by the lower ID first.
+ * <p>
+ * All methods are synchronized.
+ */
+public class Leaderboard {
+    private static final long NO_DAY = Long.MIN_VALUE;
+
+    private final int windowDays;
+    private final int capacity;
+    private final Clock clock;
+    private final LongLongHashMap totals = new LongLongHashMap();
+    private final LongLongHashMap excluded = new LongLongHashMap();
+    private final LongLongHashMap[] buckets;
+    private final long[] bucketDays;
+    private final long[] topIds;
+    private int topSize;
+
+    /**
+     * Constructs an empty leaderboard.
+     *
+     * @param windowDays the number of days counted, including today, or {@code 0} to count all time
+     * @param capacity   the largest number of entries {@link #top(int)} can return
+     * @param clock      the clock deciding which day it is
+     */
+    public Leaderboard(int windowDays, int capacity, Clock clock) {
+        this.windowDays = windowDays;
+        this.capacity = capacity;
+        this.clock = clock;
+        this.buckets = new LongLongHashMap[windowDays];
+        this.bucketDays = new long[windowDays];
+        this.topIds = new long[capacity];
+
+        for (int i = 0; i < windowDays; i++) {
+            buckets[i] = new LongLongHashMap();
+        }
+
+        Arrays.fill(bucketDays, NO_DAY);
+    }
+
+    /**
+     * One ranked ID with its count.
+     */
+    public static class Entry {
+        private final long id;
+        private final long count;
+
+        public Entry(long id, long count) {
+            this.id = id;
+            this.count = count;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Adds to the count of an ID. On a windowed leaderboard a day outside the window is ignored and a future
+     * day counts as today.
+     *
+     * @param id    the ID
+     * @param day   the day the counted event happened on; ignored when counting all time
+     * @param count the amount to add, not negative
+     */
+    public synchronized void record(long id, LocalDate day, long count) {
+        if (windowDays > 0) {
+            long today = advance();
+
+            if (day == null || day.toEpochDay() <= today - windowDays) {
+                return;
+            }
+
+            long epochDay = Math.min(day.toEpochDay(), today);
+            int slot = (int) Math.floorMod(epochDay, (long) windowDays);
+            bucketDays[slot] = epochDay;
+            buckets[slot].addTo(id, count);
+        }
+
+        totals.addTo(id, count);
+
+        if (!excluded.containsKey(id)) {
+            promote(id);
+        }
+    }
+
+    /**
+     * Excludes an ID from the ranking or includes it again. Its count keeps being maintained either way.
+     *
+     * @param id       the ID
+     * @param excluded {@code true} to hide the ID from {@link #top(int)}
+     */
+    public synchronized void setExcluded(long id, boolean excluded) {
+        if (excluded == this.excluded.containsKey(id)) {
+            return;
+        }
+
+        if (excluded) {
+            this.excluded.put(id, 1);
+            rebuildTop();
+        } else {
+            this.excluded.remove(id);
+            promote(id);
+        }
+    }
+
+    /**
+     * Returns the current count of an ID within the window.
+     *
+     * @param id the ID
+     * @return the count
+     */
+    public synchronized long count(long id) {
+        advance();
+
+        return totals.get(id);
+    }
+
+    /**
+     * Returns the highest ranked IDs, highest count first.
+     *
+     * @param limit the maximum number of entries, at most {@link #getCapacity()}
+     * @return the ranked entries
+     */
+    public synchronized List<Entry> top(int limit) {
+        advance();
+        int size = Math.min(Math.min(limit, topSize), capacity);
+        List<Entry> entries = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry(topIds[i], totals.get(topIds[i])));
+        }
+
+        return entries;
+    }
+
+    /**
+     * Drops the buckets of days that have left the window.
+     *
+     * @return today as an epoch day
+     */
+    private long advance() {
+        long today = LocalDate.now(clock).toEpochDay();
+        boolean expired = false;
+
+        for (int slot = 0; slot < windowDays; slot++) {
+            if (bucketDays[slot] != NO_DAY && bucketDays[slot] <= today - windowDays) {
+                buckets[slot].forEach((id, count) -> totals.addTo(id, -count));
+                buckets[slot].clear();
+                bucketDays[slot] = NO_DAY;
+                expired = true;
+            }
+        }
+
+        if (expired) {
+            rebuildTop();
+        }
+
+        return today;
+    }
+
+    /**
+     * Moves an ID whose count has grown to its place in the top list, entering it if it now ranks high enough.
+     */
+    private void promote(long id) {
+        int position = indexOf(id);
+
+        if (position < 0) {
+            if (topSize < capacity) {
+                position = topSize++;
+            } else if (capacity > 0 && ranksAbove(id, topIds[topSize - 1])) {
+                position = topSize - 1;
+            } else {
+                return;
+            }
+
+            topIds[position] = id;
+        }
+
+        while (position > 0 && ranksAbove(id, topIds[position - 1])) {
+            topIds[position] = topIds[position - 1];
+            topIds[--position] = id;
+        }
+    }
+
+    private void rebuildTop() {
+        topSize = 0;
+        totals.forEach((id, count) -> {
+            if (!excluded.containsKey(id)) {
+                promote(id);
+            }
+        });
+    }
+
+    private int indexOf(long id) {
+        for (int i = 0; i < topSize; i++) {
+            if (topIds[i] == id) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private boolean ranksAbove(long id, long other) {
+        long count = totals.get(id);
+        long otherCount = totals.get(other);
+
+        return count > otherCount || count == otherCount && id < other;
+    }
+}
@@ -0,0 +1,239 @@
+package com.library.app.util;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from {@code long} keys to {@code long} values that stores both in plain arrays, so counting by ID
+ * creates no {@code Long} boxes and no entry objects.
+ * <p>
+ * Uses open addressing with linear probing. Absent keys read as {@code 0}. Not thread-safe.
+ */
+public class LongLongHashMap {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private long[] values;
+    private boolean[] used;
+    private int size;
+
+    /**
+     * Constructs an empty map.
+     */
+    public LongLongHashMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Receives the entries of a map one by one.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        /**
+         * Accepts one entry.
+         *
+         * @param key   the key
+         * @param value the value
+         */
+        void accept(long key, long value);
+    }
+
+    /**
+     * Returns the value stored for the key.
+     *
+     * @param key the key
+     * @return the value, or {@code 0} if the key is absent
+     */
+    public long get(long key) {
+        int slot = find(key);
+
+        return slot < 0 ? 0 : values[slot];
+    }
+
+    /**
+     * Tells whether the key is present.
+     *
+     * @param key the key
+     * @return {@code true} if the map holds a value for the key
+     */
+    public boolean containsKey(long key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Stores a value for the key, replacing any previous value.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(long key, long value) {
+        int slot = slotFor(key);
+
+        if (!used[slot]) {
+            insert(slot, key, value);
+        } else {
+            values[slot] = value;
+        }
+    }
+
+    /**
+     * Adds a delta to the value stored for the key, treating an absent key as {@code 0}. A key whose value
+     * reaches {@code 0} is removed, so the map only holds non-zero counts.
+     *
+     * @param key   the key
+     * @param delta the amount to add
+     * @return the new value
+     */
+    public long addTo(long key, long delta) {
+        int slot = slotFor(key);
+
+        if (!used[slot]) {
+            if (delta != 0) {
+                insert(slot, key, delta);
+            }
+
+            return delta;
+        }
+
+        long value = values[slot] + delta;
+
+        if (value == 0) {
+            removeAt(slot);
+        } else {
+            values[slot] = value;
+        }
+
+        return value;
+    }
+
+    /**
+     * Removes the key.
+     *
+     * @param key the key
+     * @return the removed value, or {@code 0} if the key was absent
+     */
+    public long remove(long key) {
+        int slot = find(key);
+
+        if (slot < 0) {
+            return 0;
+        }
+
+        long value = values[slot];
+        removeAt(slot);
+
+        return value;
+    }
+
+    /**
+     * Passes every entry to the consumer, in no particular order. The map must not be modified meanwhile.
+     *
+     * @param consumer receives the entries
+     */
+    public void forEach(EntryConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all entries, keeping the allocated capacity.
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    private int find(long key) {
+        int slot = slotFor(key);
+
+        return used[slot] ? slot : -1;
+    }
+
+    private int slotFor(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void insert(int slot, long key, long value) {
+        keys[slot] = key;
+        values[slot] = value;
+        used[slot] = true;
+        size++;
+
+        if (size > keys.length * LOAD_FACTOR) {
+            resize();
+        }
+    }
+
+    /**
+     * Removes the entry in the slot and shifts later entries of the same probe run back, so lookups never
+     * stop early at the freed slot.
+     */
+    private void removeAt(int slot) {
+        int mask = keys.length - 1;
+        int free = slot;
+        int next = (slot + 1) & mask;
+
+        while (used[next]) {
+            int home = hash(keys[next]) & mask;
+
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                values[free] = values[next];
+                free = next;
+            }
+
+            next = (next + 1) & mask;
+        }
+
+        used[free] = false;
+        size--;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(keys.length * 2);
+
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldUsed[slot]) {
+                int target = slotFor(oldKeys[slot]);
+                keys[target] = oldKeys[slot];
+                values[target] = oldValues[slot];
+                used[target] = true;
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+        size = 0;
+    }
+
+    private static int hash(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
@@ -0,0 +1,90 @@
+package com.library.app.util;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a larger result, together with the total number of matching items.
+ *
+ * @param <T> the type of items on the page
+ */
+public class Page<T> {
+    /**
+     * The items on this page.
+     */
+    private final List<T> content;
+    /**
+     * The page number (1-based index).
+     */
+    private final int page;
+    /**
+     * The requested number of items per page.
+     */
+    private final int size;
+    /**
+     * The total number of items across all pages.
+     */
+    private final long totalItems;
+
+    /**
+     * Constructs a page.
+     *
+     * @param content    the items on this page
+     * @param page       the page number (1-based index)
+     * @param size       the requested number of items per page
+     * @param totalItems the total number of items across all pages
+     */
+    public Page(List<T> content, int page, int size, long totalItems) {
+        this.content = List.copyOf(content);
+        this.page = page;
+        this.size = size;
+        this.totalItems = totalItems;
+    }
+
+    /**
+     * Converts the items on this page, keeping the paging information.
+     *
+     * @param mapper the conversion to apply to every item
+     * @param <R>    the type of the converted items
+     * @return a page with converted items
+     */
+    public <R> Page<R> map(Function<? super T, ? extends R> mapper) {
+        return new Page<>(content.stream().<R>map(mapper).toList(), page, size, totalItems);
+    }
+
+    /**
+     * Returns the zero-based offset of the first item of the given page, as used by SQL {@code OFFSET}.
+     *
+     * @param page the page number (1-based index)
+     * @param size the number of items per page
+     * @return the offset of the page
+     */
+    public static long offset(int page, int size) {
+        return (long) (Math.max(page, 1) - 1) * size;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getTotalItems() {
+        return totalItems;
+    }
+
+    /**
+     * Calculates the total number of pages.
+     *
+     * @return the total number of pages
+     */
+    public int getTotalPages() {
+        return (int) ((totalItems + size - 1) / size);
+    }
+}
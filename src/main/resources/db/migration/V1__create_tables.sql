@@ -1,9 +1,9 @@
-CREATE TABLE roles (
+CREATE TABLE IF NOT EXISTS roles (
     id SERIAL PRIMARY KEY,
     name VARCHAR(20) NOT NULL UNIQUE
 );
 
-CREATE TABLE users (
+CREATE TABLE IF NOT EXISTS users (
     id SERIAL PRIMARY KEY,
     username VARCHAR(50) NOT NULL UNIQUE,
     email VARCHAR(100) NOT NULL UNIQUE,
@@ -12,7 +12,7 @@ CREATE TABLE users (
     role_id INTEGER NOT NULL REFERENCES roles(id)
 );
 
-CREATE TABLE books (
+CREATE TABLE IF NOT EXISTS books (
     id SERIAL PRIMARY KEY,
     title VARCHAR(255) NOT NULL,
     author_first_name VARCHAR(100),
@@ -22,14 +22,14 @@ CREATE TABLE books (
     cover_url VARCHAR(500)
 );
 
-CREATE TABLE book_copies (
+CREATE TABLE IF NOT EXISTS book_copies (
     id SERIAL PRIMARY KEY,
     inventory_number VARCHAR(50) UNIQUE NOT NULL,
     status VARCHAR(20) NOT NULL DEFAULT 'AVAILABLE',
     book_id INTEGER NOT NULL REFERENCES books(id)
 );
 
-CREATE TABLE orders (
+CREATE TABLE IF NOT EXISTS orders (
     id SERIAL PRIMARY KEY,
     user_id INTEGER NOT NULL REFERENCES users(id),
     copy_id INTEGER NOT NULL REFERENCES book_copies(id),
@@ -0,0 +1,12 @@
+-- Keyset pages of all orders and of one reader's history. The second index also serves every lookup
+-- by user_id alone, so orders(user_id) needs no index of its own.
+CREATE INDEX IF NOT EXISTS idx_orders_issue_date_id ON orders (issue_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_user_id_issue_date_id ON orders (user_id, issue_date DESC, id DESC);
+
+-- Joins from a copy to its orders and counts by order status.
+CREATE INDEX IF NOT EXISTS idx_orders_copy_id ON orders (copy_id);
+CREATE INDEX IF NOT EXISTS idx_orders_order_status ON orders (order_status);
+
+-- Active orders are a small slice of the table: the holder of a copy, a reader's books on hand.
+CREATE INDEX IF NOT EXISTS idx_orders_active_copy_id ON orders (copy_id) WHERE order_status IN ('PENDING', 'ISSUED');
+CREATE INDEX IF NOT EXISTS idx_orders_active_user_id ON orders (user_id) WHERE order_status IN ('PENDING', 'ISSUED');
@@ -0,0 +1,7 @@
+-- Copies of a book by status, and the available copies a reservation claims from.
+CREATE INDEX IF NOT EXISTS idx_book_copies_book_id_status ON book_copies (book_id, status);
+CREATE INDEX IF NOT EXISTS idx_book_copies_available_book_id ON book_copies (book_id) WHERE status = 'AVAILABLE';
+
+-- Users by account status, and the case-insensitive username lookup of a reader's order history.
+CREATE INDEX IF NOT EXISTS idx_users_status ON users (status);
+CREATE INDEX IF NOT EXISTS idx_users_lower_username ON users (LOWER(username));
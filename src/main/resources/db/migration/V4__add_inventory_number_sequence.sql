@@ -0,0 +1,14 @@
+-- The numeric part of INV-<digits> inventory numbers, kept by the database so copies sort by an index
+-- instead of casting every row. Other numbers leave it NULL and sort last.
+ALTER TABLE book_copies ADD COLUMN IF NOT EXISTS inventory_seq INTEGER
+    GENERATED ALWAYS AS (
+        CASE WHEN inventory_number ~ '^INV-[0-9]{1,9}$' THEN CAST(SUBSTRING(inventory_number FROM 5) AS INTEGER) END
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_book_copies_book_id_inventory_seq ON book_copies (book_id, inventory_seq);
+
+-- Inventory numbers are unique across the library, so one sequence hands them out, continuing after
+-- the highest number already in use.
+CREATE SEQUENCE IF NOT EXISTS inventory_number_seq;
+
+SELECT setval('inventory_number_seq', COALESCE((SELECT MAX(inventory_seq) FROM book_copies), 0) + 1, false);
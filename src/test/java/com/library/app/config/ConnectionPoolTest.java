@@ -0,0 +1,380 @@
+package com.library.app.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolTest {
+    // Константы
+    private static final String MAX_SIZE = "db.pool.max-size";
+    private static final String MIN_IDLE = "db.pool.min-idle";
+    private static final String LEAK_DETECTION_THRESHOLD_MS = "db.pool.leak-detection-threshold-ms";
+    private static final String MAX_LIFETIME_MS = "db.pool.max-lifetime-ms";
+    private static final String VALIDATION_INTERVAL_MS = "db.pool.validation-interval-ms";
+    private static final String STATEMENT_CACHE_SIZE = "db.pool.statement-cache-size";
+    private static final int BORROWS = 100;
+    private static final String SELECT_BOOK_BY_ID = "SELECT * FROM books WHERE id = ?";
+    private static final String SELECT_USER_BY_USERNAME = "SELECT * FROM users WHERE username = ?";
+    private static final String COUNT_AVAILABLE_COPIES = "SELECT COUNT(*) FROM book_copies WHERE book_id = ?";
+    private static final String QUERY_METRICS_ENABLED = "db.query.metrics-enabled";
+    private static final String SELECT_BOOK_BY_ID_REFORMATTED = "SELECT *\n  FROM books\n WHERE id = ?";
+    private static final String UPDATE_COPY_STATUS = "UPDATE book_copies SET status = ? WHERE book_id = ?";
+
+    private ConnectionPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void getConnection_ShouldNeverOpenMoreThanMaxSize() throws SQLException {
+        // Given
+        Properties props = StubDriver.poolProperties("bounded");
+        props.setProperty(MAX_SIZE, "3");
+        pool = new ConnectionPool(props);
+        List<Connection> held = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            held.add(pool.getConnection());
+        }
+
+        // Then
+        assertThrows(SQLTransientConnectionException.class, () -> pool.getConnection());
+        assertEquals(3, StubDriver.database("jdbc:stub:bounded").connectionsOpened.get());
+        ConnectionPoolStats stats = pool.getStats();
+        assertEquals(3, stats.getActive());
+        assertEquals(1, stats.getTimeoutCount());
+        held.forEach(pool::closeConnection);
+        assertEquals(0, pool.getStats().getActive());
+    }
+
+    @Test
+    void getConnection_ShouldReuseReturnedConnection() throws SQLException {
+        // Given
+        pool = new ConnectionPool(StubDriver.poolProperties("reuse"));
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            try (Connection connection = pool.getConnection()) {
+                assertFalse(connection.isClosed());
+            }
+        }
+
+        // Then
+        assertEquals(1, StubDriver.database("jdbc:stub:reuse").connectionsOpened.get());
+        assertEquals(10, pool.getStats().getBorrowCount());
+        assertEquals(1, pool.getStats().getIdle());
+    }
+
+    @Test
+    void closeConnection_ShouldIgnoreSecondReturn() throws SQLException {
+        // Given
+        Properties props = StubDriver.poolProperties("double-return");
+        props.setProperty(MAX_SIZE, "1");
+        pool = new ConnectionPool(props);
+        Connection first = pool.getConnection();
+        pool.closeConnection(first);
+        Connection second = pool.getConnection();
+
+        // When
+        pool.closeConnection(first);
+
+        // Then
+        assertFalse(second.isClosed());
+        assertEquals(1, pool.getStats().getActive());
+        assertThrows(SQLTransientConnectionException.class, () -> pool.getConnection());
+        pool.closeConnection(second);
+    }
+
+    @Test
+    void returnedConnection_ShouldRejectFurtherUse() throws SQLException {
+        // Given
+        pool = new ConnectionPool(StubDriver.poolProperties("stale"));
+        Connection connection = pool.getConnection();
+
+        // When
+        connection.close();
+
+        // Then
+        assertTrue(connection.isClosed());
+        SQLException exception = assertThrows(SQLException.class, () -> connection.prepareStatement("SELECT 1"));
+        assertEquals("Connection has already been returned to the pool", exception.getMessage());
+    }
+
+    @Test
+    void runHousekeeping_ShouldReportLeakedConnectionOnce() throws Exception {
+        // Given
+        Properties props = StubDriver.poolProperties("leak");
+        props.setProperty(LEAK_DETECTION_THRESHOLD_MS, "1");
+        pool = new ConnectionPool(props);
+        Connection leaked = pool.getConnection();
+        Thread.sleep(5);
+
+        // When
+        pool.runHousekeeping();
+        pool.runHousekeeping();
+
+        // Then
+        assertEquals(1, pool.getStats().getLeakCount());
+        pool.closeConnection(leaked);
+    }
+
+    @Test
+    void constructor_ShouldStartWhenDatabaseIsUnreachable() throws SQLException {
+        // Given
+        Properties props = StubDriver.poolProperties("down");
+        props.setProperty(MIN_IDLE, "2");
+        StubDriver.database("jdbc:stub:down").unreachable = true;
+
+        // When
+        pool = new ConnectionPool(props);
+
+        // Then
+        assertEquals(0, pool.getStats().getTotal());
+        StubDriver.database("jdbc:stub:down").unreachable = false;
+        pool.closeConnection(pool.getConnection());
+        assertEquals(1, pool.getStats().getTotal());
+    }
+
+    @Test
+    void getConnection_ShouldNotValidateOnBorrow() throws SQLException {
+        // Given
+        pool = new ConnectionPool(StubDriver.poolProperties("borrow-round-trips"));
+        StubDriver.Database database = StubDriver.database("jdbc:stub:borrow-round-trips");
+
+        // When
+        for (int i = 0; i < BORROWS; i++) {
+            pool.closeConnection(pool.getConnection());
+        }
+
+        // Then
+        // The previous pool called isValid() on every borrow: 100 round trips for 100 borrows
+        assertEquals(0, database.validations.get());
+        assertEquals(0, pool.getStats().getValidationCount());
+    }
+
+    @Test
+    void runHousekeeping_ShouldValidateIdleConnectionsOncePerInterval() throws SQLException {
+        // Given
+        Properties props = StubDriver.poolProperties("background-validation");
+        props.setProperty(MIN_IDLE, "2");
+        props.setProperty(VALIDATION_INTERVAL_MS, "0");
+        pool = new ConnectionPool(props);
+        StubDriver.Database database = StubDriver.database("jdbc:stub:background-validation");
+
+        // When
+        pool.runHousekeeping();
+        for (int i = 0; i < BORROWS; i++) {
+            pool.closeConnection(pool.getConnection());
+        }
+
+        // Then
+        assertEquals(2, database.validations.get());
+        assertEquals(2, pool.getStats().getIdle());
+    }
+
+    @Test
+    void runHousekeeping_ShouldReplaceBrokenIdleConnections() throws SQLException {
+        // Given
+        Properties props = StubDriver.poolProperties("broken");
+        props.setProperty(MIN_IDLE, "2");
+        props.setProperty(VALIDATION_INTERVAL_MS, "0");
+        pool = new ConnectionPool(props);
+        StubDriver.Database database = StubDriver.database("jdbc:stub:broken");
+        database.valid = false;
+
+        // When
+        pool.runHousekeeping();
+
+        // Then
+        assertEquals(2, database.connectionsClosed.get());
+        assertEquals(4, database.connectionsOpened.get());
+        assertEquals(2, pool.getStats().getIdle());
+    }
+
+    @Test
+    void runHousekeeping_ShouldRetireConnectionsPastMaxLifetime() throws Exception {
+        // Given
+        Properties props = StubDriver.poolProperties("lifetime");
+        props.setProperty(MIN_IDLE, "1");
+        props.setProperty(MAX_LIFETIME_MS, "1");
+        pool = new ConnectionPool(props);
+        StubDriver.Database database = StubDriver.database("jdbc:stub:lifetime");
+        Thread.sleep(5);
+
+        // When
+        pool.runHousekeeping();
+
+        // Then
+        assertEquals(1, database.connectionsClosed.get());
+        assertEquals(1, pool.getStats().getIdle());
+        assertEquals(0, database.validations.get());
+    }
+
+    @Test
+    void prepareStatement_ShouldReuseCachedStatementAcrossBorrows() throws SQLException {
+        // Given
+        pool = new ConnectionPool(StubDriver.poolProperties("statement-cache"));
+        StubDriver.Database database = StubDriver.database("jdbc:stub:statement-cache");
+
+        // When
+        for (int i = 0; i < BORROWS; i++) {
+            try (Connection connection = pool.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(SELECT_BOOK_BY_ID)) {
+                preparedStatement.setLong(1, i);
+                preparedStatement.executeQuery();
+            }
+        }
+
+        // Then
+        assertEquals(1, database.statementsPrepared.get());
+        assertEquals(0, database.statementsClosed.get());
+        assertEquals(BORROWS, database.executions.get());
+        assertEquals(BORROWS - 1, pool.getStats().getStatementCacheHits());
+        assertEquals(1, pool.getStats().getStatementCacheMisses());
+    }
+
+    @Test
+    void prepareStatement_ShouldEvictLeastRecentlyUsedStatement() throws SQLException {
+        // Given
+        Properties props = StubDriver.poolProperties("statement-lru");
+        props.setProperty(STATEMENT_CACHE_SIZE, "2");
+        pool = new ConnectionPool(props);
+        StubDriver.Database database = StubDriver.database("jdbc:stub:statement-lru");
+
+        // When
+        try (Connection connection = pool.getConnection()) {
+            connection.prepareStatement(SELECT_BOOK_BY_ID).close();
+            connection.prepareStatement(SELECT_USER_BY_USERNAME).close();
+            connection.prepareStatement(SELECT_BOOK_BY_ID).close();
+            connection.prepareStatement(COUNT_AVAILABLE_COPIES).close();
+            connection.prepareStatement(SELECT_BOOK_BY_ID).close();
+            connection.prepareStatement(SELECT_USER_BY_USERNAME).close();
+        }
+
+        // Then
+        assertEquals(4, database.statementsPrepared.get());
+        assertEquals(2, database.statementsClosed.get());
+        assertEquals(2, pool.getStats().getStatementCacheHits());
+    }
+
+    @Test
+    void prepareStatement_ShouldRejectUseOfClosedStatement() throws SQLException {
+        // Given
+        pool = new ConnectionPool(StubDriver.poolProperties("statement-closed"));
+        PreparedStatement preparedStatement;
+
+        // When
+        try (Connection connection = pool.getConnection()) {
+            preparedStatement = connection.prepareStatement(SELECT_BOOK_BY_ID);
+            preparedStatement.close();
+        }
+
+        // Then
+        assertTrue(preparedStatement.isClosed());
+        PreparedStatement closed = preparedStatement;
+        assertThrows(SQLException.class, closed::executeQuery);
+    }
+
+    @Test
+    void shutdown_ShouldCloseCachedStatements() throws SQLException {
+        // Given
+        pool = new ConnectionPool(StubDriver.poolProperties("statement-shutdown"));
+        StubDriver.Database database = StubDriver.database("jdbc:stub:statement-shutdown");
+        try (Connection connection = pool.getConnection()) {
+            connection.prepareStatement(SELECT_BOOK_BY_ID).close();
+        }
+
+        // When
+        pool.shutdown();
+
+        // Then
+        assertEquals(1, database.statementsClosed.get());
+        assertEquals(1, database.connectionsClosed.get());
+    }
+
+    @Test
+    void executeQuery_ShouldRecordExecutionsAndRowsPerFingerprint() throws SQLException {
+        // Given
+        pool = new ConnectionPool(StubDriver.poolProperties("query-metrics"));
+        StubDriver.database("jdbc:stub:query-metrics").resultRows = 3;
+
+        // When
+        for (String sql : List.of(SELECT_BOOK_BY_ID, SELECT_BOOK_BY_ID_REFORMATTED)) {
+            try (Connection connection = pool.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                preparedStatement.setLong(1, 1);
+                ResultSet resultSet = preparedStatement.executeQuery();
+                while (resultSet.next()) {
+                    assertSame(preparedStatement, resultSet.getStatement());
+                }
+            }
+        }
+
+        // Then
+        List<QueryStats> stats = pool.getQueryMetrics().snapshot();
+        assertEquals(1, stats.size());
+        assertEquals(SELECT_BOOK_BY_ID, stats.get(0).getFingerprint());
+        assertEquals(2, stats.get(0).getCount());
+        assertEquals(6, stats.get(0).getRows());
+        assertEquals(2, Arrays.stream(stats.get(0).getHistogram()).sum());
+    }
+
+    @Test
+    void executeUpdate_ShouldRecordUpdatedRows() throws SQLException {
+        // Given
+        pool = new ConnectionPool(StubDriver.poolProperties("update-metrics"));
+        StubDriver.database("jdbc:stub:update-metrics").updateCount = 4;
+
+        // When
+        try (Connection connection = pool.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(UPDATE_COPY_STATUS,
+                     Statement.RETURN_GENERATED_KEYS)) {
+            preparedStatement.setString(1, "ISSUED");
+            preparedStatement.setLong(2, 1);
+            assertEquals(4, preparedStatement.executeUpdate());
+            assertSame(connection, preparedStatement.getConnection());
+        }
+
+        // Then
+        List<QueryStats> stats = pool.getQueryMetrics().snapshot();
+        assertEquals(1, stats.size());
+        assertEquals(UPDATE_COPY_STATUS, stats.get(0).getFingerprint());
+        assertEquals(4, stats.get(0).getRows());
+        assertEquals(0, stats.get(0).getErrorCount());
+    }
+
+    @Test
+    void executeQuery_ShouldNotRecordWhenQueryMetricsAreDisabled() throws SQLException {
+        // Given
+        Properties props = StubDriver.poolProperties("query-metrics-disabled");
+        props.setProperty(QUERY_METRICS_ENABLED, "false");
+        pool = new ConnectionPool(props);
+
+        // When
+        try (Connection connection = pool.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SELECT_BOOK_BY_ID)) {
+            preparedStatement.executeQuery();
+        }
+
+        // Then
+        assertTrue(pool.getQueryMetrics().snapshot().isEmpty());
+        assertEquals(1, StubDriver.database("jdbc:stub:query-metrics-disabled").executions.get());
+    }
+}
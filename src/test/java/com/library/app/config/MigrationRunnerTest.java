@@ -0,0 +1,123 @@
+package com.library.app.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MigrationRunnerTest {
+    // Константы
+    private static final String NO_MIGRATIONS = "classpath*:db/no-such-dir/V*__*.sql";
+    private static final String SCRIPT = "CREATE INDEX idx ON orders (user_id)";
+
+    private ConnectionPool pool;
+    private StubDriver.Database database;
+    private MigrationRunner testingInstance;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ConnectionPool(StubDriver.poolProperties("migration"));
+        database = StubDriver.database("jdbc:stub:migration");
+        testingInstance = new MigrationRunner(pool, MigrationRunner.DEFAULT_LOCATION, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    // POSITIVE TESTS
+    @Test
+    void loadMigrations_ShouldSortBundledMigrationsByVersion() {
+        // When
+        List<MigrationRunner.Migration> migrations = testingInstance.loadMigrations();
+
+        // Then
+        assertFalse(migrations.isEmpty());
+        assertEquals(1, migrations.getFirst().getVersion());
+        for (int i = 1; i < migrations.size(); i++) {
+            assertTrue(migrations.get(i - 1).getVersion() < migrations.get(i).getVersion());
+        }
+    }
+
+    @Test
+    void migrate_ShouldApplyEveryPendingMigrationInItsOwnTransaction() {
+        // Given
+        int count = testingInstance.loadMigrations().size();
+
+        // When
+        List<Integer> applied = testingInstance.migrate();
+
+        // Then
+        assertEquals(count, applied.size());
+        assertEquals(1, applied.getFirst());
+        assertEquals(count, database.commits.get());
+        assertEquals(0, database.rollbacks.get());
+        // lock, version table, applied versions, a script and a record per migration, unlock
+        assertEquals(4 + 2 * count, database.executions.get());
+        assertEquals(0, pool.getStats().getActive());
+    }
+
+    @Test
+    void migrate_ShouldOnlyPrepareVersionTableWhenNoMigrationsFound() {
+        // Given
+        testingInstance = new MigrationRunner(pool, NO_MIGRATIONS, true);
+
+        // When
+        List<Integer> applied = testingInstance.migrate();
+
+        // Then
+        assertTrue(applied.isEmpty());
+        assertEquals(0, database.commits.get());
+        assertEquals(4, database.executions.get());
+    }
+
+    @Test
+    void afterPropertiesSet_ShouldSkipMigrationsWhenDisabled() {
+        // Given
+        testingInstance = new MigrationRunner(pool, MigrationRunner.DEFAULT_LOCATION, false);
+
+        // When
+        testingInstance.afterPropertiesSet();
+
+        // Then
+        assertEquals(0, pool.getStats().getBorrowCount());
+    }
+
+    @Test
+    void migrationOf_ShouldTakeVersionAndDescriptionFromFileName() {
+        // When
+        MigrationRunner.Migration migration = MigrationRunner.Migration.of("V12__add_order_indexes.sql", SCRIPT);
+
+        // Then
+        assertEquals(12, migration.getVersion());
+        assertEquals("add order indexes", migration.getDescription());
+    }
+
+    // NEGATIVE TESTS
+    @Test
+    void migrationOf_ShouldThrowWhenFileNameIsInvalid() {
+        // When
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> MigrationRunner.Migration.of("V1_missing_separator.sql", SCRIPT));
+
+        // Then
+        assertTrue(exception.getMessage().contains("V1_missing_separator.sql"));
+    }
+
+    @Test
+    void migrate_ShouldThrowWhenDatabaseIsUnreachable() {
+        // Given
+        database.unreachable = true;
+
+        // When
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> testingInstance.migrate());
+
+        // Then
+        assertEquals("Database error while migrating the schema", exception.getMessage());
+        assertEquals(0, database.commits.get());
+    }
+}
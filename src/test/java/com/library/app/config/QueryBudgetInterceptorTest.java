@@ -0,0 +1,210 @@
+package com.library.app.config;
+
+import com.library.app.controller.BookController;
+import com.library.app.dao.impl.BookDaoImpl;
+import com.library.app.service.impl.BookServiceImpl;
+import com.library.app.service.impl.LibraryCounters;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.ui.Model;
+import org.springframework.web.method.HandlerMethod;
+
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueryBudgetInterceptorTest {
+    // Константы
+    private static final int MAX_STATEMENTS = 5;
+    private static final int MAX_REPEATS = 1;
+    private static final String SELECT_BOOK_BY_ID = "SELECT * FROM books WHERE id = ?";
+    private static final String SELECT_COPIES_BY_BOOK_ID = "SELECT * FROM book_copies WHERE book_id = ?";
+    private static final String SELECT_HOLDER_BY_COPY_ID = "SELECT * FROM orders WHERE copy_id = ?";
+    private static final String BOOK_DETAILS_DATABASE = "book-details-budget";
+    private static final Long BOOK_ID = 1L;
+    private static final String USERNAME = "reader";
+
+    // Моки
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @Mock
+    private LibraryCounters libraryCounters;
+
+    private final QueryBudgetInterceptor testingInstance = new QueryBudgetInterceptor(MAX_STATEMENTS, MAX_REPEATS);
+
+    @AfterEach
+    void tearDown() {
+        QueryTracker tracker;
+        while ((tracker = QueryTracker.current()) != null) {
+            tracker.close();
+        }
+    }
+
+    // Тесты
+    // POSITIVE TESTS
+
+    @Test
+    void shouldExposeRequestQueryCountsInHeaders() {
+        // Given
+        Object[] attribute = bindRequestAttribute();
+        HandlerMethod handler = handler("showBook");
+        // When
+        testingInstance.preHandle(request, response, handler);
+        QueryTracker.record(SELECT_BOOK_BY_ID, TimeUnit.MICROSECONDS.toNanos(1_500));
+        QueryTracker.record(SELECT_COPIES_BY_BOOK_ID, TimeUnit.MICROSECONDS.toNanos(500));
+        QueryTracker.record(SELECT_COPIES_BY_BOOK_ID, TimeUnit.MICROSECONDS.toNanos(500));
+        testingInstance.afterCompletion(request, response, handler, null);
+        // Then
+        verify(response).setHeader(QueryBudgetInterceptor.QUERY_COUNT_HEADER, "3");
+        verify(response).setHeader(QueryBudgetInterceptor.QUERY_TIME_HEADER, "2.5");
+        verify(response).setHeader(QueryBudgetInterceptor.QUERY_REPEATS_HEADER, "1");
+        assertNull(QueryTracker.current());
+        assertNull(attribute[0]);
+    }
+
+    @Test
+    void shouldLoadBookDetailsPageWithOneStatement() throws NoSuchMethodException {
+        // Given
+        ConnectionPool connectionPool = new ConnectionPool(StubDriver.poolProperties(BOOK_DETAILS_DATABASE));
+        bindRequestAttribute();
+        Principal principal = () -> USERNAME;
+
+        try (MockedStatic<ConnectionPool> mockedStatic = Mockito.mockStatic(ConnectionPool.class)) {
+            mockedStatic.when(ConnectionPool::getInstance).thenReturn(connectionPool);
+            BookController controller = new BookController(new BookServiceImpl(new BookDaoImpl(), libraryCounters));
+            HandlerMethod handler = new HandlerMethod(controller,
+                    BookController.class.getMethod("getBookDetails", Long.class, Model.class, Principal.class));
+            // When
+            testingInstance.preHandle(request, response, handler);
+            controller.getBookDetails(BOOK_ID, new ExtendedModelMap(), principal);
+            testingInstance.afterCompletion(request, response, handler, null);
+        } finally {
+            connectionPool.shutdown();
+        }
+        // Then
+        assertEquals(1, StubDriver.database(StubDriver.URL_PREFIX + BOOK_DETAILS_DATABASE).executions.get());
+        verify(response).setHeader(QueryBudgetInterceptor.QUERY_COUNT_HEADER, "1");
+        verify(response).setHeader(QueryBudgetInterceptor.QUERY_REPEATS_HEADER, "0");
+        verifyNoInteractions(libraryCounters);
+    }
+
+    @Test
+    void shouldKeepHandlerWithinDefaultBudget() {
+        // Given
+        try (QueryTracker tracker = QueryTracker.start()) {
+            QueryTracker.record(SELECT_BOOK_BY_ID, 1);
+            QueryTracker.record(SELECT_COPIES_BY_BOOK_ID, 1);
+            QueryTracker.record(SELECT_COPIES_BY_BOOK_ID, 1);
+            // When
+            boolean overBudget = testingInstance.isOverBudget(tracker, handler("showBook"));
+            // Then
+            assertFalse(overBudget);
+        }
+    }
+
+    @Test
+    void shouldApplyHandlerBudgetOverDefaultBudget() {
+        // Given
+        try (QueryTracker tracker = QueryTracker.start()) {
+            for (int i = 0; i < MAX_STATEMENTS + 3; i++) {
+                QueryTracker.record(SELECT_HOLDER_BY_COPY_ID, 1);
+            }
+            // When
+            boolean overBudget = testingInstance.isOverBudget(tracker, handler("showCopyHolders"));
+            // Then
+            assertFalse(overBudget);
+        }
+    }
+
+    // NEGATIVE TESTS
+
+    @Test
+    void shouldDetectRepeatedQueryOverBudget() {
+        // Given
+        try (QueryTracker tracker = QueryTracker.start()) {
+            QueryTracker.record(SELECT_BOOK_BY_ID, 1);
+            for (int i = 0; i < MAX_REPEATS + 2; i++) {
+                QueryTracker.record(SELECT_HOLDER_BY_COPY_ID, 1);
+            }
+            // When
+            boolean overBudget = testingInstance.isOverBudget(tracker, handler("showBook"));
+            // Then
+            assertTrue(overBudget);
+            assertEquals(MAX_REPEATS + 1, tracker.getMaxRepeats());
+        }
+    }
+
+    @Test
+    void shouldDetectTooManyStatementsForHandlerBudget() {
+        // Given
+        try (QueryTracker tracker = QueryTracker.start()) {
+            QueryTracker.record(SELECT_BOOK_BY_ID, 1);
+            QueryTracker.record(SELECT_COPIES_BY_BOOK_ID, 1);
+            // When
+            boolean overBudget = testingInstance.isOverBudget(tracker, handler("showBookTitle"));
+            // Then
+            assertTrue(overBudget);
+        }
+    }
+
+    @Test
+    void shouldNotTrackRequestsWithoutHandlerMethod() {
+        // Given
+        Object handler = new Object();
+        // When
+        boolean proceed = testingInstance.preHandle(request, response, handler);
+        testingInstance.afterCompletion(request, response, handler, null);
+        // Then
+        assertTrue(proceed);
+        assertNull(QueryTracker.current());
+        verify(request, never()).setAttribute(anyString(), any());
+        verifyNoInteractions(response);
+    }
+
+    private Object[] bindRequestAttribute() {
+        Object[] attribute = new Object[1];
+        doAnswer(invocation -> attribute[0] = invocation.getArgument(1)).when(request).setAttribute(anyString(), any());
+        doAnswer(invocation -> attribute[0] = null).when(request).removeAttribute(anyString());
+        when(request.getAttribute(anyString())).thenAnswer(invocation -> attribute[0]);
+
+        return attribute;
+    }
+
+    private static HandlerMethod handler(String methodName) {
+        try {
+            return new HandlerMethod(new SampleController(), methodName);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class SampleController {
+        public void showBook() {
+        }
+
+        @QueryBudget(maxStatements = 10, maxRepeats = 10)
+        public void showCopyHolders() {
+        }
+
+        @QueryBudget(maxStatements = 1)
+        public void showBookTitle() {
+        }
+    }
+}
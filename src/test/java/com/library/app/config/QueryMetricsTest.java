@@ -0,0 +1,74 @@
+package com.library.app.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryMetricsTest {
+    // Константы
+    private static final String SELECT_BOOK_BY_ID = "SELECT * FROM books WHERE id = ?";
+    private static final String SELECT_USER_BY_ID = "SELECT * FROM users WHERE id = ?";
+    private static final String SELECT_ORDER_BY_ID = "SELECT * FROM orders WHERE id = ?";
+    private static final int MAX_FINGERPRINTS = 2;
+
+    @Test
+    void record_ShouldFillHistogramBucketsAndTotals() {
+        // Given
+        QueryMetrics metrics = new QueryMetrics(0, MAX_FINGERPRINTS);
+        QueryMetrics.Entry entry = metrics.entry(SELECT_BOOK_BY_ID);
+
+        // When
+        metrics.record(entry, TimeUnit.MICROSECONDS.toNanos(300), TimeUnit.MICROSECONDS.toNanos(50), false, 1);
+        metrics.record(entry, TimeUnit.MILLISECONDS.toNanos(7), 0, false, 1);
+        metrics.record(entry, TimeUnit.MILLISECONDS.toNanos(2_000), 0, true, 1);
+        entry.addRows(5);
+
+        // Then
+        QueryStats stats = metrics.snapshot().get(0);
+        long[] histogram = stats.getHistogram();
+        assertEquals(QueryMetrics.getBucketBoundsMillis().length + 1, histogram.length);
+        assertEquals(1, histogram[0]);
+        assertEquals(1, histogram[2]);
+        assertEquals(1, histogram[histogram.length - 1]);
+        assertEquals(3, stats.getCount());
+        assertEquals(1, stats.getErrorCount());
+        assertEquals(2_000_000, stats.getMaxMicros());
+        assertEquals(50, stats.getConnectionWaitMicros());
+        assertEquals(5, stats.getRows());
+    }
+
+    @Test
+    void entry_ShouldCountFingerprintsOverTheLimitAsOther() {
+        // Given
+        QueryMetrics metrics = new QueryMetrics(0, MAX_FINGERPRINTS);
+
+        // When
+        QueryMetrics.Entry book = metrics.entry(SELECT_BOOK_BY_ID);
+        QueryMetrics.Entry user = metrics.entry(SELECT_USER_BY_ID);
+        QueryMetrics.Entry order = metrics.entry(SELECT_ORDER_BY_ID);
+
+        // Then
+        assertEquals(SELECT_BOOK_BY_ID, book.getFingerprint());
+        assertEquals(SELECT_USER_BY_ID, user.getFingerprint());
+        assertEquals(QueryMetrics.OTHER, order.getFingerprint());
+        assertSame(book, metrics.entry(SELECT_BOOK_BY_ID));
+    }
+
+    @Test
+    void snapshot_ShouldListSlowestFingerprintFirst() {
+        // Given
+        QueryMetrics metrics = new QueryMetrics(0, MAX_FINGERPRINTS);
+        metrics.record(metrics.entry(SELECT_BOOK_BY_ID), TimeUnit.MILLISECONDS.toNanos(1), 0, false, 1);
+        metrics.record(metrics.entry(SELECT_USER_BY_ID), TimeUnit.MILLISECONDS.toNanos(9), 0, false, 1);
+
+        // When
+        List<QueryStats> snapshot = metrics.snapshot();
+
+        // Then
+        assertEquals(SELECT_USER_BY_ID, snapshot.get(0).getFingerprint());
+        assertEquals(SELECT_BOOK_BY_ID, snapshot.get(1).getFingerprint());
+    }
+}
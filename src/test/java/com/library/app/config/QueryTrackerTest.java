@@ -0,0 +1,124 @@
+package com.library.app.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryTrackerTest {
+    // Константы
+    private static final String SELECT_BOOK_BY_ID = "SELECT * FROM books WHERE id = ?";
+    private static final String SELECT_COPIES_BY_BOOK_ID = "SELECT * FROM book_copies WHERE book_id = ?";
+    private static final String SELECT_HOLDER_BY_COPY_ID = "SELECT * FROM orders WHERE copy_id = ?";
+    private static final int COPIES = 5;
+
+    private ConnectionPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void start_ShouldCountStatementsExecutedOnPooledConnections() throws SQLException {
+        // Given
+        pool = new ConnectionPool(StubDriver.poolProperties("query-tracker"));
+
+        // When
+        try (QueryTracker tracker = QueryTracker.start()) {
+            execute(List.of(SELECT_BOOK_BY_ID, SELECT_COPIES_BY_BOOK_ID));
+            for (int i = 0; i < COPIES; i++) {
+                execute(List.of(SELECT_HOLDER_BY_COPY_ID));
+            }
+
+            // Then
+            assertEquals(COPIES + 2, tracker.getStatementCount());
+            assertEquals(COPIES - 1, tracker.getRepeatCount());
+            assertEquals(COPIES - 1, tracker.getMaxRepeats());
+            assertEquals(Map.of(SELECT_HOLDER_BY_COPY_ID, COPIES), tracker.getRepeatedFingerprints());
+            assertTrue(tracker.getTotalNanos() > 0);
+        }
+        assertNull(QueryTracker.current());
+    }
+
+    @Test
+    void close_ShouldRestoreOuterTracker() {
+        // Given
+        QueryTracker outer = QueryTracker.start();
+
+        // When
+        try (QueryTracker inner = QueryTracker.start()) {
+            QueryTracker.record(SELECT_BOOK_BY_ID, 1);
+            assertSame(inner, QueryTracker.current());
+        }
+        QueryTracker.record(SELECT_BOOK_BY_ID, 1);
+        outer.close();
+
+        // Then
+        assertEquals(1, outer.getStatementCount());
+        assertEquals(0, outer.getMaxRepeats());
+        assertNull(QueryTracker.current());
+    }
+
+    @Test
+    void propagate_ShouldCountStatementsOfTasksOnVirtualThreads() throws Exception {
+        // Given
+        pool = new ConnectionPool(StubDriver.poolProperties("query-tracker-propagate"));
+
+        // When
+        try (QueryTracker tracker = QueryTracker.start()) {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                Future<?> books = executor.submit(QueryTracker.propagate(() -> {
+                    execute(List.of(SELECT_BOOK_BY_ID));
+                    return QueryTracker.current();
+                }));
+                Future<?> copies = executor.submit(QueryTracker.propagate(() -> {
+                    execute(List.of(SELECT_COPIES_BY_BOOK_ID));
+                    return QueryTracker.current();
+                }));
+
+                // Then
+                assertSame(tracker, books.get());
+                assertSame(tracker, copies.get());
+            }
+            assertEquals(2, tracker.getStatementCount());
+            assertEquals(0, tracker.getMaxRepeats());
+        }
+        assertNull(QueryTracker.current());
+    }
+
+    @Test
+    void propagate_ShouldReturnTaskWhenNoTrackerIsBound() {
+        // Given
+        Callable<String> task = () -> SELECT_BOOK_BY_ID;
+
+        // When
+        Callable<String> propagated = QueryTracker.propagate(task);
+
+        // Then
+        assertSame(task, propagated);
+    }
+
+    private void execute(List<String> queries) throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            for (String sql : queries) {
+                try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                    preparedStatement.setLong(1, 1);
+                    preparedStatement.executeQuery();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.library.app.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlFingerprintTest {
+    // Константы
+    private static final String SELECT_ORDERS_BY_USER = "SELECT * FROM orders WHERE user_id = ? AND order_status = ?";
+
+    @Test
+    void of_ShouldCollapseWhitespaceAndDropComments() {
+        // Given
+        String sql = "SELECT *\n  FROM orders -- by reader\n WHERE user_id = ? /* reader */ AND order_status = ?\n";
+
+        // When
+        String fingerprint = SqlFingerprint.of(sql);
+
+        // Then
+        assertEquals(SELECT_ORDERS_BY_USER, fingerprint);
+    }
+
+    @Test
+    void of_ShouldReplaceLiteralsWithPlaceholders() {
+        // Given
+        String sql = "SELECT * FROM orders WHERE user_id = 42 AND order_status = 'IT''S ISSUED'";
+
+        // When
+        String fingerprint = SqlFingerprint.of(sql);
+
+        // Then
+        assertEquals(SELECT_ORDERS_BY_USER, fingerprint);
+    }
+
+    @Test
+    void of_ShouldCollapseInListsButKeepIdentifiers() {
+        // Given
+        String sql = "SELECT t1.id, \"Col2\" FROM book_copies t1 WHERE t1.id IN (?, ?, 3) AND book_id = ANY(?)";
+
+        // When
+        String fingerprint = SqlFingerprint.of(sql);
+
+        // Then
+        assertEquals("SELECT t1.id, \"Col2\" FROM book_copies t1 WHERE t1.id IN (?) AND book_id = ANY(?)",
+                fingerprint);
+    }
+
+    @Test
+    void of_ShouldKeepSubqueryAfterIn() {
+        // Given
+        String sql = "DELETE FROM orders WHERE copy_id IN (SELECT id FROM book_copies WHERE book_id = 7)";
+
+        // When
+        String fingerprint = SqlFingerprint.of(sql);
+
+        // Then
+        assertEquals("DELETE FROM orders WHERE copy_id IN (SELECT id FROM book_copies WHERE book_id = ?)",
+                fingerprint);
+    }
+}
@@ -0,0 +1,223 @@
+package com.library.app.config;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * In-memory JDBC driver for pool tests. Every {@code jdbc:stub:<name>} URL is a separate database
+ * that counts the round trips made against it; queries return {@link Database#resultRows} empty rows and
+ * updates report {@link Database#updateCount} rows.
+ */
+public class StubDriver implements Driver {
+    public static final String URL_PREFIX = "jdbc:stub:";
+
+    private static final Map<String, Database> DATABASES = new ConcurrentHashMap<>();
+
+    static {
+        try {
+            DriverManager.registerDriver(new StubDriver());
+        } catch (SQLException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Returns the counters of the database behind the given URL, creating it if needed.
+     *
+     * @param url a {@code jdbc:stub:} URL
+     * @return the database counters
+     */
+    public static Database database(String url) {
+        return DATABASES.computeIfAbsent(url, key -> new Database());
+    }
+
+    /**
+     * Builds pool properties pointing at a fresh stub database.
+     *
+     * @param name unique database name
+     * @return properties accepted by {@link ConnectionPool}
+     */
+    public static Properties poolProperties(String name) {
+        Properties props = new Properties();
+        props.setProperty("db.url", URL_PREFIX + name);
+        props.setProperty("db.username", "");
+        props.setProperty("db.password", "");
+        props.setProperty("db.driver-class-name", StubDriver.class.getName());
+        props.setProperty("db.pool.max-size", "4");
+        props.setProperty("db.pool.min-idle", "0");
+        props.setProperty("db.pool.borrow-timeout-ms", "100");
+        props.setProperty("db.pool.housekeeping-interval-ms", "3600000");
+        DATABASES.remove(URL_PREFIX + name);
+
+        return props;
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        if (!acceptsURL(url)) {
+            return null;
+        }
+
+        Database database = database(url);
+        if (database.unreachable) {
+            throw new SQLException("Connection refused");
+        }
+        database.connectionsOpened.incrementAndGet();
+
+        return database.newConnection();
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url != null && url.startsWith(URL_PREFIX);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    /**
+     * Round-trip counters of one stub database.
+     */
+    public static class Database {
+        public final AtomicInteger connectionsOpened = new AtomicInteger();
+        public final AtomicInteger connectionsClosed = new AtomicInteger();
+        public final AtomicInteger validations = new AtomicInteger();
+        public final AtomicInteger statementsPrepared = new AtomicInteger();
+        public final AtomicInteger statementsClosed = new AtomicInteger();
+        public final AtomicInteger executions = new AtomicInteger();
+        public final AtomicInteger commits = new AtomicInteger();
+        public final AtomicInteger rollbacks = new AtomicInteger();
+        public volatile boolean unreachable;
+        public volatile boolean valid = true;
+        public volatile int resultRows;
+        public volatile int updateCount;
+
+        private Connection newConnection() {
+            boolean[] closed = {false};
+            boolean[] autoCommit = {true};
+
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "close" -> {
+                            if (!closed[0]) {
+                                closed[0] = true;
+                                connectionsClosed.incrementAndGet();
+                            }
+                            yield null;
+                        }
+                        case "isClosed" -> closed[0];
+                        case "isValid" -> {
+                            validations.incrementAndGet();
+                            yield valid && !closed[0];
+                        }
+                        case "getAutoCommit" -> autoCommit[0];
+                        case "setAutoCommit" -> {
+                            autoCommit[0] = (Boolean) args[0];
+                            yield null;
+                        }
+                        case "commit" -> {
+                            commits.incrementAndGet();
+                            yield null;
+                        }
+                        case "rollback" -> {
+                            rollbacks.incrementAndGet();
+                            yield null;
+                        }
+                        case "prepareStatement" -> {
+                            statementsPrepared.incrementAndGet();
+                            yield newStatement();
+                        }
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        case "toString" -> "StubConnection";
+                        default -> null;
+                    });
+        }
+
+        private PreparedStatement newStatement() {
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "executeQuery" -> {
+                            executions.incrementAndGet();
+                            yield emptyResultSet();
+                        }
+                        case "executeUpdate", "execute" -> {
+                            executions.incrementAndGet();
+                            yield method.getReturnType() == boolean.class ? (Object) false : (Object) updateCount;
+                        }
+                        case "executeBatch" -> {
+                            executions.incrementAndGet();
+                            yield new int[0];
+                        }
+                        case "close" -> {
+                            statementsClosed.incrementAndGet();
+                            yield null;
+                        }
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        case "toString" -> "StubStatement";
+                        default -> defaultValue(method.getReturnType());
+                    });
+        }
+
+        private ResultSet emptyResultSet() {
+            int[] remaining = {resultRows};
+
+            return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "next" -> remaining[0]-- > 0;
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        case "toString" -> "StubResultSet";
+                        default -> defaultValue(method.getReturnType());
+                    });
+        }
+
+        private static Object defaultValue(Class<?> type) {
+            if (type == boolean.class) {
+                return false;
+            }
+            if (type == int.class) {
+                return 0;
+            }
+            if (type == long.class) {
+                return 0L;
+            }
+            return null;
+        }
+    }
+}
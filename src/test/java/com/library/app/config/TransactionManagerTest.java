@@ -0,0 +1,148 @@
+package com.library.app.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionManagerTest {
+    // Константы
+    private static final String UPDATE_ORDER = "UPDATE orders SET order_status = ? WHERE id = ?";
+    private static final String UPDATE_COPY = "UPDATE book_copies SET status = ? WHERE id = ?";
+    private static final String DB_ERROR = "DB error";
+
+    private ConnectionPool pool;
+    private StubDriver.Database database;
+    private TransactionManager testingInstance;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ConnectionPool(StubDriver.poolProperties("transaction"));
+        database = StubDriver.database("jdbc:stub:transaction");
+        testingInstance = new TransactionManager(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void runInTransaction_ShouldShareOneConnectionAndCommitOnce() {
+        // When
+        testingInstance.runInTransaction(() -> {
+            execute(UPDATE_ORDER);
+            execute(UPDATE_COPY);
+            execute(UPDATE_ORDER);
+        });
+
+        // Then
+        assertEquals(1, pool.getStats().getBorrowCount());
+        assertEquals(1, database.commits.get());
+        assertEquals(0, database.rollbacks.get());
+        assertEquals(3, database.executions.get());
+        assertEquals(0, pool.getStats().getActive());
+    }
+
+    @Test
+    void runInTransaction_ShouldRollBackWhenWorkFails() {
+        // When
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> testingInstance.runInTransaction(() -> {
+                    execute(UPDATE_ORDER);
+                    throw new RuntimeException(DB_ERROR);
+                }));
+
+        // Then
+        assertEquals(DB_ERROR, exception.getMessage());
+        assertEquals(0, database.commits.get());
+        assertEquals(1, database.rollbacks.get());
+        assertEquals(0, pool.getStats().getActive());
+        assertFalse(pool.isBound());
+    }
+
+    @Test
+    void callInTransaction_ShouldJoinOuterTransaction() {
+        // When
+        Integer result = testingInstance.callInTransaction(() -> {
+            execute(UPDATE_ORDER);
+            return testingInstance.callInTransaction(() -> {
+                execute(UPDATE_COPY);
+                return 42;
+            });
+        });
+
+        // Then
+        assertEquals(42, result);
+        assertEquals(1, pool.getStats().getBorrowCount());
+        assertEquals(1, database.commits.get());
+    }
+
+    @Test
+    void afterCommit_ShouldRunActionsOnceOuterTransactionCommits() {
+        // Given
+        List<String> events = new ArrayList<>();
+
+        // When
+        testingInstance.runInTransaction(() -> {
+            testingInstance.afterCommit(() -> events.add("outer"));
+            testingInstance.runInTransaction(() -> testingInstance.afterCommit(() -> events.add("inner")));
+            events.add("work");
+        });
+
+        // Then
+        assertEquals(List.of("work", "outer", "inner"), events);
+        assertEquals(1, database.commits.get());
+    }
+
+    @Test
+    void afterCommit_ShouldDropActionsWhenTransactionRollsBack() {
+        // Given
+        List<String> events = new ArrayList<>();
+
+        // When
+        assertThrows(RuntimeException.class, () -> testingInstance.runInTransaction(() -> {
+            testingInstance.afterCommit(() -> events.add("committed"));
+            throw new RuntimeException(DB_ERROR);
+        }));
+        testingInstance.afterCommit(() -> events.add("no transaction"));
+
+        // Then
+        assertEquals(List.of("no transaction"), events);
+        assertEquals(1, database.rollbacks.get());
+    }
+
+    @Test
+    void getConnection_ShouldBorrowSeparatelyOutsideTransaction() {
+        // When
+        execute(UPDATE_ORDER);
+        execute(UPDATE_COPY);
+
+        // Then
+        assertEquals(2, pool.getStats().getBorrowCount());
+        assertEquals(0, database.commits.get());
+    }
+
+    private void execute(String sql) {
+        Connection connection = null;
+
+        try {
+            connection = pool.getConnection();
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                preparedStatement.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            pool.closeConnection(connection);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.library.app.dao.impl;
+
+import com.library.app.config.ConnectionPool;
+import com.library.app.model.BookCopy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs concurrent {@link BookCopyDaoImpl#claimAvailableCopy(Long)} calls against a real PostgreSQL database and
+ * reports claim throughput. Enabled only when a database is given, e.g.
+ * {@code mvn test -Dtest=BookCopyClaimConcurrencyTest -Ddb.url=jdbc:postgresql://localhost:5432/library_test
+ * -Ddb.pool.max-size=32}.
+ */
+@EnabledIfSystemProperty(named = "db.url", matches = ".+")
+class BookCopyClaimConcurrencyTest {
+    // Константы
+    private static final int COPIES = 2_000;
+    private static final String INVENTORY_PREFIX = "CLAIM-TEST-";
+    private static final String INSERT_BOOK = "INSERT INTO books (title) VALUES ('Claim concurrency test') RETURNING id";
+    private static final String INSERT_COPIES = """
+            INSERT INTO book_copies (book_id, inventory_number, status)
+            SELECT ?, ? || n, 'AVAILABLE' FROM generate_series(1, ?) AS n
+            """;
+    private static final String RESET_COPIES = "UPDATE book_copies SET status = 'AVAILABLE' WHERE book_id = ?";
+    private static final String DELETE_COPIES = "DELETE FROM book_copies WHERE book_id = ?";
+    private static final String DELETE_BOOK = "DELETE FROM books WHERE id = ?";
+    private static final String THROUGHPUT_REPORT = "claimers=%3d  claims=%d  time=%d ms  throughput=%.0f claims/s%n";
+
+    private static ConnectionPool connectionPool;
+    private static BookCopyDaoImpl testingInstance;
+    private static long bookId;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        connectionPool = ConnectionPool.getInstance();
+        testingInstance = new BookCopyDaoImpl();
+
+        try (Connection connection = connectionPool.getConnection()) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(INSERT_BOOK);
+                 ResultSet resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+                bookId = resultSet.getLong(1);
+            }
+
+            try (PreparedStatement preparedStatement = connection.prepareStatement(INSERT_COPIES)) {
+                preparedStatement.setLong(1, bookId);
+                preparedStatement.setString(2, INVENTORY_PREFIX + bookId + "-");
+                preparedStatement.setInt(3, COPIES);
+                preparedStatement.executeUpdate();
+            }
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        execute(DELETE_COPIES);
+        execute(DELETE_BOOK);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 8, 32, 128})
+    void claimAvailableCopy_ShouldNeverAllocateSameCopyTwice(int claimers) throws Exception {
+        // Given
+        execute(RESET_COPIES);
+        Set<Long> claimed = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        long elapsedNanos;
+        try (ExecutorService executor = Executors.newFixedThreadPool(claimers)) {
+            List<Future<Object>> futures = IntStream.range(0, claimers)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        Optional<BookCopy> copy;
+                        while ((copy = testingInstance.claimAvailableCopy(bookId)).isPresent()) {
+                            if (!claimed.add(copy.get().getId())) {
+                                duplicates.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }))
+                    .toList();
+
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<Object> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+            elapsedNanos = System.nanoTime() - startedAt;
+        }
+
+        // Then
+        System.out.printf(THROUGHPUT_REPORT, claimers, claimed.size(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                claimed.size() / (elapsedNanos / 1e9));
+        assertEquals(0, duplicates.get());
+        assertEquals(COPIES, claimed.size());
+        assertEquals(0, testingInstance.countAvailableCopies(bookId));
+    }
+
+    private static void execute(String sql) throws SQLException {
+        try (Connection connection = connectionPool.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setLong(1, bookId);
+            preparedStatement.executeUpdate();
+        }
+    }
+}
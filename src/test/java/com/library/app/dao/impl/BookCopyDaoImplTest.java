@@ -1,7 +1,6 @@
 package com.library.app.dao.impl;
 
 import com.library.app.config.ConnectionPool;
-import com.library.app.dao.BookDao;
 import com.library.app.model.Book;
 import com.library.app.model.BookCopy;
 import com.library.app.model.CopyStatus;
@@ -15,15 +14,18 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.sql.Array;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,9 +40,17 @@ class BookCopyDaoImplTest {
     private static final String STATUS = "status";
     private static final String AVAILABLE = "AVAILABLE";
     private static final String ISSUED = "ISSUED";
+    private static final String RESERVED = "RESERVED";
     private static final String INV_0001 = "INV-0001";
     private static final String INV_0002 = "INV-0002";
     private static final String INV_9999 = "INV-9999";
+    private static final String TITLE = "title";
+    private static final String AUTHOR_FIRST_NAME = "author_first_name";
+    private static final String AUTHOR_LAST_NAME = "author_last_name";
+    private static final String GENRE = "genre";
+    private static final String DESCRIPTION = "description";
+    private static final String COVER_URL = "cover_url";
+    private static final String BOOK_TITLE = "Book Title";
 
     private MockedStatic<ConnectionPool> mockedStatic;
 
@@ -57,9 +67,6 @@ class BookCopyDaoImplTest {
     @Mock
     private ResultSet resultSet;
 
-    @Mock
-    private BookDao bookDao;
-
     // 3.
     @InjectMocks
     private BookCopyDaoImpl testingInstance;
@@ -69,7 +76,7 @@ class BookCopyDaoImplTest {
         mockedStatic = Mockito.mockStatic(ConnectionPool.class);
         mockedStatic.when(ConnectionPool::getInstance).thenReturn(connectionPool);
         when(connectionPool.getConnection()).thenReturn(connection);
-        testingInstance = new BookCopyDaoImpl(bookDao);
+        testingInstance = new BookCopyDaoImpl();
     }
 
     @AfterEach
@@ -85,9 +92,6 @@ class BookCopyDaoImplTest {
         // Given
         prepareResultSetForCopy(INV_0001, BOOK_ID_LONG, AVAILABLE);
         when(resultSet.next()).thenReturn(true);
-        Book expectedBook = new Book();
-        expectedBook.setId(BOOK_ID_LONG);
-        when(bookDao.findById(BOOK_ID_LONG)).thenReturn(Optional.of(expectedBook));
         // When
         Optional<BookCopy> result = testingInstance.findById(COPY_ID);
         // Then
@@ -113,19 +117,17 @@ class BookCopyDaoImplTest {
     }
 
     @Test
-    void shouldFindAvailableCopy() throws Exception {
+    void shouldClaimAvailableCopy() throws Exception {
         // Given
-        prepareResultSetForCopy(INV_0002, BOOK_ID_LONG, AVAILABLE);
+        prepareResultSetForCopy(INV_0002, BOOK_ID_LONG, RESERVED);
         when(resultSet.next()).thenReturn(true);
-        Book book = new Book();
-        book.setId(BOOK_ID_LONG);
-        when(bookDao.findById(BOOK_ID_LONG)).thenReturn(Optional.of(book));
         // When
-        Optional<BookCopy> result = testingInstance.findAvailableCopy(BOOK_ID_LONG);
+        Optional<BookCopy> result = testingInstance.claimAvailableCopy(BOOK_ID_LONG);
         // Then
-        verify(preparedStatement).executeQuery();
+        verify(connection).prepareStatement(contains("FOR UPDATE SKIP LOCKED"));
+        verify(preparedStatement).setLong(1, BOOK_ID_LONG);
         assertTrue(result.isPresent());
-        assertEquals(INV_0002, result.get().getInventoryNumber());
+        assertEquals(CopyStatus.RESERVED, result.get().getStatus());
     }
 
     @Test
@@ -138,15 +140,64 @@ class BookCopyDaoImplTest {
         when(resultSet.getString(INVENTORY_NUMBER)).thenReturn(INV_0001, INV_0002);
         when(resultSet.getLong(BOOK_ID)).thenReturn(BOOK_ID_LONG, BOOK_ID_LONG);
         when(resultSet.getString(STATUS)).thenReturn(AVAILABLE, ISSUED);
-        Book book = new Book();
-        book.setId(BOOK_ID_LONG);
-        when(bookDao.findById(BOOK_ID_LONG)).thenReturn(Optional.of(book));
+        prepareBookColumns();
         // When
         List<BookCopy> result = testingInstance.findAllByBookId(BOOK_ID_LONG);
         // Then
         verify(preparedStatement).executeQuery();
         assertEquals(2, result.size());
         assertEquals(INV_0001, result.get(0).getInventoryNumber());
+        assertEquals(BOOK_TITLE, result.get(0).getBook().getTitle());
+    }
+
+    @Test
+    void shouldLoadCopiesWithTheirBookInOneQuery() throws Exception {
+        // Given
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        when(resultSet.getLong(ID)).thenReturn(1L, 2L, 3L);
+        when(resultSet.getString(INVENTORY_NUMBER)).thenReturn(INV_0001, INV_0002, INV_9999);
+        when(resultSet.getLong(BOOK_ID)).thenReturn(BOOK_ID_LONG);
+        when(resultSet.getString(STATUS)).thenReturn(AVAILABLE);
+        prepareBookColumns();
+        // When
+        List<BookCopy> result = testingInstance.findAllByBookId(BOOK_ID_LONG);
+        // Then
+        verify(connectionPool, times(1)).getConnection();
+        verify(connection, times(1)).prepareStatement(contains("JOIN books b ON bc.book_id = b.id"));
+        verify(preparedStatement, times(1)).executeQuery();
+        assertEquals(3, result.size());
+        assertSame(result.get(0).getBook(), result.get(1).getBook());
+        assertSame(result.get(0).getBook(), result.get(2).getBook());
+    }
+
+    @Test
+    void shouldFindAllByBookIdsInOneQuery() throws Exception {
+        // Given
+        Long otherBookId = 3L;
+        Long bookWithoutCopies = 4L;
+        Array bookIds = Mockito.mock(Array.class);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(connection.createArrayOf(eq("bigint"), any())).thenReturn(bookIds);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        when(resultSet.getLong(ID)).thenReturn(1L, 2L, 3L);
+        when(resultSet.getString(INVENTORY_NUMBER)).thenReturn(INV_0001, INV_0002, INV_9999);
+        when(resultSet.getLong(BOOK_ID)).thenReturn(BOOK_ID_LONG, BOOK_ID_LONG, otherBookId);
+        when(resultSet.getString(STATUS)).thenReturn(AVAILABLE);
+        prepareBookColumns();
+        // When
+        Map<Long, List<BookCopy>> result =
+                testingInstance.findAllByBookIds(List.of(BOOK_ID_LONG, otherBookId, bookWithoutCopies));
+        // Then
+        verify(connectionPool, times(1)).getConnection();
+        verify(connection, times(1)).prepareStatement(contains("bc.book_id = ANY(?)"));
+        verify(preparedStatement).setArray(1, bookIds);
+        assertEquals(List.of(BOOK_ID_LONG, otherBookId, bookWithoutCopies), List.copyOf(result.keySet()));
+        assertEquals(2, result.get(BOOK_ID_LONG).size());
+        assertEquals(1, result.get(otherBookId).size());
+        assertTrue(result.get(bookWithoutCopies).isEmpty());
     }
 
     @Test
@@ -171,6 +222,26 @@ class BookCopyDaoImplTest {
         verify(preparedStatement).executeUpdate();
     }
 
+    @Test
+    void shouldSaveAllInOneBatchAndReportDuplicates() throws Exception {
+        // Given
+        Book book = new Book(BOOK_ID_LONG, null, null, null, null, null, null);
+        List<BookCopy> copies = List.of(new BookCopy(null, INV_0001, book, CopyStatus.AVAILABLE),
+                new BookCopy(null, INV_0002, book, CopyStatus.AVAILABLE),
+                new BookCopy(null, INV_9999, book, CopyStatus.AVAILABLE));
+        when(connection.prepareStatement(contains("ON CONFLICT (inventory_number) DO NOTHING")))
+                .thenReturn(preparedStatement);
+        when(preparedStatement.executeBatch()).thenReturn(new int[]{1, 0, 1});
+        // When
+        List<String> duplicates = testingInstance.saveAll(copies);
+        // Then
+        verify(preparedStatement, times(3)).addBatch();
+        verify(preparedStatement).executeBatch();
+        verify(preparedStatement, times(3)).setLong(1, BOOK_ID_LONG);
+        verify(preparedStatement).setString(2, INV_0002);
+        assertEquals(List.of(INV_0002), duplicates);
+    }
+
     @Test
     void shouldUpdateStatement() throws Exception {
         // Given
@@ -197,19 +268,18 @@ class BookCopyDaoImplTest {
     }
 
     @Test
-    void shouldFindLastInventoryNumber() throws Exception {
+    void shouldAllocateInventoryNumbers() throws Exception {
         // Given
-        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(connection.prepareStatement(contains("nextval"))).thenReturn(preparedStatement);
         when(preparedStatement.executeQuery()).thenReturn(resultSet);
-        when(resultSet.next()).thenReturn(true);
-        when(resultSet.getString(INVENTORY_NUMBER)).thenReturn(INV_0001);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getLong(1)).thenReturn(8L, 7L);
         // When
-        Optional<String> result = testingInstance.findLastInventoryNumber(BOOK_ID_LONG);
+        List<Long> result = testingInstance.allocateInventoryNumbers(2);
         // Then
-        verify(preparedStatement).setLong(1, BOOK_ID_LONG);
+        verify(preparedStatement).setInt(1, 2);
         verify(preparedStatement).executeQuery();
-        assertTrue(result.isPresent());
-        assertEquals(INV_0001, result.get());
+        assertEquals(List.of(7L, 8L), result);
     }
 
     @Test
@@ -257,37 +327,35 @@ class BookCopyDaoImplTest {
     }
 
     @Test
-    void shouldNotFindByIdWhenException() throws Exception {
+    void shouldNotClaimCopyWhenNoneAvailable() throws Exception {
         // Given
-        when(connection.prepareStatement(anyString())).thenThrow(new SQLException());
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(false);
         // When
-        Optional<BookCopy> result = testingInstance.findById(COPY_ID);
+        Optional<BookCopy> result = testingInstance.claimAvailableCopy(BOOK_ID_LONG);
         // Then
         assertTrue(result.isEmpty());
     }
 
     @Test
-    void shouldNotCountAvailableCopiesWhenException() throws Exception {
+    void shouldNotFindByIdWhenException() throws Exception {
         // Given
         when(connection.prepareStatement(anyString())).thenThrow(new SQLException());
         // When
-        int result = testingInstance.countAvailableCopies(BOOK_ID_LONG);
+        Optional<BookCopy> result = testingInstance.findById(COPY_ID);
         // Then
-        assertEquals(0, result);
+        assertTrue(result.isEmpty());
     }
 
     @Test
-    void shouldNotFindAvailableCopyWhenNoCopy() throws Exception {
+    void shouldNotCountAvailableCopiesWhenException() throws Exception {
         // Given
-        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
-        when(preparedStatement.executeQuery()).thenReturn(resultSet);
-        when(resultSet.next()).thenReturn(false);
+        when(connection.prepareStatement(anyString())).thenThrow(new SQLException());
         // When
-        Optional<BookCopy> result = testingInstance.findAvailableCopy(BOOK_ID_LONG);
+        int result = testingInstance.countAvailableCopies(BOOK_ID_LONG);
         // Then
-        verify(preparedStatement).executeQuery();
-        verify(resultSet).next();
-        assertTrue(result.isEmpty());
+        assertEquals(0, result);
     }
 
     @Test
@@ -308,26 +376,28 @@ class BookCopyDaoImplTest {
     }
 
     @Test
-    void shouldNotFindLastInventoryNumberWhenNoResult() throws Exception {
+    void shouldNotSaveAllWhenBatchFails() throws Exception {
         // Given
+        BookCopy copy = new BookCopy(null, INV_0001, new Book(BOOK_ID_LONG, null, null, null, null, null, null),
+                CopyStatus.AVAILABLE);
         when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
-        when(preparedStatement.executeQuery()).thenReturn(resultSet);
-        when(resultSet.next()).thenReturn(false);
+        when(preparedStatement.executeBatch()).thenThrow(new SQLException());
         // When
-        Optional<String> result = testingInstance.findLastInventoryNumber(BOOK_ID_LONG);
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> testingInstance.saveAll(List.of(copy)));
         // Then
-        verify(preparedStatement).setLong(1, BOOK_ID_LONG);
-        assertTrue(result.isEmpty());
+        assertInstanceOf(SQLException.class, exception.getCause());
     }
 
     @Test
-    void shouldNotFindLastInventoryNumberWhenException() throws Exception {
+    void shouldNotAllocateInventoryNumbersWhenException() throws Exception {
         // Given
         when(connectionPool.getConnection()).thenThrow(new SQLException());
         // When
-        Optional<String> result = testingInstance.findLastInventoryNumber(BOOK_ID_LONG);
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> testingInstance.allocateInventoryNumbers(2));
         // Then
-        assertTrue(result.isEmpty());
+        assertInstanceOf(SQLException.class, exception.getCause());
     }
 
     @Test
@@ -384,5 +454,17 @@ class BookCopyDaoImplTest {
         when(resultSet.getString(INVENTORY_NUMBER)).thenReturn(inventoryNumberValue);
         when(resultSet.getLong(BOOK_ID)).thenReturn(bookIdValue);
         when(resultSet.getString(STATUS)).thenReturn(statusValue);
+        prepareBookColumns();
+    }
+
+    private void prepareBookColumns() throws SQLException {
+        ResultSetMocks.mockColumns(resultSet, ID, INVENTORY_NUMBER, STATUS, BOOK_ID,
+                TITLE, AUTHOR_FIRST_NAME, AUTHOR_LAST_NAME, GENRE, DESCRIPTION, COVER_URL);
+        when(resultSet.getString(TITLE)).thenReturn(BOOK_TITLE);
+        when(resultSet.getString(AUTHOR_FIRST_NAME)).thenReturn(null);
+        when(resultSet.getString(AUTHOR_LAST_NAME)).thenReturn(null);
+        when(resultSet.getString(GENRE)).thenReturn(null);
+        when(resultSet.getString(DESCRIPTION)).thenReturn(null);
+        when(resultSet.getString(COVER_URL)).thenReturn(null);
     }
 }
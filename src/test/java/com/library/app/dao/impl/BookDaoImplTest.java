@@ -2,6 +2,8 @@ package com.library.app.dao.impl;
 
 import com.library.app.config.ConnectionPool;
 import com.library.app.model.Book;
+import com.library.app.model.BookDetails;
+import com.library.app.util.Page;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,9 +21,15 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,6 +48,11 @@ class BookDaoImplTest {
     private static final String COVER_URL = "cover_url";
     private static final String JOSHUA = "Joshua";
     private static final String BLOCH = "Bloch";
+    private static final String USERNAME = "reader1";
+    private static final String ACTIVE = "ACTIVE";
+    private static final String AVAILABLE_COUNT = "available_count";
+    private static final String USER_STATUS = "user_status";
+    private static final String HAS_ACTIVE_ORDER = "has_active_order";
     private static final String EFFECTIVE_JAVA = "Effective Java";
     private static final String URL = "http://img";
     private static final String DB_ERROR = "DB error";
@@ -96,6 +109,30 @@ class BookDaoImplTest {
         assertEquals(TITLE, result.get(0).getTitle());
     }
 
+    @Test
+    void shouldSearchPageWithLimitAndOffset() throws Exception {
+        // Given
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        ResultSetMocks.mockColumns(resultSet, TITLE_COLUMN, ID, AUTHOR_FIRST_NAME, AUTHOR_LAST_NAME, GENRE_COLUMN,
+                COVER_URL);
+        doReturn(25L).when(resultSet).getLong(1);
+        when(resultSet.getLong(ID)).thenReturn(BOOK_ID);
+        when(resultSet.getString(TITLE_COLUMN)).thenReturn(TITLE);
+        // When
+        Page<Book> result = testingInstance.searchPage(TITLE, null, null, 3, 10);
+        // Then
+        verify(connectionPool, times(1)).getConnection();
+        verify(connection).prepareStatement(startsWith("SELECT COUNT(*)"));
+        verify(preparedStatement).setInt(2, 10);
+        verify(preparedStatement).setLong(3, 20L);
+        assertEquals(1, result.getContent().size());
+        assertEquals(TITLE, result.getContent().get(0).getTitle());
+        assertEquals(25L, result.getTotalItems());
+        assertEquals(3, result.getTotalPages());
+    }
+
     @Test
     void shouldFindByIdBook() throws Exception {
         // Given
@@ -112,6 +149,48 @@ class BookDaoImplTest {
         assertEquals(BOOK_ID, result.get().getId());
     }
 
+    @Test
+    void shouldFindDetailsForUserInOneQuery() throws Exception {
+        // Given
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        mockResultSetForBook();
+        when(resultSet.getInt(AVAILABLE_COUNT)).thenReturn(3);
+        when(resultSet.getString(USER_STATUS)).thenReturn(ACTIVE);
+        when(resultSet.getBoolean(HAS_ACTIVE_ORDER)).thenReturn(true);
+        // When
+        Optional<BookDetails> result = testingInstance.findDetails(BOOK_ID, USERNAME);
+        // Then
+        verify(connectionPool, times(1)).getConnection();
+        verify(connection, times(1)).prepareStatement(contains("LEFT JOIN users u ON u.username = ?"));
+        verify(preparedStatement).setString(1, USERNAME);
+        verify(preparedStatement).setLong(2, BOOK_ID);
+        assertTrue(result.isPresent());
+        assertEquals(BOOK_ID, result.get().getBook().getId());
+        assertEquals(3, result.get().getAvailableCount());
+        assertEquals(ACTIVE, result.get().getUserStatus());
+        assertTrue(result.get().hasActiveOrder());
+    }
+
+    @Test
+    void shouldFindDetailsWithoutUserForAnonymousVisitor() throws Exception {
+        // Given
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        mockResultSetForBook();
+        when(resultSet.getInt(AVAILABLE_COUNT)).thenReturn(2);
+        // When
+        Optional<BookDetails> result = testingInstance.findDetails(BOOK_ID, null);
+        // Then
+        verify(preparedStatement).setLong(1, BOOK_ID);
+        assertTrue(result.isPresent());
+        assertEquals(2, result.get().getAvailableCount());
+        assertNull(result.get().getUserStatus());
+        assertFalse(result.get().hasActiveOrder());
+    }
+
     @Test
     void shouldSaveNewBook() throws Exception {
         // Given
@@ -202,6 +281,21 @@ class BookDaoImplTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void shouldNotFetchPageBeyondTotal() throws Exception {
+        // Given
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(5L);
+        // When
+        Page<Book> result = testingInstance.searchPage(null, null, null, 2, 10);
+        // Then
+        verify(connection, times(1)).prepareStatement(anyString());
+        assertTrue(result.getContent().isEmpty());
+        assertEquals(5L, result.getTotalItems());
+    }
+
     @Test
     void shouldNotFindByIdWhenNotFound() throws Exception {
         // Given
@@ -227,6 +321,8 @@ class BookDaoImplTest {
     }
 
     private void mockResultSetForBook() throws SQLException {
+        ResultSetMocks.mockColumns(resultSet, ID, TITLE_COLUMN, AUTHOR_FIRST_NAME, AUTHOR_LAST_NAME, GENRE_COLUMN,
+                DESCRIPTION, COVER_URL);
         when(resultSet.getLong(ID)).thenReturn(BOOK_ID);
         when(resultSet.getString(TITLE_COLUMN)).thenReturn(TITLE);
         when(resultSet.getString(AUTHOR_FIRST_NAME)).thenReturn(JOSHUA);
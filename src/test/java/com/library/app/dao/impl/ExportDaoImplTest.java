@@ -0,0 +1,170 @@
+package com.library.app.dao.impl;
+
+import com.library.app.config.ConnectionPool;
+import com.library.app.model.CopyStatus;
+import com.library.app.model.OrderStatus;
+import com.library.app.util.CsvWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportDaoImplTest {
+    // Константы
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 1, 31);
+    private static final String BOOK_ID = "book_id";
+    private static final String TITLE = "title";
+    private static final String DUNE = "Dune";
+    private static final String WAR_AND_PEACE = "War, and Peace";
+
+    private MockedStatic<ConnectionPool> mockedStatic;
+    private StringWriter output;
+
+    // Моки
+    @Mock
+    private ConnectionPool connectionPool;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private ResultSetMetaData metaData;
+
+    private ExportDaoImpl testingInstance;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockedStatic = Mockito.mockStatic(ConnectionPool.class);
+        mockedStatic.when(ConnectionPool::getInstance).thenReturn(connectionPool);
+        when(connectionPool.getConnection()).thenReturn(connection);
+        testingInstance = new ExportDaoImpl();
+        output = new StringWriter();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mockedStatic.close();
+    }
+
+    // Тесты
+    // POSITIVE TESTS
+    @Test
+    void exportBooks_ShouldWriteHeaderAndRowsThroughCursor() throws Exception {
+        // Given
+        prepareResultSet();
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getString(1)).thenReturn("1", "2");
+        when(resultSet.getString(2)).thenReturn(DUNE, WAR_AND_PEACE);
+
+        // When
+        long rows = testingInstance.exportBooks(new CsvWriter(output));
+
+        // Then
+        assertEquals(2, rows);
+        assertEquals("book_id,title\r\n1,Dune\r\n2,\"War, and Peace\"\r\n", output.toString());
+        InOrder inOrder = inOrder(connection, preparedStatement);
+        inOrder.verify(connection).setAutoCommit(false);
+        inOrder.verify(connection).setReadOnly(true);
+        inOrder.verify(preparedStatement).setFetchSize(anyInt());
+        inOrder.verify(preparedStatement).executeQuery();
+        inOrder.verify(connection).rollback();
+        inOrder.verify(connection).setReadOnly(false);
+        inOrder.verify(connection).setAutoCommit(true);
+        verify(connectionPool).closeConnection(connection);
+    }
+
+    @Test
+    void exportOrders_ShouldPushFiltersIntoQuery() throws Exception {
+        // Given
+        prepareResultSet();
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(resultSet.next()).thenReturn(false);
+
+        // When
+        long rows = testingInstance.exportOrders(FROM, TO, OrderStatus.RETURNED, new CsvWriter(output));
+
+        // Then
+        assertEquals(0, rows);
+        verify(connection).prepareStatement(argThat(sql -> sql.contains("o.issue_date >= ?")
+                && sql.contains("o.issue_date <= ?") && sql.contains("o.order_status = ?")));
+        verify(preparedStatement).setObject(1, Date.valueOf(FROM));
+        verify(preparedStatement).setObject(2, Date.valueOf(TO));
+        verify(preparedStatement).setObject(3, OrderStatus.RETURNED.name());
+        assertEquals("book_id,title\r\n", output.toString());
+    }
+
+    @Test
+    void exportCopies_ShouldLeaveRunningTransactionOpen() throws Exception {
+        // Given
+        prepareResultSet();
+        when(connection.getAutoCommit()).thenReturn(false);
+        when(resultSet.next()).thenReturn(false);
+
+        // When
+        testingInstance.exportCopies(null, new CsvWriter(output));
+
+        // Then
+        verify(connection).prepareStatement(argThat(sql -> !sql.contains("bc.status = ?")));
+        verify(preparedStatement, never()).setObject(anyInt(), any());
+        verify(connection, never()).setAutoCommit(anyBoolean());
+        verify(connection, never()).setReadOnly(anyBoolean());
+        verify(connection, never()).rollback();
+    }
+
+    // NEGATIVE TESTS
+    @Test
+    void exportCopies_ShouldThrowAndEndTransactionWhenQueryFails() throws Exception {
+        // Given
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenThrow(new SQLException());
+
+        // When
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> testingInstance.exportCopies(CopyStatus.LOST, new CsvWriter(output)));
+
+        // Then
+        assertEquals("Failed to export book copies", exception.getMessage());
+        verify(preparedStatement).setObject(1, CopyStatus.LOST.name());
+        verify(connection).rollback();
+        verify(connection).setReadOnly(false);
+        verify(connection).setAutoCommit(true);
+        verify(connectionPool).closeConnection(connection);
+    }
+
+    private void prepareResultSet() throws SQLException {
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnLabel(1)).thenReturn(BOOK_ID);
+        when(metaData.getColumnLabel(2)).thenReturn(TITLE);
+    }
+}
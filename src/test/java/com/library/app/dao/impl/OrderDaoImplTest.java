@@ -2,6 +2,8 @@ package com.library.app.dao.impl;
 
 import com.library.app.config.ConnectionPool;
 import com.library.app.model.*;
+import com.library.app.util.CursorPage;
+import com.library.app.util.KeysetCursor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,10 +17,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,6 +39,7 @@ class OrderDaoImplTest {
     private static final Long COPY_ID = 4L;
     private static final String HOME = "HOME";
     private static final String ISSUED = "ISSUED";
+    private static final String PENDING = "PENDING";
     private static final String ORDER_ID_COLUMN = "order_id";
     private static final String ORDER_TYPE = "order_type";
     private static final String ORDER_STATUS = "order_status";
@@ -50,11 +59,19 @@ class OrderDaoImplTest {
     private static final String DOE = "Doe";
     private static final String COPY_ID_COLUMN = "copy_id";
     private static final String INVENTORY_NUMBER = "inventory_number";
+    private static final String INV_001 = "INV-001";
+    private static final String INV_002 = "INV-002";
     private static final String ID = "id";
     private static final String REQUEST_COUNT = "request_count";
     private static final String ORDER_COUNT = "order_count";
+    private static final String REQUEST_DAY = "request_day";
+    private static final String STATUS = "status";
+    private static final String ACTIVE = "ACTIVE";
     private static final String USERNAME = "user1";
     private static final String ERROR = "Error";
+    private static final long CURSOR_ORDER_ID = 10L;
+    private static final String CURRENT_STATUS = "current_status";
+    private static final String RETURNED = "RETURNED";
 
     private MockedStatic<ConnectionPool> mockedStatic;
 
@@ -79,7 +96,7 @@ class OrderDaoImplTest {
     void setUp() throws Exception {
         mockedStatic = Mockito.mockStatic(ConnectionPool.class);
         mockedStatic.when(ConnectionPool::getInstance).thenReturn(connectionPool);
-        when(connectionPool.getConnection()).thenReturn(connection);
+        lenient().when(connectionPool.getConnection()).thenReturn(connection);
         testingInstance = new OrderDaoImpl();
     }
 
@@ -102,44 +119,78 @@ class OrderDaoImplTest {
     }
 
     @Test
-    void shouldUpdateOrder() throws Exception {
+    void shouldTransitionOrderAndCopyInOneStatement() throws Exception {
         // Given
-        Order order = getOrder();
-        order.setId(ORDER_ID);
-        order.setReturnDate(null);
+        LocalDate dueDate = LocalDate.parse(DUE_DATE_JUNE);
         when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        mockResultSet(ORDER_ID_COLUMN);
         // When
-        testingInstance.update(order);
+        OrderTransitionResult result = testingInstance.transition(ORDER_ID, OrderTransition.ISSUE, dueDate, null);
         // Then
-        verify(preparedStatement).executeUpdate();
+        verify(connection).prepareStatement(contains("RETURNING"));
+        verify(preparedStatement).setString(4, ISSUED);
+        verify(preparedStatement).setDate(5, Date.valueOf(dueDate));
+        verify(preparedStatement).setString(6, PENDING);
+        verify(preparedStatement).setString(7, ISSUED);
+        verify(preparedStatement).executeQuery();
+        verify(preparedStatement, never()).executeUpdate();
+        assertEquals(OrderTransitionResult.Outcome.SUCCESS, result.getOutcome());
+        assertEquals(ORDER_ID, result.getOrder().getId());
+        assertEquals(USERNAME, result.getOrder().getUser().getUsername());
+        assertEquals(BOOK_TITLE, result.getOrder().getBookCopy().getBook().getTitle());
     }
 
     @Test
-    void shouldFindOrderById() throws Exception {
+    void shouldReturnCurrentStatusWhenOrderIsInWrongState() throws Exception {
         // Given
         when(connection.prepareStatement(any())).thenReturn(preparedStatement);
         when(preparedStatement.executeQuery()).thenReturn(resultSet);
         when(resultSet.next()).thenReturn(true);
-        mockResultSet(ID);
+        when(resultSet.getString(ORDER_STATUS)).thenReturn(null);
+        when(resultSet.getString(CURRENT_STATUS)).thenReturn(RETURNED);
         // When
-        Optional<Order> result = testingInstance.findById(ORDER_ID);
+        OrderTransitionResult result = testingInstance.transition(ORDER_ID, OrderTransition.RETURN,
+                LocalDate.now(), null);
         // Then
-        verify(preparedStatement).executeQuery();
-        assertTrue(result.isPresent());
+        verify(connection).prepareStatement(contains(RETURN_DATE));
+        assertEquals(OrderTransitionResult.Outcome.WRONG_STATE, result.getOutcome());
+        assertEquals(OrderStatus.RETURNED, result.getCurrentStatus());
+        assertNull(result.getOrder());
     }
 
     @Test
-    void shouldFindOrderByUsername() throws Exception {
+    void shouldReadCommittedStatusWhenConcurrentTransitionWon() throws Exception {
         // Given
         when(connection.prepareStatement(any())).thenReturn(preparedStatement);
         when(preparedStatement.executeQuery()).thenReturn(resultSet);
-        when(resultSet.next()).thenReturn(true, false);
-        mockResultSet(ORDER_ID_COLUMN);
+        when(resultSet.next()).thenReturn(true, true);
+        when(resultSet.getString(ORDER_STATUS)).thenReturn(null, ISSUED);
+        when(resultSet.getString(CURRENT_STATUS)).thenReturn(PENDING);
         // When
-        List<Order> orders = testingInstance.findByUsername(USERNAME);
+        OrderTransitionResult result = testingInstance.transition(ORDER_ID, OrderTransition.ISSUE,
+                LocalDate.now(), null);
         // Then
-        verify(preparedStatement).executeQuery();
-        assertEquals(1, orders.size());
+        verify(connection).prepareStatement("SELECT order_status FROM orders WHERE id = ?");
+        verify(preparedStatement, times(2)).setLong(1, ORDER_ID);
+        assertEquals(OrderTransitionResult.Outcome.WRONG_STATE, result.getOutcome());
+        assertEquals(OrderStatus.ISSUED, result.getCurrentStatus());
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenNoOrderOfUserMatches() throws Exception {
+        // Given
+        when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(false);
+        // When
+        OrderTransitionResult result = testingInstance.transition(ORDER_ID, OrderTransition.CANCEL, null, USERNAME);
+        // Then
+        verify(preparedStatement).setString(2, USERNAME);
+        verify(preparedStatement).setString(3, USERNAME);
+        verify(preparedStatement).setNull(5, Types.DATE);
+        assertEquals(OrderTransitionResult.Outcome.NOT_FOUND, result.getOutcome());
     }
 
     @Test
@@ -189,6 +240,49 @@ class OrderDaoImplTest {
         assertEquals(1, result.size());
     }
 
+    @Test
+    void shouldCountRequestsByBookAndDay() throws Exception {
+        // Given
+        LocalDate since = LocalDate.now().minusDays(29);
+        when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getDate(REQUEST_DAY)).thenReturn(Date.valueOf(since), (Date) null);
+        when(resultSet.getLong(ID)).thenReturn(BOOK_ID);
+        when(resultSet.getString(TITLE_COLUMN)).thenReturn(BOOK_TITLE);
+        when(resultSet.getString(AUTHOR_FIRST_NAME)).thenReturn(AUTHOR_FIRST_NAME);
+        when(resultSet.getString(AUTHOR_LAST_NAME)).thenReturn(AUTHOR_LAST_NAME);
+        when(resultSet.getLong(REQUEST_COUNT)).thenReturn(3L, 40L);
+        // When
+        List<Object[]> result = testingInstance.countRequestsByBookAndDay(since);
+        // Then
+        verify(preparedStatement).setDate(1, Date.valueOf(since));
+        assertEquals(2, result.size());
+        assertEquals(since, result.get(0)[4]);
+        assertNull(result.get(1)[4]);
+        assertEquals(40L, result.get(1)[5]);
+    }
+
+    @Test
+    void shouldCountRequestsByUserAndDay() throws Exception {
+        // Given
+        LocalDate since = LocalDate.now().minusDays(29);
+        when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getDate(REQUEST_DAY)).thenReturn(Date.valueOf(since));
+        when(resultSet.getLong(ID)).thenReturn(USER_ID);
+        when(resultSet.getString(USERNAME_COLUMN)).thenReturn(USERNAME);
+        when(resultSet.getString(STATUS)).thenReturn(ACTIVE);
+        when(resultSet.getLong(ORDER_COUNT)).thenReturn(5L);
+        // When
+        List<Object[]> result = testingInstance.countRequestsByUserAndDay(since);
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(ACTIVE, result.get(0)[2]);
+        assertEquals(5L, result.get(0)[4]);
+    }
+
     @Test
     void shouldFindTopActiveUsers() throws Exception {
         // Given
@@ -219,58 +313,155 @@ class OrderDaoImplTest {
     }
 
     @Test
-    void shouldFindAllOrders() throws Exception {
+    void shouldFindFirstOrderPage() throws Exception {
         // Given
         when(connection.prepareStatement(any())).thenReturn(preparedStatement);
         when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        mockResultSet(ID);
+        // When
+        CursorPage<Order> result = testingInstance.findAllOrders(null, 1);
+        // Then
+        verify(preparedStatement).setInt(1, 2);
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.hasNext());
+        assertFalse(result.hasPrevious());
+        assertEquals(ISSUE_DATE_JUNE + "_" + ORDER_ID, result.getNextToken());
+    }
+
+    @Test
+    void shouldFindOrderPageBeforeCursor() throws Exception {
+        // Given
+        KeysetCursor cursor = new KeysetCursor(LocalDate.parse(ISSUE_DATE_JUNE), CURSOR_ORDER_ID,
+                KeysetCursor.Direction.BEFORE);
+        when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
         when(resultSet.next()).thenReturn(true, false);
         mockResultSet(ID);
         // When
-        List<Order> result = testingInstance.findAllOrders();
+        CursorPage<Order> result = testingInstance.findAllOrders(cursor, 10);
         // Then
-        verify(preparedStatement).executeQuery();
-        assertEquals(1, result.size());
+        verify(connection).prepareStatement(contains("(o.issue_date, o.id) > (?, ?)"));
+        verify(preparedStatement).setDate(1, Date.valueOf(ISSUE_DATE_JUNE));
+        verify(preparedStatement).setLong(2, CURSOR_ORDER_ID);
+        verify(preparedStatement).setInt(3, 11);
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.hasNext());
+        assertFalse(result.hasPrevious());
     }
 
-    // NEGATIVE TESTS
+    @Test
+    void shouldFindOrderPageByUsernameWithStatusFilter() throws Exception {
+        // Given
+        KeysetCursor cursor = new KeysetCursor(LocalDate.parse(ISSUE_DATE_JUNE), CURSOR_ORDER_ID,
+                KeysetCursor.Direction.AFTER);
+        when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        mockResultSet(ID);
+        // When
+        CursorPage<Order> result = testingInstance.findByUsername(USERNAME, cursor, 10, OrderStatusFilter.ACTIVE);
+        // Then
+        verify(connection).prepareStatement(contains("o.order_status IN (?, ?) AND (o.issue_date, o.id) < (?, ?)"));
+        verify(preparedStatement).setString(1, USERNAME);
+        verify(preparedStatement).setString(2, OrderStatus.PENDING.name());
+        verify(preparedStatement).setString(3, OrderStatus.ISSUED.name());
+        verify(preparedStatement).setDate(4, Date.valueOf(ISSUE_DATE_JUNE));
+        verify(preparedStatement).setLong(5, CURSOR_ORDER_ID);
+        verify(preparedStatement).setInt(6, 11);
+        assertEquals(1, result.getContent().size());
+        assertEquals(10, result.getSize());
+        assertFalse(result.hasNext());
+        assertTrue(result.hasPrevious());
+    }
 
     @Test
-    void shouldNotSaveOrderWhenExceptionOccurs() throws Exception {
+    void shouldFindHoldersByCopyIdsInOneQuery() throws Exception {
         // Given
-        Order order = getOrder();
-        when(connection.prepareStatement(any())).thenThrow(new SQLException(ERROR));
+        Array copyIds = Mockito.mock(Array.class);
+        when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+        when(connection.createArrayOf(eq("bigint"), any())).thenReturn(copyIds);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        mockResultSet(ID);
+        // When
+        Map<Long, Order> result = testingInstance.findHoldersByCopyIds(List.of(COPY_ID, CURSOR_ORDER_ID));
         // Then
-        verify(connection).prepareStatement(any());
-        assertThrows(RuntimeException.class, () -> testingInstance.save(order));
+        verify(connectionPool).getConnection();
+        verify(connection).prepareStatement(contains("o.copy_id = ANY(?)"));
+        verify(preparedStatement).setArray(1, copyIds);
+        assertEquals(1, result.size());
+        assertEquals(USERNAME, result.get(COPY_ID).getUser().getUsername());
+        assertEquals(OrderStatus.ISSUED, result.get(COPY_ID).getStatus());
+        assertEquals(LocalDate.parse(DUE_DATE_JUNE), result.get(COPY_ID).getDueDate());
+        assertEquals(BOOK_TITLE, result.get(COPY_ID).getBookCopy().getBook().getTitle());
     }
 
     @Test
-    void shouldNotUpdateOrderWhenExceptionOccurs() throws Exception {
+    void shouldGroupActiveOrdersByUserIdsInOnePass() throws Exception {
         // Given
-        Order order = getOrder();
-        order.setId(ORDER_ID);
-        when(connection.prepareStatement(any())).thenThrow(new SQLException(ERROR));
+        Array userIds = Mockito.mock(Array.class);
+        when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+        when(connection.createArrayOf(eq("bigint"), any())).thenReturn(userIds);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        ResultSetMocks.mockColumns(resultSet, ID, USER_ID_COLUMN, USERNAME_COLUMN, ORDER_TYPE, ORDER_STATUS,
+                ISSUE_DATE_COLUMN, DUE_DATE_COLUMN, RETURN_DATE, COPY_ID_COLUMN, INVENTORY_NUMBER, BOOK_ID_COLUMN,
+                TITLE_COLUMN, AUTHOR_FIRST_NAME, AUTHOR_LAST_NAME);
+        when(resultSet.getLong(ID)).thenReturn(ORDER_ID, CURSOR_ORDER_ID);
+        when(resultSet.getLong(USER_ID_COLUMN)).thenReturn(USER_ID, USER_ID);
+        when(resultSet.getString(USERNAME_COLUMN)).thenReturn(USERNAME);
+        when(resultSet.getString(ORDER_TYPE)).thenReturn(HOME, HOME);
+        when(resultSet.getString(ORDER_STATUS)).thenReturn(ISSUED, PENDING);
+        when(resultSet.getString(TITLE_COLUMN)).thenReturn(BOOK_TITLE, BOOK_TITLE);
+        when(resultSet.getString(AUTHOR_FIRST_NAME)).thenReturn(JANE, JANE);
+        when(resultSet.getString(AUTHOR_LAST_NAME)).thenReturn(DOE, DOE);
+        when(resultSet.getString(INVENTORY_NUMBER)).thenReturn(INV_001, INV_002);
+        // When
+        Map<Long, List<Order>> result = testingInstance.findActiveByUserIds(List.of(USER_ID, BOOK_ID));
         // Then
-        verify(connection).prepareStatement(any());
-        assertThrows(RuntimeException.class, () -> testingInstance.update(order));
+        verify(connection).prepareStatement(contains("o.user_id = ANY(?)"));
+        verify(preparedStatement).setArray(1, userIds);
+        assertEquals(List.of(USER_ID, BOOK_ID), List.copyOf(result.keySet()));
+        assertTrue(result.get(BOOK_ID).isEmpty());
+        List<Order> orders = result.get(USER_ID);
+        assertEquals(2, orders.size());
+        assertEquals(OrderStatus.ISSUED, orders.get(0).getStatus());
+        assertEquals(OrderStatus.PENDING, orders.get(1).getStatus());
+        assertSame(orders.get(0).getUser(), orders.get(1).getUser());
+        assertEquals(USERNAME, orders.get(0).getUser().getUsername());
+        assertEquals(INV_002, orders.get(1).getBookCopy().getInventoryNumber());
     }
 
     @Test
-    void shouldNotFindOrderByIdWhenExceptionOccurs() throws Exception {
+    void shouldNotQueryActiveOrdersForNoUserIds() throws Exception {
+        // When
+        Map<Long, List<Order>> result = testingInstance.findActiveByUserIds(List.of());
+        // Then
+        verify(connection, never()).prepareStatement(any());
+        assertTrue(result.isEmpty());
+    }
+
+    // NEGATIVE TESTS
+
+    @Test
+    void shouldNotSaveOrderWhenExceptionOccurs() throws Exception {
         // Given
+        Order order = getOrder();
         when(connection.prepareStatement(any())).thenThrow(new SQLException(ERROR));
         // Then
         verify(connection).prepareStatement(any());
-        assertThrows(RuntimeException.class, () -> testingInstance.findById(ORDER_ID));
+        assertThrows(RuntimeException.class, () -> testingInstance.save(order));
     }
 
     @Test
-    void shouldNotFindByUsernameWhenExceptionOccurs() throws Exception {
+    void shouldNotTransitionOrderWhenExceptionOccurs() throws Exception {
         // Given
         when(connection.prepareStatement(any())).thenThrow(new SQLException(ERROR));
         // Then
-        verify(connection).prepareStatement(any());
-        assertThrows(RuntimeException.class, () -> testingInstance.findByUsername(USERNAME));
+        assertThrows(RuntimeException.class, () ->
+                testingInstance.transition(ORDER_ID, OrderTransition.ISSUE, LocalDate.now(), null));
+        verify(connectionPool).closeConnection(connection);
     }
 
     @Test
@@ -319,12 +510,13 @@ class OrderDaoImplTest {
     }
 
     @Test
-    void shouldNotFindAllOrdersWhenSQLExceptionOccurs() throws Exception {
+    void shouldNotFindActiveOrdersByUserIdsWhenExceptionOccurs() throws Exception {
         // Given
         when(connection.prepareStatement(any())).thenThrow(new SQLException(ERROR));
+        // When
+        assertThrows(RuntimeException.class, () -> testingInstance.findActiveByUserIds(List.of(USER_ID)));
         // Then
         verify(connection).prepareStatement(any());
-        assertThrows(RuntimeException.class, () -> testingInstance.findAllOrders());
     }
 
     private static Order getOrder() {
@@ -347,6 +539,9 @@ class OrderDaoImplTest {
     }
 
     private void mockResultSet(String idAlias) throws SQLException {
+        ResultSetMocks.mockColumns(resultSet, idAlias, ORDER_TYPE, ORDER_STATUS, ISSUE_DATE_COLUMN, DUE_DATE_COLUMN,
+                RETURN_DATE, USER_ID_COLUMN, USERNAME_COLUMN, BOOK_ID_COLUMN, TITLE_COLUMN, AUTHOR_FIRST_NAME,
+                AUTHOR_LAST_NAME, COPY_ID_COLUMN, INVENTORY_NUMBER);
         when(resultSet.getLong(idAlias)).thenReturn(ORDER_ID);
         when(resultSet.getString(ORDER_TYPE)).thenReturn(HOME);
         when(resultSet.getString(ORDER_STATUS)).thenReturn(ISSUED);
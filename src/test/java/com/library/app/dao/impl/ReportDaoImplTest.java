@@ -0,0 +1,143 @@
+package com.library.app.dao.impl;
+
+import com.library.app.config.ConnectionPool;
+import com.library.app.model.CopyStatus;
+import com.library.app.model.LibraryCounts;
+import com.library.app.model.LibraryTotals;
+import com.library.app.model.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReportDaoImplTest {
+    // 1. Константы
+    private static final String TOTAL_BOOKS = "total_books";
+    private static final String TOTAL_COPIES = "total_copies";
+    private static final String ISSUED_COPIES = "issued_copies";
+    private static final String COMPLETED_ORDERS = "completed_orders";
+    private static final String ACTIVE_USERS = "active_users";
+    private static final String ENTITY = "entity";
+    private static final String STATUS = "status";
+    private static final String COUNT = "count";
+    private static final String BOOKS = "books";
+    private static final String COPIES = "copies";
+    private static final String ORDERS = "orders";
+    private static final String USERS = "users";
+    private static final String ACTIVE = "ACTIVE";
+    private static final String ERROR = "Error";
+
+    private MockedStatic<ConnectionPool> mockedStatic;
+
+    // 2. Моки
+    @Mock
+    private ConnectionPool connectionPool;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    // 3.
+    private ReportDaoImpl testingInstance;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockedStatic = Mockito.mockStatic(ConnectionPool.class);
+        mockedStatic.when(ConnectionPool::getInstance).thenReturn(connectionPool);
+        when(connectionPool.getConnection()).thenReturn(connection);
+        testingInstance = new ReportDaoImpl();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mockedStatic.close();
+    }
+
+    // 4. Тест
+    // POSITIVE TESTS
+
+    @Test
+    void shouldCountLibraryTotalsInOneQuery() throws Exception {
+        // Given
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(TOTAL_BOOKS)).thenReturn(10L);
+        when(resultSet.getLong(TOTAL_COPIES)).thenReturn(40L);
+        when(resultSet.getLong(ISSUED_COPIES)).thenReturn(7L);
+        when(resultSet.getLong(COMPLETED_ORDERS)).thenReturn(25L);
+        when(resultSet.getLong(ACTIVE_USERS)).thenReturn(12L);
+        // When
+        LibraryTotals result = testingInstance.countLibraryTotals();
+        // Then
+        verify(connectionPool, times(1)).getConnection();
+        verify(connection, times(1)).prepareStatement(contains("COUNT(*) FILTER (WHERE status = 'ISSUED')"));
+        assertEquals(10L, result.getTotalBooks());
+        assertEquals(40L, result.getTotalCopies());
+        assertEquals(7L, result.getIssuedCopies());
+        assertEquals(25L, result.getCompletedOrders());
+        assertEquals(12L, result.getActiveUsers());
+    }
+
+    @Test
+    void shouldCountRowsByStatusInOneQuery() throws Exception {
+        // Given
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, true, true, false);
+        when(resultSet.getString(ENTITY)).thenReturn(BOOKS, COPIES, ORDERS, USERS);
+        when(resultSet.getString(STATUS)).thenReturn(null, CopyStatus.ISSUED.name(), OrderStatus.RETURNED.name(), ACTIVE);
+        when(resultSet.getLong(COUNT)).thenReturn(10L, 7L, 25L, 12L);
+        // When
+        LibraryCounts result = testingInstance.countByStatus();
+        // Then
+        verify(connection, times(1)).prepareStatement(contains("UNION ALL"));
+        assertEquals(10L, result.getBooks());
+        assertEquals(7L, result.getCopies().get(CopyStatus.ISSUED));
+        assertEquals(25L, result.getOrders().get(OrderStatus.RETURNED));
+        assertEquals(12L, result.getUsers().get(ACTIVE));
+    }
+
+    // NEGATIVE TESTS
+
+    @Test
+    void shouldNotCountLibraryTotalsWhenExceptionOccurs() throws Exception {
+        // Given
+        when(connection.prepareStatement(anyString())).thenThrow(new SQLException(ERROR));
+        // Then
+        assertThrows(RuntimeException.class, () -> testingInstance.countLibraryTotals());
+        verify(connectionPool).closeConnection(connection);
+    }
+
+    @Test
+    void shouldNotCountRowsByStatusWhenExceptionOccurs() throws Exception {
+        // Given
+        when(connection.prepareStatement(anyString())).thenThrow(new SQLException(ERROR));
+        // Then
+        assertThrows(RuntimeException.class, () -> testingInstance.countByStatus());
+        verify(connectionPool).closeConnection(connection);
+    }
+}
@@ -0,0 +1,47 @@
+package com.library.app.dao.impl;
+
+import org.mockito.Mockito;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * Lets DAO tests stub a mocked {@link ResultSet} by column label while the row mappers read it by index.
+ */
+final class ResultSetMocks {
+    private ResultSetMocks() {
+    }
+
+    /**
+     * Gives the result set metadata with the given column labels and forwards the by-index getters to the
+     * by-label ones, so only the columns a mapper actually reads have to be stubbed.
+     *
+     * @param resultSet the mocked result set
+     * @param labels    the column labels, in column order
+     * @throws SQLException never; declared by the mocked methods
+     */
+    static void mockColumns(ResultSet resultSet, String... labels) throws SQLException {
+        ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+        lenient().doReturn(metaData).when(resultSet).getMetaData();
+        lenient().when(metaData.getColumnCount()).thenReturn(labels.length);
+
+        for (int i = 0; i < labels.length; i++) {
+            lenient().when(metaData.getColumnLabel(i + 1)).thenReturn(labels[i]);
+        }
+
+        lenient().doAnswer(invocation -> resultSet.getLong(label(labels, invocation.getArgument(0))))
+                .when(resultSet).getLong(anyInt());
+        lenient().doAnswer(invocation -> resultSet.getString(label(labels, invocation.getArgument(0))))
+                .when(resultSet).getString(anyInt());
+        lenient().doAnswer(invocation -> resultSet.getDate(label(labels, invocation.getArgument(0))))
+                .when(resultSet).getDate(anyInt());
+    }
+
+    private static String label(String[] labels, int index) {
+        return labels[index - 1];
+    }
+}
@@ -1,10 +1,9 @@
 package com.library.app.dao.impl;
 
 import com.library.app.config.ConnectionPool;
-import com.library.app.model.Order;
-import com.library.app.model.OrderStatus;
 import com.library.app.model.Role;
 import com.library.app.model.User;
+import com.library.app.util.Page;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,11 +19,13 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,26 +39,9 @@ class UserDaoImplTest {
     private static final String STATUS_COLUMN = "status";
     private static final String ROLE_NAME = "role_name";
     private static final String UNKNOWN = "unknown";
-    private static final String USER_ID_COLUMN = "user_id";
-    private static final String PENDING = "PENDING";
-    private static final String ISSUED = "ISSUED";
-    private static final String ORDER_ID_COLUMN = "order_id";
-    private static final String ORDER_STATUS = "order_status";
-    private static final String ORDER_TYPE = "order_type";
-    private static final String HOME = "HOME";
-    private static final String READING_ROOM = "READING_ROOM";
-    private static final String TITLE = "title";
-    private static final String BOOK_A = "Book A";
-    private static final String BOOK_B = "Book B";
-    private static final String AUTHOR_FIRST_NAME = "author_first_name";
-    private static final String JANE = "Jane";
-    private static final String DOE = "Doe";
-    private static final String AUTHOR_LAST_NAME = "author_last_name";
-    private static final String INVENTORY_NUMBER = "inventory_number";
-    private static final String INV_001 = "INV-001";
-    private static final String INV_002 = "INV-002";
     private static final String JOHN = "john";
     private static final String JOHN_EMAIL = "john@example.com";
+    private static final String JOHN_PATTERN = "%jo%";
     private static final String PASSWORD = "secret";
     private static final String STATUS = "ACTIVE";
     private static final String DB_ERROR = "DB error";
@@ -81,6 +65,9 @@ class UserDaoImplTest {
     @Mock
     private ResultSet resultSet;
 
+    @Mock
+    private ResultSet countResultSet;
+
     // 3. @InjectMocks
     @InjectMocks
     private UserDaoImpl testingInstance;
@@ -197,25 +184,63 @@ class UserDaoImplTest {
     }
 
     @Test
-    void shouldReturnMapOfReadersWithOrders() throws Exception {
+    void shouldReturnPageOfReadersWithActiveOrders() throws Exception {
         // Given
-        prepareResultSetForActiveOrders();
         when(connection.prepareStatement(any())).thenReturn(preparedStatement);
-        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(preparedStatement.executeQuery()).thenReturn(countResultSet, resultSet);
+        when(countResultSet.next()).thenReturn(true);
+        when(countResultSet.getLong(1)).thenReturn(11L);
+        when(resultSet.next()).thenReturn(true, false);
+        prepareResultSetForReader();
         // When
-        Map<User, List<Order>> result = testingInstance.findReadersWithActiveOrders();
+        Page<User> result = testingInstance.findReadersWithActiveOrders(null, 2, 10);
         // Then
-        verify(preparedStatement).executeQuery();
-        assertEquals(1, result.size());
-        User user = result.keySet().iterator().next();
+        verify(preparedStatement).setInt(1, 10);
+        verify(preparedStatement).setLong(2, 10L);
+        verify(preparedStatement, never()).setString(anyInt(), any());
+        assertEquals(11, result.getTotalItems());
+        assertEquals(2, result.getTotalPages());
+        assertEquals(1, result.getContent().size());
+        User user = result.getContent().get(0);
+        assertEquals(USER_ID, user.getId());
         assertEquals(JOHN, user.getUsername());
         assertEquals(JOHN_EMAIL, user.getEmail());
-        List<Order> orders = result.get(user);
-        assertEquals(2, orders.size());
-        assertEquals(BOOK_A, orders.get(0).getBookCopy().getBook().getTitle());
-        assertEquals(OrderStatus.PENDING, orders.get(0).getStatus());
-        assertEquals(BOOK_B, orders.get(1).getBookCopy().getBook().getTitle());
-        assertEquals(OrderStatus.ISSUED, orders.get(1).getStatus());
+        assertEquals(Role.READER, user.getRole());
+        assertNull(user.getPassword());
+    }
+
+    @Test
+    void shouldFilterReadersWithActiveOrdersByUsername() throws Exception {
+        // Given
+        when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(countResultSet, resultSet);
+        when(countResultSet.next()).thenReturn(true);
+        when(countResultSet.getLong(1)).thenReturn(1L);
+        when(resultSet.next()).thenReturn(true, false);
+        prepareResultSetForReader();
+        // When
+        Page<User> result = testingInstance.findReadersWithActiveOrders(" JO ", 0, 10);
+        // Then
+        verify(preparedStatement, times(2)).setString(1, JOHN_PATTERN);
+        verify(preparedStatement).setInt(2, 10);
+        verify(preparedStatement).setLong(3, 0L);
+        assertEquals(1, result.getContent().size());
+        assertEquals(1, result.getPage());
+    }
+
+    @Test
+    void shouldSkipPageQueryWhenPageIsBeyondActiveReaders() throws Exception {
+        // Given
+        when(connection.prepareStatement(any())).thenReturn(preparedStatement);
+        when(preparedStatement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(5L);
+        // When
+        Page<User> result = testingInstance.findReadersWithActiveOrders(null, 3, 10);
+        // Then
+        verify(connection, times(1)).prepareStatement(any());
+        assertTrue(result.getContent().isEmpty());
+        assertEquals(5, result.getTotalItems());
     }
 
     // NEGATIVE TESTS
@@ -302,9 +327,10 @@ class UserDaoImplTest {
     void shouldNotFindReadersWithActiveOrdersWhenExceptionOccurs() throws Exception {
         // Given
         when(connection.prepareStatement(any())).thenThrow(new SQLException(DB_ERROR));
+        // When
+        assertThrows(RuntimeException.class, () -> testingInstance.findReadersWithActiveOrders(null, 1, 10));
         // Then
         verify(connection).prepareStatement(any());
-        assertThrows(RuntimeException.class, () -> testingInstance.findReadersWithActiveOrders());
     }
 
     private User getUser() {
@@ -320,6 +346,8 @@ class UserDaoImplTest {
     }
 
     private void prepareResultSetForUser() throws SQLException {
+        ResultSetMocks.mockColumns(resultSet, ID, USERNAME_COLUMN, EMAIL_COLUMN, PASSWORD_COLUMN, STATUS_COLUMN,
+                ROLE_NAME);
         when(resultSet.getLong(ID)).thenReturn(USER_ID);
         when(resultSet.getString(USERNAME_COLUMN)).thenReturn(JOHN);
         when(resultSet.getString(EMAIL_COLUMN)).thenReturn(JOHN_EMAIL);
@@ -328,18 +356,12 @@ class UserDaoImplTest {
         when(resultSet.getString(ROLE_NAME)).thenReturn(Role.READER.name());
     }
 
-    private void prepareResultSetForActiveOrders() throws SQLException {
-        when(resultSet.next()).thenReturn(true, true, false);
-        when(resultSet.getLong(USER_ID_COLUMN)).thenReturn(USER_ID, USER_ID);
-        when(resultSet.getString(USERNAME_COLUMN)).thenReturn(JOHN, JOHN);
-        when(resultSet.getString(EMAIL_COLUMN)).thenReturn(JOHN_EMAIL, JOHN_EMAIL);
-        when(resultSet.getLong(ORDER_ID_COLUMN)).thenReturn(10L, 11L);
-        when(resultSet.getString(ORDER_STATUS)).thenReturn(PENDING, ISSUED);
-        when(resultSet.getString(ORDER_TYPE)).thenReturn(HOME, READING_ROOM);
-        when(resultSet.getString(TITLE)).thenReturn(BOOK_A, BOOK_B);
-        when(resultSet.getString(AUTHOR_FIRST_NAME)).thenReturn(JANE, JANE);
-        when(resultSet.getString(AUTHOR_LAST_NAME)).thenReturn(DOE, DOE);
-        when(resultSet.getString(INVENTORY_NUMBER)).thenReturn(INV_001, INV_002);
+    private void prepareResultSetForReader() throws SQLException {
+        ResultSetMocks.mockColumns(resultSet, ID, USERNAME_COLUMN, EMAIL_COLUMN, STATUS_COLUMN, ROLE_NAME);
+        when(resultSet.getLong(ID)).thenReturn(USER_ID);
+        when(resultSet.getString(USERNAME_COLUMN)).thenReturn(JOHN);
+        when(resultSet.getString(EMAIL_COLUMN)).thenReturn(JOHN_EMAIL);
+        when(resultSet.getString(STATUS_COLUMN)).thenReturn(STATUS);
+        when(resultSet.getString(ROLE_NAME)).thenReturn(Role.READER.name());
     }
 }
-
@@ -0,0 +1,183 @@
+package com.library.app.dao.mapper;
+
+import com.library.app.model.Book;
+import com.library.app.model.BookCopy;
+import com.library.app.model.Order;
+import com.library.app.model.OrderStatus;
+import com.library.app.model.OrderType;
+import com.library.app.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares mapping 100k order rows by column name, as the order DAO did before, with {@link OrderRowMapper}.
+ * The rows come from an in-memory result set whose by-name getters look the label up in a map on every call,
+ * retrying in lower case, the way the PostgreSQL driver does, so only the mapping differs between the two
+ * benchmarks.
+ * <p>
+ * Not run by the test suite. Run it with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.library.app.dao.mapper.OrderRowMapperBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderRowMapperBenchmark {
+    private static final int ROWS = 100_000;
+    private static final int USERS = 500;
+    private static final int BOOKS = 2_000;
+    private static final String[] COLUMNS = {"id", "user_id", "copy_id", "order_type", "order_status", "issue_date",
+            "due_date", "return_date", "user_id", "username", "book_id", "title", "author_first_name",
+            "author_last_name", "copy_id", "inventory_number"};
+
+    private Object[][] rows;
+
+    /**
+     * Builds the rows once; every benchmark invocation reads all of them through a fresh result set.
+     */
+    @Setup
+    public void setUp() {
+        OrderStatus[] statuses = OrderStatus.values();
+        OrderType[] types = OrderType.values();
+        LocalDate issued = LocalDate.of(2025, 1, 1);
+        rows = new Object[ROWS][];
+
+        for (int i = 0; i < ROWS; i++) {
+            long userId = i % USERS + 1;
+            long bookId = i % BOOKS + 1;
+            long copyId = i + 1;
+            Date issueDate = Date.valueOf(issued.plusDays(i % 365));
+            rows[i] = new Object[]{
+                    (long) i + 1, userId, copyId, types[i % types.length].name(), statuses[i % statuses.length].name(),
+                    issueDate, Date.valueOf(issued.plusDays(i % 365 + 14)), i % 3 == 0 ? issueDate : null,
+                    userId, "reader" + userId, bookId, "Title " + bookId, "First" + bookId, "Last" + bookId,
+                    copyId, "INV-" + copyId
+            };
+        }
+    }
+
+    /**
+     * Maps every row by column name, creating a user and book per row and parsing the enums with {@code valueOf}.
+     */
+    @Benchmark
+    public void mapByColumnName(Blackhole blackhole) throws SQLException {
+        ResultSet resultSet = resultSet(rows);
+
+        while (resultSet.next()) {
+            Book book = new Book(
+                    resultSet.getLong("book_id"),
+                    resultSet.getString("title"),
+                    resultSet.getString("author_first_name"),
+                    resultSet.getString("author_last_name"),
+                    null, null, null
+            );
+            BookCopy copy = new BookCopy(resultSet.getLong("copy_id"), resultSet.getString("inventory_number"),
+                    book, null);
+            User user = new User();
+            user.setId(resultSet.getLong("user_id"));
+            user.setUsername(resultSet.getString("username"));
+
+            blackhole.consume(new Order(
+                    resultSet.getLong("id"),
+                    user,
+                    copy,
+                    OrderType.valueOf(resultSet.getString("order_type")),
+                    OrderStatus.valueOf(resultSet.getString("order_status")),
+                    resultSet.getDate("issue_date") != null ? resultSet.getDate("issue_date").toLocalDate() : null,
+                    resultSet.getDate("due_date") != null ? resultSet.getDate("due_date").toLocalDate() : null,
+                    resultSet.getDate("return_date") != null ? resultSet.getDate("return_date").toLocalDate() : null
+            ));
+        }
+    }
+
+    /**
+     * Maps every row with one {@link OrderRowMapper} for the whole result set.
+     */
+    @Benchmark
+    public void mapWithRowMapper(Blackhole blackhole) throws SQLException {
+        ResultSet resultSet = resultSet(rows);
+        RowMapper<Order> rowMapper = new OrderRowMapper(resultSet);
+
+        while (resultSet.next()) {
+            blackhole.consume(rowMapper.mapRow(resultSet));
+        }
+    }
+
+    /**
+     * Runs the benchmarks of this class.
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmarks cannot be run
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OrderRowMapperBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Returns a forward-only result set over the rows. By-name getters resolve the label on every call.
+     */
+    private static ResultSet resultSet(Object[][] rows) {
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int column = COLUMNS.length; column >= 1; column--) {
+            indexes.put(COLUMNS[column - 1], column);
+        }
+
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+                ResultSetMetaData.class.getClassLoader(), new Class<?>[]{ResultSetMetaData.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> COLUMNS.length;
+                    case "getColumnLabel" -> COLUMNS[(Integer) args[0] - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        int[] cursor = {-1};
+
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> ++cursor[0] < rows.length;
+                    case "getMetaData" -> metaData;
+                    case "getLong" -> {
+                        Object value = rows[cursor[0]][column(indexes, args[0]) - 1];
+                        yield value != null ? value : 0L;
+                    }
+                    case "getString", "getDate" -> rows[cursor[0]][column(indexes, args[0]) - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static int column(Map<String, Integer> indexes, Object column) {
+        if (column instanceof Integer index) {
+            return index;
+        }
+
+        Integer index = indexes.get((String) column);
+
+        return index != null ? index : indexes.get(((String) column).toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,130 @@
+package com.library.app.dao.mapper;
+
+import com.library.app.model.Order;
+import com.library.app.model.OrderStatus;
+import com.library.app.model.OrderType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderRowMapperTest {
+    // Константы
+    private static final List<String> COLUMNS = List.of("id", "user_id", "copy_id", "order_type", "order_status",
+            "issue_date", "due_date", "return_date", "user_id", "username", "book_id", "title", "author_first_name",
+            "author_last_name", "copy_id", "inventory_number");
+    private static final String UNKNOWN = "LOST";
+    private static final String USERNAME = "reader";
+    private static final String TITLE = "Book Title";
+    private static final String JANE = "Jane";
+    private static final String DOE = "Doe";
+    private static final String INV_001 = "INV-001";
+    private static final String INV_002 = "INV-002";
+    private static final String ISSUE_DATE = "2025-06-01";
+
+    // Моки
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private ResultSetMetaData metaData;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(COLUMNS.size());
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            lenient().when(metaData.getColumnLabel(i + 1)).thenReturn(COLUMNS.get(i).toUpperCase());
+        }
+    }
+
+    // Тесты
+    // POSITIVE TESTS
+
+    @Test
+    void shouldMapRowsByIndexAndShareUserAndBook() throws Exception {
+        // Given
+        when(resultSet.getLong(column("id"))).thenReturn(10L, 11L);
+        when(resultSet.getLong(column("user_id"))).thenReturn(1L, 1L);
+        when(resultSet.getLong(column("book_id"))).thenReturn(2L, 2L);
+        when(resultSet.getLong(column("copy_id"))).thenReturn(3L, 4L);
+        when(resultSet.getString(column("username"))).thenReturn(USERNAME);
+        when(resultSet.getString(column("title"))).thenReturn(TITLE);
+        when(resultSet.getString(column("author_first_name"))).thenReturn(JANE);
+        when(resultSet.getString(column("author_last_name"))).thenReturn(DOE);
+        when(resultSet.getString(column("inventory_number"))).thenReturn(INV_001, INV_002);
+        when(resultSet.getString(column("order_type"))).thenReturn(OrderType.HOME.name());
+        when(resultSet.getString(column("order_status"))).thenReturn(OrderStatus.ISSUED.name(),
+                OrderStatus.RETURNED.name());
+        when(resultSet.getDate(column("issue_date"))).thenReturn(Date.valueOf(ISSUE_DATE));
+        when(resultSet.getDate(column("due_date"))).thenReturn(null);
+        when(resultSet.getDate(column("return_date"))).thenReturn(null);
+        // When
+        RowMapper<Order> rowMapper = new OrderRowMapper(resultSet);
+        Order first = rowMapper.mapRow(resultSet);
+        Order second = rowMapper.mapRow(resultSet);
+        // Then
+        verify(resultSet).getMetaData();
+        assertEquals(10L, first.getId());
+        assertEquals(11L, second.getId());
+        assertEquals(OrderStatus.RETURNED, second.getStatus());
+        assertEquals(LocalDate.parse(ISSUE_DATE), first.getIssueDate());
+        assertNull(first.getReturnDate());
+        assertEquals(INV_002, second.getBookCopy().getInventoryNumber());
+        assertSame(first.getUser(), second.getUser());
+        assertSame(first.getBookCopy().getBook(), second.getBookCopy().getBook());
+        assertEquals(TITLE, second.getBookCopy().getBook().getTitle());
+    }
+
+    // NEGATIVE TESTS
+
+    @Test
+    void shouldNotMapUnknownOrderStatus() throws Exception {
+        // Given
+        when(resultSet.getLong(column("id"))).thenReturn(10L);
+        when(resultSet.getLong(column("user_id"))).thenReturn(1L);
+        when(resultSet.getString(column("username"))).thenReturn(USERNAME);
+        when(resultSet.getLong(column("copy_id"))).thenReturn(3L);
+        when(resultSet.getString(column("inventory_number"))).thenReturn(INV_001);
+        when(resultSet.getLong(column("book_id"))).thenReturn(2L);
+        when(resultSet.getString(column("title"))).thenReturn(TITLE);
+        when(resultSet.getString(column("author_first_name"))).thenReturn(JANE);
+        when(resultSet.getString(column("author_last_name"))).thenReturn(DOE);
+        when(resultSet.getString(column("order_type"))).thenReturn(OrderType.HOME.name());
+        when(resultSet.getString(column("order_status"))).thenReturn(UNKNOWN);
+        RowMapper<Order> rowMapper = new OrderRowMapper(resultSet);
+        // When
+        IllegalArgumentException exception =
+                assertThrows(IllegalArgumentException.class, () -> rowMapper.mapRow(resultSet));
+        // Then
+        assertTrue(exception.getMessage().contains(UNKNOWN));
+    }
+
+    @Test
+    void shouldNotCreateMapperWhenColumnIsMissing() throws Exception {
+        // Given
+        when(metaData.getColumnCount()).thenReturn(COLUMNS.size() - 1);
+        // When
+        SQLException exception = assertThrows(SQLException.class, () -> new OrderRowMapper(resultSet));
+        // Then
+        assertTrue(exception.getMessage().contains("inventory_number"));
+    }
+
+    private static int column(String label) {
+        return COLUMNS.indexOf(label) + 1;
+    }
+}
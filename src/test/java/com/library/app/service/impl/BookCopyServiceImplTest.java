@@ -1,6 +1,8 @@
 package com.library.app.service.impl;
 
+import com.library.app.config.TransactionManager;
 import com.library.app.dao.BookCopyDao;
+import com.library.app.model.Book;
 import com.library.app.model.BookCopy;
 import com.library.app.model.CopyStatus;
 import org.junit.jupiter.api.Test;
@@ -10,7 +12,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -22,8 +26,6 @@ class BookCopyServiceImplTest {
     private static final Long COPY_ID = 10L;
     private static final Long FIVE_LONG = 5L;
     private static final Long FORTY_TWO_LONG = 42L;
-    private static final String LAST_INVENTORY = "INV-0007";
-    private static final String INVALID = "INVALID";
     private static final String INV_0001 = "INV-0001";
     private static final String INV_0008 = "INV-0008";
     public static final String DB_ERROR = "DB error";
@@ -32,6 +34,12 @@ class BookCopyServiceImplTest {
     @Mock
     private BookCopyDao bookCopyDao;
 
+    @Mock
+    private TransactionManager transactionManager;
+
+    @Mock
+    private LibraryCounters libraryCounters;
+
     // Инжект мокс
     @InjectMocks
     private BookCopyServiceImpl testingInstance;
@@ -62,6 +70,18 @@ class BookCopyServiceImplTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void shouldGetAllCopiesByBookIds() {
+        // Given
+        Map<Long, List<BookCopy>> expected = Map.of(BOOK_ID, List.of(getCopy()));
+        when(bookCopyDao.findAllByBookIds(List.of(BOOK_ID))).thenReturn(expected);
+        // When
+        Map<Long, List<BookCopy>> actual = testingInstance.getAllByBookIds(List.of(BOOK_ID));
+        // Then
+        verify(bookCopyDao).findAllByBookIds(List.of(BOOK_ID));
+        assertEquals(expected, actual);
+    }
+
     @Test
     void shouldGetCopyById() {
         // Given
@@ -78,23 +98,23 @@ class BookCopyServiceImplTest {
     @Test
     void shouldGenerateNextInventoryNumber() {
         // Given
-        when(bookCopyDao.findLastInventoryNumber(BOOK_ID)).thenReturn(Optional.of(LAST_INVENTORY));
+        when(bookCopyDao.allocateInventoryNumbers(1)).thenReturn(List.of(8L));
         // When
-        String result = testingInstance.generateNextInventoryNumber(BOOK_ID);
+        String result = testingInstance.generateNextInventoryNumber();
         // Then
-        verify(bookCopyDao).findLastInventoryNumber(BOOK_ID);
+        verify(bookCopyDao).allocateInventoryNumbers(1);
         assertEquals(INV_0008, result);
     }
 
     @Test
-    void shouldGenerateNextInventoryNumberNoneExists() {
+    void shouldGenerateInventoryNumbersInOneAllocation() {
         // Given
-        when(bookCopyDao.findLastInventoryNumber(BOOK_ID)).thenReturn(Optional.empty());
+        when(bookCopyDao.allocateInventoryNumbers(3)).thenReturn(List.of(1L, 2L, 12345L));
         // When
-        String result = testingInstance.generateNextInventoryNumber(BOOK_ID);
+        List<String> result = testingInstance.generateInventoryNumbers(3);
         // Then
-        verify(bookCopyDao).findLastInventoryNumber(BOOK_ID);
-        assertEquals(INV_0001, result);
+        verify(bookCopyDao).allocateInventoryNumbers(3);
+        assertEquals(List.of(INV_0001, "INV-0002", "INV-12345"), result);
     }
 
     @Test
@@ -129,6 +149,25 @@ class BookCopyServiceImplTest {
         verify(bookCopyDao).save(copy);
     }
 
+    @Test
+    void shouldAddCopiesInOneTransactionAndCountOnlyInsertedOnes() {
+        // Given
+        Book book = new Book();
+        book.setId(BOOK_ID);
+        when(bookCopyDao.allocateInventoryNumbers(3)).thenReturn(List.of(1L, 2L, 3L));
+        when(transactionManager.callInTransaction(any())).thenAnswer(invocation ->
+                invocation.<Supplier<?>>getArgument(0).get());
+        when(bookCopyDao.saveAll(anyList())).thenReturn(List.of(INV_0001));
+        // When
+        List<String> duplicates = testingInstance.addCopies(book, 3);
+        // Then
+        verify(bookCopyDao).saveAll(argThat(copies -> copies.size() == 3
+                && copies.stream().allMatch(copy -> copy.getBook() == book
+                && copy.getStatus() == CopyStatus.AVAILABLE)));
+        verify(libraryCounters, times(2)).copyAdded(CopyStatus.AVAILABLE);
+        assertEquals(List.of(INV_0001), duplicates);
+    }
+
     @Test
     void shouldDeleteCopyBook() {
         // When
@@ -137,6 +176,21 @@ class BookCopyServiceImplTest {
         verify(bookCopyDao).delete(COPY_ID);
     }
 
+    @Test
+    void shouldMoveCounterWhenCopyStatusChanges() {
+        // Given
+        BookCopy stored = getCopy();
+        stored.setStatus(CopyStatus.AVAILABLE);
+        BookCopy copy = getCopy();
+        copy.setStatus(CopyStatus.LOST);
+        when(bookCopyDao.findById(COPY_ID)).thenReturn(Optional.of(stored));
+        // When
+        testingInstance.update(copy);
+        // Then
+        verify(bookCopyDao).update(copy);
+        verify(libraryCounters).copyStatusChanged(CopyStatus.AVAILABLE, CopyStatus.LOST);
+    }
+
     @Test
     void shouldUpdateCopyBook() {
         // Given
@@ -161,14 +215,14 @@ class BookCopyServiceImplTest {
     }
 
     @Test
-    void shouldNotGenerateNextInventoryNumberWhenInvalidFormat() {
+    void shouldNotGenerateNextInventoryNumberWhenAllocationFails() {
         // Given
-        when(bookCopyDao.findLastInventoryNumber(BOOK_ID)).thenReturn(Optional.of(INVALID));
+        when(bookCopyDao.allocateInventoryNumbers(1)).thenThrow(new RuntimeException(DB_ERROR));
         // When
-        String result = testingInstance.generateNextInventoryNumber(BOOK_ID);
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> testingInstance.generateNextInventoryNumber());
         // Then
-        verify(bookCopyDao).findLastInventoryNumber(BOOK_ID);
-        assertEquals(INV_0001, result);
+        assertEquals(DB_ERROR, exception.getMessage());
     }
 
     @Test
@@ -1,8 +1,11 @@
 package com.library.app.service.impl;
 
 import com.library.app.dao.BookDao;
+import com.library.app.dto.BookDetailsDto;
 import com.library.app.dto.BookDto;
 import com.library.app.model.Book;
+import com.library.app.model.BookDetails;
+import com.library.app.util.Page;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -26,12 +29,17 @@ class BookServiceImplTest {
     private static final String AUTHOR_FIRST_NAME = "John";
     private static final String AUTHOR_LAST_NAME = "Doe";
     private static final String GENRE = "Drama";
+    private static final String USERNAME = "reader1";
+    private static final String ACTIVE = "ACTIVE";
     public static final String DB_ERROR = "DB error";
 
     // Моки
     @Mock
     private BookDao bookDao;
 
+    @Mock
+    private LibraryCounters libraryCounters;
+
     // Инжект мокс
     @InjectMocks
     private BookServiceImpl testingInstance;
@@ -53,6 +61,21 @@ class BookServiceImplTest {
         assertEquals(BOOK_ID, result.get(0).getId());
     }
 
+    @Test
+    void shouldSearchPage() {
+        // Given
+        Book book = getBook();
+        when(bookDao.searchPage(TITLE, AUTHOR_FIRST_NAME, GENRE, 2, 10))
+                .thenReturn(new Page<>(List.of(book), 2, 10, 11));
+        // When
+        Page<BookDto> result = testingInstance.searchPage(TITLE, AUTHOR_FIRST_NAME, GENRE, 2, 10);
+        // Then
+        verify(bookDao).searchPage(TITLE, AUTHOR_FIRST_NAME, GENRE, 2, 10);
+        assertEquals(1, result.getContent().size());
+        assertEquals(BOOK_ID, result.getContent().get(0).getId());
+        assertEquals(2, result.getTotalPages());
+    }
+
     @Test
     void shouldGetBookById() {
         // Given
@@ -66,6 +89,22 @@ class BookServiceImplTest {
         assertEquals(BOOK_ID, result.get().getId());
     }
 
+    @Test
+    void shouldGetBookDetails() {
+        // Given
+        BookDetails details = new BookDetails(getBook(), 2, ACTIVE, true);
+        when(bookDao.findDetails(BOOK_ID, USERNAME)).thenReturn(Optional.of(details));
+        // When
+        Optional<BookDetailsDto> result = testingInstance.getDetails(BOOK_ID, USERNAME);
+        // Then
+        verify(bookDao).findDetails(BOOK_ID, USERNAME);
+        assertTrue(result.isPresent());
+        assertEquals(BOOK_ID, result.get().getBook().getId());
+        assertEquals(2, result.get().getAvailableCount());
+        assertEquals(ACTIVE, result.get().getUserStatus());
+        assertTrue(result.get().isHasActiveOrder());
+    }
+
     @Test
     void shouldSaveNewBook() {
         // Given
@@ -75,6 +114,7 @@ class BookServiceImplTest {
         testingInstance.saveBook(dto);
         // Then
         verify(bookDao).save(any(Book.class));
+        verify(libraryCounters).bookAdded();
     }
 
     @Test
@@ -94,6 +134,7 @@ class BookServiceImplTest {
         testingInstance.deleteBook(BOOK_ID);
         // Then
         verify(bookDao).delete(BOOK_ID);
+        verify(libraryCounters).bookDeleted();
     }
 
     @Test
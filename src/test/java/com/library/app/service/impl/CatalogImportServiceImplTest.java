@@ -0,0 +1,94 @@
+package com.library.app.service.impl;
+
+import com.library.app.config.TransactionManager;
+import com.library.app.dao.CatalogImportDao;
+import com.library.app.dto.CatalogImportReportDto;
+import com.library.app.dto.CatalogRowDto;
+import com.library.app.model.CopyStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogImportServiceImplTest {
+    // Константы
+    private static final String CATALOG = """
+            title,author_last_name,copies
+            Dune,Herbert,2
+            ,Nobody,1
+            Emma,Austen,0
+            """;
+    private static final String DB_ERROR = "DB error";
+
+    // Моки
+    @Mock
+    private CatalogImportDao catalogImportDao;
+
+    @Mock
+    private TransactionManager transactionManager;
+
+    @Mock
+    private LibraryCounters libraryCounters;
+
+    // Инжект мокс
+    @InjectMocks
+    private CatalogImportServiceImpl testingInstance;
+
+    // Тесты
+    // POSITIVE TESTS
+    @Test
+    void importCatalog_ShouldStreamValidRowsAndReportRejectedOnes() {
+        // Given
+        List<CatalogRowDto> copied = new ArrayList<>();
+        when(transactionManager.callInTransaction(any())).thenAnswer(invocation ->
+                invocation.<Supplier<?>>getArgument(0).get());
+        when(catalogImportDao.copyToStaging(any())).thenAnswer(invocation -> {
+            Iterator<CatalogRowDto> rows = invocation.getArgument(0);
+            rows.forEachRemaining(copied::add);
+            return (long) copied.size();
+        });
+        when(catalogImportDao.insertBooksFromStaging()).thenReturn(2L);
+        when(catalogImportDao.insertCopiesFromStaging()).thenReturn(2L);
+
+        // When
+        CatalogImportReportDto report = testingInstance.importCatalog(new StringReader(CATALOG));
+
+        // Then
+        verify(catalogImportDao).createStagingTable();
+        assertEquals(List.of("Dune", "Emma"), copied.stream().map(CatalogRowDto::getTitle).toList());
+        assertEquals(3, report.getRowsRead());
+        assertEquals(2, report.getBooksImported());
+        assertEquals(2, report.getCopiesImported());
+        assertEquals(1, report.getErrorCount());
+        assertEquals(3, report.getErrors().get(0).getLine());
+        verify(libraryCounters).booksAdded(2L);
+        verify(libraryCounters).copiesAdded(CopyStatus.AVAILABLE, 2L);
+    }
+
+    // NEGATIVE TESTS
+    @Test
+    void importCatalog_ShouldNotUpdateCountersWhenDatabaseFails() {
+        // Given
+        when(transactionManager.callInTransaction(any())).thenThrow(new RuntimeException(DB_ERROR));
+
+        // When
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> testingInstance.importCatalog(new StringReader(CATALOG)));
+
+        // Then
+        assertEquals(DB_ERROR, exception.getMessage());
+        verifyNoInteractions(libraryCounters);
+    }
+}
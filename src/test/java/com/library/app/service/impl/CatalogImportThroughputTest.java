@@ -0,0 +1,79 @@
+package com.library.app.service.impl;
+
+import com.library.app.config.ConnectionPool;
+import com.library.app.config.TransactionManager;
+import com.library.app.dao.impl.CatalogImportDaoImpl;
+import com.library.app.dao.impl.ReportDaoImpl;
+import com.library.app.dto.CatalogImportReportDto;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures the rows per second of {@link CatalogImportServiceImpl} on a generated file in a real PostgreSQL
+ * database. Enabled only when a database is given, e.g.
+ * {@code mvn test -Dtest=CatalogImportThroughputTest -Ddb.url=jdbc:postgresql://localhost:5432/library_test}.
+ */
+@EnabledIfSystemProperty(named = "db.url", matches = ".+")
+class CatalogImportThroughputTest {
+    // Константы
+    private static final int ROWS = 100_000;
+    private static final int COPIES_PER_ROW = 2;
+    private static final String MARKER = "catalog-import-";
+    private static final String HEADER = "title\tauthor_first_name\tauthor_last_name\tgenre\tdescription\tcopies\n";
+    private static final String ROW = "%s%d\tFirst\tLast %d\tGenre\tGenerated book for the import benchmark\t%d\n";
+    private static final String DELETE_COPIES =
+            "DELETE FROM book_copies WHERE book_id IN (SELECT id FROM books WHERE title LIKE ? || '%')";
+    private static final String DELETE_BOOKS = "DELETE FROM books WHERE title LIKE ? || '%'";
+    private static final String THROUGHPUT_REPORT = "catalog import: %d rows in %d ms (%d rows/s)%n";
+
+    private static ConnectionPool connectionPool;
+    private static CatalogImportServiceImpl testingInstance;
+
+    @BeforeAll
+    static void setUp() {
+        connectionPool = ConnectionPool.getInstance();
+        testingInstance = new CatalogImportServiceImpl(new CatalogImportDaoImpl(), new TransactionManager(),
+                new LibraryCounters(new ReportDaoImpl()));
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        for (String sql : List.of(DELETE_COPIES, DELETE_BOOKS)) {
+            try (Connection connection = connectionPool.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                preparedStatement.setString(1, MARKER);
+                preparedStatement.executeUpdate();
+            }
+        }
+    }
+
+    @Test
+    void importCatalog_ShouldImportEveryRowAndReportThroughput() {
+        // Given
+        StringBuilder file = new StringBuilder(HEADER);
+        for (int i = 1; i <= ROWS; i++) {
+            file.append(String.format(ROW, MARKER, i, i, COPIES_PER_ROW));
+        }
+
+        // When
+        CatalogImportReportDto report = testingInstance.importCatalog(new StringReader(file.toString()));
+
+        // Then
+        System.out.printf(THROUGHPUT_REPORT, report.getRowsRead(), report.getElapsedMillis(),
+                report.getRowsPerSecond());
+        assertEquals(ROWS, report.getRowsRead());
+        assertEquals(0, report.getErrorCount());
+        assertEquals(ROWS, report.getBooksImported());
+        assertEquals((long) ROWS * COPIES_PER_ROW, report.getCopiesImported());
+    }
+}
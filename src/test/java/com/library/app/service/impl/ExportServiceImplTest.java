@@ -0,0 +1,69 @@
+package com.library.app.service.impl;
+
+import com.library.app.dao.ExportDao;
+import com.library.app.model.OrderStatus;
+import com.library.app.util.CsvWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceImplTest {
+    // Константы
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final String DB_ERROR = "DB error";
+
+    // Моки
+    @Mock
+    private ExportDao exportDao;
+
+    // Инжект мокс
+    @InjectMocks
+    private ExportServiceImpl testingInstance;
+
+    // Тесты
+    // POSITIVE TESTS
+    @Test
+    void exportOrders_ShouldWriteUtf8RecordsAndFlushThem() {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        when(exportDao.exportOrders(eq(FROM), isNull(), eq(OrderStatus.ISSUED), any())).thenAnswer(invocation -> {
+            CsvWriter writer = invocation.getArgument(3);
+            writer.writeRecord("title");
+            writer.writeRecord("Война и мир");
+            return 1L;
+        });
+
+        // When
+        long rows = testingInstance.exportOrders(FROM, null, OrderStatus.ISSUED, out);
+
+        // Then
+        assertEquals(1, rows);
+        assertEquals("title\r\nВойна и мир\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    // NEGATIVE TESTS
+    @Test
+    void exportBooks_ShouldPropagateDaoFailure() {
+        // Given
+        when(exportDao.exportBooks(any())).thenThrow(new RuntimeException(DB_ERROR));
+
+        // When
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> testingInstance.exportBooks(new ByteArrayOutputStream()));
+
+        // Then
+        assertEquals(DB_ERROR, exception.getMessage());
+    }
+}
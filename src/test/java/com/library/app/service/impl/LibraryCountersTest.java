@@ -0,0 +1,138 @@
+package com.library.app.service.impl;
+
+import com.library.app.dao.ReportDao;
+import com.library.app.model.CopyStatus;
+import com.library.app.model.LibraryCounts;
+import com.library.app.model.LibraryTotals;
+import com.library.app.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LibraryCountersTest {
+    // Константы
+    private static final String ACTIVE = "ACTIVE";
+    private static final String BLOCKED = "BLOCKED";
+    private static final String DB_ERROR = "DB error";
+    private static final int WRITERS = 8;
+    private static final int WRITES_PER_WRITER = 1_000;
+
+    // Моки
+    @Mock
+    private ReportDao reportDao;
+
+    private LibraryCounters testingInstance;
+
+    @BeforeEach
+    void setUp() {
+        testingInstance = new LibraryCounters(reportDao);
+    }
+
+    // Тесты
+    // POSITIVE TESTS
+
+    @Test
+    void shouldSeedCountersFromDatabase() {
+        // Given
+        when(reportDao.countByStatus()).thenReturn(getCounts());
+        // When
+        testingInstance.reconcile();
+        // Then
+        LibraryTotals totals = testingInstance.getTotals();
+        assertTrue(testingInstance.isSeeded());
+        assertEquals(10, totals.getTotalBooks());
+        assertEquals(40, totals.getTotalCopies());
+        assertEquals(7, totals.getIssuedCopies());
+        assertEquals(25, totals.getCompletedOrders());
+        assertEquals(12, totals.getActiveUsers());
+    }
+
+    @Test
+    void shouldTrackWritePaths() {
+        // Given
+        testingInstance.reconcile(getCounts());
+        // When
+        testingInstance.bookAdded();
+        testingInstance.copyAdded(CopyStatus.AVAILABLE);
+        testingInstance.orderAdded(OrderStatus.PENDING);
+        testingInstance.copyStatusChanged(CopyStatus.AVAILABLE, CopyStatus.RESERVED);
+        testingInstance.orderStatusChanged(OrderStatus.PENDING, OrderStatus.ISSUED);
+        testingInstance.copyStatusChanged(CopyStatus.RESERVED, CopyStatus.ISSUED);
+        testingInstance.orderStatusChanged(OrderStatus.ISSUED, OrderStatus.RETURNED);
+        testingInstance.copyStatusChanged(CopyStatus.ISSUED, CopyStatus.AVAILABLE);
+        testingInstance.userAdded(ACTIVE);
+        testingInstance.userStatusChanged(ACTIVE, BLOCKED);
+        testingInstance.userStatusChanged(BLOCKED, ACTIVE);
+        // Then
+        LibraryTotals totals = testingInstance.getTotals();
+        assertEquals(11, totals.getTotalBooks());
+        assertEquals(41, totals.getTotalCopies());
+        assertEquals(7, totals.getIssuedCopies());
+        assertEquals(26, totals.getCompletedOrders());
+        assertEquals(13, totals.getActiveUsers());
+    }
+
+    @Test
+    void shouldReportAndCorrectDrift() {
+        // Given
+        testingInstance.reconcile(getCounts());
+        testingInstance.bookAdded();
+        testingInstance.userStatusChanged(ACTIVE, BLOCKED);
+        // When
+        long drift = testingInstance.reconcile(getCounts());
+        // Then
+        assertEquals(3, drift);
+        assertEquals(10, testingInstance.getTotals().getTotalBooks());
+        assertEquals(12, testingInstance.getTotals().getActiveUsers());
+        assertEquals(0, testingInstance.reconcile(getCounts()));
+    }
+
+    @Test
+    void shouldNotLoseConcurrentIncrements() throws Exception {
+        // Given
+        testingInstance.reconcile(getCounts());
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(WRITERS)) {
+            for (int i = 0; i < WRITERS; i++) {
+                executor.submit(() -> {
+                    for (int j = 0; j < WRITES_PER_WRITER; j++) {
+                        testingInstance.orderStatusChanged(OrderStatus.ISSUED, OrderStatus.RETURNED);
+                    }
+                });
+            }
+        }
+        // Then
+        assertEquals(25 + WRITERS * WRITES_PER_WRITER, testingInstance.getTotals().getCompletedOrders());
+    }
+
+    // NEGATIVE TESTS
+
+    @Test
+    void shouldStayUnseededWhenReconciliationFails() {
+        // Given
+        when(reportDao.countByStatus()).thenThrow(new RuntimeException(DB_ERROR));
+        // When
+        testingInstance.reconcile();
+        // Then
+        assertFalse(testingInstance.isSeeded());
+    }
+
+    private static LibraryCounts getCounts() {
+        return new LibraryCounts(
+                10,
+                Map.of(CopyStatus.AVAILABLE, 30L, CopyStatus.ISSUED, 7L, CopyStatus.RESERVED, 3L),
+                Map.of(OrderStatus.RETURNED, 25L, OrderStatus.ISSUED, 7L, OrderStatus.PENDING, 3L),
+                Map.of(ACTIVE, 12L, BLOCKED, 2L)
+        );
+    }
+}
@@ -0,0 +1,121 @@
+package com.library.app.service.impl;
+
+import com.library.app.dao.OrderDao;
+import com.library.app.dto.BookStatsDto;
+import com.library.app.dto.UserStatsDto;
+import com.library.app.model.Book;
+import com.library.app.model.BookCopy;
+import com.library.app.model.Order;
+import com.library.app.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderLeaderboardsTest {
+    // Константы
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+    private static final int WINDOW_DAYS = 30;
+    private static final int CAPACITY = 10;
+    private static final String ACTIVE = "ACTIVE";
+    private static final String BLOCKED = "BLOCKED";
+    private static final String DUNE = "Dune";
+    private static final String EMMA = "Emma";
+    private static final String READER = "reader";
+    private static final String BLOCKED_READER = "blocked";
+    private static final String DB_ERROR = "DB error";
+
+    // Моки
+    @Mock
+    private OrderDao orderDao;
+
+    private OrderLeaderboards testingInstance;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        testingInstance = new OrderLeaderboards(orderDao, WINDOW_DAYS, CAPACITY, clock);
+    }
+
+    // Тесты
+    // POSITIVE TESTS
+
+    @Test
+    void shouldRebuildWindowedBoardsFromDailyCounts() {
+        // Given
+        LocalDate since = TODAY.minusDays(WINDOW_DAYS - 1);
+        when(orderDao.countRequestsByBookAndDay(since)).thenReturn(List.of(
+                new Object[]{1L, DUNE, "Frank", "Herbert", TODAY, 2L},
+                new Object[]{1L, DUNE, "Frank", "Herbert", null, 50L},
+                new Object[]{2L, EMMA, "Jane", "Austen", since, 3L}
+        ));
+        when(orderDao.countRequestsByUserAndDay(since)).thenReturn(List.of(
+                new Object[]{10L, READER, ACTIVE, TODAY, 4L},
+                new Object[]{11L, BLOCKED_READER, BLOCKED, TODAY, 9L}
+        ));
+        // When
+        testingInstance.rebuild();
+        // Then
+        assertTrue(testingInstance.canServe(CAPACITY));
+        List<BookStatsDto> books = testingInstance.getTopRequestedBooks(5);
+        assertEquals(List.of(EMMA, DUNE), books.stream().map(BookStatsDto::getTitle).toList());
+        assertEquals("Jane Austen", books.get(0).getAuthorFullName());
+        assertEquals(2L, books.get(1).getRequestCount());
+        List<UserStatsDto> users = testingInstance.getTopActiveUsers(5);
+        assertEquals(1, users.size());
+        assertEquals(READER, users.get(0).getUsername());
+    }
+
+    @Test
+    void shouldCountIssuedOrders() {
+        // Given
+        when(orderDao.countRequestsByBookAndDay(TODAY.minusDays(WINDOW_DAYS - 1))).thenReturn(List.of());
+        when(orderDao.countRequestsByUserAndDay(TODAY.minusDays(WINDOW_DAYS - 1))).thenReturn(List.of());
+        testingInstance.rebuild();
+        // When
+        testingInstance.orderIssued(getOrder());
+        testingInstance.orderIssued(getOrder());
+        testingInstance.userStatusChanged(10L, BLOCKED);
+        // Then
+        assertEquals(2L, testingInstance.getTopRequestedBooks(1).get(0).getRequestCount());
+        assertTrue(testingInstance.getTopActiveUsers(1).isEmpty());
+    }
+
+    // NEGATIVE TESTS
+
+    @Test
+    void shouldNotServeWhenRebuildFails() {
+        // Given
+        when(orderDao.countRequestsByBookAndDay(TODAY.minusDays(WINDOW_DAYS - 1)))
+                .thenThrow(new RuntimeException(DB_ERROR));
+        // When
+        testingInstance.rebuild();
+        testingInstance.orderIssued(getOrder());
+        // Then
+        assertFalse(testingInstance.canServe(1));
+    }
+
+    private static Order getOrder() {
+        User user = new User();
+        user.setId(10L);
+        user.setUsername(READER);
+        Book book = new Book(1L, DUNE, "Frank", "Herbert", null, null, null);
+        BookCopy copy = new BookCopy(5L, "INV-0005", book, null);
+        Order order = new Order();
+        order.setUser(user);
+        order.setBookCopy(copy);
+        order.setIssueDate(TODAY);
+
+        return order;
+    }
+}
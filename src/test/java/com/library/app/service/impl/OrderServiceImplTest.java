@@ -1,11 +1,16 @@
 package com.library.app.service.impl;
 
+import com.library.app.config.TransactionManager;
 import com.library.app.dao.BookCopyDao;
 import com.library.app.dao.OrderDao;
 import com.library.app.dao.UserDao;
 import com.library.app.dto.BookStatsDto;
+import com.library.app.dto.CopyHolderDto;
+import com.library.app.dto.OrderDto;
 import com.library.app.dto.UserStatsDto;
 import com.library.app.model.*;
+import com.library.app.util.CursorPage;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -15,12 +20,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,8 +53,6 @@ class OrderServiceImplTest {
     private static final String JOHN_DOE = "John Doe";
     private static final String USER_1 = "user1";
     private static final String ORDER_NOT_FOUND = "Order not found";
-    private static final String SOMEONE = "someone";
-    private static final String UNAUTHORIZED_TO_CANCEL_THIS_ORDER = "Unauthorized to cancel this order";
     private static final String ONLY_PENDING_ORDERS_CAN_BE_CANCELED = "Only pending orders can be canceled";
     private static final String ORDER_IS_NOT_IN_PENDING_STATUS = "Order is not in PENDING status";
     private static final String ONLY_ISSUED_ORDERS_CAN_BE_RETURNED = "Only ISSUED orders can be returned";
@@ -57,10 +67,31 @@ class OrderServiceImplTest {
     @Mock
     private BookCopyDao bookCopyDao;
 
+    @Mock
+    private TransactionManager transactionManager;
+
+    @Mock
+    private LibraryCounters libraryCounters;
+
+    @Mock
+    private OrderLeaderboards orderLeaderboards;
+
     // @InjectMocks
     @InjectMocks
     private OrderServiceImpl testingInstance;
 
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(transactionManager).runInTransaction(any());
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(transactionManager).afterCommit(any());
+    }
+
     // Тесты
     // POSITIVE TESTS
 
@@ -70,15 +101,30 @@ class OrderServiceImplTest {
         User user = getUser();
         BookCopy copy = getCopy();
         when(userDao.findByUsername(USERNAME)).thenReturn(Optional.of(user));
-        when(bookCopyDao.findAvailableCopy(BOOK_ID)).thenReturn(Optional.of(copy));
+        when(bookCopyDao.claimAvailableCopy(BOOK_ID)).thenReturn(Optional.of(copy));
         // When
         testingInstance.createOrder(BOOK_ID, USERNAME, OrderType.HOME);
         // Then
         verify(userDao).findByUsername(USERNAME);
-        verify(bookCopyDao).findAvailableCopy(BOOK_ID);
+        verify(bookCopyDao).claimAvailableCopy(BOOK_ID);
+        verify(orderDao).save(any(Order.class));
+        verify(bookCopyDao, never()).update(any(BookCopy.class));
+        verify(libraryCounters).orderAdded(OrderStatus.PENDING);
+        verify(libraryCounters).copyStatusChanged(CopyStatus.AVAILABLE, CopyStatus.RESERVED);
+    }
+
+    @Test
+    void shouldCreateOrderInSingleTransaction() {
+        // Given
+        User user = getUser();
+        BookCopy copy = getCopy();
+        when(userDao.findByUsername(USERNAME)).thenReturn(Optional.of(user));
+        when(bookCopyDao.claimAvailableCopy(BOOK_ID)).thenReturn(Optional.of(copy));
+        // When
+        testingInstance.createOrder(BOOK_ID, USERNAME, OrderType.HOME);
+        // Then
+        verify(transactionManager).runInTransaction(any());
         verify(orderDao).save(any(Order.class));
-        verify(bookCopyDao).update(copy);
-        assertEquals(CopyStatus.RESERVED, copy.getStatus());
     }
 
     @Test
@@ -87,15 +133,14 @@ class OrderServiceImplTest {
         User user = getUser();
         BookCopy copy = getCopy();
         when(userDao.findByUsername(USERNAME)).thenReturn(Optional.of(user));
-        when(bookCopyDao.findAvailableCopy(BOOK_ID)).thenReturn(Optional.of(copy));
+        when(bookCopyDao.claimAvailableCopy(BOOK_ID)).thenReturn(Optional.of(copy));
         // When
         testingInstance.createOrder(BOOK_ID, USERNAME, OrderType.HOME);
         // Then
         verify(orderDao).save(argThat(order ->
                 order.getDueDate().equals(LocalDate.now().plusDays(14))));
         verify(userDao).findByUsername(USERNAME);
-        verify(bookCopyDao).findAvailableCopy(BOOK_ID);
-        verify(bookCopyDao).update(copy);
+        verify(bookCopyDao).claimAvailableCopy(BOOK_ID);
     }
 
     @Test
@@ -104,27 +149,76 @@ class OrderServiceImplTest {
         User user = getUser();
         BookCopy copy = getCopy();
         when(userDao.findByUsername(USERNAME)).thenReturn(Optional.of(user));
-        when(bookCopyDao.findAvailableCopy(BOOK_ID)).thenReturn(Optional.of(copy));
+        when(bookCopyDao.claimAvailableCopy(BOOK_ID)).thenReturn(Optional.of(copy));
         // When
         testingInstance.createOrder(BOOK_ID, USERNAME, OrderType.READING_ROOM);
         // Then
         verify(orderDao).save(argThat(order ->
                 order.getDueDate().equals(LocalDate.now().plusDays(1))));
         verify(userDao).findByUsername(USERNAME);
-        verify(bookCopyDao).findAvailableCopy(BOOK_ID);
-        verify(bookCopyDao).update(copy);
+        verify(bookCopyDao).claimAvailableCopy(BOOK_ID);
     }
 
     @Test
-    void shouldGetOrdersByUsername() {
+    void shouldGetOrderPage() {
         // Given
-        List<Order> orders = List.of(new Order());
-        when(orderDao.findByUsername(USERNAME)).thenReturn(orders);
+        CursorPage<Order> expectedPage = new CursorPage<>(List.of(new Order()), 10, null, null);
+        when(orderDao.findAllOrders(null, 10)).thenReturn(expectedPage);
         // When
-        List<Order> result = testingInstance.getOrdersByUsername(USERNAME);
+        CursorPage<Order> result = testingInstance.getAllOrders(null, 10);
         // Then
-        verify(orderDao).findByUsername(USERNAME);
-        assertEquals(orders, result);
+        verify(orderDao).findAllOrders(null, 10);
+        assertSame(expectedPage, result);
+    }
+
+    @Test
+    void shouldCapOrderPageSizeByUsername() {
+        // Given
+        CursorPage<Order> expectedPage = new CursorPage<>(List.of(new Order()), 50, null, null);
+        when(orderDao.findByUsername(USERNAME, null, 50, OrderStatusFilter.ACTIVE)).thenReturn(expectedPage);
+        // When
+        CursorPage<Order> result = testingInstance.getOrdersByUsername(USERNAME, null, 100_000,
+                OrderStatusFilter.ACTIVE);
+        // Then
+        verify(orderDao).findByUsername(USERNAME, null, 50, OrderStatusFilter.ACTIVE);
+        assertSame(expectedPage, result);
+    }
+
+    @Test
+    void shouldGetHoldersByCopyIds() {
+        // Given
+        User user = new User();
+        user.setUsername(USERNAME);
+        Order order = new Order();
+        order.setUser(user);
+        order.setStatus(OrderStatus.ISSUED);
+        order.setDueDate(LocalDate.now());
+        when(orderDao.findHoldersByCopyIds(List.of(COPY_ID))).thenReturn(Map.of(COPY_ID, order));
+        // When
+        Map<Long, CopyHolderDto> result = testingInstance.getHoldersByCopyIds(List.of(COPY_ID));
+        // Then
+        verify(orderDao).findHoldersByCopyIds(List.of(COPY_ID));
+        assertEquals(USERNAME, result.get(COPY_ID).getUsername());
+        assertEquals(OrderStatus.ISSUED, result.get(COPY_ID).getStatus());
+        assertEquals(order.getDueDate(), result.get(COPY_ID).getDueDate());
+    }
+
+    @Test
+    void shouldGetActiveOrdersByUserIds() {
+        // Given
+        Book book = new Book();
+        book.setTitle(BOOK_TITLE);
+        BookCopy copy = getCopy();
+        copy.setBook(book);
+        Order order = getOrderWith(copy, OrderStatus.ISSUED, getUser());
+        when(orderDao.findActiveByUserIds(List.of(USER_ID))).thenReturn(Map.of(USER_ID, List.of(order)));
+        // When
+        Map<Long, List<OrderDto>> result = testingInstance.getActiveOrdersByUserIds(List.of(USER_ID));
+        // Then
+        verify(orderDao).findActiveByUserIds(List.of(USER_ID));
+        assertEquals(1, result.get(USER_ID).size());
+        assertEquals(BOOK_TITLE, result.get(USER_ID).get(0).getBookTitle());
+        assertEquals(USERNAME, result.get(USER_ID).get(0).getUsername());
     }
 
     @Test
@@ -172,6 +266,19 @@ class OrderServiceImplTest {
         assertEquals(7L, result.get(0).getRequestCount());
     }
 
+    @Test
+    void shouldGetTopRequestedBooksFromLeaderboard() {
+        // Given
+        List<BookStatsDto> expected = List.of(new BookStatsDto(BOOK_TITLE, JOHN_DOE, 7L));
+        when(orderLeaderboards.canServe(3)).thenReturn(true);
+        when(orderLeaderboards.getTopRequestedBooks(3)).thenReturn(expected);
+        // When
+        List<BookStatsDto> result = testingInstance.getTopRequestedBooks(3);
+        // Then
+        verify(orderDao, never()).findTopRequestedBooks(3);
+        assertEquals(expected, result);
+    }
+
     @Test
     void shouldGetTopActiveUsers() {
         // Given
@@ -206,18 +313,16 @@ class OrderServiceImplTest {
         // Given
         User user = getUser();
         BookCopy copy = getCopy();
-        Order order = getOrderWith(copy, OrderStatus.PENDING, user);
-        order.setUser(getUser());
-        when(orderDao.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        Order order = getOrderWith(copy, OrderStatus.CANCELED, user);
+        when(orderDao.transition(ORDER_ID, OrderTransition.CANCEL, null, USERNAME))
+                .thenReturn(OrderTransitionResult.success(order));
         // When
         testingInstance.cancelOrder(ORDER_ID, USERNAME);
         // Then
-        verify(orderDao).update(order);
-        verify(orderDao).findById(ORDER_ID);
-        verify(bookCopyDao).update(copy);
-        assertEquals(OrderStatus.CANCELED, order.getStatus());
-        assertNull(order.getDueDate());
-        assertEquals(CopyStatus.AVAILABLE, copy.getStatus());
+        verify(orderDao).transition(ORDER_ID, OrderTransition.CANCEL, null, USERNAME);
+        verifyNoInteractions(bookCopyDao);
+        verify(libraryCounters).orderStatusChanged(OrderStatus.PENDING, OrderStatus.CANCELED);
+        verify(libraryCounters).copyStatusChanged(CopyStatus.RESERVED, CopyStatus.AVAILABLE);
     }
 
     @Test
@@ -225,18 +330,18 @@ class OrderServiceImplTest {
         // Given
         User user = getUser();
         BookCopy copy = getCopy();
-        Order order = getOrderWith(copy, OrderStatus.PENDING, user);
+        Order order = getOrderWith(copy, OrderStatus.ISSUED, user);
         LocalDate dueDate = LocalDate.now().plusDays(5);
-        when(orderDao.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(orderDao.transition(ORDER_ID, OrderTransition.ISSUE, dueDate, null))
+                .thenReturn(OrderTransitionResult.success(order));
         // When
         testingInstance.confirmOrderIssue(ORDER_ID, dueDate);
         // Then
-        verify(orderDao).findById(ORDER_ID);
-        verify(orderDao).update(order);
-        verify(bookCopyDao).update(copy);
-        assertEquals(OrderStatus.ISSUED, order.getStatus());
-        assertEquals(dueDate, order.getDueDate());
-        assertEquals(CopyStatus.ISSUED, copy.getStatus());
+        verify(orderDao).transition(ORDER_ID, OrderTransition.ISSUE, dueDate, null);
+        verifyNoInteractions(bookCopyDao);
+        verify(libraryCounters).orderStatusChanged(OrderStatus.PENDING, OrderStatus.ISSUED);
+        verify(libraryCounters).copyStatusChanged(CopyStatus.RESERVED, CopyStatus.ISSUED);
+        verify(orderLeaderboards).orderIssued(order);
     }
 
     @Test
@@ -244,30 +349,16 @@ class OrderServiceImplTest {
         // Given
         User user = getUser();
         BookCopy copy = getCopy();
-        Order order = getOrderWith(copy, OrderStatus.ISSUED, user);
-        when(orderDao.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        Order order = getOrderWith(copy, OrderStatus.RETURNED, user);
+        when(orderDao.transition(eq(ORDER_ID), eq(OrderTransition.RETURN), any(), isNull()))
+                .thenReturn(OrderTransitionResult.success(order));
         // When
         testingInstance.markAsReturned(ORDER_ID);
         // Then
-        verify(orderDao).findById(ORDER_ID);
-        verify(orderDao).update(order);
-        verify(bookCopyDao).update(copy);
-        assertEquals(OrderStatus.RETURNED, order.getStatus());
-        assertEquals(LocalDate.now(), order.getReturnDate());
-        assertEquals(CopyStatus.AVAILABLE, copy.getStatus());
-    }
-
-    @Test
-    void shouldGetAllOrders() {
-        // Given
-        Order order = new Order();
-        List<Order> expectedOrders = List.of(order);
-        when(orderDao.findAllOrders()).thenReturn(expectedOrders);
-        // When
-        List<Order> result = testingInstance.getAllOrders();
-        // Then
-        verify(orderDao).findAllOrders();
-        assertEquals(expectedOrders, result);
+        verify(orderDao).transition(ORDER_ID, OrderTransition.RETURN, LocalDate.now(), null);
+        verifyNoInteractions(bookCopyDao);
+        verify(libraryCounters).orderStatusChanged(OrderStatus.ISSUED, OrderStatus.RETURNED);
+        verify(libraryCounters).copyStatusChanged(CopyStatus.ISSUED, CopyStatus.AVAILABLE);
     }
 
     // NEGATIVE TESTS
@@ -288,12 +379,12 @@ class OrderServiceImplTest {
         // Given
         User user = getUser();
         when(userDao.findByUsername(USERNAME)).thenReturn(Optional.of(user));
-        when(bookCopyDao.findAvailableCopy(BOOK_ID)).thenReturn(Optional.empty());
+        when(bookCopyDao.claimAvailableCopy(BOOK_ID)).thenReturn(Optional.empty());
         // Then
         RuntimeException exception = assertThrows(RuntimeException.class, () ->
                 testingInstance.createOrder(BOOK_ID, USERNAME, OrderType.HOME));
         verify(userDao).findByUsername(USERNAME);
-        verify(bookCopyDao).findAvailableCopy(BOOK_ID);
+        verify(bookCopyDao).claimAvailableCopy(BOOK_ID);
         assertEquals(NO_AVAILABLE_COPIES, exception.getMessage());
     }
 
@@ -303,101 +394,103 @@ class OrderServiceImplTest {
         User user = getUser();
         BookCopy copy = getCopy();
         when(userDao.findByUsername(USERNAME)).thenReturn(Optional.of(user));
-        when(bookCopyDao.findAvailableCopy(BOOK_ID)).thenReturn(Optional.of(copy));
+        when(bookCopyDao.claimAvailableCopy(BOOK_ID)).thenReturn(Optional.of(copy));
         // Then
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
                 testingInstance.createOrder(BOOK_ID, USERNAME, null));
         verify(userDao).findByUsername(USERNAME);
-        verify(bookCopyDao).findAvailableCopy(BOOK_ID);
+        verify(bookCopyDao).claimAvailableCopy(BOOK_ID);
         assertEquals(ORDER_TYPE_MUST_NOT_BE_NULL, exception.getMessage());
     }
 
     @Test
     void shouldNotOrderWhenOrderNotFound() {
         // Given
-        when(orderDao.findById(ORDER_ID)).thenReturn(Optional.empty());
+        when(orderDao.transition(ORDER_ID, OrderTransition.CANCEL, null, USERNAME))
+                .thenReturn(OrderTransitionResult.notFound());
         // Then
         RuntimeException exception = assertThrows(RuntimeException.class, () ->
                 testingInstance.cancelOrder(ORDER_ID, USERNAME));
-        verify(orderDao).findById(ORDER_ID);
+        verify(orderDao).transition(ORDER_ID, OrderTransition.CANCEL, null, USERNAME);
         assertEquals(ORDER_NOT_FOUND, exception.getMessage());
     }
 
     @Test
     void shouldNotOrderWhenUserTriesToCancelSomeoneElseOrder() {
         // Given
-        User otherUser = new User();
-        otherUser.setUsername(SOMEONE);
-        BookCopy copy = getCopy();
-        Order order = getOrderWith(copy, OrderStatus.PENDING, otherUser);
-        when(orderDao.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(orderDao.transition(ORDER_ID, OrderTransition.CANCEL, null, USERNAME))
+                .thenReturn(OrderTransitionResult.notFound());
         // Then
         RuntimeException exception = assertThrows(RuntimeException.class, () ->
                 testingInstance.cancelOrder(ORDER_ID, USERNAME));
-        verify(orderDao).findById(ORDER_ID);
-        assertEquals(UNAUTHORIZED_TO_CANCEL_THIS_ORDER, exception.getMessage());
+        verify(orderDao).transition(ORDER_ID, OrderTransition.CANCEL, null, USERNAME);
+        assertEquals(ORDER_NOT_FOUND, exception.getMessage());
+        verifyNoInteractions(libraryCounters);
     }
 
     @Test
     void shouldNotOrderWhenOrderIsNotPending() {
         // Given
-        User user = getUser();
-        BookCopy copy = getCopy();
-        Order order = getOrderWith(copy, OrderStatus.ISSUED, user);
-        when(orderDao.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(orderDao.transition(ORDER_ID, OrderTransition.CANCEL, null, USERNAME))
+                .thenReturn(OrderTransitionResult.wrongState(OrderStatus.ISSUED));
         // Then
         RuntimeException exception = assertThrows(RuntimeException.class, () ->
                 testingInstance.cancelOrder(ORDER_ID, USERNAME));
-        verify(orderDao).findById(ORDER_ID);
+        verify(orderDao).transition(ORDER_ID, OrderTransition.CANCEL, null, USERNAME);
         assertEquals(ONLY_PENDING_ORDERS_CAN_BE_CANCELED, exception.getMessage());
+        verifyNoInteractions(libraryCounters);
     }
 
     @Test
     void shouldNotConfirmOrderWhenOrderNotFound() {
         // Given
-        when(orderDao.findById(ORDER_ID)).thenReturn(Optional.empty());
+        LocalDate dueDate = LocalDate.now();
+        when(orderDao.transition(ORDER_ID, OrderTransition.ISSUE, dueDate, null))
+                .thenReturn(OrderTransitionResult.notFound());
         // Then
         RuntimeException exception = assertThrows(RuntimeException.class, () ->
-                testingInstance.confirmOrderIssue(ORDER_ID, LocalDate.now()));
-        verify(orderDao).findById(ORDER_ID);
+                testingInstance.confirmOrderIssue(ORDER_ID, dueDate));
+        verify(orderDao).transition(ORDER_ID, OrderTransition.ISSUE, dueDate, null);
         assertEquals(ORDER_NOT_FOUND, exception.getMessage());
     }
 
     @Test
     void shouldNotConfirmOrderWhenStatusIsNotPending() {
         // Given
-        Order order = new Order();
-        order.setStatus(OrderStatus.ISSUED);
-        when(orderDao.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        LocalDate dueDate = LocalDate.now();
+        when(orderDao.transition(ORDER_ID, OrderTransition.ISSUE, dueDate, null))
+                .thenReturn(OrderTransitionResult.wrongState(OrderStatus.ISSUED));
         // Then
         RuntimeException exception = assertThrows(RuntimeException.class, () ->
-                testingInstance.confirmOrderIssue(ORDER_ID, LocalDate.now()));
-        verify(orderDao).findById(ORDER_ID);
+                testingInstance.confirmOrderIssue(ORDER_ID, dueDate));
+        verify(orderDao).transition(ORDER_ID, OrderTransition.ISSUE, dueDate, null);
         assertEquals(ORDER_IS_NOT_IN_PENDING_STATUS, exception.getMessage());
+        verifyNoInteractions(libraryCounters, orderLeaderboards);
     }
 
     @Test
     void shouldNotMarkAsReturnedWhenOrderNotFound() {
         // Given
-        when(orderDao.findById(ORDER_ID)).thenReturn(Optional.empty());
+        when(orderDao.transition(eq(ORDER_ID), eq(OrderTransition.RETURN), any(), isNull()))
+                .thenReturn(OrderTransitionResult.notFound());
         // Then
         RuntimeException exception = assertThrows(RuntimeException.class, () ->
                 testingInstance.markAsReturned(ORDER_ID));
-        verify(orderDao).findById(ORDER_ID);
+        verify(orderDao).transition(eq(ORDER_ID), eq(OrderTransition.RETURN), any(), isNull());
         assertEquals(ORDER_NOT_FOUND, exception.getMessage());
     }
 
     @Test
     void shouldNotMarkAsReturnedWhenOrderNotIssued() {
         // Given
-        Order order = new Order();
-        order.setStatus(OrderStatus.PENDING);
-        when(orderDao.findById(ORDER_ID)).thenReturn(Optional.of(order));
+        when(orderDao.transition(eq(ORDER_ID), eq(OrderTransition.RETURN), any(), isNull()))
+                .thenReturn(OrderTransitionResult.wrongState(OrderStatus.PENDING));
         // Then
         RuntimeException exception = assertThrows(RuntimeException.class, () ->
                 testingInstance.markAsReturned(ORDER_ID));
-        verify(orderDao).findById(ORDER_ID);
+        verify(orderDao).transition(eq(ORDER_ID), eq(OrderTransition.RETURN), any(), isNull());
         assertEquals(ONLY_ISSUED_ORDERS_CAN_BE_RETURNED, exception.getMessage());
+        verifyNoInteractions(libraryCounters);
     }
 
 
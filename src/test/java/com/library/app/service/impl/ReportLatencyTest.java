@@ -0,0 +1,203 @@
+package com.library.app.service.impl;
+
+import com.library.app.config.ConnectionPool;
+import com.library.app.config.TransactionManager;
+import com.library.app.dao.impl.BookCopyDaoImpl;
+import com.library.app.dao.impl.BookDaoImpl;
+import com.library.app.dao.impl.OrderDaoImpl;
+import com.library.app.dao.impl.ReportDaoImpl;
+import com.library.app.dao.impl.UserDaoImpl;
+import com.library.app.dto.BookStatsDto;
+import com.library.app.dto.ReportSnapshotDto;
+import com.library.app.dto.UserStatsDto;
+import com.library.app.model.CopyStatus;
+import com.library.app.model.OrderStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the latency of the old sequential report dashboard path with {@link ReportServiceImpl} on a
+ * generated dataset in a real PostgreSQL database. Enabled only when a database is given, e.g.
+ * {@code mvn test -Dtest=ReportLatencyTest -Ddb.url=jdbc:postgresql://localhost:5432/library_test}.
+ */
+@EnabledIfSystemProperty(named = "db.url", matches = ".+")
+class ReportLatencyTest {
+    // Константы
+    private static final int BOOKS = 500;
+    private static final int COPIES_PER_BOOK = 10;
+    private static final int USERS = 1_000;
+    private static final int ORDERS = 50_000;
+    private static final int WARM_UP_RUNS = 5;
+    private static final int MEASURED_RUNS = 20;
+    private static final int BOOK_LIMIT = 5;
+    private static final int USER_LIMIT = 10;
+    private static final String ACTIVE = "ACTIVE";
+    private static final String MARKER = "report-latency-";
+    private static final String INSERT_BOOKS =
+            "INSERT INTO books (title) SELECT ? || n FROM generate_series(1, ?) AS n";
+    private static final String INSERT_COPIES = """
+            INSERT INTO book_copies (book_id, inventory_number, status)
+            SELECT b.id, ? || b.id || '-' || n, CASE WHEN n % 3 = 0 THEN 'ISSUED' ELSE 'AVAILABLE' END
+            FROM books b, generate_series(1, ?) AS n
+            WHERE b.title LIKE ? || '%'
+            """;
+    private static final String INSERT_USERS = """
+            INSERT INTO users (username, email, password, status, role_id)
+            SELECT ? || n, ? || n || '@example.com', 'x', 'ACTIVE', (SELECT MIN(id) FROM roles)
+            FROM generate_series(1, ?) AS n
+            """;
+    private static final String INSERT_ORDERS = """
+            WITH u AS (SELECT array_agg(id) AS ids FROM users WHERE username LIKE ? || '%'),
+                 c AS (SELECT array_agg(id) AS ids FROM book_copies WHERE inventory_number LIKE ? || '%')
+            INSERT INTO orders (user_id, copy_id, order_type, order_status, issue_date)
+            SELECT u.ids[1 + n % cardinality(u.ids)], c.ids[1 + n % cardinality(c.ids)], 'HOME',
+                   CASE WHEN n % 2 = 0 THEN 'RETURNED' ELSE 'ISSUED' END, CURRENT_DATE - (n % 365)
+            FROM generate_series(1, ?) AS n, u, c
+            """;
+    private static final String DELETE_ORDERS =
+            "DELETE FROM orders WHERE user_id IN (SELECT id FROM users WHERE username LIKE ? || '%')";
+    private static final String DELETE_COPIES = "DELETE FROM book_copies WHERE inventory_number LIKE ? || '%'";
+    private static final String DELETE_BOOKS = "DELETE FROM books WHERE title LIKE ? || '%'";
+    private static final String DELETE_USERS = "DELETE FROM users WHERE username LIKE ? || '%'";
+    private static final String LATENCY_REPORT = "%-10s avg=%.2f ms over %d runs%n";
+
+    private static ConnectionPool connectionPool;
+    private static LibraryCounters libraryCounters;
+    private static OrderLeaderboards orderLeaderboards;
+    private static BookServiceImpl bookService;
+    private static BookCopyServiceImpl bookCopyService;
+    private static OrderServiceImpl orderService;
+    private static OrderServiceImpl legacyOrderService;
+    private static UserServiceImpl userService;
+    private static ReportServiceImpl testingInstance;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        connectionPool = ConnectionPool.getInstance();
+        ReportDaoImpl reportDao = new ReportDaoImpl();
+        libraryCounters = new LibraryCounters(reportDao);
+        bookService = new BookServiceImpl(new BookDaoImpl(), libraryCounters);
+        bookCopyService = new BookCopyServiceImpl(new BookCopyDaoImpl(), new TransactionManager(), libraryCounters);
+        OrderDaoImpl orderDao = new OrderDaoImpl();
+        orderLeaderboards = new OrderLeaderboards(orderDao, 0, 50);
+        orderService = new OrderServiceImpl(orderDao, new UserDaoImpl(), new BookCopyDaoImpl(),
+                new TransactionManager(), libraryCounters, orderLeaderboards);
+        userService = new UserServiceImpl(new UserDaoImpl(), new BCryptPasswordEncoder(), libraryCounters,
+                orderLeaderboards);
+        // Never rebuilt, so its leaderboards stay empty and it keeps answering from SQL like the old path did
+        legacyOrderService = new OrderServiceImpl(orderDao, new UserDaoImpl(), new BookCopyDaoImpl(),
+                new TransactionManager(), libraryCounters, new OrderLeaderboards(orderDao, 0, 50));
+        testingInstance = new ReportServiceImpl(reportDao, orderService, libraryCounters);
+
+        try (Connection connection = connectionPool.getConnection()) {
+            try (PreparedStatement preparedStatement = connection.prepareStatement(INSERT_BOOKS)) {
+                preparedStatement.setString(1, MARKER);
+                preparedStatement.setInt(2, BOOKS);
+                preparedStatement.executeUpdate();
+            }
+            try (PreparedStatement preparedStatement = connection.prepareStatement(INSERT_COPIES)) {
+                preparedStatement.setString(1, MARKER);
+                preparedStatement.setInt(2, COPIES_PER_BOOK);
+                preparedStatement.setString(3, MARKER);
+                preparedStatement.executeUpdate();
+            }
+            try (PreparedStatement preparedStatement = connection.prepareStatement(INSERT_USERS)) {
+                preparedStatement.setString(1, MARKER);
+                preparedStatement.setString(2, MARKER);
+                preparedStatement.setInt(3, USERS);
+                preparedStatement.executeUpdate();
+            }
+            try (PreparedStatement preparedStatement = connection.prepareStatement(INSERT_ORDERS)) {
+                preparedStatement.setString(1, MARKER);
+                preparedStatement.setString(2, MARKER);
+                preparedStatement.setInt(3, ORDERS);
+                preparedStatement.executeUpdate();
+            }
+        }
+
+        libraryCounters.reconcile();
+        orderLeaderboards.rebuild();
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        for (String sql : List.of(DELETE_ORDERS, DELETE_COPIES, DELETE_BOOKS, DELETE_USERS)) {
+            try (Connection connection = connectionPool.getConnection();
+                 PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                preparedStatement.setString(1, MARKER);
+                preparedStatement.executeUpdate();
+            }
+        }
+    }
+
+    @Test
+    void getSnapshot_ShouldMatchSequentialPathAndReportLatency() {
+        // Given
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            sequentialDashboard();
+            testingInstance.getSnapshot(BOOK_LIMIT, USER_LIMIT);
+        }
+
+        // When
+        long sequentialNanos = 0;
+        long snapshotNanos = 0;
+        ReportSnapshotDto snapshot = null;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long startedAt = System.nanoTime();
+            sequentialDashboard();
+            sequentialNanos += System.nanoTime() - startedAt;
+
+            startedAt = System.nanoTime();
+            snapshot = testingInstance.getSnapshot(BOOK_LIMIT, USER_LIMIT);
+            snapshotNanos += System.nanoTime() - startedAt;
+        }
+
+        // Then
+        System.out.printf(LATENCY_REPORT, "sequential", averageMillis(sequentialNanos), MEASURED_RUNS);
+        System.out.printf(LATENCY_REPORT, "snapshot", averageMillis(snapshotNanos), MEASURED_RUNS);
+        assertEquals(bookService.countBooks(), snapshot.getTotalBooks());
+        assertEquals(bookCopyService.countAll(), snapshot.getTotalCopies());
+        assertEquals(bookCopyService.countByStatus(CopyStatus.ISSUED), snapshot.getIssuedCopies());
+        assertEquals(orderService.getCountByStatuses(List.of(OrderStatus.RETURNED)), snapshot.getCompletedOrders());
+        assertEquals(userService.countByStatus(ACTIVE), snapshot.getActiveUsers());
+        assertEquals(bookCounts(legacyOrderService.getTopRequestedBooks(BOOK_LIMIT)), bookCounts(snapshot.getTopBooks()));
+        assertEquals(userCounts(legacyOrderService.getTopActiveUsers(USER_LIMIT)), userCounts(snapshot.getTopUsers()));
+    }
+
+    /**
+     * The seven sequential service calls the dashboard made before {@link ReportServiceImpl}, with the top-N
+     * lists still grouped in SQL.
+     */
+    private static void sequentialDashboard() {
+        bookService.countBooks();
+        bookCopyService.countAll();
+        bookCopyService.countByStatus(CopyStatus.ISSUED);
+        orderService.getCountByStatuses(List.of(OrderStatus.RETURNED));
+        userService.countByStatus(ACTIVE);
+        legacyOrderService.getTopRequestedBooks(BOOK_LIMIT);
+        legacyOrderService.getTopActiveUsers(USER_LIMIT);
+    }
+
+    private static List<Long> bookCounts(List<BookStatsDto> books) {
+        return books.stream().map(BookStatsDto::getRequestCount).toList();
+    }
+
+    private static List<Long> userCounts(List<UserStatsDto> users) {
+        return users.stream().map(UserStatsDto::getRequestCount).toList();
+    }
+
+    private static double averageMillis(long totalNanos) {
+        return TimeUnit.NANOSECONDS.toMicros(totalNanos) / 1000.0 / MEASURED_RUNS;
+    }
+}
@@ -0,0 +1,124 @@
+package com.library.app.service.impl;
+
+import com.library.app.config.ConnectionPool;
+import com.library.app.config.QueryMetrics;
+import com.library.app.config.QueryStats;
+import com.library.app.dao.ReportDao;
+import com.library.app.dto.BookStatsDto;
+import com.library.app.dto.ReportSnapshotDto;
+import com.library.app.dto.UserStatsDto;
+import com.library.app.model.LibraryTotals;
+import com.library.app.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportServiceImplTest {
+    // Константы
+    private static final int BOOK_LIMIT = 5;
+    private static final int USER_LIMIT = 10;
+    private static final String BOOK_TITLE = "Book Title";
+    private static final String JOHN_DOE = "John Doe";
+    private static final String USERNAME = "reader1";
+    private static final String DB_ERROR = "DB error";
+    private static final String SELECT_BOOKS = "SELECT * FROM books WHERE id = ?";
+
+    // Моки
+    @Mock
+    private ReportDao reportDao;
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private LibraryCounters libraryCounters;
+
+    // Инжект мокс
+    @InjectMocks
+    private ReportServiceImpl testingInstance;
+
+    // Тесты
+    // POSITIVE TESTS
+
+    @Test
+    void shouldBuildSnapshot() {
+        // Given
+        List<BookStatsDto> topBooks = List.of(new BookStatsDto(BOOK_TITLE, JOHN_DOE, 3L));
+        List<UserStatsDto> topUsers = List.of(new UserStatsDto(USERNAME, 2L));
+        when(reportDao.countLibraryTotals()).thenReturn(new LibraryTotals(10, 40, 7, 25, 12));
+        when(orderService.getTopRequestedBooks(BOOK_LIMIT)).thenReturn(topBooks);
+        when(orderService.getTopActiveUsers(USER_LIMIT)).thenReturn(topUsers);
+        // When
+        ReportSnapshotDto result = testingInstance.getSnapshot(BOOK_LIMIT, USER_LIMIT);
+        // Then
+        verify(reportDao).countLibraryTotals();
+        verify(orderService).getTopRequestedBooks(BOOK_LIMIT);
+        verify(orderService).getTopActiveUsers(USER_LIMIT);
+        assertEquals(10, result.getTotalBooks());
+        assertEquals(40, result.getTotalCopies());
+        assertEquals(7, result.getIssuedCopies());
+        assertEquals(25, result.getCompletedOrders());
+        assertEquals(12, result.getActiveUsers());
+        assertEquals(topBooks, result.getTopBooks());
+        assertEquals(topUsers, result.getTopUsers());
+    }
+
+    @Test
+    void shouldReadTotalsFromSeededCounters() {
+        // Given
+        when(libraryCounters.isSeeded()).thenReturn(true);
+        when(libraryCounters.getTotals()).thenReturn(new LibraryTotals(10, 40, 7, 25, 12));
+        when(orderService.getTopRequestedBooks(BOOK_LIMIT)).thenReturn(List.of());
+        when(orderService.getTopActiveUsers(USER_LIMIT)).thenReturn(List.of());
+        // When
+        ReportSnapshotDto result = testingInstance.getSnapshot(BOOK_LIMIT, USER_LIMIT);
+        // Then
+        verifyNoInteractions(reportDao);
+        assertEquals(10, result.getTotalBooks());
+        assertEquals(12, result.getActiveUsers());
+    }
+
+    @Test
+    void shouldGetQueryStatsFromConnectionPool() {
+        // Given
+        ConnectionPool connectionPool = mock(ConnectionPool.class);
+        QueryMetrics queryMetrics = mock(QueryMetrics.class);
+        List<QueryStats> queryStats = List.of(new QueryStats(SELECT_BOOKS, 2, 0, 1_500, 1_000, 8, 20, new long[8]));
+        when(connectionPool.getQueryMetrics()).thenReturn(queryMetrics);
+        when(queryMetrics.snapshot()).thenReturn(queryStats);
+        // When
+        List<QueryStats> result;
+        try (MockedStatic<ConnectionPool> mockedStatic = mockStatic(ConnectionPool.class)) {
+            mockedStatic.when(ConnectionPool::getInstance).thenReturn(connectionPool);
+            result = testingInstance.getQueryStats();
+        }
+        // Then
+        verify(queryMetrics).snapshot();
+        assertEquals(queryStats, result);
+        verifyNoInteractions(reportDao, orderService);
+    }
+
+    // NEGATIVE TESTS
+
+    @Test
+    void shouldNotBuildSnapshotWhenQueryFails() {
+        // Given
+        when(reportDao.countLibraryTotals()).thenThrow(new RuntimeException(DB_ERROR));
+        lenient().when(orderService.getTopRequestedBooks(BOOK_LIMIT)).thenReturn(List.of());
+        lenient().when(orderService.getTopActiveUsers(USER_LIMIT)).thenReturn(List.of());
+        // When
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> testingInstance.getSnapshot(BOOK_LIMIT, USER_LIMIT));
+        // Then
+        assertEquals(DB_ERROR, exception.getMessage());
+    }
+}
@@ -2,9 +2,9 @@ package com.library.app.service.impl;
 
 import com.library.app.dao.UserDao;
 import com.library.app.dto.UserDto;
-import com.library.app.model.Order;
 import com.library.app.model.Role;
 import com.library.app.model.User;
+import com.library.app.util.Page;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -15,7 +15,6 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -45,6 +44,12 @@ class UserServiceImplTest {
     @Mock
     private BCryptPasswordEncoder passwordEncoder;
 
+    @Mock
+    private LibraryCounters libraryCounters;
+
+    @Mock
+    private OrderLeaderboards orderLeaderboards;
+
     // Инжект мокс
     @InjectMocks
     private UserServiceImpl testingInstance;
@@ -81,6 +86,7 @@ class UserServiceImplTest {
         assertEquals(ENCODED_PASSWORD, user.getPassword());
         assertEquals(Role.READER, user.getRole());
         assertEquals(ACTIVE, user.getStatus());
+        verify(libraryCounters).userAdded(ACTIVE);
     }
 
     @Test
@@ -99,6 +105,8 @@ class UserServiceImplTest {
         assertEquals(Role.ADMIN, user.getRole());
         assertEquals(BLOCKED, user.getStatus());
         assertEquals(ENCODED_PASSWORD, user.getPassword());
+        verify(libraryCounters).userStatusChanged(ACTIVE, BLOCKED);
+        verify(orderLeaderboards).userStatusChanged(user.getId(), BLOCKED);
     }
 
     @Test
@@ -139,6 +147,17 @@ class UserServiceImplTest {
         assertTrue(result.isPresent());
     }
 
+    @Test
+    void shouldDecrementCounterOfDeletedUserStatus() {
+        // Given
+        when(userDao.findById(USER_ID)).thenReturn(Optional.of(getUser()));
+        // When
+        testingInstance.deleteUser(USER_ID);
+        // Then
+        verify(userDao).delete(USER_ID);
+        verify(libraryCounters).userDeleted(ACTIVE);
+    }
+
     @Test
     void shouldDeleteUser() {
         // When
@@ -201,14 +220,14 @@ class UserServiceImplTest {
     void shouldGetReadersWithActiveOrders() {
         // Given
         User user = getUser();
-        Order order = new Order();
-        Map<User, List<Order>> expectedMap = Map.of(user, List.of(order));
-        when(userDao.findReadersWithActiveOrders()).thenReturn(expectedMap);
+        when(userDao.findReadersWithActiveOrders(USERNAME, 1, 10)).thenReturn(new Page<>(List.of(user), 1, 10, 1));
         // When
-        Map<User, List<Order>> result = testingInstance.getReadersWithActiveOrders();
+        Page<UserDto> result = testingInstance.getReadersWithActiveOrders(USERNAME, 1, 10);
         // Then
-        verify(userDao).findReadersWithActiveOrders();
-        assertEquals(expectedMap, result);
+        verify(userDao).findReadersWithActiveOrders(USERNAME, 1, 10);
+        assertEquals(1, result.getTotalItems());
+        assertEquals(USER_ID, result.getContent().get(0).getId());
+        assertEquals(USERNAME, result.getContent().get(0).getUsername());
     }
 
     // NEGATIVE TESTS
@@ -0,0 +1,210 @@
+package com.library.app.util;
+
+import com.library.app.dto.CatalogRowDto;
+import com.library.app.dto.ImportLineErrorDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogCsvReaderTest {
+    // Константы
+    private static final int MAX_REPORTED_ERRORS = 10;
+    private static final String HEADER = "title,author_first_name,author_last_name,genre,description,cover_url,copies\n";
+
+    // POSITIVE TESTS
+    @Test
+    void next_ShouldReadCommaSeparatedRows() {
+        // Given
+        CatalogCsvReader reader = reader(HEADER
+                + "Dune,Frank,Herbert,Sci-Fi,Desert planet,http://covers/dune.jpg,3\n"
+                + "Emma,Jane,Austen,Novel,,,\n");
+
+        // When
+        List<CatalogRowDto> rows = readAll(reader);
+
+        // Then
+        assertEquals(2, rows.size());
+        CatalogRowDto dune = rows.get(0);
+        assertEquals(2, dune.getLine());
+        assertEquals("Dune", dune.getTitle());
+        assertEquals("Frank", dune.getAuthorFirstName());
+        assertEquals("Herbert", dune.getAuthorLastName());
+        assertEquals("Sci-Fi", dune.getGenre());
+        assertEquals("Desert planet", dune.getDescription());
+        assertEquals("http://covers/dune.jpg", dune.getCoverUrl());
+        assertEquals(3, dune.getCopies());
+        assertNull(rows.get(1).getDescription());
+        assertEquals(0, rows.get(1).getCopies());
+        assertEquals(2, reader.getRowsRead());
+        assertEquals(0, reader.getErrorCount());
+    }
+
+    @Test
+    void next_ShouldReadTabSeparatedRowsWithColumnsInAnyOrder() {
+        // Given
+        CatalogCsvReader reader = reader("\uFEFFcopies\tTitle\tgenre\n2\tDune, Messiah\tSci-Fi\n");
+
+        // When
+        List<CatalogRowDto> rows = readAll(reader);
+
+        // Then
+        assertEquals(1, rows.size());
+        assertEquals("Dune, Messiah", rows.get(0).getTitle());
+        assertEquals("Sci-Fi", rows.get(0).getGenre());
+        assertNull(rows.get(0).getAuthorLastName());
+        assertEquals(2, rows.get(0).getCopies());
+    }
+
+    @Test
+    void next_ShouldReadQuotedFieldsSpanningLines() {
+        // Given
+        CatalogCsvReader reader = reader("title,description\n"
+                + "\"War, and Peace\",\"First line\nsecond \"\"quoted\"\" line\"\n"
+                + "\n"
+                + "Emma,\n");
+
+        // When
+        List<CatalogRowDto> rows = readAll(reader);
+
+        // Then
+        assertEquals(2, rows.size());
+        assertEquals("War, and Peace", rows.get(0).getTitle());
+        assertEquals("First line\nsecond \"quoted\" line", rows.get(0).getDescription());
+        assertEquals("Emma", rows.get(1).getTitle());
+        assertEquals(5, rows.get(1).getLine());
+    }
+
+    // NEGATIVE TESTS
+    @Test
+    void next_ShouldSkipAndReportInvalidRows() {
+        // Given
+        CatalogCsvReader reader = reader(HEADER
+                + ",Frank,Herbert,Sci-Fi,,,1\n"
+                + "Dune,Frank\n"
+                + "Emma,Jane,Austen,Novel,,,many\n"
+                + "Ulysses,James,Joyce,Novel,,,1001\n"
+                + "x".repeat(256) + ",,,,,,\n"
+                + "Dune,Frank,Herbert,Sci-Fi,,,1\n");
+
+        // When
+        List<CatalogRowDto> rows = readAll(reader);
+
+        // Then
+        assertEquals(1, rows.size());
+        assertEquals(7, rows.get(0).getLine());
+        assertEquals(6, reader.getRowsRead());
+        assertEquals(5, reader.getErrorCount());
+        List<ImportLineErrorDto> errors = reader.getErrors();
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L), errors.stream().map(ImportLineErrorDto::getLine).toList());
+        assertEquals("Title is required", errors.get(0).getMessage());
+        assertEquals("Expected 7 fields but found 2", errors.get(1).getMessage());
+        assertEquals("'copies' must be a whole number from 0 to 1000", errors.get(2).getMessage());
+        assertEquals("'title' is longer than 255 characters", errors.get(4).getMessage());
+    }
+
+    @Test
+    void getErrors_ShouldKeepOnlyFirstReportedErrors() {
+        // Given
+        CatalogCsvReader reader = new CatalogCsvReader(new StringReader("title,copies\n,1\n,2\n,3\n"), 2);
+
+        // When
+        List<CatalogRowDto> rows = readAll(reader);
+
+        // Then
+        assertTrue(rows.isEmpty());
+        assertEquals(3, reader.getErrorCount());
+        assertEquals(2, reader.getErrors().size());
+    }
+
+    @Test
+    void hasNext_ShouldReportMissingTitleColumn() {
+        // Given
+        CatalogCsvReader reader = reader("name,copies\nDune,1\n");
+
+        // When
+        boolean hasNext = reader.hasNext();
+
+        // Then
+        assertFalse(hasNext);
+        assertEquals("The header has no 'title' column", reader.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void hasNext_ShouldReportEmptyFile() {
+        // Given
+        CatalogCsvReader reader = reader("");
+
+        // When
+        boolean hasNext = reader.hasNext();
+
+        // Then
+        assertFalse(hasNext);
+        assertEquals("The file is empty", reader.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void next_ShouldReportUnclosedQuoteAndThrowWhenExhausted() {
+        // Given
+        CatalogCsvReader reader = reader("title\nDune\n\"Emma\nstill open\n");
+
+        // When
+        List<CatalogRowDto> rows = readAll(reader);
+
+        // Then
+        assertEquals(1, rows.size());
+        assertEquals(3, reader.getErrors().get(0).getLine());
+        assertEquals("Quoted field is not closed", reader.getErrors().get(0).getMessage());
+        assertThrows(NoSuchElementException.class, reader::next);
+    }
+
+    @Test
+    void next_ShouldSkipOverlongQuotedFieldUpToItsClosingQuote() {
+        // Given
+        CatalogCsvReader reader = reader("title,description\n"
+                + "Dune,\"" + "Bogus,row\n".repeat(8_000) + "\"\n"
+                + "Emma,Novel\n");
+
+        // When
+        List<CatalogRowDto> rows = readAll(reader);
+
+        // Then
+        assertEquals(1, rows.size());
+        assertEquals("Emma", rows.get(0).getTitle());
+        assertEquals(8_003, rows.get(0).getLine());
+        assertEquals(2, reader.getRowsRead());
+        assertEquals(1, reader.getErrorCount());
+        assertEquals(2, reader.getErrors().get(0).getLine());
+        assertEquals("Line is longer than 65536 characters", reader.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void next_ShouldSkipOverlongLineWithoutLineBreaks() {
+        // Given
+        CatalogCsvReader reader = reader("title\r\n" + "x".repeat(200_000) + "\r\nDune\r\n");
+
+        // When
+        List<CatalogRowDto> rows = readAll(reader);
+
+        // Then
+        assertEquals(1, rows.size());
+        assertEquals("Dune", rows.get(0).getTitle());
+        assertEquals(3, rows.get(0).getLine());
+        assertEquals(2, reader.getErrors().get(0).getLine());
+    }
+
+    private static CatalogCsvReader reader(String contents) {
+        return new CatalogCsvReader(new StringReader(contents), MAX_REPORTED_ERRORS);
+    }
+
+    private static List<CatalogRowDto> readAll(CatalogCsvReader reader) {
+        List<CatalogRowDto> rows = new ArrayList<>();
+        reader.forEachRemaining(rows::add);
+
+        return rows;
+    }
+}
@@ -0,0 +1,67 @@
+package com.library.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvWriterTest {
+    // POSITIVE TESTS
+    @Test
+    void writeRecord_ShouldQuoteOnlyFieldsThatNeedIt() {
+        // Given
+        StringWriter output = new StringWriter();
+        CsvWriter writer = new CsvWriter(output);
+
+        // When
+        writer.writeRecord("1", "Dune", null, "");
+        writer.writeRecord("War, and Peace", "He said \"no\"", "two\nlines");
+
+        // Then
+        assertEquals("1,Dune,,\r\n\"War, and Peace\",\"He said \"\"no\"\"\",\"two\nlines\"\r\n", output.toString());
+    }
+
+    @Test
+    void field_ShouldStartNewRecordAfterEndRecord() {
+        // Given
+        StringWriter output = new StringWriter();
+        CsvWriter writer = new CsvWriter(output);
+
+        // When
+        writer.field("a").field("b").endRecord();
+        writer.field("c").endRecord();
+
+        // Then
+        assertEquals("a,b\r\nc\r\n", output.toString());
+    }
+
+    // NEGATIVE TESTS
+    @Test
+    void field_ShouldRethrowWriteErrorUnchecked() {
+        // Given
+        CsvWriter writer = new CsvWriter(new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+
+        // When
+        UncheckedIOException exception = assertThrows(UncheckedIOException.class, () -> writer.field("a"));
+
+        // Then
+        assertEquals("Broken pipe", exception.getCause().getMessage());
+    }
+}
@@ -0,0 +1,116 @@
+package com.library.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+    // Константы
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+    private static final int CAPACITY = 3;
+    private static final int WINDOW_DAYS = 30;
+
+    @Test
+    void top_ShouldRankByCountThenByLowerId() {
+        // Given
+        Leaderboard leaderboard = new Leaderboard(0, CAPACITY, new MutableClock(TODAY));
+
+        // When
+        leaderboard.record(1, TODAY, 2);
+        leaderboard.record(2, TODAY, 5);
+        leaderboard.record(3, null, 2);
+        leaderboard.record(4, TODAY, 1);
+
+        // Then
+        assertEquals(List.of(2L, 1L, 3L), ids(leaderboard.top(10)));
+        assertEquals(5, leaderboard.top(1).get(0).getCount());
+    }
+
+    @Test
+    void record_ShouldLetIdOutsideTopOvertakeWhenItsCountGrows() {
+        // Given
+        Leaderboard leaderboard = new Leaderboard(0, CAPACITY, new MutableClock(TODAY));
+        leaderboard.record(1, TODAY, 3);
+        leaderboard.record(2, TODAY, 3);
+        leaderboard.record(3, TODAY, 3);
+        leaderboard.record(4, TODAY, 3);
+
+        // When
+        leaderboard.record(4, TODAY, 1);
+
+        // Then
+        assertEquals(List.of(4L, 1L, 2L), ids(leaderboard.top(CAPACITY)));
+    }
+
+    @Test
+    void top_ShouldDropDaysThatLeftTheWindow() {
+        // Given
+        MutableClock clock = new MutableClock(TODAY);
+        Leaderboard leaderboard = new Leaderboard(WINDOW_DAYS, CAPACITY, clock);
+        leaderboard.record(1, TODAY.minusDays(WINDOW_DAYS - 1), 10);
+        leaderboard.record(2, TODAY, 4);
+        leaderboard.record(3, TODAY.minusDays(WINDOW_DAYS), 100);
+
+        // When
+        List<Leaderboard.Entry> beforeRollover = leaderboard.top(CAPACITY);
+        clock.day = TODAY.plusDays(1);
+        List<Leaderboard.Entry> afterRollover = leaderboard.top(CAPACITY);
+
+        // Then
+        assertEquals(List.of(1L, 2L), ids(beforeRollover));
+        assertEquals(List.of(2L), ids(afterRollover));
+        assertEquals(0, leaderboard.count(1));
+    }
+
+    @Test
+    void setExcluded_ShouldHideIdAndLetNextOneIn() {
+        // Given
+        Leaderboard leaderboard = new Leaderboard(0, 2, new MutableClock(TODAY));
+        leaderboard.record(1, TODAY, 9);
+        leaderboard.record(2, TODAY, 5);
+        leaderboard.record(3, TODAY, 1);
+
+        // When
+        leaderboard.setExcluded(1, true);
+        List<Leaderboard.Entry> excluded = leaderboard.top(2);
+        leaderboard.setExcluded(1, false);
+
+        // Then
+        assertEquals(List.of(2L, 3L), ids(excluded));
+        assertEquals(List.of(1L, 2L), ids(leaderboard.top(2)));
+    }
+
+    private static List<Long> ids(List<Leaderboard.Entry> entries) {
+        return entries.stream().map(Leaderboard.Entry::getId).toList();
+    }
+
+    private static class MutableClock extends Clock {
+        private LocalDate day;
+
+        private MutableClock(LocalDate day) {
+            this.day = day;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.library.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongLongHashMapTest {
+    // Константы
+    private static final int OPERATIONS = 20_000;
+    private static final int KEY_RANGE = 500;
+
+    @Test
+    void addTo_ShouldCountAndDropZeroValues() {
+        // Given
+        LongLongHashMap map = new LongLongHashMap();
+
+        // When
+        map.addTo(7, 3);
+        map.addTo(7, 2);
+        map.addTo(9, 1);
+        map.addTo(9, -1);
+
+        // Then
+        assertEquals(5, map.get(7));
+        assertEquals(0, map.get(9));
+        assertFalse(map.containsKey(9));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void operations_ShouldMatchHashMapAcrossResizesAndRemovals() {
+        // Given
+        LongLongHashMap map = new LongLongHashMap();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // When
+        for (int i = 0; i < OPERATIONS; i++) {
+            long key = random.nextInt(KEY_RANGE) * 16L;
+
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.getOrDefault(key, 0L), map.remove(key));
+                expected.remove(key);
+            } else {
+                map.addTo(key, 1);
+                expected.merge(key, 1L, Long::sum);
+            }
+        }
+
+        // Then
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        Map<Long, Long> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+}